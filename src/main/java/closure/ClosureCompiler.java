@@ -0,0 +1,647 @@
+package closure;
+
+import execution.Budget;
+import execution.ConcatString;
+import execution.NumberFormatter;
+import execution.Preparation;
+import output.BufferedSink;
+import output.OutputSink;
+import parser.parsetree.BinaryOperator;
+import parser.parsetree.Component;
+import parser.parsetree.Program;
+import parser.parsetree.Type;
+import parser.parsetree.UnaryOperator;
+import parser.parsetree.instructions.*;
+import parser.parsetree.interfaces.Visitor;
+import parser.parsetree.statements.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * The purpose of this class is to compile a validated and resolved parse tree into a tree of pre-bound lambdas.
+ * It is implemented as visitor, while every statement is compiled into a Statement and every expression into a
+ * typed function of the frame: numeric expressions into a ToDoubleFunction, conditions into a Predicate and string
+ * expressions into a Function. Variable coordinates, operators and the variants of typed operations are selected at
+ * compile time, so the compiled lambdas only call their children and compute their result without any dispatch on
+ * the parse tree. No classes are generated, as the lambdas are instances of the classes of this compiler.
+ * Every loop run and every call is charged to the budget of the compiled program, which is restarted per run.
+ * Example for usage (where program is a parsed Program):
+ * <code>ClosureProgram compiled = ClosureCompiler.compile(program);
+ * compiled.run();</code>
+ */
+public class ClosureCompiler implements Visitor {
+
+    private final OutputSink output;
+    private final Budget budget = new Budget();
+    private final Map<FunctionDefStatement, ClosureFunction> functions = new IdentityHashMap<>();
+    private Statement statement;                // the statement compiled by the last visit
+
+    /**
+     * This constructor initializes a compiler, whose compiled print statements pass their lines to the given sink.
+     *
+     * @param output the sink which receives the printed lines.
+     */
+    private ClosureCompiler(OutputSink output) {
+        this.output = output;
+    }
+
+    /**
+     * This method validates, resolves, folds and compiles a program. The printed lines are kept in memory.
+     *
+     * @param program the program to compile.
+     * @return the executable program.
+     */
+    public static ClosureProgram compile(Program program) {
+        return compile(program, new BufferedSink());
+    }
+
+    /**
+     * This method validates, resolves, folds and compiles a program.
+     *
+     * @param program the program to compile.
+     * @param output  the sink which receives the printed lines of all runs.
+     * @return the executable program.
+     */
+    public static ClosureProgram compile(Program program, OutputSink output) {
+        Preparation.prepare(program);
+        ClosureCompiler compiler = new ClosureCompiler(output);
+        return new ClosureProgram(compiler.compileBlock(program.getStatements()), program.getFrameSize(), compiler.output, compiler.budget);
+    }
+
+    /**
+     * This method compiles an assignment. Compound assignments evaluate the assigned value before the current value
+     * is read, like within the Interpreter.
+     *
+     * @param acceptor the AssignmentStatement to visit.
+     */
+    @Override
+    public void visit(AssignmentStatement acceptor) {
+        int depth = acceptor.getDepth();
+        int slot = acceptor.getSlot();
+        BinaryOperator operator = acceptor.getOperator();
+        if (operator == BinaryOperator.EQUAL) {
+            statement = store(acceptor.getResolvedType(), depth, slot, acceptor.getValue());
+        } else if (acceptor.getResolvedType() == Type.STRING) {
+            Function<Locals, CharSequence> value = text(acceptor.getValue());
+            statement = l -> {
+                String appended = value.apply(l).toString();
+                Locals target = l.at(depth);
+                target.strings[slot] = ConcatString.concat(target.strings[slot], appended);
+                return false;
+            };
+        } else {
+            ToDoubleFunction<Locals> value = number(acceptor.getValue());
+            DoubleBinaryOperator arithmetic = getArithmetic(operator);
+            statement = l -> {
+                double assigned = value.applyAsDouble(l);
+                Locals target = l.at(depth);
+                target.numbers[slot] = checkNumber(arithmetic.applyAsDouble(target.numbers[slot], assigned));
+                return false;
+            };
+        }
+    }
+
+    /**
+     * This method compiles a generic component. The only generic component with an effect at runtime is the
+     * break statement, which signals the enclosing loop to be left.
+     *
+     * @param acceptor the generic Component to visit.
+     */
+    @Override
+    public void visit(Component acceptor) {
+        if (acceptor instanceof BreakStatement) {
+            statement = l -> true;
+        }
+    }
+
+    /**
+     * This method compiles a function call statement, whose value is discarded.
+     *
+     * @param acceptor the FunctionCallStatement to visit.
+     */
+    @Override
+    public void visit(FunctionCallStatement acceptor) {
+        Type type = acceptor.getFunction().getType();
+        if (type == Type.NUMERIC) {
+            ToDoubleFunction<Locals> call = number(acceptor);
+            statement = l -> {
+                call.applyAsDouble(l);
+                return false;
+            };
+        } else if (type == Type.BOOLEAN) {
+            Predicate<Locals> call = condition(acceptor);
+            statement = l -> {
+                call.test(l);
+                return false;
+            };
+        } else {
+            Function<Locals, CharSequence> call = string(acceptor);
+            statement = l -> {
+                call.apply(l);
+                return false;
+            };
+        }
+    }
+
+    /**
+     * Function definitions are compiled when referenced for the first time. So there is nothing to do here.
+     *
+     * @param acceptor the FunctionDefStatement to visit.
+     */
+    @Override
+    public void visit(FunctionDefStatement acceptor) {
+    }
+
+    /**
+     * This method compiles an if-then-else statement.
+     *
+     * @param acceptor the IfThenElseStatement to visit.
+     */
+    @Override
+    public void visit(IfThenElseStatement acceptor) {
+        Predicate<Locals> condition = condition(acceptor.getCondition());
+        Statement ifStatements = compileBlock(acceptor.getIfStatements());
+        Statement elseStatements = compileBlock(acceptor.getElseStatements());
+        statement = l -> condition.test(l) ? ifStatements.execute(l) : elseStatements.execute(l);
+    }
+
+    /**
+     * This method compiles an if-then statement.
+     *
+     * @param acceptor the IfThenStatement to visit.
+     */
+    @Override
+    public void visit(IfThenStatement acceptor) {
+        Predicate<Locals> condition = condition(acceptor.getCondition());
+        Statement statements = compileBlock(acceptor.getStatements());
+        statement = l -> condition.test(l) && statements.execute(l);
+    }
+
+    /**
+     * Parameters are compiled together with the arguments of a call. So there is nothing to do here.
+     *
+     * @param acceptor the ParamDeclaration to visit.
+     */
+    @Override
+    public void visit(ParamDeclaration acceptor) {
+    }
+
+    /**
+     * This method compiles a print call statement.
+     *
+     * @param acceptor the PrintCallStatement to visit.
+     */
+    @Override
+    public void visit(PrintCallStatement acceptor) {
+        Function<Locals, CharSequence> value = acceptor.getValue() == null ? l -> "" : text(acceptor.getValue());
+        statement = l -> {
+            String out = value.apply(l).toString();
+            output.print(out);
+            return false;
+        };
+    }
+
+    /**
+     * The program is compiled by the compile method. So there is nothing to do here.
+     *
+     * @param acceptor the Program to visit.
+     */
+    @Override
+    public void visit(Program acceptor) {
+    }
+
+    /**
+     * This method compiles a variable declaration, which stores its initial value in the slot of the declared variable.
+     *
+     * @param acceptor the VariableDeclaration to visit.
+     */
+    @Override
+    public void visit(VariableDeclaration acceptor) {
+        statement = store(acceptor.getType(), 0, acceptor.getSlot(), acceptor.getValue());
+    }
+
+    /**
+     * This method compiles a while statement. Like within the Interpreter, the count of runs is limited and every run
+     * is charged to the budget.
+     *
+     * @param acceptor the WhileStatement to visit.
+     */
+    @Override
+    public void visit(WhileStatement acceptor) {
+        Predicate<Locals> condition = condition(acceptor.getCondition());
+        Statement statements = compileBlock(acceptor.getStatements());
+        int[] location = acceptor.getLocation();
+        String overflow = "StackoverflowError at location " + Arrays.toString(location) + " occurred!";
+        statement = l -> {
+            int counter = 0;
+            while (condition.test(l)) {
+                if (++counter > budget.getMaxLoopRuns()) {
+                    throw new StackOverflowError(overflow);
+                }
+                budget.step(location);
+                if (statements.execute(l)) {
+                    break;
+                }
+            }
+            return false;
+        };
+    }
+
+    // ------------------------------------------ helper methods ------------------------------------------
+
+    /**
+     * This method compiles a statement list. Statements without effect at runtime are omitted. If the execution of a
+     * statement results in a StackOverflowError, the location of the statement is added to the error (if not already
+     * done by a nested statement).
+     *
+     * @param components the statements to compile.
+     * @return the compiled statement list.
+     */
+    private Statement compileBlock(List<Component> components) {
+        List<Statement> statements = new ArrayList<>();
+        List<int[]> locations = new ArrayList<>();
+        for (Component stmt : components) {
+            statement = null;
+            stmt.accept(this);
+            if (statement != null) {
+                statements.add(statement);
+                locations.add(stmt.getLocation());
+            }
+        }
+        statement = null;
+        Statement[] compiled = statements.toArray(new Statement[0]);
+        int[][] compiledLocations = locations.toArray(new int[0][]);
+        return l -> {
+            for (int i = 0; i < compiled.length; i++) {
+                try {
+                    if (compiled[i].execute(l)) {
+                        return true;
+                    }
+                } catch (StackOverflowError e) {
+                    if (e.getMessage() != null) {
+                        throw e;
+                    }
+                    throw new StackOverflowError("StackoverflowError at location " + Arrays.toString(compiledLocations[i]) + " occurred!");
+                }
+            }
+            return false;
+        };
+    }
+
+    /**
+     * This method compiles the storage of a value in a variable of the passed type.
+     *
+     * @param type  the type of the variable.
+     * @param depth the resolved depth of the variable.
+     * @param slot  the resolved slot of the variable.
+     * @param value the value to store.
+     * @return the compiled statement.
+     */
+    private Statement store(Type type, int depth, int slot, Object value) {
+        if (type == Type.NUMERIC) {
+            ToDoubleFunction<Locals> number = number(value);
+            return l -> {
+                l.at(depth).numbers[slot] = number.applyAsDouble(l);
+                return false;
+            };
+        } else if (type == Type.BOOLEAN) {
+            Predicate<Locals> condition = condition(value);
+            return l -> {
+                l.at(depth).booleans[slot] = condition.test(l);
+                return false;
+            };
+        }
+        Function<Locals, CharSequence> string = string(value);
+        return l -> {
+            l.at(depth).strings[slot] = string.apply(l);
+            return false;
+        };
+    }
+
+    /**
+     * This method compiles a numeric operand.
+     *
+     * @param operand the operand to compile.
+     * @return the compiled expression.
+     */
+    private ToDoubleFunction<Locals> number(Object operand) {
+        if (operand instanceof Component && ((Component) operand).getConstant() != null) {
+            double constant = (Double) ((Component) operand).getConstant();
+            return l -> constant;
+        } else if (operand instanceof FunctionCallStatement) {
+            FunctionCallStatement call = (FunctionCallStatement) operand;
+            ClosureFunction function = getFunction(call.getFunction());
+            BiConsumer<Locals, Locals>[] arguments = getArguments(call);
+            int[] location = call.getLocation();
+            return l -> function.numberResult.applyAsDouble(function.enter(l, arguments, location));
+        } else if (operand instanceof BinaryExpression) {
+            BinaryExpression expression = (BinaryExpression) operand;
+            ToDoubleFunction<Locals> left = number(expression.getOperand1());
+            ToDoubleFunction<Locals> right = number(expression.getOperand2());
+            DoubleBinaryOperator arithmetic = getArithmetic(expression.getOperator());
+            String location = Arrays.toString(expression.getLocation());
+            return l -> checkNumber(arithmetic.applyAsDouble(left.applyAsDouble(l), right.applyAsDouble(l)), location);
+        } else if (operand instanceof UnaryExpression) {
+            UnaryExpression expression = (UnaryExpression) operand;
+            ToDoubleFunction<Locals> value = number(expression.getOperand());
+            if (expression.getOperator() == UnaryOperator.INC) {
+                return l -> value.applyAsDouble(l) + 1;
+            } else if (expression.getOperator() == UnaryOperator.DEC) {
+                return l -> value.applyAsDouble(l) - 1;
+            }
+            return l -> -value.applyAsDouble(l);
+        } else if (operand instanceof ValueWrapper) {
+            ValueWrapper wrapper = (ValueWrapper) operand;
+            if (wrapper.isReference()) {
+                int depth = wrapper.getDepth();
+                int slot = wrapper.getSlot();
+                return depth == 0 ? l -> l.numbers[slot] : l -> l.globals.numbers[slot];
+            } else if (wrapper.getValue() instanceof Component) {
+                return number(wrapper.getValue());
+            }
+            double constant = (Double) wrapper.getConstant();
+            return l -> constant;
+        }
+        throw new IllegalArgumentException("Operand <" + operand + "> cannot be compiled as number!");
+    }
+
+    /**
+     * This method compiles a boolean operand. Like within the Interpreter, both operands of logical operators are
+     * evaluated.
+     *
+     * @param operand the operand to compile.
+     * @return the compiled expression.
+     */
+    private Predicate<Locals> condition(Object operand) {
+        if (operand instanceof Component && ((Component) operand).getConstant() != null) {
+            boolean constant = (Boolean) ((Component) operand).getConstant();
+            return l -> constant;
+        } else if (operand instanceof FunctionCallStatement) {
+            FunctionCallStatement call = (FunctionCallStatement) operand;
+            ClosureFunction function = getFunction(call.getFunction());
+            BiConsumer<Locals, Locals>[] arguments = getArguments(call);
+            int[] location = call.getLocation();
+            return l -> function.booleanResult.test(function.enter(l, arguments, location));
+        } else if (operand instanceof BinaryCondition) {
+            return condition((BinaryCondition) operand);
+        } else if (operand instanceof UnaryCondition) {
+            Predicate<Locals> value = condition(((UnaryCondition) operand).getOperand());
+            return l -> !value.test(l);
+        } else if (operand instanceof UnaryExpression) {
+            Predicate<Locals> value = condition(((UnaryExpression) operand).getOperand());
+            return l -> !value.test(l);
+        } else if (operand instanceof ValueWrapper) {
+            ValueWrapper wrapper = (ValueWrapper) operand;
+            if (wrapper.isReference()) {
+                int depth = wrapper.getDepth();
+                int slot = wrapper.getSlot();
+                return depth == 0 ? l -> l.booleans[slot] : l -> l.globals.booleans[slot];
+            } else if (wrapper.getValue() instanceof Component) {
+                return condition(wrapper.getValue());
+            }
+            boolean constant = (Boolean) wrapper.getConstant();
+            return l -> constant;
+        }
+        throw new IllegalArgumentException("Operand <" + operand + "> cannot be compiled as condition!");
+    }
+
+    /**
+     * This method compiles a binary conditional expression. The variant of the operator is chosen by the type of the
+     * operands, which was recorded during validation.
+     *
+     * @param operand the operand to compile.
+     * @return the compiled expression.
+     */
+    private Predicate<Locals> condition(BinaryCondition operand) {
+        BinaryOperator operator = operand.getOperator();
+        Type type = ((Component) operand.getOperand1()).getResolvedType();
+        if (type == Type.NUMERIC) {
+            ToDoubleFunction<Locals> left = number(operand.getOperand1());
+            ToDoubleFunction<Locals> right = number(operand.getOperand2());
+            switch (operator) {
+                case LESS:
+                    return l -> left.applyAsDouble(l) < right.applyAsDouble(l);
+                case LEQ:
+                    return l -> left.applyAsDouble(l) <= right.applyAsDouble(l);
+                case GREATER:
+                    return l -> left.applyAsDouble(l) > right.applyAsDouble(l);
+                case GREQ:
+                    return l -> left.applyAsDouble(l) >= right.applyAsDouble(l);
+                case EQ:
+                    return l -> left.applyAsDouble(l) == right.applyAsDouble(l);
+                default:
+                    return l -> left.applyAsDouble(l) != right.applyAsDouble(l);
+            }
+        } else if (type == Type.BOOLEAN) {
+            Predicate<Locals> left = condition(operand.getOperand1());
+            Predicate<Locals> right = condition(operand.getOperand2());
+            switch (operator) {
+                case AND:
+                    return l -> left.test(l) & right.test(l);
+                case OR:
+                    return l -> left.test(l) | right.test(l);
+                case EQ:
+                    return l -> left.test(l) == right.test(l);
+                default:
+                    return l -> left.test(l) != right.test(l);
+            }
+        }
+        Function<Locals, CharSequence> left = string(operand.getOperand1());
+        Function<Locals, CharSequence> right = string(operand.getOperand2());
+        if (operator == BinaryOperator.NEQ) {
+            return l -> !left.apply(l).toString().equals(right.apply(l).toString());
+        }
+        return l -> left.apply(l).toString().equals(right.apply(l).toString());
+    }
+
+    /**
+     * This method compiles a string operand. Concatenations result in a {@link ConcatString}, which is flattened
+     * only if it is printed or compared.
+     *
+     * @param operand the operand to compile.
+     * @return the compiled expression.
+     */
+    private Function<Locals, CharSequence> string(Object operand) {
+        if (operand instanceof Component && ((Component) operand).getConstant() != null) {
+            String constant = (String) ((Component) operand).getConstant();
+            return l -> constant;
+        } else if (operand instanceof FunctionCallStatement) {
+            FunctionCallStatement call = (FunctionCallStatement) operand;
+            ClosureFunction function = getFunction(call.getFunction());
+            BiConsumer<Locals, Locals>[] arguments = getArguments(call);
+            int[] location = call.getLocation();
+            return l -> function.stringResult.apply(function.enter(l, arguments, location));
+        } else if (operand instanceof BinaryExpression) {
+            BinaryExpression expression = (BinaryExpression) operand;
+            Function<Locals, CharSequence> left = text(expression.getOperand1());
+            Function<Locals, CharSequence> right = text(expression.getOperand2());
+            return l -> ConcatString.concat(left.apply(l), right.apply(l).toString());
+        } else if (operand instanceof ValueWrapper) {
+            ValueWrapper wrapper = (ValueWrapper) operand;
+            if (wrapper.isReference()) {
+                int depth = wrapper.getDepth();
+                int slot = wrapper.getSlot();
+                return depth == 0 ? l -> l.strings[slot] : l -> l.globals.strings[slot];
+            } else if (wrapper.getValue() instanceof Component) {
+                return string(wrapper.getValue());
+            }
+            String constant = (String) wrapper.getConstant();
+            return l -> constant;
+        }
+        throw new IllegalArgumentException("Operand <" + operand + "> cannot be compiled as string!");
+    }
+
+    /**
+     * This method compiles the text representation of an operand of any type, as used for printing and string
+     * concatenation.
+     *
+     * @param operand the operand to compile.
+     * @return the compiled expression.
+     */
+    private Function<Locals, CharSequence> text(Object operand) {
+        Object value = ((Component) operand).getConstant();
+        Type type = ((Component) operand).getResolvedType();
+        if (value != null) {
+            String constant = NumberFormatter.toText(value);
+            return l -> constant;
+        } else if (type == Type.NUMERIC) {
+            ToDoubleFunction<Locals> number = number(operand);
+            return l -> NumberFormatter.format(number.applyAsDouble(l));
+        } else if (type == Type.BOOLEAN) {
+            Predicate<Locals> condition = condition(operand);
+            return l -> String.valueOf(condition.test(l));
+        }
+        return string(operand);
+    }
+
+    /**
+     * Returns the compiled function of a function definition. The function is compiled at the first request. As it
+     * is registered before its body is compiled, recursive calls refer to the same function.
+     *
+     * @param definition the function definition.
+     * @return the compiled function.
+     */
+    private ClosureFunction getFunction(FunctionDefStatement definition) {
+        ClosureFunction function = functions.get(definition);
+        if (function == null) {
+            function = new ClosureFunction(budget);
+            functions.put(definition, function);
+            Statement outer = statement;
+            List<Component> statements = new ArrayList<>(definition.getStatements());
+            statements.removeIf(stmt -> stmt instanceof ParamDeclaration);
+            function.frameSize = definition.getFrameSize();
+            function.body = compileBlock(statements);
+            Object result = definition.getReturnStatement();
+            if (definition.getType() == Type.NUMERIC) {
+                function.numberResult = number(result);
+            } else if (definition.getType() == Type.BOOLEAN) {
+                function.booleanResult = condition(result);
+            } else {
+                function.stringResult = string(result);
+            }
+            statement = outer;
+        }
+        return function;
+    }
+
+    /**
+     * This method compiles the arguments of a function call. Every argument is evaluated within the frame of the
+     * caller and stored in the parameter slot of the callee frame, while the parameters take the first slots.
+     *
+     * @param call the function call.
+     * @return the compiled arguments.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private BiConsumer<Locals, Locals>[] getArguments(FunctionCallStatement call) {
+        List<Component> argumentList = call.getArgumentList();
+        BiConsumer<Locals, Locals>[] arguments = new BiConsumer[argumentList.size()];
+        for (int i = 0; i < arguments.length; i++) {
+            int slot = i;
+            Component argument = argumentList.get(i);
+            if (argument.getResolvedType() == Type.NUMERIC) {
+                ToDoubleFunction<Locals> number = number(argument);
+                arguments[i] = (caller, callee) -> callee.numbers[slot] = number.applyAsDouble(caller);
+            } else if (argument.getResolvedType() == Type.BOOLEAN) {
+                Predicate<Locals> condition = condition(argument);
+                arguments[i] = (caller, callee) -> callee.booleans[slot] = condition.test(caller);
+            } else {
+                Function<Locals, CharSequence> string = string(argument);
+                arguments[i] = (caller, callee) -> callee.strings[slot] = string.apply(caller);
+            }
+        }
+        return arguments;
+    }
+
+    /**
+     * Returns the operation of an arithmetic operator. Compound assignment operators are mapped to the according
+     * arithmetic operation.
+     *
+     * @param operator the arithmetic operator.
+     * @return the operation.
+     */
+    private static DoubleBinaryOperator getArithmetic(BinaryOperator operator) {
+        switch (operator) {
+            case PLUS:
+            case PLUSEQ:
+                return (a, b) -> a + b;
+            case MINUS:
+            case MINEQ:
+                return (a, b) -> a - b;
+            case MUL:
+            case MULEQ:
+                return (a, b) -> a * b;
+            case DIV:
+            case DIVEQ:
+                return (a, b) -> a / b;
+            case MOD:
+            case MODEQ:
+                return (a, b) -> a % b;
+            default:
+                throw new IllegalArgumentException("Operator <" + operator.getLiteral() + "> is not arithmetic!");
+        }
+    }
+
+    /**
+     * This method validates the result of an arithmetic operation for runtime exceptions.
+     *
+     * @param value the result of an arithmetic operation.
+     * @return the validated result.
+     */
+    private static double checkNumber(double value) {
+        if (Double.isInfinite(value)) {
+            throw new ArithmeticException("Invalid arithmetic operation! Result evaluated to Infinity!");
+        } else if (Double.isNaN(value)) {
+            throw new ArithmeticException("Invalid arithmetic operation! Result is not a number!");
+        }
+        return value;
+    }
+
+    /**
+     * This method validates the result of an arithmetic expression for runtime exceptions. In case of an exception,
+     * the location of the expression is added.
+     *
+     * @param value    the result of an arithmetic expression.
+     * @param location the text representation of the location of the expression.
+     * @return the validated result.
+     */
+    private static double checkNumber(double value, String location) {
+        if (Double.isInfinite(value) || Double.isNaN(value)) {
+            try {
+                checkNumber(value);
+            } catch (ArithmeticException e) {
+                throw new ArithmeticException("Arithmetic exception at location " + location + " occurred!\n" + e.getMessage());
+            }
+        }
+        return value;
+    }
+
+}
@@ -0,0 +1,52 @@
+package closure;
+
+import execution.Budget;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * This class holds a compiled function. It is created when the function is referenced for the first time and
+ * completed after its body was compiled, so recursive calls can refer to it during compilation.
+ * Only the result of the return type of the function is set. Every call is charged to the budget.
+ */
+final class ClosureFunction {
+
+    private final Budget budget;
+    int frameSize;
+    Statement body;
+    ToDoubleFunction<Locals> numberResult;
+    Predicate<Locals> booleanResult;
+    Function<Locals, CharSequence> stringResult;
+
+    /**
+     * This constructor initializes the function, while the body and the result are set after compilation.
+     *
+     * @param budget the budget which is charged by every call.
+     */
+    ClosureFunction(Budget budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * This method creates the frame of a call and executes the body of the function within it. The arguments are
+     * evaluated within the frame of the caller.
+     *
+     * @param caller    the frame of the caller.
+     * @param arguments the compiled arguments, which pass a value from the caller frame to the callee frame.
+     * @param location  the location of the call.
+     * @return the frame of the call, which holds the values required to evaluate the result.
+     */
+    Locals enter(Locals caller, BiConsumer<Locals, Locals>[] arguments, int[] location) {
+        budget.step(location);
+        Locals callee = new Locals(frameSize, caller.globals);
+        for (BiConsumer<Locals, Locals> argument : arguments) {
+            argument.accept(caller, callee);
+        }
+        body.execute(callee);
+        return callee;
+    }
+
+}
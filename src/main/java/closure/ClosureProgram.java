@@ -0,0 +1,66 @@
+package closure;
+
+import execution.Budget;
+import execution.ExecutionLimits;
+import output.OutputSink;
+
+import java.util.List;
+
+/**
+ * This class is the executable handle of a program compiled by the ClosureCompiler. It can be run any count of times,
+ * while every run starts with a new global frame and a restarted budget.
+ * Example for usage (where program is a parsed Program):
+ * <code>ClosureProgram compiled = ClosureCompiler.compile(program);
+ * compiled.run();</code>
+ */
+public class ClosureProgram {
+
+    private final Statement root;
+    private final int frameSize;
+    private final OutputSink output;
+    private final Budget budget;
+    private ExecutionLimits limits = ExecutionLimits.DEFAULT;
+
+    /**
+     * This constructor initializes the executable program.
+     *
+     * @param root      the compiled top-level statements.
+     * @param frameSize the count of slots of the global frame.
+     * @param output    the sink which receives the printed lines of the compiled print statements.
+     * @param budget    the budget which is charged by the compiled loops and calls.
+     */
+    ClosureProgram(Statement root, int frameSize, OutputSink output, Budget budget) {
+        this.root = root;
+        this.frameSize = frameSize;
+        this.output = output;
+        this.budget = budget;
+    }
+
+    /**
+     * This method executes the compiled program. The output of a previous run is discarded.
+     */
+    public void run() {
+        output.clear();
+        budget.start(limits);
+        root.execute(new Locals(frameSize, null));
+    }
+
+    /**
+     * This method sets the limits of the following runs.
+     *
+     * @param limits the limits of a run.
+     */
+    public void setLimits(ExecutionLimits limits) {
+        this.limits = limits;
+    }
+
+    /**
+     * Returns the output of all executed print statements.
+     *
+     * @return the printed lines.
+     */
+    public List<String> getOutput() {
+        return output.getLines();
+    }
+
+}
@@ -0,0 +1,40 @@
+package closure;
+
+/**
+ * This class holds the runtime values of the variables of one program or function execution.
+ * As the type of every variable is known at compile time, values are stored unboxed within typed arrays, while every
+ * declaration owns the same slot within the array of its type. Every frame knows the global frame, so global
+ * variables can be accessed directly from within functions. Strings are held as character sequences, so a string
+ * which was built by concatenation stays a {@link execution.ConcatString} and can be appended to in place.
+ */
+final class Locals {
+
+    final double[] numbers;
+    final boolean[] booleans;
+    final CharSequence[] strings;
+    final Locals globals;
+
+    /**
+     * This constructor initializes a frame with a fixed count of slots.
+     *
+     * @param size    the count of slots.
+     * @param globals the global frame, or null if this frame is the global frame.
+     */
+    Locals(int size, Locals globals) {
+        this.numbers = new double[size];
+        this.booleans = new boolean[size];
+        this.strings = new CharSequence[size];
+        this.globals = globals == null ? this : globals;
+    }
+
+    /**
+     * Returns the frame at the passed depth.
+     *
+     * @param depth the resolved depth (0 for this frame, 1 for the global frame).
+     * @return the target frame.
+     */
+    Locals at(int depth) {
+        return depth == 0 ? this : globals;
+    }
+
+}
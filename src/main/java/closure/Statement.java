@@ -0,0 +1,17 @@
+package closure;
+
+/**
+ * This interface represents a compiled statement.
+ */
+@FunctionalInterface
+interface Statement {
+
+    /**
+     * This method executes the statement.
+     *
+     * @param locals the frame of the current execution context.
+     * @return true if a break statement was executed, i.e. the enclosing loop must be left.
+     */
+    boolean execute(Locals locals);
+
+}
@@ -0,0 +1,150 @@
+package compiler;
+
+import execution.Preparation;
+import parser.parsetree.Program;
+
+import javax.tools.*;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The purpose of this class is to compile a parsed program into a JVM class, so the program can be just-in-time
+ * compiled by the JVM like any other Java code.
+ * The program is validated and resolved first. Then, the JavaSourceGenerator translates it into Java source code,
+ * which is compiled in memory by the system Java compiler and loaded by a dedicated class loader.
+ * As the system Java compiler is part of a JDK only, the availability can be checked in advance.
+ * Example for usage (where program is a parsed Program):
+ * <code>CompiledProgram compiled = new BytecodeCompiler().compile(program);
+ * compiled.run();</code>
+ */
+public class BytecodeCompiler {
+
+    private static final String CLASS_NAME = "CompiledScript";
+
+    /**
+     * Returns true if a system Java compiler is available.
+     *
+     * @return true if programs can be compiled.
+     */
+    public static boolean isAvailable() {
+        return ToolProvider.getSystemJavaCompiler() != null;
+    }
+
+    /**
+     * This method validates, resolves, folds and compiles a program.
+     *
+     * @param program the program to compile.
+     * @return the executable compiled program.
+     */
+    public CompiledProgram compile(Program program) {
+        Preparation.prepare(program);
+        JavaSourceGenerator generator = new JavaSourceGenerator(CLASS_NAME);
+        program.accept(generator);
+        Map<String, byte[]> classes = compile(generator.getSource());
+        try {
+            Class<?> type = new ByteClassLoader(classes).loadClass(CLASS_NAME);
+            return (CompiledProgram) type.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Compiled program could not be loaded!", e);
+        }
+    }
+
+    /**
+     * This method compiles Java source code in memory.
+     *
+     * @param source the source code of the class to compile.
+     * @return the byte code of all compiled classes by class name.
+     */
+    private Map<String, byte[]> compile(String source) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("No Java compiler available! Programs can only be compiled within a JDK.");
+        }
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        Map<String, ByteArrayOutputStream> output = new HashMap<>();
+        JavaFileManager fileManager = new ForwardingJavaFileManager<StandardJavaFileManager>(compiler.getStandardFileManager(diagnostics, null, null)) {
+            @Override
+            public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind, FileObject sibling) {
+                return new SimpleJavaFileObject(URI.create("bytes:///" + className.replace('.', '/') + kind.extension), kind) {
+                    @Override
+                    public OutputStream openOutputStream() {
+                        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+                        output.put(className, stream);
+                        return stream;
+                    }
+                };
+            }
+        };
+        JavaFileObject file = new SimpleJavaFileObject(URI.create("string:///" + CLASS_NAME + JavaFileObject.Kind.SOURCE.extension), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+        List<String> options = Arrays.asList("-classpath", getClassPath(), "-nowarn", "-g:none");
+        if (!compiler.getTask(null, fileManager, diagnostics, options, null, Arrays.asList(file)).call()) {
+            throw new IllegalStateException("Generated code could not be compiled!\n" + diagnostics.getDiagnostics() + "\n" + source);
+        }
+        Map<String, byte[]> classes = new HashMap<>();
+        output.forEach((name, stream) -> classes.put(name, stream.toByteArray()));
+        return classes;
+    }
+
+    /**
+     * Returns the class path for the compilation, which must contain the CompiledProgram superclass.
+     *
+     * @return the class path.
+     */
+    private static String getClassPath() {
+        String classPath = System.getProperty("java.class.path");
+        try {
+            String location = new File(CompiledProgram.class.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+            classPath = location + File.pathSeparator + classPath;
+        } catch (Exception e) {
+            // the class path of the running application is used only
+        }
+        return classPath;
+    }
+
+    /**
+     * This class loader defines classes from compiled byte code. Every compilation uses its own class loader,
+     * so compiled programs can be garbage collected when not used anymore.
+     */
+    private static class ByteClassLoader extends ClassLoader {
+
+        private final Map<String, byte[]> classes;
+
+        /**
+         * This constructor initializes the class loader with compiled classes.
+         *
+         * @param classes the byte code of the compiled classes by class name.
+         */
+        ByteClassLoader(Map<String, byte[]> classes) {
+            super(CompiledProgram.class.getClassLoader());
+            this.classes = classes;
+        }
+
+        /**
+         * This method defines a compiled class.
+         *
+         * @param name the name of the class.
+         * @return the defined class.
+         * @throws ClassNotFoundException if the class was not compiled.
+         */
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            byte[] bytes = classes.get(name);
+            if (bytes == null) {
+                throw new ClassNotFoundException(name);
+            }
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+
+}
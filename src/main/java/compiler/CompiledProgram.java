@@ -0,0 +1,187 @@
+package compiler;
+
+import execution.Budget;
+import execution.ConcatString;
+import execution.ExecutionLimits;
+import execution.NumberFormatter;
+import output.BufferedSink;
+import output.OutputSink;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This is the superclass of all programs generated by the BytecodeCompiler.
+ * A generated program implements the top-level statements within the execute method, while function definitions
+ * become static methods of the generated class. The runtime helpers of this class are shared by all generated
+ * programs, so their semantics match the Interpreter (e.g. number formatting and arithmetic runtime checks).
+ * Every loop run and every call is charged to the budget of the run, which enforces the ExecutionLimits.
+ * Example for usage (where program is a parsed Program):
+ * <code>CompiledProgram compiled = new BytecodeCompiler().compile(program);
+ * compiled.run();</code>
+ */
+public abstract class CompiledProgram {
+
+    private OutputSink output = new BufferedSink();
+    private final Budget budget = new Budget();
+    private ExecutionLimits limits = ExecutionLimits.DEFAULT;
+
+    /**
+     * This method executes the compiled program. The output of a previous run is discarded.
+     */
+    public void run() {
+        output.clear();
+        budget.start(limits);
+        execute();
+    }
+
+    /**
+     * This method sets the limits of the following runs.
+     *
+     * @param limits the limits of a run.
+     */
+    public void setLimits(ExecutionLimits limits) {
+        this.limits = limits;
+    }
+
+    /**
+     * This method sets the sink, which receives the printed lines of the following runs.
+     *
+     * @param output the output sink.
+     */
+    public void setOutput(OutputSink output) {
+        this.output = output;
+    }
+
+    /**
+     * Returns the output of all executed print statements.
+     *
+     * @return the printed lines.
+     */
+    public List<String> getOutput() {
+        return output.getLines();
+    }
+
+    /**
+     * This method contains the generated top-level statements.
+     */
+    protected abstract void execute();
+
+    /**
+     * Returns the maximum count of runs per while loop of the current run.
+     *
+     * @return the maximum count of runs.
+     */
+    protected int getMaxLoopRuns() {
+        return budget.getMaxLoopRuns();
+    }
+
+    /**
+     * This method charges a loop run to the budget.
+     *
+     * @param location the location of the loop.
+     */
+    protected void step(int[] location) {
+        budget.step(location);
+    }
+
+    /**
+     * This method charges a call to the budget. It returns the program itself, so it can be passed to the called
+     * function directly.
+     *
+     * @param location the location of the call.
+     * @param <T>      the generated class.
+     * @return this program.
+     */
+    @SuppressWarnings("unchecked")
+    protected <T extends CompiledProgram> T call(int[] location) {
+        budget.step(location);
+        return (T) this;
+    }
+
+    /**
+     * This method executes a print statement.
+     *
+     * @param out the text to print.
+     */
+    protected void print(CharSequence out) {
+        output.print(out.toString());
+    }
+
+    /**
+     * This method converts a number to its text representation, as defined by the NumberFormatter.
+     *
+     * @param value the number.
+     * @return the text representation of the number.
+     */
+    protected static String text(double value) {
+        return NumberFormatter.format(value);
+    }
+
+    /**
+     * This method concatenates two strings. The result is a {@link ConcatString}, so appending to a string in a loop
+     * does not copy the whole string every time.
+     *
+     * @param left  the first string.
+     * @param right the second string.
+     * @return the concatenated string.
+     */
+    protected static CharSequence concat(CharSequence left, CharSequence right) {
+        return ConcatString.concat(left, right.toString());
+    }
+
+    /**
+     * This method compares the texts of two strings.
+     *
+     * @param left  the first string.
+     * @param right the second string.
+     * @return true, if the texts are equal.
+     */
+    protected static boolean equal(CharSequence left, CharSequence right) {
+        return left.toString().equals(right.toString());
+    }
+
+    /**
+     * This method validates the result of an arithmetic operation for runtime exceptions.
+     *
+     * @param value the result of an arithmetic operation.
+     * @return the validated result.
+     */
+    protected static double check(double value) {
+        if (Double.isInfinite(value)) {
+            throw new ArithmeticException("Invalid arithmetic operation! Result evaluated to Infinity!");
+        } else if (Double.isNaN(value)) {
+            throw new ArithmeticException("Invalid arithmetic operation! Result is not a number!");
+        }
+        return value;
+    }
+
+    /**
+     * This method validates the result of an arithmetic expression for runtime exceptions. In case of an exception,
+     * the location of the expression is added.
+     *
+     * @param value the result of an arithmetic expression.
+     * @param left  the start index of the expression.
+     * @param right the end index of the expression.
+     * @return the validated result.
+     */
+    protected static double check(double value, int left, int right) {
+        try {
+            return check(value);
+        } catch (ArithmeticException e) {
+            throw new ArithmeticException("Arithmetic exception at location " + Arrays.toString(new int[]{left, right}) + " occurred!\n" + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the error for a while loop which exceeded the maximum count of runs.
+     *
+     * @param left  the start index of the while statement.
+     * @param right the end index of the while statement.
+     * @return the error to throw.
+     */
+    protected static StackOverflowError loopOverflow(int left, int right) {
+        return new StackOverflowError("StackoverflowError at location " + Arrays.toString(new int[]{left, right}) + " occurred!");
+    }
+
+}
@@ -0,0 +1,521 @@
+package compiler;
+
+import parser.parsetree.BinaryOperator;
+import parser.parsetree.Component;
+import parser.parsetree.Program;
+import parser.parsetree.Type;
+import parser.parsetree.UnaryOperator;
+import parser.parsetree.instructions.*;
+import parser.parsetree.interfaces.Visitor;
+import parser.parsetree.statements.*;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The purpose of this class is to translate a validated and resolved parse tree into the source code of a Java class.
+ * It is implemented as visitor, while every statement is translated into the equivalent Java statement and every
+ * expression into the equivalent typed Java expression. Numbers are represented as double, booleans as boolean and
+ * strings as CharSequence, so concatenations result in an {@link execution.ConcatString}, which is appended to in place.
+ * Variables of the global frame become fields of the generated class, variables of a function frame become local
+ * variables. Every declaration gets a unique name, so block scopes and shadowed variables do not clash in Java.
+ * Each function definition becomes a static method, which receives the program instance as first argument.
+ * Loop runs and calls are charged to the budget of the program instance, while their locations become constants.
+ * Example for usage (where program is a validated and resolved Program):
+ * <code>JavaSourceGenerator generator = new JavaSourceGenerator("Script");
+ * program.accept(generator);
+ * String source = generator.getSource();</code>
+ */
+public class JavaSourceGenerator implements Visitor {
+
+    private static final String INDENT = "    ";
+
+    private final String className;
+    private final StringBuilder fields = new StringBuilder();
+    private final StringBuilder methods = new StringBuilder();
+    private final Map<FunctionDefStatement, String> functionNames = new IdentityHashMap<>();
+    private StringBuilder body = new StringBuilder();   // statements of the method currently generated
+    private String[] globalNames;                       // current variable names of the global frame slots
+    private String[] localNames;                        // current variable names of the function frame slots
+    private boolean functionContext = false;            // indicates if a function body is generated
+    private int indent = 2;
+    private int nameCounter = 0;
+    private String source;
+
+    /**
+     * This constructor initializes a generator for a class with the passed name.
+     *
+     * @param className the name of the generated class.
+     */
+    public JavaSourceGenerator(String className) {
+        this.className = className;
+    }
+
+    /**
+     * Returns the generated source code.
+     *
+     * @return the source code of the generated class.
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * This method translates an assignment. Compound assignments evaluate the assigned value first, so the order
+     * of evaluation matches the Interpreter.
+     *
+     * @param acceptor the AssignmentStatement to visit.
+     */
+    @Override
+    public void visit(AssignmentStatement acceptor) {
+        String target = getReference(acceptor.getDepth(), acceptor.getSlot());
+        String value = getExpression(acceptor.getValue());
+        BinaryOperator operator = acceptor.getOperator();
+        if (operator == BinaryOperator.EQUAL) {
+            appendLine(target + " = " + value + ";");
+        } else if (acceptor.getResolvedType() == Type.STRING) {
+            String temp = getUniqueName("t");
+            appendLine("{");
+            appendLine(INDENT + "CharSequence " + temp + " = " + getText(acceptor.getValue(), value) + ";");
+            appendLine(INDENT + target + " = concat(" + target + ", " + temp + ");");
+            appendLine("}");
+        } else {
+            String temp = getUniqueName("t");
+            String arithmetic = operator.getLiteral().substring(0, 1);
+            appendLine("{");
+            appendLine(INDENT + "double " + temp + " = " + value + ";");
+            appendLine(INDENT + target + " = check(" + target + " " + arithmetic + " " + temp + ");");
+            appendLine("}");
+        }
+    }
+
+    /**
+     * This method translates a generic component. The only generic component with an effect at runtime is the
+     * break statement.
+     *
+     * @param acceptor the generic Component to visit.
+     */
+    @Override
+    public void visit(Component acceptor) {
+        if (acceptor instanceof BreakStatement) {
+            appendLine("break;");
+        }
+    }
+
+    /**
+     * This method translates a function call statement.
+     *
+     * @param acceptor the FunctionCallStatement to visit.
+     */
+    @Override
+    public void visit(FunctionCallStatement acceptor) {
+        appendLine(getExpression(acceptor) + ";");
+    }
+
+    /**
+     * This method translates a function definition into a static method. The parameters become the method
+     * parameters and the return statement the return value of the method.
+     *
+     * @param acceptor the FunctionDefStatement to visit.
+     */
+    @Override
+    public void visit(FunctionDefStatement acceptor) {
+        String name = getUniqueName("f_" + acceptor.getIdentifier());
+        functionNames.put(acceptor, name);
+
+        StringBuilder outerBody = body;
+        int outerIndent = indent;
+        body = new StringBuilder();
+        indent = 2;
+        functionContext = true;
+        localNames = new String[acceptor.getFrameSize()];
+
+        StringBuilder params = new StringBuilder(className + " self");
+        for (Component stmt : acceptor.getStatements()) {
+            if (stmt instanceof ParamDeclaration) {
+                ParamDeclaration param = (ParamDeclaration) stmt;
+                String paramName = getUniqueName("v_" + param.getIdentifier());
+                localNames[param.getSlot()] = paramName;
+                params.append(", ").append(getJavaType(param.getType())).append(" ").append(paramName);
+            } else {
+                stmt.accept(this);
+            }
+        }
+        appendLine("return " + getExpression(acceptor.getReturnStatement()) + ";");
+
+        methods.append("\n").append(INDENT).append("private static ").append(getJavaType(acceptor.getType())).append(" ")
+                .append(name).append("(").append(params).append(") {\n").append(body).append(INDENT).append("}\n");
+
+        body = outerBody;
+        indent = outerIndent;
+        functionContext = false;
+        localNames = null;
+    }
+
+    /**
+     * This method translates an if-then-else statement.
+     *
+     * @param acceptor the IfThenElseStatement to visit.
+     */
+    @Override
+    public void visit(IfThenElseStatement acceptor) {
+        appendLine("if (" + getExpression(acceptor.getCondition()) + ") {");
+        appendStatements(acceptor.getIfStatements());
+        appendLine("} else {");
+        appendStatements(acceptor.getElseStatements());
+        appendLine("}");
+    }
+
+    /**
+     * This method translates an if-then statement.
+     *
+     * @param acceptor the IfThenStatement to visit.
+     */
+    @Override
+    public void visit(IfThenStatement acceptor) {
+        appendLine("if (" + getExpression(acceptor.getCondition()) + ") {");
+        appendStatements(acceptor.getStatements());
+        appendLine("}");
+    }
+
+    /**
+     * Parameter declarations are translated together with their function definition. So there is nothing to do here.
+     *
+     * @param acceptor the ParamDeclaration to visit.
+     */
+    @Override
+    public void visit(ParamDeclaration acceptor) {
+    }
+
+    /**
+     * This method translates a print call statement.
+     *
+     * @param acceptor the PrintCallStatement to visit.
+     */
+    @Override
+    public void visit(PrintCallStatement acceptor) {
+        Object value = acceptor.getValue();
+        if (value != null) {
+            appendLine("self.print(" + getText(value, getExpression(value)) + ");");
+        } else {
+            appendLine("self.print(\"\");");
+        }
+    }
+
+    /**
+     * This method translates the whole program into a class. The top-level statements become the execute method.
+     *
+     * @param acceptor the Program to visit.
+     */
+    @Override
+    public void visit(Program acceptor) {
+        globalNames = new String[acceptor.getFrameSize()];
+        for (Component stmt : acceptor.getStatements()) {
+            stmt.accept(this);
+        }
+        source = "public final class " + className + " extends " + CompiledProgram.class.getName() + " {\n" +
+                fields +
+                "\n" + INDENT + "@Override\n" +
+                INDENT + "protected void execute() {\n" +
+                INDENT + INDENT + className + " self = this;\n" +
+                body +
+                INDENT + "}\n" +
+                methods +
+                "}\n";
+    }
+
+    /**
+     * This method translates a variable declaration. Variables of the global frame become fields of the generated class.
+     *
+     * @param acceptor the VariableDeclaration to visit.
+     */
+    @Override
+    public void visit(VariableDeclaration acceptor) {
+        String value = getExpression(acceptor.getValue());
+        String name = getUniqueName("v_" + acceptor.getIdentifier());
+        String type = getJavaType(acceptor.getType());
+        if (functionContext) {
+            localNames[acceptor.getSlot()] = name;
+            appendLine(type + " " + name + " = " + value + ";");
+        } else {
+            globalNames[acceptor.getSlot()] = name;
+            fields.append(INDENT).append("private ").append(type).append(" ").append(name).append(";\n");
+            appendLine("self." + name + " = " + value + ";");
+        }
+    }
+
+    /**
+     * This method translates a while statement. The loop is generated as endless loop, which is left if the condition
+     * is false, so a constant condition does not make subsequent code unreachable for the Java compiler. Like within the
+     * Interpreter, the count of runs is limited and every run is charged to the budget.
+     *
+     * @param acceptor the WhileStatement to visit.
+     */
+    @Override
+    public void visit(WhileStatement acceptor) {
+        String counter = getUniqueName("c");
+        int[] location = acceptor.getLocation();
+        appendLine("for (int " + counter + " = 0; ; ) {");
+        appendLine(INDENT + "if (!" + getExpression(acceptor.getCondition()) + ") {");
+        appendLine(INDENT + INDENT + "break;");
+        appendLine(INDENT + "}");
+        appendLine(INDENT + "if (++" + counter + " > self.getMaxLoopRuns()) {");
+        appendLine(INDENT + INDENT + "throw loopOverflow(" + location[0] + ", " + location[1] + ");");
+        appendLine(INDENT + "}");
+        appendLine(INDENT + "self.step(" + getLocationConstant(location) + ");");
+        appendStatements(acceptor.getStatements());
+        appendLine("}");
+    }
+
+    // ------------------------------------------ helper methods ------------------------------------------
+
+    /**
+     * This helper method translates a statement list with increased indentation.
+     *
+     * @param components the statements to translate.
+     */
+    private void appendStatements(List<Component> components) {
+        indent++;
+        for (Component st : components) {
+            st.accept(this);
+        }
+        indent--;
+    }
+
+    /**
+     * This helper method appends an indented line to the current method body.
+     *
+     * @param line the line to append.
+     */
+    private void appendLine(String line) {
+        for (int i = 0; i < indent; i++) {
+            body.append(INDENT);
+        }
+        body.append(line).append("\n");
+    }
+
+    /**
+     * This method translates an operand, which can be any type of program component which results in a value, into a
+     * Java expression.
+     *
+     * @param operand the operand to translate.
+     * @return the Java expression.
+     */
+    private String getExpression(Object operand) {
+        if (operand instanceof Component && ((Component) operand).getConstant() != null) {
+            return getLiteral(((Component) operand).getConstant());
+        } else if (operand instanceof FunctionCallStatement) {
+            return getExpression((FunctionCallStatement) operand);
+        } else if (operand instanceof BinaryExpression) {
+            return getExpression((BinaryExpression) operand);
+        } else if (operand instanceof UnaryExpression) {
+            return getExpression((UnaryExpression) operand);
+        } else if (operand instanceof ValueWrapper) {
+            return getExpression((ValueWrapper) operand);
+        } else if (operand instanceof BinaryCondition) {
+            return getExpression((BinaryCondition) operand);
+        } else if (operand instanceof UnaryCondition) {
+            return getExpression((UnaryCondition) operand);
+        }
+        throw new IllegalArgumentException("Operand <" + operand + "> cannot be compiled!");
+    }
+
+    /**
+     * This method translates a function call into a call of the according static method. The program instance is
+     * passed after charging the call to the budget.
+     *
+     * @param operand the operand to translate.
+     * @return the Java expression.
+     */
+    private String getExpression(FunctionCallStatement operand) {
+        StringBuilder out = new StringBuilder(functionNames.get(operand.getFunction()))
+                .append("(self.<").append(className).append(">call(").append(getLocationConstant(operand.getLocation())).append(")");
+        for (Component argument : operand.getArgumentList()) {
+            out.append(", ").append(getExpression(argument));
+        }
+        return out.append(")").toString();
+    }
+
+    /**
+     * This method translates a binary expression. String expressions are translated into a call of concat, while
+     * arithmetic expressions are validated for runtime exceptions.
+     *
+     * @param operand the operand to translate.
+     * @return the Java expression.
+     */
+    private String getExpression(BinaryExpression operand) {
+        String value1 = getExpression(operand.getOperand1());
+        String value2 = getExpression(operand.getOperand2());
+        if (operand.getResolvedType() == Type.STRING) {
+            return "concat(" + getText(operand.getOperand1(), value1) + ", " + getText(operand.getOperand2(), value2) + ")";
+        }
+        int[] location = operand.getLocation();
+        return "check(" + value1 + " " + operand.getOperator().getLiteral() + " " + value2 + ", " + location[0] + ", " + location[1] + ")";
+    }
+
+    /**
+     * This method translates a unary arithmetic expression.
+     *
+     * @param operand the operand to translate.
+     * @return the Java expression.
+     */
+    private String getExpression(UnaryExpression operand) {
+        String value = getExpression(operand.getOperand());
+        if (operand.getOperator() == UnaryOperator.INC) {
+            return "(" + value + " + 1)";
+        } else if (operand.getOperator() == UnaryOperator.DEC) {
+            return "(" + value + " - 1)";
+        }
+        return "(-(" + value + "))";
+    }
+
+    /**
+     * This method translates a constant, which is either a variable reference, a nested expression or a literal.
+     *
+     * @param operand the operand to translate.
+     * @return the Java expression.
+     */
+    private String getExpression(ValueWrapper operand) {
+        if (operand.isReference()) {
+            return getReference(operand.getDepth(), operand.getSlot());
+        }
+        Object value = operand.getValue();
+        if (value instanceof Component) {
+            return "(" + getExpression(value) + ")";
+        }
+        return getLiteral(operand.getConstant());
+    }
+
+    /**
+     * This method translates a binary conditional expression. Logical operators are translated into their
+     * non-short-circuit variants, as the Interpreter evaluates both operands as well.
+     *
+     * @param operand the operand to translate.
+     * @return the Java expression.
+     */
+    private String getExpression(BinaryCondition operand) {
+        String value1 = getExpression(operand.getOperand1());
+        String value2 = getExpression(operand.getOperand2());
+        BinaryOperator operator = operand.getOperator();
+        Type type = ((Component) operand.getOperand1()).getResolvedType();
+        if (type == Type.STRING) {
+            return "(" + (operator == BinaryOperator.NEQ ? "!" : "") + "equal(" + value1 + ", " + value2 + "))";
+        } else if (operator == BinaryOperator.AND) {
+            return "(" + value1 + " & " + value2 + ")";
+        } else if (operator == BinaryOperator.OR) {
+            return "(" + value1 + " | " + value2 + ")";
+        }
+        return "(" + value1 + " " + operator.getLiteral() + " " + value2 + ")";
+    }
+
+    /**
+     * This method translates a unary conditional expression.
+     *
+     * @param operand the operand to translate.
+     * @return the Java expression.
+     */
+    private String getExpression(UnaryCondition operand) {
+        return "(!" + getExpression(operand.getOperand()) + ")";
+    }
+
+    /**
+     * This method translates an already translated operand into a string expression, as used for printing and
+     * string concatenation.
+     *
+     * @param operand    the operand.
+     * @param expression the translated operand.
+     * @return the Java expression of type CharSequence.
+     */
+    private String getText(Object operand, String expression) {
+        Type type = ((Component) operand).getResolvedType();
+        if (type == Type.NUMERIC) {
+            return "text(" + expression + ")";
+        } else if (type == Type.BOOLEAN) {
+            return "String.valueOf(" + expression + ")";
+        }
+        return expression;
+    }
+
+    /**
+     * This method returns the Java name of a resolved variable.
+     *
+     * @param depth the count of frames to walk up from the current frame.
+     * @param slot  the index of the variable within the frame.
+     * @return the Java variable name.
+     */
+    private String getReference(int depth, int slot) {
+        if (functionContext && depth == 0) {
+            return localNames[slot];
+        }
+        return "self." + globalNames[slot];
+    }
+
+    /**
+     * This method translates the runtime value of a literal into a Java literal.
+     *
+     * @param value the runtime value.
+     * @return the Java literal.
+     */
+    private static String getLiteral(Object value) {
+        if (value instanceof Double) {
+            double number = (Double) value;
+            if (Double.isInfinite(number)) {
+                return number > 0 ? "Double.POSITIVE_INFINITY" : "Double.NEGATIVE_INFINITY";
+            }
+            return number < 0 ? "(" + number + ")" : Double.toString(number);
+        } else if (value instanceof Boolean) {
+            return value.toString();
+        }
+        StringBuilder out = new StringBuilder("\"");
+        for (char c : value.toString().toCharArray()) {
+            if (c == '"' || c == '\\') {
+                out.append('\\').append(c);
+            } else if (c < ' ') {
+                out.append(String.format("\\%03o", (int) c));
+            } else {
+                out.append(c);
+            }
+        }
+        return out.append("\"").toString();
+    }
+
+    /**
+     * Returns the Java type for a data type.
+     *
+     * @param type the data type.
+     * @return the Java type.
+     */
+    private static String getJavaType(Type type) {
+        if (type == Type.NUMERIC) {
+            return "double";
+        } else if (type == Type.BOOLEAN) {
+            return "boolean";
+        }
+        return "CharSequence";
+    }
+
+    /**
+     * Returns a unique Java identifier with the passed prefix.
+     *
+     * @param prefix the prefix of the identifier.
+     * @return the unique identifier.
+     */
+    private String getUniqueName(String prefix) {
+        return prefix + "_" + nameCounter++;
+    }
+
+    /**
+     * Returns the name of a new constant of the generated class, which holds a location.
+     *
+     * @param location the location.
+     * @return the name of the constant.
+     */
+    private String getLocationConstant(int[] location) {
+        String name = getUniqueName("L");
+        fields.append(INDENT).append("private static final int[] ").append(name).append(" = {")
+                .append(location[0]).append(", ").append(location[1]).append("};\n");
+        return name;
+    }
+
+}
@@ -0,0 +1,34 @@
+package exceptions;
+
+import java.util.Arrays;
+
+/**
+ * This exception is thrown during execution if a limit of the run was exceeded, i.e. the execution budget was
+ * exhausted, the deadline passed or the run was cancelled. It is reported at the location of the loop or the call
+ * which exceeded the limit.
+ */
+public class LimitExceededException extends RuntimeException {
+
+    private final int[] location;
+
+    /**
+     * Throws an exception pointing out that a limit of the run was exceeded.
+     *
+     * @param reason   the description of the exceeded limit.
+     * @param location the location of the loop or call which exceeded the limit.
+     */
+    public LimitExceededException(String reason, int[] location) {
+        super("Limit exceeded at location " + Arrays.toString(location) + " occurred!\n" + reason);
+        this.location = location;
+    }
+
+    /**
+     * Returns the location of the loop or call which exceeded the limit.
+     *
+     * @return the start and end index of the component.
+     */
+    public int[] getLocation() {
+        return location;
+    }
+
+}
@@ -0,0 +1,107 @@
+package execution;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * This class processes many scripts in parallel. Every script is scanned, parsed, validated and executed by its own
+ * Processor within the given mode, while the processors run as tasks on the configured executor (by default, the
+ * common ForkJoinPool). The processors are not verbose: the printed lines of the scripts are only passed to the
+ * output sinks of their processors, and neither tokens, warnings nor stack traces are logged. So nothing is written
+ * to the console and the workers do not contend for it. The results are collected in a BatchResult.
+ * Example for usage:
+ * <code>BatchResult result = new BatchProcessor(Mode.EXECUTE).process(scripts);</code>
+ */
+public class BatchProcessor {
+
+    private final Mode mode;
+    private final ExecutionLimits limits;
+    private final Executor executor;
+    private final ProgramCache cache;
+
+    /**
+     * This constructor initializes a batch processor, which runs on the common ForkJoinPool within the default limits.
+     *
+     * @param mode the processing mode of all scripts.
+     */
+    public BatchProcessor(Mode mode) {
+        this(mode, ExecutionLimits.DEFAULT, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * This constructor initializes a batch processor. Every script is limited by the passed limits separately.
+     *
+     * @param mode     the processing mode of all scripts.
+     * @param limits   the limits of every single execution.
+     * @param executor the executor to run the scripts on, e.g. a ForkJoinPool.
+     */
+    public BatchProcessor(Mode mode, ExecutionLimits limits, Executor executor) {
+        this(mode, limits, executor, null);
+    }
+
+    /**
+     * This constructor initializes a batch processor, which consults the passed cache. So scripts which occur
+     * repeatedly (within the batch or in batches processed before) are scanned, parsed and validated only once.
+     *
+     * @param mode     the processing mode of all scripts.
+     * @param limits   the limits of every single execution.
+     * @param executor the executor to run the scripts on, e.g. a ForkJoinPool.
+     * @param cache    the cache of validated programs, or null for none.
+     */
+    public BatchProcessor(Mode mode, ExecutionLimits limits, Executor executor, ProgramCache cache) {
+        this.mode = mode;
+        this.limits = limits;
+        this.executor = executor;
+        this.cache = cache;
+    }
+
+    /**
+     * This method processes all passed scripts and waits until all of them are finished.
+     *
+     * @param scripts the code of the scripts to process.
+     * @return the results of all scripts, in the order the scripts were passed.
+     */
+    public BatchResult process(List<String> scripts) {
+        long start = System.nanoTime();
+        long[] durations = new long[scripts.size()];
+        List<CompletableFuture<Processor>> tasks = new ArrayList<>(scripts.size());
+        for (int i = 0; i < scripts.size(); i++) {
+            String code = scripts.get(i);
+            int index = i;
+            tasks.add(CompletableFuture.supplyAsync(() -> {
+                long begin = System.nanoTime();
+                Processor processor = new Processor(mode, code, ProcessorOptions.DEFAULT.withLimits(limits).withVerbose(false).withProgramCache(cache));
+                durations[index] = System.nanoTime() - begin;
+                return processor;
+            }, executor));
+        }
+        List<Processor> processors = new ArrayList<>(scripts.size());
+        for (CompletableFuture<Processor> task : tasks) {
+            processors.add(task.join());
+        }
+        return new BatchResult(processors, durations, System.nanoTime() - start);
+    }
+
+    /**
+     * This method reads all passed files as UTF-8 and processes their content as scripts.
+     *
+     * @param files the script files to process.
+     * @return the results of all scripts, in the order the files were passed.
+     * @throws IOException if a file could not be read.
+     */
+    public BatchResult processFiles(List<Path> files) throws IOException {
+        List<String> scripts = new ArrayList<>(files.size());
+        for (Path file : files) {
+            scripts.add(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+        }
+        return process(scripts);
+    }
+
+}
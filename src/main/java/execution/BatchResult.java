@@ -0,0 +1,107 @@
+package execution;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class holds the results of a batch run. For every processed script, the according Processor is kept in the
+ * order the scripts were passed, so all of its getters are available per script. Additionally, the processing time of
+ * every script and the aggregate timing of the whole batch are recorded.
+ */
+public class BatchResult {
+
+    private final List<Processor> processors;
+    private final long[] durations;
+    private final long elapsedNanos;
+
+    /**
+     * This constructor initializes the result of a batch run.
+     *
+     * @param processors   the processors of all scripts, in the order the scripts were passed.
+     * @param durations    the processing time of every script in nanoseconds.
+     * @param elapsedNanos the wall-clock time of the whole batch in nanoseconds.
+     */
+    public BatchResult(List<Processor> processors, long[] durations, long elapsedNanos) {
+        this.processors = Collections.unmodifiableList(new ArrayList<>(processors));
+        this.durations = durations.clone();
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns the processors of all scripts, in the order the scripts were passed.
+     *
+     * @return the results of all scripts.
+     */
+    public List<Processor> getResults() {
+        return processors;
+    }
+
+    /**
+     * Returns the processor of a single script.
+     *
+     * @param index the index of the script within the batch.
+     * @return the result of the script.
+     */
+    public Processor getResult(int index) {
+        return processors.get(index);
+    }
+
+    /**
+     * Returns the count of processed scripts.
+     *
+     * @return the size of the batch.
+     */
+    public int size() {
+        return processors.size();
+    }
+
+    /**
+     * Returns the count of scripts, whose processing threw an exception or an error.
+     *
+     * @return the count of failed scripts.
+     */
+    public int getFailureCount() {
+        int failures = 0;
+        for (Processor processor : processors) {
+            if (processor.isExceptionThrown() || processor.isErrorThrown()) {
+                failures++;
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * Returns the processing time of a single script.
+     *
+     * @param index the index of the script within the batch.
+     * @return the processing time in nanoseconds.
+     */
+    public long getDurationNanos(int index) {
+        return durations[index];
+    }
+
+    /**
+     * Returns the sum of the processing times of all scripts. As the scripts run in parallel, this is usually more
+     * than the elapsed time of the batch.
+     *
+     * @return the total processing time in nanoseconds.
+     */
+    public long getTotalNanos() {
+        long total = 0;
+        for (long duration : durations) {
+            total += duration;
+        }
+        return total;
+    }
+
+    /**
+     * Returns the wall-clock time of the whole batch.
+     *
+     * @return the elapsed time in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+}
@@ -0,0 +1,68 @@
+package execution;
+
+import exceptions.LimitExceededException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class tracks the consumption of the execution limits during a run. Engines charge a step for every loop run
+ * and every call. As reading the clock is comparatively expensive, the deadline and the cancellation token are
+ * checked every few steps only, so checking the budget costs a decrement and a comparison in most cases.
+ * A budget is created once per engine and restarted at the beginning of every run.
+ * Example for usage (where location is the location of the current loop or call):
+ * <code>budget.start(limits);
+ * budget.step(location);</code>
+ */
+public class Budget {
+
+    private static final int CHECK_INTERVAL = 1024;     // the count of steps between two checks of clock and token
+
+    private ExecutionLimits limits = ExecutionLimits.DEFAULT;
+    private long steps;                                 // the count of steps left
+    private long deadline;                              // the time of the deadline in nanoseconds, if there is a timeout
+    private int untilCheck;                             // the count of steps left until clock and token are checked
+
+    /**
+     * This method restarts the budget with the passed limits. The deadline is set relative to now.
+     *
+     * @param limits the limits of the run.
+     */
+    public void start(ExecutionLimits limits) {
+        this.limits = limits;
+        steps = limits.getMaxSteps();
+        deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(limits.getTimeout());     // saturates for huge timeouts
+        untilCheck = 0;
+    }
+
+    /**
+     * Returns the maximum count of runs per while loop of the current run.
+     *
+     * @return the maximum count of runs.
+     */
+    public int getMaxLoopRuns() {
+        return limits.getMaxLoopRuns();
+    }
+
+    /**
+     * This method charges a step, i.e. a loop run or a call.
+     *
+     * @param location the location of the loop or the call.
+     * @throws LimitExceededException if the budget is exhausted, the deadline passed or the run was cancelled.
+     */
+    public void step(int[] location) {
+        if (--steps < 0) {
+            throw new LimitExceededException("Execution budget of " + limits.getMaxSteps() + " steps is exhausted!", location);
+        }
+        if (--untilCheck < 0) {
+            untilCheck = CHECK_INTERVAL;
+            CancellationToken cancellation = limits.getCancellation();
+            if (cancellation != null && cancellation.isCancelled()) {
+                throw new LimitExceededException("Execution was cancelled!", location);
+            }
+            if (limits.getTimeout() > 0 && System.nanoTime() - deadline > 0) {
+                throw new LimitExceededException("Execution timeout of " + limits.getTimeout() + " ms is exceeded!", location);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,69 @@
+package execution;
+
+import parser.parsetree.Program;
+
+/**
+ * This class holds a validated program together with the results of its scanning and parsing, so a cached program
+ * provides everything a Processor reports without scanning and parsing the source again.
+ * The program is prepared once before it is cached. As executions only read a prepared program, the same instance
+ * may be executed any count of times, even concurrently.
+ */
+public class CachedProgram {
+
+    private final Program program;
+    private final String scannerOutput;
+    private final String parseTree;
+    private final String parseCode;
+
+    /**
+     * This constructor initializes a cache entry.
+     *
+     * @param program       the prepared program.
+     * @param scannerOutput the scanned tokens and their location.
+     * @param parseTree     the text representation of the parse tree.
+     * @param parseCode     the pretty-printed code as read by the parser.
+     */
+    public CachedProgram(Program program, String scannerOutput, String parseTree, String parseCode) {
+        this.program = program;
+        this.scannerOutput = scannerOutput;
+        this.parseTree = parseTree;
+        this.parseCode = parseCode;
+    }
+
+    /**
+     * Returns the prepared program.
+     *
+     * @return the program.
+     */
+    public Program getProgram() {
+        return program;
+    }
+
+    /**
+     * Returns the scanned tokens and their location.
+     *
+     * @return the scanner output.
+     */
+    public String getScannerOutput() {
+        return scannerOutput;
+    }
+
+    /**
+     * Returns the text representation of the parse tree.
+     *
+     * @return the parse tree as text.
+     */
+    public String getParseTree() {
+        return parseTree;
+    }
+
+    /**
+     * Returns the pretty-printed code as read by the parser.
+     *
+     * @return the pretty-printed code.
+     */
+    public String getParseCode() {
+        return parseCode;
+    }
+
+}
@@ -0,0 +1,28 @@
+package execution;
+
+/**
+ * This class allows to cancel a run from another thread. The executing engine checks the token cooperatively, i.e.
+ * at the same points at which the execution budget is checked (loop runs and calls). A token may be shared by any
+ * count of runs, which are all cancelled at once.
+ */
+public class CancellationToken {
+
+    private volatile boolean cancelled = false;
+
+    /**
+     * This method requests the cancellation of all runs checking this token.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Returns if the cancellation was requested.
+     *
+     * @return true, if the runs checking this token are to be cancelled.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+}
@@ -0,0 +1,144 @@
+package execution;
+
+/**
+ * This class represents a string value, which is the result of a concatenation at runtime.
+ * All strings which were built by appending to each other share one builder: a string is a prefix of the builder,
+ * defined by its length. Appending to the string which ends at the end of the builder (which is the case for the
+ * usual <code>s += 'x'</code> within a loop) appends to the builder in place, so repeated appends take amortized
+ * constant time instead of copying the whole string every time. Appending to any other string copies its content
+ * into a new builder, so values are never modified, once they were created.
+ * The string is flattened only if its text is needed, i.e. if it is printed or compared. The flattened text is kept.
+ * Concatenated strings are only shared within one execution, as the builder is not thread-safe.
+ */
+public final class ConcatString implements CharSequence {
+
+    private final StringBuilder builder;            // shared by all strings which were appended to each other
+    private final int length;
+    private String text;                            // the flattened text, once it was needed
+
+    /**
+     * This constructor initializes a string as prefix of a builder.
+     *
+     * @param builder the shared builder.
+     * @param length  the length of the string.
+     */
+    private ConcatString(StringBuilder builder, int length) {
+        this.builder = builder;
+        this.length = length;
+    }
+
+    /**
+     * This method concatenates two strings. If the first string ends at the end of its builder, the second string is
+     * appended in place.
+     *
+     * @param left  the first string, either a String or a ConcatString.
+     * @param right the second string.
+     * @return the concatenated string.
+     */
+    public static ConcatString concat(CharSequence left, String right) {
+        StringBuilder builder = getBuilder(left, right.length()).append(right);
+        return new ConcatString(builder, builder.length());
+    }
+
+    /**
+     * This method concatenates a string and the text representation of a number. The number is formatted directly
+     * into the builder, so no intermediate string is created.
+     *
+     * @param left  the first string, either a String or a ConcatString.
+     * @param right the number.
+     * @return the concatenated string.
+     */
+    public static ConcatString concat(CharSequence left, double right) {
+        StringBuilder builder = NumberFormatter.append(getBuilder(left, 24), right);
+        return new ConcatString(builder, builder.length());
+    }
+
+    /**
+     * Returns the builder to append to. This is the builder of the passed string, if the string ends at its end.
+     * Otherwise, the string is copied into a new builder.
+     *
+     * @param left  the string to append to.
+     * @param extra the expected count of appended characters.
+     * @return the builder, which ends with the passed string.
+     */
+    private static StringBuilder getBuilder(CharSequence left, int extra) {
+        if (left instanceof ConcatString) {
+            ConcatString string = (ConcatString) left;
+            if (string.builder.length() == string.length) {
+                return string.builder;
+            }
+        }
+        return new StringBuilder(Math.max(16, 2 * (left.length() + extra))).append(left);
+    }
+
+    /**
+     * Returns the length of this string.
+     *
+     * @return the count of characters.
+     */
+    @Override
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Returns a character of this string.
+     *
+     * @param index the index of the character.
+     * @return the character.
+     */
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new StringIndexOutOfBoundsException(index);
+        }
+        return builder.charAt(index);
+    }
+
+    /**
+     * Returns a part of this string.
+     *
+     * @param start the start index, inclusive.
+     * @param end   the end index, exclusive.
+     * @return the part of the string.
+     */
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().subSequence(start, end);
+    }
+
+    /**
+     * Two concatenated strings are equal, if their texts are equal.
+     *
+     * @param obj the object to compare to.
+     * @return true, if the object is a concatenated string with the same text.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof ConcatString && toString().equals(obj.toString());
+    }
+
+    /**
+     * Returns the hash code of the text.
+     *
+     * @return the hash code.
+     */
+    @Override
+    public int hashCode() {
+        return toString().hashCode();
+    }
+
+    /**
+     * Returns the flattened text of this string.
+     *
+     * @return the text.
+     */
+    @Override
+    public String toString() {
+        if (text == null) {
+            text = builder.substring(0, length);
+        }
+        return text;
+    }
+
+}
@@ -0,0 +1,145 @@
+package execution;
+
+/**
+ * This class holds the limits of a run, which cap the cost of executing untrusted code:
+ * the maximum count of runs per while loop (exceeding it results in a StackOverflowError, like the fixed limit
+ * before), the total count of steps (i.e. loop runs and calls) of the whole run, a wall-clock timeout and a token
+ * for cooperative cancellation. Exceeding any of the last three results in a LimitExceededException. Additionally,
+ * the maximum depth of nested calls is limited within the virtual machine, which keeps its calls on a heap stack
+ * (exceeding it results in a StackOverflowError). The other engines recurse on the thread stack, so their depth is
+ * limited by the size of the thread stack instead.
+ * Limits are immutable, so the same instance may be used for any count of runs. Derived limits are created by the
+ * with-methods, starting from the defaults.
+ * Example for usage:
+ * <code>ExecutionLimits limits = ExecutionLimits.DEFAULT.withMaxSteps(1000000).withTimeout(500);
+ * Processor processor = new Processor(Mode.EXECUTE, code, limits);</code>
+ */
+public final class ExecutionLimits {
+
+    /**
+     * The limits, if no other limits are passed: only the runs per while loop and the call depth are limited.
+     */
+    public static final ExecutionLimits DEFAULT = new ExecutionLimits(100000, Long.MAX_VALUE, 0, null, 100000);
+
+    private final int maxLoopRuns;
+    private final long maxSteps;
+    private final long timeout;
+    private final CancellationToken cancellation;
+    private final int maxDepth;
+
+    /**
+     * This constructor initializes all limits.
+     *
+     * @param maxLoopRuns  the maximum count of runs per while loop.
+     * @param maxSteps     the maximum count of loop runs and calls of the whole run.
+     * @param timeout      the maximum duration of the run in milliseconds, or 0 for none.
+     * @param cancellation the token to check for cancellation, or null for none.
+     * @param maxDepth     the maximum count of nested calls within the virtual machine.
+     */
+    private ExecutionLimits(int maxLoopRuns, long maxSteps, long timeout, CancellationToken cancellation, int maxDepth) {
+        if (maxLoopRuns < 0 || maxSteps < 0 || timeout < 0 || maxDepth < 0) {
+            throw new IllegalArgumentException("Execution limits must not be negative!");
+        }
+        this.maxLoopRuns = maxLoopRuns;
+        this.maxSteps = maxSteps;
+        this.timeout = timeout;
+        this.cancellation = cancellation;
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Returns limits which differ from these limits by the maximum count of runs per while loop.
+     *
+     * @param maxLoopRuns the maximum count of runs per while loop.
+     * @return the derived limits.
+     */
+    public ExecutionLimits withMaxLoopRuns(int maxLoopRuns) {
+        return new ExecutionLimits(maxLoopRuns, maxSteps, timeout, cancellation, maxDepth);
+    }
+
+    /**
+     * Returns limits which differ from these limits by the total count of steps.
+     *
+     * @param maxSteps the maximum count of loop runs and calls of the whole run.
+     * @return the derived limits.
+     */
+    public ExecutionLimits withMaxSteps(long maxSteps) {
+        return new ExecutionLimits(maxLoopRuns, maxSteps, timeout, cancellation, maxDepth);
+    }
+
+    /**
+     * Returns limits which differ from these limits by the timeout.
+     *
+     * @param timeout the maximum duration of the run in milliseconds, or 0 for none.
+     * @return the derived limits.
+     */
+    public ExecutionLimits withTimeout(long timeout) {
+        return new ExecutionLimits(maxLoopRuns, maxSteps, timeout, cancellation, maxDepth);
+    }
+
+    /**
+     * Returns limits which differ from these limits by the cancellation token.
+     *
+     * @param cancellation the token to check for cancellation, or null for none.
+     * @return the derived limits.
+     */
+    public ExecutionLimits withCancellation(CancellationToken cancellation) {
+        return new ExecutionLimits(maxLoopRuns, maxSteps, timeout, cancellation, maxDepth);
+    }
+
+    /**
+     * Returns limits which differ from these limits by the maximum call depth.
+     *
+     * @param maxDepth the maximum count of nested calls within the virtual machine.
+     * @return the derived limits.
+     */
+    public ExecutionLimits withMaxDepth(int maxDepth) {
+        return new ExecutionLimits(maxLoopRuns, maxSteps, timeout, cancellation, maxDepth);
+    }
+
+    /**
+     * Returns the maximum count of runs per while loop.
+     *
+     * @return the maximum count of runs.
+     */
+    public int getMaxLoopRuns() {
+        return maxLoopRuns;
+    }
+
+    /**
+     * Returns the maximum count of loop runs and calls of the whole run.
+     *
+     * @return the maximum count of steps.
+     */
+    public long getMaxSteps() {
+        return maxSteps;
+    }
+
+    /**
+     * Returns the maximum duration of the run.
+     *
+     * @return the timeout in milliseconds, or 0 for none.
+     */
+    public long getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Returns the token to check for cancellation.
+     *
+     * @return the token, or null for none.
+     */
+    public CancellationToken getCancellation() {
+        return cancellation;
+    }
+
+    /**
+     * Returns the maximum count of nested calls within the virtual machine.
+     *
+     * @return the maximum call depth.
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+}
@@ -0,0 +1,86 @@
+package execution;
+
+/**
+ * This class holds the runtime values of the variables of one program or function execution.
+ * The values are stored in an array, while every declaration owns a fixed slot which is assigned during resolution.
+ * A function frame points to the global frame as parent, so global variables can be accessed by walking up the
+ * frame chain by the resolved depth.
+ */
+public class Frame {
+
+    private final Object[] slots;
+    private final Frame parent;
+
+    /**
+     * This constructor initializes a frame with a fixed count of slots.
+     *
+     * @param size   the count of slots.
+     * @param parent the enclosing frame, or null for the global frame.
+     */
+    public Frame(int size, Frame parent) {
+        this.slots = new Object[size];
+        this.parent = parent;
+    }
+
+    /**
+     * Returns the value stored at the passed coordinate.
+     *
+     * @param depth the count of frames to walk up from this frame.
+     * @param slot  the index of the value within the target frame.
+     * @return the value.
+     */
+    public Object get(int depth, int slot) {
+        return lookup(depth).slots[slot];
+    }
+
+    /**
+     * Stores a value at the passed coordinate.
+     *
+     * @param depth the count of frames to walk up from this frame.
+     * @param slot  the index of the value within the target frame.
+     * @param value the value to store.
+     */
+    public void set(int depth, int slot, Object value) {
+        lookup(depth).slots[slot] = value;
+    }
+
+    /**
+     * Returns a frame with at least the passed count of slots, which holds the values of this frame. If this frame is
+     * large enough already, it is returned itself.
+     *
+     * @param size the required count of slots.
+     * @return the frame with the required size.
+     */
+    public Frame resize(int size) {
+        if (size <= slots.length) {
+            return this;
+        }
+        Frame frame = new Frame(size, parent);
+        System.arraycopy(slots, 0, frame.slots, 0, slots.length);
+        return frame;
+    }
+
+    /**
+     * Returns the enclosing frame.
+     *
+     * @return the parent frame, or null for the global frame.
+     */
+    public Frame getParent() {
+        return parent;
+    }
+
+    /**
+     * This method walks up the frame chain by the passed depth.
+     *
+     * @param depth the count of frames to walk up.
+     * @return the target frame.
+     */
+    private Frame lookup(int depth) {
+        Frame frame = this;
+        for (int i = 0; i < depth; i++) {
+            frame = frame.parent;
+        }
+        return frame;
+    }
+
+}
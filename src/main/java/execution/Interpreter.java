@@ -1,72 +1,92 @@
 package execution;
 
+import output.BufferedSink;
+import output.OutputSink;
+import parser.parsetree.BinaryOperator;
 import parser.parsetree.Component;
 import parser.parsetree.Program;
 import parser.parsetree.Type;
 import parser.parsetree.instructions.*;
-import parser.parsetree.interfaces.Declaration;
-import parser.parsetree.interfaces.Traversable;
+import parser.parsetree.interfaces.Visitor;
 import parser.parsetree.statements.*;
-import validator.Validator;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * The purpose of this class is to execute parsed code.
- * It is implemented as visitor and walks the parse tree depth-first, while a node will be evaluated after
- * its children.
- * A semantic code validation will take place during
- * execution in parallel, as the Interpreter builds on the Validator. Like this, it is not possible
- * to execute not validated code.
+ * It is implemented as visitor and walks the parse tree in execution order, i.e. only the executable branches
+ * of a node are visited.
+ * Before execution starts, the whole program is validated exactly once by the Validator. Like this, it is not
+ * possible to execute not validated code, while the execution itself does not have to do any type-checking.
+ * Additionally, all variables are resolved to a fixed frame coordinate. Runtime values are held in
+ * frames (one global frame and one frame per function call), so variables are not looked up by their identifier
+ * during execution.
+ * Calls of pure functions (i.e. functions without side effects, as found by the EffectAnalyzer) are memoized: their
+ * results are cached per run by their argument values, so recursive functions evaluate every argument set once only.
+ * A function which returns the result of a call to itself (i.e. a call in tail position) does not recurse either:
+ * the body is executed again within the same frame, so tail recursion runs in constant stack.
+ * Every loop run and every call is charged to the budget of the run, which enforces the ExecutionLimits.
  * Example for usage (where the rootSymbol is the resulting symbol of a parse process):
  * <code>Interpreter interpreter = new Interpreter();
  * ((Program) rootSymbol.value).accept(interpreter);</code>
  */
-public class Interpreter extends Validator {
+public class Interpreter implements Visitor {
 
-    private final List<String> output = new ArrayList<>();
-    private boolean execute = true;         // to be switched off if validation only is required (e.g. for dead if-then-else branches)
+    private static final int MAX_MEMOIZED_CALLS = 10000;    // the count of cached results per pure function
+
+    private OutputSink output = new BufferedSink();
+    private final Map<FunctionDefStatement, Map<List<Object>, Object>> memo = new IdentityHashMap<>();
+    private final Budget budget = new Budget();
+    private ExecutionLimits limits = ExecutionLimits.DEFAULT;
+    private Frame globalFrame;              // holds the values of the top-level variables
+    private Frame frame;                    // holds the values of the variables of the current execution context
     private boolean scriptMode = false;     // allows to change behavior for script mode vs. all-at-once-execution
     private boolean printActive = false;    // indicator to switch off execution for print statements (used in script mode)
-    private int breakEvent = 0;             // counts the break statements found to be executed
+    private boolean breakEvent = false;     // indicates that a break statement was executed and the enclosing loop must be left
 
     /**
-     * This method will trigger the validation for the assignment statement first.
-     * Then, if the code is executable, it will assign the new value to the variable.
+     * This method will assign the new value to the variable. Depending on the recorded type of the variable, the
+     * value is either concatenated to a string or combined arithmetically with a number.
      *
      * @param acceptor the AssignmentStatement to visit.
      */
     @Override
     public void visit(AssignmentStatement acceptor) {
-        super.visit(acceptor);
-        if (execute) {
-            Declaration declaration = getDeclaration(acceptor, acceptor.getIdentifier());
-            Object value1 = declaration.getValue();
-            Object value2 = getValueOfOperand(acceptor, acceptor.getValue());
-            Object resultValue = acceptor.getOperator().apply(value1, value2);
-            if (declaration.getType() == Type.NUMERIC) {    // validate for runtime exception
-                getTypeOfOperand(acceptor, resultValue);
+        BinaryOperator operator = acceptor.getOperator();
+        Object value = getValueOfOperand(acceptor.getValue());
+        if (operator != BinaryOperator.EQUAL) {
+            Object current = frame.get(acceptor.getDepth(), acceptor.getSlot());
+            if (acceptor.getResolvedType() == Type.STRING) {
+                value = value instanceof Double ? ConcatString.concat((CharSequence) current, (double) (Double) value)
+                        : ConcatString.concat((CharSequence) current, value.toString());
+            } else {
+                value = checkNumber(operator.apply((Double) current, (Double) value));
             }
-            declaration.setValue(resultValue);
         }
+        frame.set(acceptor.getDepth(), acceptor.getSlot(), value);
     }
 
     /**
      * This method visits a generic component (i.e. a component which has not an own specific visit method).
-     * This is a fall-through action.
+     * The only generic component with an effect at runtime is the break statement, which marks the enclosing
+     * loop to be left.
      *
      * @param acceptor the generic Component to visit.
      */
     @Override
     public void visit(Component acceptor) {
-        super.visit(acceptor);
+        if (acceptor instanceof BreakStatement) {
+            breakEvent = true;
+        }
     }
 
     /**
-     * This method will trigger the validation for the function call statement first.
-     * Then, if the code is executable, it will evaluate the value of the function call. The value is not used any
+     * This method will evaluate the value of the function call. The value is not used any
      * further at this place, but in case of runtime exceptions, execution will stop accordingly.
      * This is important, as function calls can be independent statements.
      *
@@ -74,151 +94,143 @@ public class Interpreter extends Validator {
      */
     @Override
     public void visit(FunctionCallStatement acceptor) {
-        super.visit(acceptor);
-        if (execute && acceptor.isStatement()) {
-            getValueOfOperand(acceptor, acceptor);
-        }
+        getValue(acceptor);
     }
 
     /**
-     * This method triggers the validation for the function definition statement.
+     * Function definitions are executed only by callers, not when defined. So there is nothing to do here.
      *
      * @param acceptor the FunctionDefStatement to visit.
      */
     @Override
     public void visit(FunctionDefStatement acceptor) {
-        super.visit(acceptor);
     }
 
     /**
-     * This method triggers the validation for the if-then-else statement.
+     * This method evaluates the condition of the if-then-else statement and executes the according body.
      *
      * @param acceptor the IfThenElseStatement to visit.
      */
     @Override
     public void visit(IfThenElseStatement acceptor) {
-        super.visit(acceptor);
+        if ((Boolean) getValueOfOperand(acceptor.getCondition())) {
+            executeStatements(acceptor.getIfStatements());
+        } else {
+            executeStatements(acceptor.getElseStatements());
+        }
     }
 
     /**
-     * This method triggers the execution for the if-then statement.
+     * This method evaluates the condition of the if-then statement and executes the body if applicable.
      *
      * @param acceptor the IfThenStatement to visit.
      */
     @Override
     public void visit(IfThenStatement acceptor) {
-        super.visit(acceptor);
+        if ((Boolean) getValueOfOperand(acceptor.getCondition())) {
+            executeStatements(acceptor.getStatements());
+        }
     }
 
     /**
-     * This method triggers the validation for this parameter declaration.
+     * Parameter declarations receive their values from the caller. So there is nothing to do here.
      *
      * @param acceptor the ParamDeclaration to visit.
      */
     @Override
     public void visit(ParamDeclaration acceptor) {
-        super.visit(acceptor);
     }
 
     /**
-     * This method triggers the validation for this print call statement.
-     * Then, depending on the current mode, the statement is executed, i.e. its resulting value is printed to the console.
+     * Depending on the current mode, the print call statement is executed, i.e. its resulting value is passed to the output sink.
      *
      * @param acceptor the PrintCallStatement to visit.
      */
     @Override
     public void visit(PrintCallStatement acceptor) {
-        super.visit(acceptor);
-        if (execute && (!scriptMode || printActive)) {
+        if (!scriptMode || printActive) {
             Component component = (Component) acceptor.getValue();
             if (component != null) {
-                String value = getValueOfOperand(acceptor, component).toString();
-                if (getTypeOfOperand(acceptor, value) == Type.NUMERIC) {
-                    double doubleValue = Double.parseDouble(value);
-                    if (doubleValue == Math.floor(doubleValue)) {
-                        value = ((int) doubleValue) + "";
-                    }
-                }
-                String out = value.replaceAll("'", "");
-                output.add(out);
-                System.out.println(">>>>  " + out);
+                String out = NumberFormatter.toText(getValueOfOperand(component));
+                output.print(out);
             } else {
-                output.add("");
-                System.out.println(">>>>  ");
+                output.print("");
             }
         }
     }
 
     /**
-     * This method triggers the top-level validation for break statements. Then it will start the depth-first traversal
-     * of the parse tree for validation and execution.
+     * This method validates the program, resolves all variables to their frame coordinates, folds constant
+     * expressions and finds the pure functions. Then it will execute the top-level statements. Within script mode, only the print statements of
+     * the last top-level statement are executed.
      *
      * @param acceptor the Program to visit.
      */
     @Override
     public void visit(Program acceptor) {
-        checkBreakStatement(acceptor, acceptor.getStatements(), false);
-        traverse(acceptor);
+        Preparation.prepare(acceptor);
+        memo.clear();
+        budget.start(limits);
+        globalFrame = new Frame(acceptor.getFrameSize(), null);
+        frame = globalFrame;
+        List<Component> components = acceptor.getStatements();
+        for (int i = 0; i < components.size(); i++) {
+            if (i == components.size() - 1) {
+                printActive = true;                 // marks last print call statement as executable indirectly
+            }
+            execute(components.get(i));
+        }
     }
 
     /**
-     * This method triggers the validation of this variable declaration. If the code is executable, the
-     * declaration is set to it's original value (in case the code was executed already) and then set the
-     * according value.
+     * This method evaluates the initial value of the variable declaration and stores it in the slot of the declared
+     * variable within the current frame.
      *
      * @param acceptor the VariableDeclaration to visit.
      */
     @Override
     public void visit(VariableDeclaration acceptor) {
-        super.visit(acceptor);
-        if (execute) {
-            acceptor.reset();
-            Object value = getValueOfOperand(acceptor, acceptor.getValue());
-            if (acceptor.getType() == Type.NUMERIC) {    // validate for runtime exception
-                getTypeOfOperand(acceptor, value);
-            }
-            acceptor.setValue(value);
-        }
+        frame.set(0, acceptor.getSlot(), getValueOfOperand(acceptor.getValue()));
     }
 
     /**
-     * This method will trigger the validation for this while statement.
+     * This method will execute the while statement until its condition is false or a break statement was executed.
+     * The count of runs is limited to prevent endless loops. Every run is charged to the budget.
      *
      * @param acceptor the WhileStatement to visit.
      */
     @Override
     public void visit(WhileStatement acceptor) {
-        super.visit(acceptor);
+        int counter = 0;
+        while ((Boolean) getValueOfOperand(acceptor.getCondition())) {
+            counter++;
+            if (counter > budget.getMaxLoopRuns()) {
+                throw new StackOverflowError();
+            }
+            budget.step(acceptor.getLocation());
+            executeStatements(acceptor.getStatements());
+            if (breakEvent) {                       // break statement execution
+                breakEvent = false;
+                break;
+            }
+        }
     }
 
     /**
-     * This method will perform thee depth-first traversal of the parse tree recursively.
-     * It traverses first the nested components of a component, then the component itself.
-     * As some of the program components are complex structures (i.e. execution of child components
-     * is depending on conditions of the parent component), the processing is controlled within
-     * the processStatements method.
-     * If necessary, pre-validations are done for specific nodes.
+     * This method executes the top-level statements of a fragment of an interactive session, which was prepared by the
+     * session already. In contrast to a program, the values of the global frame are kept from the previous fragments,
+     * so the frame only grows by the slots of the new top-level variables. The cached results of pure functions are kept
+     * as well, as they do not depend on global variables.
      *
-     * @param node the parse tree node to traverse
+     * @param fragment the prepared fragment to execute.
      */
-    private void traverse(Traversable node) {
-        if (node != null) {
-            try {
-                preValidate(node);
-
-                List<Component> components = getStatements(node);   // select executable child components
-                processStatements(node, components);                // process child components accordingly
-
-                if (!(node instanceof Program)) {   // the program node starts the traversal and does not have to be visited again
-                    node.accept(this);
-                }
-            } catch (StackOverflowError e) {
-                if (e.getMessage() != null) {
-                    throw e;
-                } else {
-                    throw new StackOverflowError("StackoverflowError at location " + Arrays.toString(node.getLocation()) + " occurred!");
-                }
-            }
+    void executeFragment(Program fragment) {
+        budget.start(limits);
+        globalFrame = globalFrame == null ? new Frame(fragment.getFrameSize(), null) : globalFrame.resize(fragment.getFrameSize());
+        frame = globalFrame;
+        breakEvent = false;
+        for (Component component : fragment.getStatements()) {
+            execute(component);
         }
     }
 
@@ -233,119 +245,63 @@ public class Interpreter extends Validator {
         this.scriptMode = scriptMode;
     }
 
-    // ------------------------------------------ helper methods ------------------------------------------
-
     /**
-     * This methods takes care about the pre-validations before the content of a node and then the node itself are visited.
-     * Entering a while loop will increase the whileDepth counter (e.g. one nested break statement is allowed). Entering
-     * a function definition will add its declaration to scope. Entering a break statement in executable context will
-     * increase the breakEvent threshold by one (which means one more break statement may be executed).
+     * This method sets the limits of the following runs.
      *
-     * @param node the parse tree node to pre-validate.
+     * @param limits the limits of a run.
      */
-    @Override
-    protected void preValidate(Traversable node) {
-        super.preValidate(node);
-        if (node instanceof BreakStatement && execute) {
-            breakEvent++;
-        }
+    public void setLimits(ExecutionLimits limits) {
+        this.limits = limits;
     }
 
     /**
-     * This method will select the executable child component for the passed parent component.
-     * If the code is executable, it will be processed as foreseen. If not (e.g. in a dead if-else-then branch), this method
-     * takes care that the code will still be validated semantically.
+     * This method sets the sink, which receives the printed lines of the following runs.
      *
-     * @param node the parse tree node to get child components from.
-     * @return the selected executable child components of the passed parent node.
+     * @param output the output sink.
      */
-    private List<Component> getStatements(Traversable node) {
-        boolean switchExecutionOn = execute;        // indicates if execution must be switched on again if turned off temporarily
-        List<Component> executableComponents = node.getStatements();
-        if (!execute) {
-            return executableComponents;            // if we are in a non-executable block, all child components are validated, but not executed
-        }
-        List<Component> validateOnlyComponents = new ArrayList<>();
-        boolean condition;
-        if (node instanceof IfThenElseStatement) {
-            condition = (Boolean) getValueOfOperand(node, ((IfThenElseStatement) node).getCondition());
-            if (condition) {
-                executableComponents = ((IfThenElseStatement) node).getIfStatements();
-                validateOnlyComponents = ((IfThenElseStatement) node).getElseStatements();
-            } else {
-                executableComponents = ((IfThenElseStatement) node).getElseStatements();
-                validateOnlyComponents = ((IfThenElseStatement) node).getIfStatements();
-            }
-        } else if (node instanceof IfThenStatement) {
-            condition = (Boolean) getValueOfOperand(node, ((IfThenStatement) node).getCondition());
-            if (!condition) {
-                validateOnlyComponents = executableComponents;
-                executableComponents = new ArrayList<>();
-            }
-        } else if (node instanceof FunctionDefStatement) {
-            validateOnlyComponents = executableComponents;
-            executableComponents = new ArrayList<>();           // function definitions are executed only by callers, not when parsed
-        } else if (node instanceof WhileStatement) {
-            condition = (Boolean) getValueOfOperand(node, ((WhileStatement) node).getCondition());
-            if (!condition) {
-                validateOnlyComponents = executableComponents;
-                executableComponents = new ArrayList<>();       // make sure content of dead if-else structure is validated
-            }
-        }
+    public void setOutput(OutputSink output) {
+        this.output = output;
+    }
 
-        execute = false;
-        for (Component st : validateOnlyComponents) {
-            traverse(st);                                       // validation only for not executable code
-        }
+    /**
+     * Returns the output of all executed print statements.
+     *
+     * @return the printed lines.
+     */
+    public List<String> getOutput() {
+        return output.getLines();
+    }
 
-        if (node instanceof IfThenElseStatement) {
-            closeCurrentScope();
-            openNewScope();
-        }
+    // ------------------------------------------ helper methods ------------------------------------------
 
-        if (switchExecutionOn) {
-            execute = true;                                     // switch execution back on
+    /**
+     * This method executes a statement. If the execution results in a StackOverflowError, the location of the
+     * statement is added to the error (if not already done by a nested statement).
+     *
+     * @param statement the statement to execute.
+     */
+    private void execute(Component statement) {
+        try {
+            statement.accept(this);
+        } catch (StackOverflowError e) {
+            if (e.getMessage() != null) {
+                throw e;
+            } else {
+                throw new StackOverflowError("StackoverflowError at location " + Arrays.toString(statement.getLocation()) + " occurred!");
+            }
         }
-        return executableComponents;                            // return executable child components
     }
 
     /**
-     * This method contains the top-level logic to traverse executable statements. The runs of the while loop can be repeated
-     * within this method. Furthermore, the scriptMode indicator can change the behavior of print call executions here.
+     * This method executes a statement list until all statements are executed or a break statement was executed.
      *
-     * @param node       the parse tree component as parent node.
-     * @param components the child components of the parent node.
+     * @param components the statements to execute.
      */
-    private void processStatements(Traversable node, List<Component> components) {
-        if (node instanceof WhileStatement && execute) {
-            int counter = 0;
-            while ((Boolean) getValueOfOperand(node, ((WhileStatement) node).getCondition())) {   // while loop execution
-                counter++;
-                if (counter > 100000) {
-                    throw new StackOverflowError();
-                }
-                openNewScope();
-                if (breakEvent > 0) {                       // break statement execution
-                    breakEvent--;
-                    break;
-                }
-                for (Component st : components) {
-                    traverse(st);                           // execution of child components
-                }
-                closeCurrentScope();                        // remove local variables from scope
-            }
-        } else {
-            if (node instanceof Program) {
-                for (int i = 0; i < components.size(); i++) {
-                    if (i == components.size() - 1) {
-                        printActive = true;                 // marks last print call statement as executable indirectly
-                    }
-                    traverse(components.get(i));            // execution of child components
-                }
-            } else {
-                for (Component st : components) {
-                    traverse(st);                           // execution of child components
-                }
+    private void executeStatements(List<Component> components) {
+        for (Component st : components) {
+            execute(st);
+            if (breakEvent) {
+                return;
             }
         }
     }
@@ -354,14 +310,16 @@ public class Interpreter extends Validator {
      * This method will evaluate the value of an object, which can be any type of program component which results in a value (e.g. a 'raw value', an expression
      * or the result of a function call).
      * If the object to evaluate is more complex, this method will follow the component chain until the final result is found.
+     * Components whose value is known before execution are not evaluated again.
      *
-     * @param parent  the parent parse tree component.
      * @param operand the operand of which the value should be evaluated.
      * @return the value of the operand.
      */
-    private Object getValueOfOperand(Traversable parent, Object operand) {
+    private Object getValueOfOperand(Object operand) {
         Object value;
-        if (operand instanceof FunctionCallStatement) {
+        if (operand instanceof Component && ((Component) operand).getConstant() != null) {
+            value = ((Component) operand).getConstant();
+        } else if (operand instanceof FunctionCallStatement) {
             value = getValue((FunctionCallStatement) operand);
         } else if (operand instanceof BinaryExpression) {
             value = getValue((BinaryExpression) operand);
@@ -374,63 +332,141 @@ public class Interpreter extends Validator {
         } else if (operand instanceof UnaryCondition) {
             value = getValue((UnaryCondition) operand);
         } else {
-            if (Type.getByInput(operand) == Type.VARIABLE) {
-                value = getDeclaration(parent, operand.toString()).getValue();
-            } else {
-                value = operand;
-            }
+            value = operand;
         }
         return value;
     }
 
     /**
      * This method will evaluate the value of a function call.
-     * First it will look up the according function definition, pass the according arguments and then
-     * execute the function. Finally, the value of the return statement will be returned.
+     * First it will evaluate the arguments within the frame of the caller. Then, a new frame is created for the
+     * function definition bound during validation, which receives the arguments in its parameter slots.
+     * After the function body was executed, the value of the return statement will be returned.
+     * If the function is pure, the cached result of a previous call with the same arguments is returned instead.
      *
      * @param operand the operand to evaluate.
      * @return the value of the operand.
      */
     private Object getValue(FunctionCallStatement operand) {
-        openNewScope();
-        FunctionDefStatement function = getFunction(operand, operand.getIdentifier(), operand.getArgumentCount());
-        List<Component> callParams = operand.getArgumentList();
-        List<Component> components = function.getStatements();
-        for (int i = 0; i < components.size(); i++) {
-            Component stmt = components.get(i);
+        FunctionDefStatement function = operand.getFunction();
+        budget.step(operand.getLocation());
+        Frame calleeFrame = new Frame(function.getFrameSize(), globalFrame);
+        List<Object> arguments = bind(function, operand.getArgumentList(), calleeFrame);
+        if (!function.isPure()) {
+            return call(function, calleeFrame);
+        }
+        Map<List<Object>, Object> results = memo.computeIfAbsent(function, f -> new LinkedHashMap<List<Object>, Object>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<Object>, Object> eldest) {
+                return size() > MAX_MEMOIZED_CALLS;
+            }
+        });
+        Object result = results.get(arguments);
+        if (result == null) {
+            result = call(function, calleeFrame);
+            results.put(arguments, result);
+        }
+        return result;
+    }
+
+    /**
+     * This method evaluates the arguments of a call within the current frame and stores them in the parameter slots
+     * of the callee frame. All arguments are evaluated before any parameter slot is written, so the callee frame may
+     * be the current frame.
+     *
+     * @param function    the called function.
+     * @param callParams  the arguments of the call.
+     * @param calleeFrame the frame of the call.
+     * @return the values of the arguments.
+     */
+    private List<Object> bind(FunctionDefStatement function, List<Component> callParams, Frame calleeFrame) {
+        List<Object> arguments = new ArrayList<>(callParams.size());
+        for (Component argument : callParams) {
+            arguments.add(getValueOfOperand(argument));
+        }
+        int param = 0;
+        for (Component stmt : function.getStatements()) {
             if (stmt instanceof ParamDeclaration) {
-                ParamDeclaration paramDeclaration = ((ParamDeclaration) stmt);
-                addDeclarationToScope(paramDeclaration);
-                paramDeclaration.setValue(getValueOfOperand(operand, callParams.get(i)));
-            } else {
-                traverse(stmt);
+                calleeFrame.set(0, ((ParamDeclaration) stmt).getSlot(), arguments.get(param++));
             }
         }
-        Object value = getValueOfOperand(operand, function.getReturnStatement());
-        closeCurrentScope();
-        return value;
+        return arguments;
     }
 
     /**
-     * This method will evaluate the value of a binary expression.
+     * This method executes the body of a function within the passed frame and evaluates the return statement.
+     * If the return statement is a call of the function itself, the arguments are bound to the same frame and the
+     * body is executed again instead. The count of consecutive tail calls is limited like the runs of a loop.
+     *
+     * @param function    the called function.
+     * @param calleeFrame the frame of the call, which already holds the arguments.
+     * @return the value of the return statement.
+     */
+    private Object call(FunctionDefStatement function, Frame calleeFrame) {
+        List<Component> components = function.getStatements();
+        FunctionCallStatement tailCall = getTailCall(function);
+        Frame callerFrame = frame;
+        frame = calleeFrame;
+        try {
+            int counter = 0;
+            while (true) {
+                for (Component stmt : components) {
+                    if (!(stmt instanceof ParamDeclaration)) {
+                        execute(stmt);
+                    }
+                }
+                if (tailCall == null) {
+                    return getValueOfOperand(function.getReturnStatement());
+                }
+                counter++;
+                if (counter > budget.getMaxLoopRuns()) {
+                    throw new StackOverflowError("StackoverflowError at location " + Arrays.toString(tailCall.getLocation()) + " occurred!");
+                }
+                budget.step(tailCall.getLocation());
+                bind(function, tailCall.getArgumentList(), calleeFrame);
+            }
+        } finally {
+            frame = callerFrame;
+        }
+    }
+
+    /**
+     * Returns the call in tail position of a function, if the function calls itself there. Brackets around the call
+     * are skipped.
+     *
+     * @param function the function.
+     * @return the call of the function itself in its return statement, or null if there is none.
+     */
+    private static FunctionCallStatement getTailCall(FunctionDefStatement function) {
+        Object operand = function.getReturnStatement();
+        while (operand instanceof ValueWrapper && !((ValueWrapper) operand).isReference()) {
+            operand = ((ValueWrapper) operand).getValue();
+        }
+        if (operand instanceof FunctionCallStatement && ((FunctionCallStatement) operand).getFunction() == function) {
+            return (FunctionCallStatement) operand;
+        }
+        return null;
+    }
+
+    /**
+     * This method will evaluate the value of a binary expression. If the expression was resolved to a string
+     * during validation, the operands are concatenated, otherwise the arithmetic operation is performed.
      *
      * @param operand the operand to evaluate.
      * @return the value of the operand.
      */
     private Object getValue(BinaryExpression operand) {
-        Object value1 = getValueOfOperand(operand, operand.getOperand1());
-        Object value2 = getValueOfOperand(operand, operand.getOperand2());
-        Object resultValue = operand.getOperator().apply(value1, value2);
+        Object value1 = getValueOfOperand(operand.getOperand1());
+        Object value2 = getValueOfOperand(operand.getOperand2());
+        if (operand.getResolvedType() == Type.STRING) {
+            CharSequence left = value1 instanceof ConcatString ? (ConcatString) value1 : NumberFormatter.toText(value1);
+            return value2 instanceof Double ? ConcatString.concat(left, (double) (Double) value2) : ConcatString.concat(left, value2.toString());
+        }
         try {
-            Type.getByInput(resultValue);
-        } catch (Exception e) {
-            if (e instanceof ArithmeticException) {
-                throw new ArithmeticException("Arithmetic exception at location " + Arrays.toString(operand.getLocation()) + " occurred!\n" + e.getMessage());
-            } else {
-                throw e;
-            }
+            return checkNumber(operand.getOperator().apply((Double) value1, (Double) value2));
+        } catch (ArithmeticException e) {
+            throw new ArithmeticException("Arithmetic exception at location " + Arrays.toString(operand.getLocation()) + " occurred!\n" + e.getMessage());
         }
-        return resultValue;
     }
 
     /**
@@ -440,35 +476,48 @@ public class Interpreter extends Validator {
      * @return the value of the operand.
      */
     private Object getValue(UnaryExpression operand) {
-        Object value = getValueOfOperand(operand, operand.getOperand());
-        return operand.getOperator().apply(value);
+        Object value = getValueOfOperand(operand.getOperand());
+        if (operand.getResolvedType() == Type.BOOLEAN) {
+            return operand.getOperator().apply((boolean) (Boolean) value);
+        }
+        return operand.getOperator().apply((double) (Double) value);
     }
 
     /**
-     * This method will evaluate the value of a constant.
+     * This method will evaluate the value of a constant. If the constant refers to a variable, its value is read
+     * from the resolved frame coordinate.
      *
      * @param operand the operand to evaluate.
      * @return the value of the operand.
      */
     private Object getValue(ValueWrapper operand) {
-        Type type = getTypeOfOperand(operand, operand.getValue());
-        Object value = getValueOfOperand(operand, operand.getValue());
-        if (type == Type.BOOLEAN) {
-            return Boolean.parseBoolean(value.toString());
+        if (operand.isReference()) {
+            return frame.get(operand.getDepth(), operand.getSlot());
         }
-        return value;
+        Object value = operand.getValue();
+        if (value instanceof Component) {
+            return getValueOfOperand(value);
+        }
+        return operand.getConstant();
     }
 
     /**
-     * This method will evaluate the value of a binary conditional expression.
+     * This method will evaluate the value of a binary conditional expression. The operator is chosen by the
+     * data type of the operands, which was recorded during validation.
      *
      * @param operand the operand to evaluate.
      * @return the value of the operand.
      */
     private Object getValue(BinaryCondition operand) {
-        Object value1 = getValueOfOperand(operand, operand.getOperand1());
-        Object value2 = getValueOfOperand(operand, operand.getOperand2());
-        return operand.getOperator().apply(value1, value2);
+        Object value1 = getValueOfOperand(operand.getOperand1());
+        Object value2 = getValueOfOperand(operand.getOperand2());
+        Type type = ((Component) operand.getOperand1()).getResolvedType();
+        if (type == Type.NUMERIC) {
+            return operand.getOperator().test((Double) value1, (Double) value2);
+        } else if (type == Type.BOOLEAN) {
+            return operand.getOperator().test((Boolean) value1, (Boolean) value2);
+        }
+        return operand.getOperator().test(value1.toString(), value2.toString());
     }
 
     /**
@@ -478,12 +527,23 @@ public class Interpreter extends Validator {
      * @return the value of the operand.
      */
     private Object getValue(UnaryCondition operand) {
-        Object value = getValueOfOperand(operand, operand.getOperand());
-        return operand.getOperator().apply(value);
+        Object value = getValueOfOperand(operand.getOperand());
+        return operand.getOperator().apply((boolean) (Boolean) value);
     }
 
-    public List<String> getOutput() {
-        return output;
+    /**
+     * This method validates the result of an arithmetic operation for runtime exceptions.
+     *
+     * @param value the result of an arithmetic operation.
+     * @return the validated result.
+     */
+    private static double checkNumber(double value) {
+        if (Double.isInfinite(value)) {
+            throw new ArithmeticException("Invalid arithmetic operation! Result evaluated to Infinity!");
+        } else if (Double.isNaN(value)) {
+            throw new ArithmeticException("Invalid arithmetic operation! Result is not a number!");
+        }
+        return value;
     }
 
 }
@@ -29,6 +29,31 @@ public enum Mode {
      * If no exception is thrown, processed code is valid.
      */
     EXECUTE,
+    /**
+     * Will compile a code into a JVM class and execute it at once.
+     * If no exception is thrown, processed code is valid. The output matches the execution mode.
+     */
+    COMPILE,
+    /**
+     * Will execute a code at once as self-specializing node tree.
+     * If no exception is thrown, processed code is valid. The output matches the execution mode.
+     */
+    SPECIALIZE,
+    /**
+     * Will compile a code into bytecode and execute it at once on the virtual machine.
+     * If no exception is thrown, processed code is valid. The output matches the execution mode.
+     */
+    VM,
+    /**
+     * Will compile a code into a tree of pre-bound lambdas and execute it at once.
+     * If no exception is thrown, processed code is valid. The output matches the execution mode.
+     */
+    CLOSURE,
+    /**
+     * Will lower a code into an optimized intermediate representation in static single assignment form and execute
+     * it at once. If no exception is thrown, processed code is valid. The output matches the execution mode.
+     */
+    IR,
     /**
      * Will execute a code entry by entry within the console.
      * If no exception is thrown, processed code is valid.
@@ -0,0 +1,301 @@
+package execution;
+
+import java.math.BigInteger;
+
+/**
+ * The purpose of this class is to convert runtime values to their text representation, as used for printing and for
+ * string concatenation by all engines (and for folding constant concatenations).
+ * Integral numbers are represented without decimal places. Numbers whose magnitude is below 2^53 are integral
+ * exactly if they equal their long value, so they take a fast path, which appends the digits of the long directly.
+ * All other numbers are represented by their shortest decimal representation which round-trips to the same double,
+ * written without exponent (e.g. 1e20 as 100000000000000000000 and 1e-7 as 0.0000001). As the representation of
+ * Double.toString is not always the shortest one before Java 19, the digits are computed here by the Schubfach
+ * algorithm of Raffaello Giulietti: the bounds of the rounding interval of the double are scaled by a power of ten,
+ * approximated by a 126 bit constant, and the shortest decimal within the interval is picked from the few candidates
+ * next to the scaled value (the closest one, preferring an even digit on ties). All of this is done on longs, so the
+ * digits are appended to the builder without creating any intermediate object. No number is narrowed to an int, so
+ * large numbers do not overflow.
+ * Example for usage:
+ * <code>String text = NumberFormatter.format(3.0);   // "3"</code>
+ */
+public final class NumberFormatter {
+
+    private static final double EXACT_LONG_LIMIT = 9007199254740992.0;     // 2^53
+    private static final int P = 53;                                        // the precision of a double
+    private static final int Q_MIN = -1074;                                 // the binary exponent of Double.MIN_VALUE
+    private static final long C_MIN = 1L << P - 1;                          // the least significand of normal numbers
+    private static final int BQ_MASK = 0x7FF;
+    private static final long T_MASK = (1L << P - 1) - 1;
+    private static final long MASK_63 = (1L << 63) - 1;
+    private static final int K_MIN = -324;                                  // the range of decimal exponents
+    private static final int K_MAX = 292;
+    private static final long[] G = computeScalingConstants();
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = 10 * POWERS_OF_TEN[i - 1];
+        }
+    }
+
+    /**
+     * This class only provides static methods and is not instantiated.
+     */
+    private NumberFormatter() {
+    }
+
+    /**
+     * This method converts a runtime value to its text representation. Numbers are formatted, all other values are
+     * represented by their own text.
+     *
+     * @param value the runtime value.
+     * @return the text representation of the value.
+     */
+    public static String toText(Object value) {
+        if (value instanceof Double) {
+            return format((Double) value);
+        }
+        return value.toString();
+    }
+
+    /**
+     * This method converts a number to its text representation.
+     *
+     * @param value the number.
+     * @return the text representation of the number.
+     */
+    public static String format(double value) {
+        if (value > -EXACT_LONG_LIMIT && value < EXACT_LONG_LIMIT) {
+            long integral = (long) value;
+            if (integral == value) {
+                return Long.toString(integral);
+            }
+        }
+        return append(new StringBuilder(24), value).toString();
+    }
+
+    /**
+     * This method appends the text representation of a number to a builder. The digits are appended directly,
+     * without creating an intermediate string.
+     *
+     * @param out   the builder to append to.
+     * @param value the number.
+     * @return the builder.
+     */
+    public static StringBuilder append(StringBuilder out, double value) {
+        if (value > -EXACT_LONG_LIMIT && value < EXACT_LONG_LIMIT) {
+            long integral = (long) value;
+            if (integral == value) {
+                return out.append(integral);
+            }
+        }
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return out.append(value);
+        }
+        if (value < 0) {
+            out.append('-');
+        }
+        long bits = Double.doubleToRawLongBits(value);
+        long t = bits & T_MASK;
+        int bq = (int) (bits >>> P - 1) & BQ_MASK;
+        if (bq != 0) {
+            return toDecimal(out, Q_MIN - 1 + bq, C_MIN | t);
+        }
+        return toDecimal(out, Q_MIN, t);                    // subnormal numbers
+    }
+
+    /**
+     * This method appends the shortest decimal within the rounding interval of the finite, positive number c * 2^q.
+     * The scaled number is enclosed by two neighbouring candidates, at least one of which is within the interval. As
+     * long as a candidate is within the interval, the candidates with one digit less are tried. For normal numbers,
+     * this succeeds once at most, while subnormal numbers may have much fewer digits.
+     *
+     * @param out the builder to append to.
+     * @param q   the binary exponent of the number.
+     * @param c   the significand of the number.
+     * @return the builder.
+     */
+    private static StringBuilder toDecimal(StringBuilder out, int q, long c) {
+        int odd = (int) c & 0x1;                            // the bounds round-trip only for even significands
+        long cb = c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+        if (c != C_MIN | q == Q_MIN) {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        } else {                                            // the lower neighbour of a power of two is closer
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+        int h = q + flog2pow10(-k) + 2;
+        long g1 = G[2 * (k - K_MIN)];
+        long g0 = G[2 * (k - K_MIN) + 1];
+        long vb = rop(g1, g0, cb << h);                     // the scaled number and bounds with two more bits
+        long vbl = rop(g1, g0, cbl << h);
+        long vbr = rop(g1, g0, cbr << h);
+        long s = vb >> 2;
+        long decimal = s;
+        for (long unit = 1; unit <= s; unit *= 10) {
+            long lower = s / unit * unit;
+            long upper = lower + unit;
+            boolean lowerIn = vbl + odd <= lower << 2;
+            boolean upperIn = (upper << 2) + odd <= vbr;
+            if (lowerIn && upperIn) {                       // the closer one is taken, the even one on ties
+                long cmp = vb - (lower + upper << 1);
+                decimal = cmp < 0 || cmp == 0 && (lower / unit & 0x1) == 0 ? lower : upper;
+            } else if (lowerIn || upperIn) {
+                decimal = lowerIn ? lower : upper;
+            } else {
+                break;
+            }
+        }
+        return appendPlain(out, decimal, k);
+    }
+
+    /**
+     * This method appends the decimal f * 10^e without exponent and without trailing zeros.
+     *
+     * @param out the builder to append to.
+     * @param f   the positive significand of the decimal.
+     * @param e   the exponent of the decimal.
+     * @return the builder.
+     */
+    private static StringBuilder appendPlain(StringBuilder out, long f, int e) {
+        while (f % 10 == 0) {
+            f /= 10;
+            e++;
+        }
+        int length = 1;
+        for (long bound = 10; length < 19 && f >= bound; bound *= 10) {
+            length++;
+        }
+        if (e >= 0) {
+            out.append(f);
+            for (int i = 0; i < e; i++) {
+                out.append('0');
+            }
+        } else if (length + e > 0) {
+            long divisor = POWERS_OF_TEN[-e];
+            out.append(f / divisor).append('.');
+            appendDigits(out, f % divisor, -e);
+        } else {
+            out.append("0.");
+            for (int i = length + e; i < 0; i++) {
+                out.append('0');
+            }
+            out.append(f);
+        }
+        return out;
+    }
+
+    /**
+     * This method appends a number with leading zeros.
+     *
+     * @param out    the builder to append to.
+     * @param value  the non-negative number.
+     * @param digits the count of digits to append.
+     */
+    private static void appendDigits(StringBuilder out, long value, int digits) {
+        for (long divisor = POWERS_OF_TEN[digits - 1]; divisor > 0; divisor /= 10) {
+            out.append((char) ('0' + value / divisor % 10));
+        }
+    }
+
+    /**
+     * This method computes the product of a 126 bit constant (given by its upper and lower 63 bits) and a number,
+     * divided by 2^127. The lowest bit of the result is set, if the division is not exact, so the result can be
+     * compared to bounds without losing the information whether the exact product is above them.
+     *
+     * @param g1 the upper 63 bits of the constant.
+     * @param g0 the lower 63 bits of the constant.
+     * @param cp the number.
+     * @return the rounded product.
+     */
+    private static long rop(long g1, long g0, long cp) {
+        long x1 = multiplyHigh(g0, cp);
+        long y0 = g1 * cp;
+        long y1 = multiplyHigh(g1, cp);
+        long z = (y0 >>> 1) + x1;
+        long vbp = y1 + (z >>> 63);
+        return vbp | (z & MASK_63) + MASK_63 >>> 63;
+    }
+
+    /**
+     * Returns the upper 64 bits of the 128 bit product of two longs (as Math.multiplyHigh, which is not available
+     * before Java 9).
+     *
+     * @param x the first factor.
+     * @param y the second factor.
+     * @return the upper 64 bits of the product.
+     */
+    private static long multiplyHigh(long x, long y) {
+        long x1 = x >> 32;
+        long x2 = x & 0xFFFFFFFFL;
+        long y1 = y >> 32;
+        long y2 = y & 0xFFFFFFFFL;
+        long z2 = x2 * y2;
+        long t = x1 * y2 + (z2 >>> 32);
+        long z1 = (t & 0xFFFFFFFFL) + x2 * y1;
+        long z0 = t >> 32;
+        return x1 * y1 + z0 + (z1 >> 32);
+    }
+
+    /**
+     * Returns floor(log10(2^e)).
+     *
+     * @param e the exponent, within [-5456721, 5456721].
+     * @return the rounded logarithm.
+     */
+    private static int flog10pow2(int e) {
+        return (int) (e * 661971961083L >> 41);
+    }
+
+    /**
+     * Returns floor(log10(3/4 * 2^e)).
+     *
+     * @param e the exponent, within [-3211944, 3211944].
+     * @return the rounded logarithm.
+     */
+    private static int flog10threeQuartersPow2(int e) {
+        return (int) (e * 661971961083L - 274743187321L >> 41);
+    }
+
+    /**
+     * Returns floor(log2(10^e)).
+     *
+     * @param e the exponent, within [-1838394, 1838394].
+     * @return the rounded logarithm.
+     */
+    private static int flog2pow10(int e) {
+        return (int) (e * 913124641741L >> 38);
+    }
+
+    /**
+     * This method computes the scaling constants: for every decimal exponent k, the constant g = floor(10^-k *
+     * 2^(125 - floor(log2(10^-k)))) + 1 within [2^125, 2^126) is split into its upper and lower 63 bits. The
+     * constants are computed once only, when the class is loaded.
+     *
+     * @return the upper and lower bits of the constants, ordered by exponent.
+     */
+    private static long[] computeScalingConstants() {
+        long[] constants = new long[2 * (K_MAX - K_MIN + 1)];
+        BigInteger mask = BigInteger.ONE.shiftLeft(63).subtract(BigInteger.ONE);
+        for (int k = K_MIN; k <= K_MAX; k++) {
+            int shift = 125 - flog2pow10(-k);
+            BigInteger g;
+            if (k <= 0) {
+                BigInteger power = BigInteger.TEN.pow(-k);
+                g = shift >= 0 ? power.shiftLeft(shift) : power.shiftRight(-shift);
+            } else {
+                g = BigInteger.ONE.shiftLeft(shift).divide(BigInteger.TEN.pow(k));
+            }
+            g = g.add(BigInteger.ONE);
+            constants[2 * (k - K_MIN)] = g.shiftRight(63).longValue();
+            constants[2 * (k - K_MIN) + 1] = g.and(mask).longValue();
+        }
+        return constants;
+    }
+
+}
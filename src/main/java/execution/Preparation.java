@@ -0,0 +1,46 @@
+package execution;
+
+import optimizer.ConstantFolder;
+import optimizer.EffectAnalyzer;
+import parser.parsetree.Program;
+import validator.Resolver;
+import validator.Validator;
+
+/**
+ * The purpose of this class is to prepare a parsed program for its executions.
+ * All analyses which annotate the parse tree (validation, resolution of the frame coordinates, constant folding and
+ * the detection of pure functions) are run exactly once per program. Afterwards, the parse tree is only read, as all
+ * runtime values are held by the frames of the single executions. So one parsed program may be executed multiple
+ * times and by multiple threads at once, each of them using its own engine instance.
+ * Example for usage (where program is a parsed Program):
+ * <code>Preparation.prepare(program);</code>
+ */
+public final class Preparation {
+
+    /**
+     * This class only provides static methods and is not instantiated.
+     */
+    private Preparation() {
+    }
+
+    /**
+     * This method validates, resolves, folds and analyzes a program, unless this was already done before.
+     * If the program is invalid, the according exception is thrown on every call.
+     *
+     * @param program the program to prepare.
+     * @return the prepared program.
+     */
+    public static Program prepare(Program program) {
+        synchronized (program) {
+            if (!program.isPrepared()) {
+                program.accept(new Validator());
+                program.accept(new Resolver());
+                program.accept(new ConstantFolder());
+                program.accept(new EffectAnalyzer());
+                program.setPrepared(true);
+            }
+        }
+        return program;
+    }
+
+}
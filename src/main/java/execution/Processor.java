@@ -1,12 +1,27 @@
 package execution;
 
+import closure.ClosureCompiler;
+import closure.ClosureProgram;
+import compiler.BytecodeCompiler;
+import compiler.CompiledProgram;
 import exceptions.GrammarException;
+import exceptions.LimitExceededException;
 import exceptions.ScanException;
+import ir.IrBuilder;
+import ir.IrMachine;
+import ir.IrOptimizer;
 import java_cup.runtime.Symbol;
+import output.EchoSink;
+import output.OutputSink;
 import parser.JParser;
 import parser.parsetree.Program;
 import scanner.JScanner;
+import specializer.SpecializingInterpreter;
 import validator.Validator;
+import vm.BytecodeCache;
+import vm.BytecodeGenerator;
+import vm.BytecodeProgram;
+import vm.VirtualMachine;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
@@ -26,6 +41,8 @@ public class Processor {
 
     private boolean exceptionThrown = false;
     private boolean errorThrown = false;
+    private boolean limitExceeded = false;
+    private boolean stackOverflow = false;
 
     private boolean lexCheck = true;
     private boolean parseCheck = true;
@@ -44,40 +61,133 @@ public class Processor {
     /**
      * The constructor of this class will take a mode and code as string and start processing immediately.
      * This means, that an instance of this class cannot be reused in any way.
+     * The execution is limited by the default limits.
      *
      * @param mode the processing mode.
      * @param code the code to process.
      */
     public Processor(Mode mode, String code) {
+        this(mode, code, ExecutionLimits.DEFAULT);
+    }
+
+    /**
+     * The constructor of this class will take a mode and code as string and start processing immediately.
+     * This means, that an instance of this class cannot be reused in any way.
+     * The execution is aborted as soon as it exceeds one of the passed limits.
+     *
+     * @param mode   the processing mode.
+     * @param code   the code to process.
+     * @param limits the limits of the execution.
+     */
+    public Processor(Mode mode, String code, ExecutionLimits limits) {
+        this(mode, code, ProcessorOptions.DEFAULT.withLimits(limits));
+    }
+
+    /**
+     * The constructor of this class will take a mode and code as string and start processing immediately.
+     * This means, that an instance of this class cannot be reused in any way.
+     * The processing is configured by the passed options (i.e. the limits, the verbosity, the caches and the sink).
+     *
+     * @param mode    the processing mode.
+     * @param code    the code to process.
+     * @param options the options of the processing.
+     */
+    public Processor(Mode mode, String code, ProcessorOptions options) {
+        ExecutionLimits limits = options.getLimits();
+        boolean verbose = options.isVerbose();
+        ProgramCache cache = options.getProgramCache();
+        BytecodeCache bytecodeCache = options.getBytecodeCache();
+        OutputSink sink = options.getSink();
         try (InputStream stream = new ByteArrayInputStream(code.getBytes()); InputStreamReader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
             JScanner scanner = null;
             JParser parser = null;
-            Interpreter interpreter = null;
+            OutputSink output = null;
             try {
 
                 Symbol root;
                 Program program;
+                String key = mode != Mode.SCAN && (cache != null || bytecodeCache != null) ? ProgramCache.hash(code) : null;     // hashed once for all caches
+                BytecodeProgram bytecode = mode == Mode.VM ? loadCompiled(bytecodeCache, key, verbose) : null;
                 if (mode == Mode.SCAN) {
-                    scanner = new JScanner(reader, true);
+                    scanner = new JScanner(reader, verbose);
                     while (!scanner.yyatEOF()) {
                         scanner.next_token();
                     }
                     scannerOutput = String.join("\n", scanner.getOutput());
+                } else if (bytecode != null) {                            // cached programs were validated before
+                    VirtualMachine machine = new VirtualMachine(bytecode);
+                    machine.setLimits(limits);
+                    output = echo(sink, verbose);
+                    machine.setOutput(output);
+                    machine.run();
+                    executionResult = String.join("\n", output.getLines());
                 } else {
-                    parser = new JParser(reader, mode != Mode.CONSOLE && mode != Mode.GUI);
-                    root = parser.parse();
-                    scannerOutput = String.join("\n", parser.getScannerOutput());
-                    program = (Program) root.value;
-                    parseTree = program.getParseTree();
-                    parseCode = program.toString();
+                    CachedProgram cached = cache == null ? null : cache.lookup(key);
+                    if (cached != null) {
+                        scannerOutput = cached.getScannerOutput();
+                        program = cached.getProgram();
+                        parseTree = cached.getParseTree();
+                        parseCode = cached.getParseCode();
+                    } else {
+                        parser = new JParser(reader, verbose && mode != Mode.CONSOLE && mode != Mode.GUI);
+                        root = parser.parse();
+                        scannerOutput = String.join("\n", parser.getScannerOutput());
+                        program = (Program) root.value;
+                        parseTree = program.getParseTree();
+                        parseCode = program.toString();
+                        if (cache != null && mode != Mode.PARSE) {        // only validated programs are cached
+                            cache.store(key, new CachedProgram(Preparation.prepare(program), scannerOutput, parseTree, parseCode));
+                        }
+                    }
                     if (mode == Mode.VALIDATE) {
-                        Validator validator = new Validator();
-                        program.accept(validator);
-                    } else if (mode == Mode.EXECUTE || mode == Mode.CONSOLE || mode == Mode.GUI) {
-                        interpreter = new Interpreter();
+                        if (cache == null) {                                // cached programs were validated before
+                            Validator validator = new Validator();
+                            program.accept(validator);
+                        }
+                    } else if (mode == Mode.COMPILE && BytecodeCompiler.isAvailable()) {
+                        CompiledProgram compiled = new BytecodeCompiler().compile(program);
+                        output = echo(sink, verbose);
+                        compiled.setOutput(output);
+                        compiled.setLimits(limits);
+                        compiled.run();
+                        executionResult = String.join("\n", output.getLines());
+                    } else if (mode == Mode.SPECIALIZE) {
+                        SpecializingInterpreter interpreter = new SpecializingInterpreter();
+                        interpreter.setLimits(limits);
+                        output = echo(sink, verbose);
+                        interpreter.setOutput(output);
+                        interpreter.execute(program);
+                        executionResult = String.join("\n", output.getLines());
+                    } else if (mode == Mode.VM) {
+                        bytecode = BytecodeGenerator.compile(program);
+                        storeCompiled(bytecodeCache, key, bytecode, verbose);
+                        VirtualMachine machine = new VirtualMachine(bytecode);
+                        machine.setLimits(limits);
+                        output = echo(sink, verbose);
+                        machine.setOutput(output);
+                        machine.run();
+                        executionResult = String.join("\n", output.getLines());
+                    } else if (mode == Mode.CLOSURE) {
+                        output = echo(sink, verbose);
+                        ClosureProgram compiled = ClosureCompiler.compile(program, output);
+                        compiled.setLimits(limits);
+                        compiled.run();
+                        executionResult = String.join("\n", output.getLines());
+                    } else if (mode == Mode.IR) {
+                        IrMachine machine = new IrMachine(IrOptimizer.optimize(IrBuilder.build(program)));
+                        machine.setLimits(limits);
+                        output = echo(sink, verbose);
+                        machine.setOutput(output);
+                        machine.run();
+                        executionResult = String.join("\n", output.getLines());
+                    } else if (mode == Mode.EXECUTE || mode == Mode.COMPILE || mode == Mode.CONSOLE || mode == Mode.GUI) {
+                        Interpreter interpreter = new Interpreter();
                         interpreter.setScriptMode(mode == Mode.CONSOLE);
+                        interpreter.setLimits(limits);
+                        output = echo(sink, verbose);
+                        interpreter.setOutput(output);
                         program.accept(interpreter);
-                        executionResult = String.join("\n", interpreter.getOutput());
+                        executionResult = String.join("\n", output.getLines());
                     }
                 }
 
@@ -90,10 +200,24 @@ public class Processor {
                     validationCheck = false;
                     runtimeCheck = false;
                     setLocation(message);
+                } else if (e instanceof LimitExceededException) {
+                    errorMessage = "Execution exceeded a limit and was aborted!\n" + message;
+                    limitExceeded = true;
+                    runtimeCheck = false;
+                    setLocation(message);
+                    if (output != null) {
+                        executionResult = String.join("\n", output.getLines());
+                    }
                 } else if (e instanceof ArithmeticException) {
                     errorMessage = "During runtime, an arithmetic operation resulted in an invalid numeric value!";
                     runtimeCheck = false;
                     setLocation(message);
+                } else if (e instanceof UncheckedIOException) {                // the sink failed, not the code
+                    errorMessage = "Printed output could not be written!\n" + message;
+                    runtimeCheck = false;
+                    if (output != null) {
+                        executionResult = String.join("\n", output.getLines());
+                    }
                 } else {
                     errorMessage = "Parsed code syntax not valid, parse tree could not be constructed!";
                     validationCheck = false;
@@ -102,7 +226,9 @@ public class Processor {
                 }
                 stackTraceWriter = new StringWriter();
                 e.printStackTrace(new PrintWriter(stackTraceWriter));
-                e.printStackTrace();
+                if (verbose) {
+                    e.printStackTrace();
+                }
 
             } catch (Error e) {                                                         // if an Error occurs, it's source is from the scanner or from overflow
 
@@ -111,12 +237,13 @@ public class Processor {
                 String message = t.getMessage();
                 if (message == null || e instanceof StackOverflowError) {
                     errorMessage = "StackOverflowError during execution occurred!";
+                    stackOverflow = true;
                     runtimeCheck = false;
                     if (message != null) {
                         setLocation(message);
                     }
-                    if (interpreter != null) {
-                        executionResult = String.join("\n", interpreter.getOutput());
+                    if (output != null) {
+                        executionResult = String.join("\n", output.getLines());
                     }
                 } else {
                     errorMessage = "Scanned code not valid!\n" + message;
@@ -127,12 +254,19 @@ public class Processor {
                 }
                 stackTraceWriter = new StringWriter();
                 e.printStackTrace(new PrintWriter(stackTraceWriter));
-                e.printStackTrace();
+                if (verbose) {
+                    e.printStackTrace();
+                }
 
             } finally {
 
+                if (output != null) {
+                    flush(output, verbose);
+                }
                 if (!errorMessage.equals("")) {
-                    LOG.log(Level.WARNING, errorMessage);
+                    if (verbose) {
+                        LOG.log(Level.WARNING, errorMessage);
+                    }
                 } else {
                     errorMessage = "everything is fine :)";
                 }
@@ -170,6 +304,25 @@ public class Processor {
         return errorThrown;
     }
 
+    /**
+     * Returns true if the execution was aborted, as it exceeded one of its limits.
+     *
+     * @return true if a limit was exceeded.
+     */
+    public boolean isLimitExceeded() {
+        return limitExceeded;
+    }
+
+    /**
+     * Returns true if the execution was aborted by a StackOverflowError. This is either the case if a loop exceeded
+     * its maximum count of runs or if the recursion exceeded the stack of the executing thread.
+     *
+     * @return true if a stack overflow occurred.
+     */
+    public boolean isStackOverflow() {
+        return stackOverflow;
+    }
+
     /**
      * Returns true if the lexical validation was successful.
      *
@@ -270,6 +423,85 @@ public class Processor {
         return location;
     }
 
+    /**
+     * This method returns the sink to pass to the engine. If the processing is verbose, every printed line is
+     * echoed to the console additionally.
+     *
+     * @param sink    the sink which receives the printed lines.
+     * @param verbose whether the processing is logged to the console.
+     * @return the sink of the engine.
+     */
+    private static OutputSink echo(OutputSink sink, boolean verbose) {
+        return verbose ? new EchoSink(sink, System.out) : sink;
+    }
+
+    /**
+     * This helper method flushes the sink after the execution. If the sink fails, the failure is recorded like a
+     * failure to print, unless an earlier exception or error was recorded already.
+     *
+     * @param output  the sink of the engine.
+     * @param verbose whether the failure is logged to the console.
+     */
+    private void flush(OutputSink output, boolean verbose) {
+        try {
+            output.flush();
+        } catch (UncheckedIOException e) {
+            runtimeCheck = false;
+            if (!exceptionThrown && !errorThrown) {
+                exceptionThrown = true;
+                errorMessage = "Printed output could not be written!\n" + e.getMessage();
+                stackTraceWriter = new StringWriter();
+                e.printStackTrace(new PrintWriter(stackTraceWriter));
+            }
+            if (verbose) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * This helper method loads the compiled program of the code from the bytecode cache. A cache which cannot be read
+     * is treated like a miss.
+     *
+     * @param bytecodeCache the cache of compiled programs, or null for none.
+     * @param key           the hash of the code to process.
+     * @param verbose       whether a failure is logged to the console.
+     * @return the compiled program, or null if it is not cached.
+     */
+    private static BytecodeProgram loadCompiled(BytecodeCache bytecodeCache, String key, boolean verbose) {
+        if (bytecodeCache != null) {
+            try {
+                return bytecodeCache.lookup(key);
+            } catch (IOException e) {
+                if (verbose) {
+                    LOG.log(Level.WARNING, "Bytecode cache could not be read: " + e.getMessage());
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * This helper method stores the compiled program of the code in the bytecode cache. A failure does not affect the
+     * processing, as the program is just compiled again next time.
+     *
+     * @param bytecodeCache the cache of compiled programs, or null for none.
+     * @param key           the hash of the code to process.
+     * @param compiled      the compiled program.
+     * @param verbose       whether a failure is logged to the console.
+     */
+    private static void storeCompiled(BytecodeCache bytecodeCache, String key, BytecodeProgram compiled, boolean verbose) {
+        if (bytecodeCache != null) {
+            try {
+                bytecodeCache.save(key, compiled);
+            } catch (IOException e) {
+                if (verbose) {
+                    LOG.log(Level.WARNING, "Bytecode cache could not be written: " + e.getMessage());
+                }
+            }
+        }
+    }
+
     /**
      * This method extracts the location of the exception if known. The location is the character index
      * of the error causing element.
@@ -279,7 +511,9 @@ public class Processor {
     private void setLocation(String message) {
         if (message.contains("location")) {
             try {
-                String[] loc = message.substring(message.indexOf("location")).split(",");
+                int start = message.indexOf("location");
+                int end = message.indexOf(']', start);
+                String[] loc = message.substring(start, end < 0 ? message.length() : end).split(",");
                 int left = Integer.parseInt(loc[0].replaceAll("[^0-9]", ""));
                 int right = Integer.parseInt(loc[1].replaceAll("[^0-9]", ""));
                 location = new int[]{left, right};
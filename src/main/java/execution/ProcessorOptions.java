@@ -0,0 +1,156 @@
+package execution;
+
+import output.BufferedSink;
+import output.OutputSink;
+import vm.BytecodeCache;
+
+/**
+ * This class holds the optional settings of a processing: the limits of the execution, whether the processing is
+ * logged to the console, the caches to consult and the sink which receives the printed lines.
+ * Options are immutable, so the same instance may be used for any count of processings, as long as it does not hold
+ * a sink. Derived options are created by the with-methods, starting from the defaults.
+ * Example for usage:
+ * <code>ProcessorOptions options = ProcessorOptions.DEFAULT.withVerbose(false).withProgramCache(cache);
+ * Processor processor = new Processor(Mode.EXECUTE, code, options);</code>
+ */
+public final class ProcessorOptions {
+
+    /**
+     * The options, if no other options are passed: the default limits, verbose processing, no caches and a new
+     * buffered sink per processing.
+     */
+    public static final ProcessorOptions DEFAULT = new ProcessorOptions(ExecutionLimits.DEFAULT, true, null, null, null);
+
+    private final ExecutionLimits limits;
+    private final boolean verbose;
+    private final ProgramCache programCache;
+    private final BytecodeCache bytecodeCache;
+    private final OutputSink sink;
+
+    /**
+     * This constructor initializes all options.
+     *
+     * @param limits        the limits of the execution.
+     * @param verbose       whether the processing is logged to the console.
+     * @param programCache  the cache of validated programs, or null for none.
+     * @param bytecodeCache the cache of compiled programs used in virtual machine mode, or null for none.
+     * @param sink          the sink which receives the printed lines, or null for a new buffered sink.
+     */
+    private ProcessorOptions(ExecutionLimits limits, boolean verbose, ProgramCache programCache, BytecodeCache bytecodeCache, OutputSink sink) {
+        if (limits == null) {
+            throw new IllegalArgumentException("Execution limits must not be null!");
+        }
+        this.limits = limits;
+        this.verbose = verbose;
+        this.programCache = programCache;
+        this.bytecodeCache = bytecodeCache;
+        this.sink = sink;
+    }
+
+    /**
+     * Returns options which differ from these options by the limits of the execution.
+     *
+     * @param limits the limits of the execution.
+     * @return the derived options.
+     */
+    public ProcessorOptions withLimits(ExecutionLimits limits) {
+        return new ProcessorOptions(limits, verbose, programCache, bytecodeCache, sink);
+    }
+
+    /**
+     * Returns options which differ from these options by the verbosity. If the processing is not verbose, neither
+     * the scanned tokens nor warnings and stack traces are written to the console. They are still available by the
+     * getters of the Processor, though.
+     *
+     * @param verbose whether the processing is logged to the console.
+     * @return the derived options.
+     */
+    public ProcessorOptions withVerbose(boolean verbose) {
+        return new ProcessorOptions(limits, verbose, programCache, bytecodeCache, sink);
+    }
+
+    /**
+     * Returns options which differ from these options by the cache of validated programs. For cached code,
+     * scanning, parsing and validation are skipped and the cached program is executed right away. Otherwise, the
+     * code is validated after parsing and cached.
+     *
+     * @param programCache the cache of validated programs, or null for none.
+     * @return the derived options.
+     */
+    public ProcessorOptions withProgramCache(ProgramCache programCache) {
+        return new ProcessorOptions(limits, verbose, programCache, bytecodeCache, sink);
+    }
+
+    /**
+     * Returns options which differ from these options by the cache of compiled programs. Programs processed in
+     * virtual machine mode are compiled once only: if the compiled program of the code is found in the cache,
+     * scanning, parsing, validation and compilation are skipped, so the scanner output, the parse tree and the parsed
+     * code stay empty. If the cache cannot be read or written, the code is processed as if there was no cache.
+     *
+     * @param bytecodeCache the cache of compiled programs, or null for none.
+     * @return the derived options.
+     */
+    public ProcessorOptions withBytecodeCache(BytecodeCache bytecodeCache) {
+        return new ProcessorOptions(limits, verbose, programCache, bytecodeCache, sink);
+    }
+
+    /**
+     * Returns options which differ from these options by the sink. The printed lines are passed to the sink as soon
+     * as they are printed. The execution result consists of the lines kept by the sink, so it is empty for streaming
+     * sinks and bounded for bounded sinks. As a sink collects the lines of one processing, options holding a sink
+     * must not be shared by concurrent processings.
+     *
+     * @param sink the sink which receives the printed lines, or null for a new buffered sink.
+     * @return the derived options.
+     */
+    public ProcessorOptions withSink(OutputSink sink) {
+        return new ProcessorOptions(limits, verbose, programCache, bytecodeCache, sink);
+    }
+
+    /**
+     * Returns the limits of the execution.
+     *
+     * @return the limits.
+     */
+    public ExecutionLimits getLimits() {
+        return limits;
+    }
+
+    /**
+     * Returns whether the processing is logged to the console.
+     *
+     * @return true if the processing is verbose.
+     */
+    public boolean isVerbose() {
+        return verbose;
+    }
+
+    /**
+     * Returns the cache of validated programs.
+     *
+     * @return the cache, or null for none.
+     */
+    public ProgramCache getProgramCache() {
+        return programCache;
+    }
+
+    /**
+     * Returns the cache of compiled programs used in virtual machine mode.
+     *
+     * @return the cache, or null for none.
+     */
+    public BytecodeCache getBytecodeCache() {
+        return bytecodeCache;
+    }
+
+    /**
+     * Returns the sink which receives the printed lines of a processing. If no sink was set, a new buffered sink is
+     * returned for every call.
+     *
+     * @return the sink.
+     */
+    public OutputSink getSink() {
+        return sink == null ? new BufferedSink() : sink;
+    }
+
+}
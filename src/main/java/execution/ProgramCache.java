@@ -0,0 +1,157 @@
+package execution;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This class caches validated programs by the content hash of their source, so repeatedly processed code is not
+ * scanned, parsed and validated again. The cache is bounded: if it is full, the least recently used program is
+ * evicted. The count of hits, misses and evictions is recorded.
+ * The cache is thread-safe, so one instance may be shared by all processors of an application.
+ * Example for usage:
+ * <code>ProgramCache cache = new ProgramCache(64);
+ * Processor processor = new Processor(Mode.EXECUTE, code, ProcessorOptions.DEFAULT.withProgramCache(cache));</code>
+ */
+public class ProgramCache {
+
+    private final Map<String, CachedProgram> programs;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * This constructor initializes an empty cache.
+     *
+     * @param capacity the maximum count of cached programs.
+     */
+    public ProgramCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity of the cache must be positive!");
+        }
+        programs = new LinkedHashMap<String, CachedProgram>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedProgram> eldest) {
+                if (size() > capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached program of the passed source and marks it as recently used.
+     *
+     * @param code the source of the program.
+     * @return the cached program, or null if the source is not cached.
+     */
+    public CachedProgram get(String code) {
+        return lookup(hash(code));
+    }
+
+    /**
+     * Returns the cached program of the passed key and marks it as recently used. Callers which look up and store
+     * the same source compute its key once by the hash method and pass it to both calls.
+     *
+     * @param key the hash of the source of the program.
+     * @return the cached program, or null if the source is not cached.
+     */
+    public synchronized CachedProgram lookup(String key) {
+        CachedProgram program = programs.get(key);
+        if (program == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return program;
+    }
+
+    /**
+     * This method caches a validated program of the passed source. If the cache is full afterwards, the least recently
+     * used program is evicted.
+     *
+     * @param code    the source of the program.
+     * @param program the validated program.
+     */
+    public void put(String code, CachedProgram program) {
+        store(hash(code), program);
+    }
+
+    /**
+     * This method caches a validated program by the passed key. If the cache is full afterwards, the least recently
+     * used program is evicted.
+     *
+     * @param key     the hash of the source of the program.
+     * @param program the validated program.
+     */
+    public synchronized void store(String key, CachedProgram program) {
+        programs.put(key, program);
+    }
+
+    /**
+     * This method removes all cached programs. The statistics are kept.
+     */
+    public synchronized void clear() {
+        programs.clear();
+    }
+
+    /**
+     * Returns the count of cached programs.
+     *
+     * @return the size of the cache.
+     */
+    public synchronized int size() {
+        return programs.size();
+    }
+
+    /**
+     * Returns the count of lookups, which found a cached program.
+     *
+     * @return the count of hits.
+     */
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    /**
+     * Returns the count of lookups, which did not find a cached program.
+     *
+     * @return the count of misses.
+     */
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    /**
+     * Returns the count of programs, which were evicted as the cache was full.
+     *
+     * @return the count of evictions.
+     */
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    /**
+     * This method computes the content hash of a source, which is used as key of the cache.
+     *
+     * @param code the source to hash.
+     * @return the SHA-256 hash of the source as hexadecimal text.
+     */
+    public static String hash(String code) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(code.getBytes(StandardCharsets.UTF_8));
+            StringBuilder out = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                out.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return out.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available!", e);
+        }
+    }
+
+}
@@ -0,0 +1,97 @@
+package execution;
+
+import java_cup.runtime.Symbol;
+import optimizer.ConstantFolder;
+import optimizer.EffectAnalyzer;
+import output.BufferedSink;
+import output.OutputSink;
+import parser.JParser;
+import parser.parsetree.Program;
+import validator.Resolver;
+import validator.Validator;
+
+import java.io.StringReader;
+import java.util.List;
+
+/**
+ * This class holds an interactive session, in which code is entered fragment by fragment (e.g. in console mode).
+ * Instead of processing the whole code entered so far for every new fragment, the session keeps the state of the
+ * previous fragments: the variables and functions in scope of the validator, the slots of the resolver, the purity of
+ * the functions and the global frame of the interpreter. So every fragment is scanned, parsed, validated and executed
+ * once only and the cost of an entry does not depend on the length of the session.
+ * Each fragment may use the variables and functions of the previous fragments. A fragment which is not valid or whose
+ * execution fails is discarded, i.e. its variables and functions are removed from scope again. Assignments to
+ * existing variables which were executed before the failure are kept, though.
+ * Example for usage:
+ * <code>ReplSession session = new ReplSession();
+ * session.evaluate("number x = 3;");
+ * List&lt;String&gt; lines = session.evaluate("print(x * 2);");</code>
+ */
+public class ReplSession {
+
+    private final Validator validator = new Validator();
+    private final Resolver resolver = new Resolver();
+    private final EffectAnalyzer analyzer = new EffectAnalyzer();
+    private final Interpreter interpreter = new Interpreter();
+    private final OutputSink output;
+    private int fragmentCount = 0;
+
+    /**
+     * This constructor initializes an empty session within the default limits, which keeps the printed lines of
+     * the last fragment.
+     */
+    public ReplSession() {
+        this(ExecutionLimits.DEFAULT, new BufferedSink());
+    }
+
+    /**
+     * This constructor initializes an empty session. The limits apply to each fragment separately.
+     *
+     * @param limits the limits of the execution of a fragment.
+     * @param output the sink which receives the printed lines.
+     */
+    public ReplSession(ExecutionLimits limits, OutputSink output) {
+        this.output = output;
+        interpreter.setLimits(limits);
+        interpreter.setOutput(output);
+    }
+
+    /**
+     * This method processes a fragment within the context of the previous fragments. The sink is cleared before,
+     * so the returned lines are the lines printed by this fragment.
+     *
+     * @param code the code of the fragment.
+     * @return the printed lines of the fragment.
+     * @throws Exception if the fragment is not valid or its execution failed.
+     */
+    public List<String> evaluate(String code) throws Exception {
+        output.clear();
+        Symbol root = new JParser(new StringReader(code), false).parse();
+        Program fragment = (Program) root.value;
+        validator.validateFragment(fragment);
+        try {
+            resolver.resolveFragment(fragment);
+            fragment.accept(new ConstantFolder(false));      // later fragments may reassign top-level variables
+            fragment.accept(analyzer);
+            interpreter.executeFragment(fragment);
+        } catch (Exception | Error e) {
+            validator.discardFragment();
+            resolver.discardFragment();
+            throw e;
+        } finally {
+            output.flush();
+        }
+        fragmentCount++;
+        return output.getLines();
+    }
+
+    /**
+     * Returns the count of fragments which were processed successfully.
+     *
+     * @return the count of fragments.
+     */
+    public int getFragmentCount() {
+        return fragmentCount;
+    }
+
+}
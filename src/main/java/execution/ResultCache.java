@@ -0,0 +1,124 @@
+package execution;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This class caches the outcome of whole processing runs. As programs take no input, their outcome (the execution
+ * result, the check flags, the error message and its location) depends on nothing but the source, the mode and the
+ * deterministic limits. So an unchanged script is processed once only, while later runs return the cached Processor
+ * right away.
+ * The code is processed without logging to the console, so a run prints nothing, no matter if its outcome is cached.
+ * Outcomes which may depend on the time of the run are neither cached nor looked up, i.e. all runs with a timeout or
+ * a cancellation token: a cached outcome might have been aborted by a tighter timeout or an earlier cancellation.
+ * Neither are runs aborted by a stack overflow, as the depth of a recursion depends on the stack size of the executing
+ * thread as well. As the engines report exceeded loop runs as stack overflow too, these outcomes are not cached either.
+ * The cache is bounded: if it is full, the least recently used outcome is evicted. It is thread-safe and opt-in, so
+ * callers which always want a fresh run keep using the Processor directly.
+ * Example for usage:
+ * <code>ResultCache results = new ResultCache(256);
+ * Processor processor = results.process(Mode.EXECUTE, code);</code>
+ */
+public class ResultCache {
+
+    private final Map<String, Processor> results;
+    private long hits;
+    private long misses;
+
+    /**
+     * This constructor initializes an empty cache.
+     *
+     * @param capacity the maximum count of cached outcomes.
+     */
+    public ResultCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity of the cache must be positive!");
+        }
+        results = new LinkedHashMap<String, Processor>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Processor> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * This method processes the passed code within the default limits, unless its outcome is cached already.
+     *
+     * @param mode the processing mode.
+     * @param code the code to process.
+     * @return the processor holding the outcome.
+     */
+    public Processor process(Mode mode, String code) {
+        return process(mode, code, ExecutionLimits.DEFAULT);
+    }
+
+    /**
+     * This method processes the passed code, unless its outcome is cached already. Code with a timeout or a
+     * cancellation token is always processed.
+     *
+     * @param mode   the processing mode.
+     * @param code   the code to process.
+     * @param limits the limits of the execution.
+     * @return the processor holding the outcome.
+     */
+    public Processor process(Mode mode, String code, ExecutionLimits limits) {
+        if (limits.getTimeout() > 0 || limits.getCancellation() != null) {
+            synchronized (this) {
+                misses++;
+            }
+            return new Processor(mode, code, ProcessorOptions.DEFAULT.withLimits(limits).withVerbose(false));
+        }
+        String key = mode + ":" + limits.getMaxLoopRuns() + ":" + limits.getMaxSteps() + ":" + limits.getMaxDepth() + ":" + ProgramCache.hash(code);
+        synchronized (this) {
+            Processor processor = results.get(key);
+            if (processor != null) {
+                hits++;
+                return processor;
+            }
+            misses++;
+        }
+        Processor processor = new Processor(mode, code, ProcessorOptions.DEFAULT.withLimits(limits).withVerbose(false));
+        if (!processor.isStackOverflow()) {
+            synchronized (this) {
+                results.put(key, processor);
+            }
+        }
+        return processor;
+    }
+
+    /**
+     * This method removes all cached outcomes. The statistics are kept.
+     */
+    public synchronized void clear() {
+        results.clear();
+    }
+
+    /**
+     * Returns the count of cached outcomes.
+     *
+     * @return the size of the cache.
+     */
+    public synchronized int size() {
+        return results.size();
+    }
+
+    /**
+     * Returns the count of runs, which returned a cached outcome.
+     *
+     * @return the count of hits.
+     */
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    /**
+     * Returns the count of runs, which processed the code.
+     *
+     * @return the count of misses.
+     */
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+}
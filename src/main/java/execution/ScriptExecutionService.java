@@ -0,0 +1,133 @@
+package execution;
+
+import output.BufferedSink;
+import output.OutputSink;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * This class hosts many concurrent scripts. Every submitted script runs through its own Processor on its own thread:
+ * if the running JDK supports virtual threads (Java 21 or later), a virtual thread is started per script, otherwise a
+ * fixed pool of platform threads is used. As the build targets Java 8, the virtual thread executor is looked up
+ * reflectively, so the same class runs on both.
+ * The count of scripts processed at the same time is bounded: on virtual threads by a semaphore, further scripts
+ * wait cheaply until a running script is finished, while the fixed pool bounds it by its size already. Every script
+ * is limited by the passed limits, so a timeout is applied per script, starting as soon as its execution begins.
+ * The processors are not verbose, so the scripts do not write to the console. Every printed line is passed to the
+ * sink of its script, which is created per script by the passed supplier (by default, the lines are collected in
+ * memory). A virtual thread which blocks while holding a monitor pins its carrier thread (before Java 24), so the
+ * path of a printed line holds none: neither the engines nor the sinks of this project are synchronized. A sink
+ * which streams to a blocking destination, e.g. a WriterSink, blocks within the writer only. The writers and streams
+ * of the JDK guard themselves by a java.util.concurrent lock instead of a monitor since Java 19 (unless they are
+ * subclassed), so the virtual thread is unmounted while it waits. Custom writers should do the same.
+ * Example for usage:
+ * <code>ScriptExecutionService service = new ScriptExecutionService(Mode.EXECUTE, ExecutionLimits.DEFAULT.withTimeout(500), 64);
+ * CompletableFuture&lt;Processor&gt; result = service.submit(code);</code>
+ */
+public class ScriptExecutionService implements AutoCloseable {
+
+    private final Mode mode;
+    private final ExecutionLimits limits;
+    private final Supplier<? extends OutputSink> sinks;
+    private final Semaphore permits;                        // bounds the virtual threads, null for the fixed pool
+    private final ExecutorService executor;
+    private final boolean virtual;
+
+    /**
+     * This constructor initializes the service and its executor. The printed lines of every script are collected in
+     * memory.
+     *
+     * @param mode           the processing mode of all scripts.
+     * @param limits         the limits of every single script, e.g. including a timeout.
+     * @param maxConcurrency the maximum count of scripts which are processed at the same time.
+     */
+    public ScriptExecutionService(Mode mode, ExecutionLimits limits, int maxConcurrency) {
+        this(mode, limits, maxConcurrency, BufferedSink::new);
+    }
+
+    /**
+     * This constructor initializes the service and its executor.
+     *
+     * @param mode           the processing mode of all scripts.
+     * @param limits         the limits of every single script, e.g. including a timeout.
+     * @param maxConcurrency the maximum count of scripts which are processed at the same time.
+     * @param sinks          the supplier of the sink of every single script, called once per script.
+     */
+    public ScriptExecutionService(Mode mode, ExecutionLimits limits, int maxConcurrency, Supplier<? extends OutputSink> sinks) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("The concurrency of the service must be positive!");
+        }
+        this.mode = mode;
+        this.limits = limits;
+        this.sinks = sinks;
+        ExecutorService virtualExecutor = createVirtualExecutor();
+        this.virtual = virtualExecutor != null;
+        this.permits = virtual ? new Semaphore(maxConcurrency, true) : null;
+        this.executor = virtual ? virtualExecutor : Executors.newFixedThreadPool(maxConcurrency);
+    }
+
+    /**
+     * This method submits a script for processing. The script waits until the concurrency bound allows to run it.
+     *
+     * @param code the code to process.
+     * @return the future result of the script.
+     */
+    public CompletableFuture<Processor> submit(String code) {
+        return CompletableFuture.supplyAsync(() -> {
+            if (permits == null) {
+                return process(code);
+            }
+            permits.acquireUninterruptibly();
+            try {
+                return process(code);
+            } finally {
+                permits.release();
+            }
+        }, executor);
+    }
+
+    /**
+     * Returns whether the scripts run on virtual threads.
+     *
+     * @return true, if a virtual thread is started per script, false if platform threads are used.
+     */
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * This method shuts the service down. Scripts which were already submitted are still processed.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    /**
+     * This method processes a script with a new sink.
+     *
+     * @param code the code to process.
+     * @return the processor holding the outcome.
+     */
+    private Processor process(String code) {
+        return new Processor(mode, code, ProcessorOptions.DEFAULT.withLimits(limits).withVerbose(false).withSink(sinks.get()));
+    }
+
+    /**
+     * This method creates an executor which starts a new virtual thread per task, if the running JDK supports it.
+     *
+     * @return the virtual thread executor, or null if virtual threads are not available.
+     */
+    private static ExecutorService createVirtualExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+}
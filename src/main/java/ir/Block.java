@@ -0,0 +1,146 @@
+package ir;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class represents a basic block of the control-flow graph.
+ * A block starts with its phi instructions, followed by a sequence of instructions which are executed in order, and
+ * ends with exactly one terminator (i.e. a jump, a branch or a return). Control flow only enters a block at its
+ * beginning and only leaves it by its terminator.
+ */
+public class Block {
+
+    private final int id;
+    private final List<Instruction> phis = new ArrayList<>();
+    private final List<Instruction> instructions = new ArrayList<>();
+    private final List<Block> predecessors = new ArrayList<>();
+    private final List<Block> successors = new ArrayList<>();
+    private Instruction terminator;
+
+    /**
+     * This constructor initializes an empty block.
+     *
+     * @param id the number of the block, unique within its function.
+     */
+    Block(int id) {
+        this.id = id;
+    }
+
+    /**
+     * Returns the number of the block, which is unique within its function.
+     *
+     * @return the number of the block.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Returns the phi instructions of the block.
+     *
+     * @return the phi instructions.
+     */
+    public List<Instruction> getPhis() {
+        return phis;
+    }
+
+    /**
+     * Returns the instructions of the block in execution order, without phi instructions and terminator.
+     *
+     * @return the instructions.
+     */
+    public List<Instruction> getInstructions() {
+        return instructions;
+    }
+
+    /**
+     * Returns the terminator of the block.
+     *
+     * @return the jump, branch or return instruction.
+     */
+    public Instruction getTerminator() {
+        return terminator;
+    }
+
+    /**
+     * Returns the blocks which continue execution with this block. The order matches the operands of the phi
+     * instructions.
+     *
+     * @return the predecessors.
+     */
+    public List<Block> getPredecessors() {
+        return predecessors;
+    }
+
+    /**
+     * Returns the blocks which may be executed after this block. The first successor of a branch is executed if
+     * its condition is true.
+     *
+     * @return the successors.
+     */
+    public List<Block> getSuccessors() {
+        return successors;
+    }
+
+    /**
+     * Appends an instruction to the block.
+     *
+     * @param instruction the instruction to append.
+     */
+    void add(Instruction instruction) {
+        instruction.setBlock(this);
+        if (instruction.getOperation() == Operation.PHI) {
+            phis.add(instruction);
+        } else {
+            instructions.add(instruction);
+        }
+    }
+
+    /**
+     * Removes an instruction from the block.
+     *
+     * @param instruction the instruction to remove.
+     */
+    void remove(Instruction instruction) {
+        if (instruction.getOperation() == Operation.PHI) {
+            phis.remove(instruction);
+        } else {
+            instructions.remove(instruction);
+        }
+    }
+
+    /**
+     * Terminates the block and links it with its successors.
+     *
+     * @param terminator the jump, branch or return instruction.
+     * @param targets    the successors.
+     */
+    void terminate(Instruction terminator, Block... targets) {
+        terminator.setBlock(this);
+        this.terminator = terminator;
+        for (Block target : targets) {
+            successors.add(target);
+            target.predecessors.add(this);
+        }
+    }
+
+    /**
+     * Returns if the block is already terminated.
+     *
+     * @return true, if the block has a terminator.
+     */
+    boolean isTerminated() {
+        return terminator != null;
+    }
+
+    /**
+     * Returns the name of the block.
+     *
+     * @return the name.
+     */
+    public String getName() {
+        return "b" + id;
+    }
+
+}
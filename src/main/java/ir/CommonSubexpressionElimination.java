@@ -0,0 +1,96 @@
+package ir;
+
+import java.util.*;
+
+/**
+ * This pass removes pure instructions which compute a value already computed by a dominating instruction, i.e. an
+ * instruction with the same operation and the same operands which is executed on every path before.
+ * The blocks are visited along the dominator tree, while the available values are held in a scoped table.
+ * Additionally, validations of arithmetic results are removed if the same result was validated before or if the
+ * result is a valid constant, as they cannot fail anymore.
+ */
+public class CommonSubexpressionElimination implements Pass {
+
+    /**
+     * This method removes the redundant instructions of a function.
+     *
+     * @param function the function to optimize.
+     */
+    @Override
+    public void run(IrFunction function) {
+        Dominators dominators = new Dominators(function);
+        Map<Instruction, Instruction> replacements = new IdentityHashMap<>();
+        visit(function.getEntry(), dominators, new HashMap<>(), replacements);
+        function.replaceUses(replacements);
+    }
+
+    /**
+     * This method removes the redundant instructions of a block and all blocks dominated by it.
+     *
+     * @param block        the block.
+     * @param dominators   the dominator tree of the function.
+     * @param available    the values computed by the dominating instructions.
+     * @param replacements the replacing instruction per removed instruction.
+     */
+    private void visit(Block block, Dominators dominators, Map<List<Object>, Instruction> available,
+                       Map<Instruction, Instruction> replacements) {
+        List<List<Object>> added = new ArrayList<>();
+        Iterator<Instruction> iterator = block.getInstructions().iterator();
+        while (iterator.hasNext()) {
+            Instruction instruction = iterator.next();
+            replaceOperands(instruction, replacements);
+            if (instruction.getOperation() == Operation.CHECK && isValid(instruction.getOperand(0))) {
+                iterator.remove();
+            } else if (instruction.getOperation().isPure() || instruction.getOperation() == Operation.CHECK) {
+                List<Object> key = instruction.getKey();
+                Instruction existing = available.get(key);
+                if (existing != null) {
+                    if (instruction.getType() != null) {
+                        replacements.put(instruction, existing);
+                    }
+                    iterator.remove();
+                } else {
+                    available.put(key, instruction);
+                    added.add(key);
+                }
+            }
+        }
+        for (Block child : dominators.getChildren(block)) {
+            visit(child, dominators, available, replacements);
+        }
+        for (List<Object> key : added) {
+            available.remove(key);
+        }
+    }
+
+    /**
+     * Returns if a value is a valid numeric constant, i.e. its validation cannot fail.
+     *
+     * @param value the validated value.
+     * @return true, if the value is a finite constant.
+     */
+    private static boolean isValid(Instruction value) {
+        if (value.getOperation() != Operation.CONST) {
+            return false;
+        }
+        double number = (Double) value.getArgument();
+        return !Double.isInfinite(number) && !Double.isNaN(number);
+    }
+
+    /**
+     * This helper method replaces the operands of an instruction which were removed before.
+     *
+     * @param instruction  the instruction.
+     * @param replacements the replacing instruction per removed instruction.
+     */
+    private static void replaceOperands(Instruction instruction, Map<Instruction, Instruction> replacements) {
+        List<Instruction> operands = instruction.getOperands();
+        for (int i = 0; i < operands.size(); i++) {
+            Instruction replacement = replacements.get(operands.get(i));
+            if (replacement != null) {
+                operands.set(i, replacement);
+            }
+        }
+    }
+
+}
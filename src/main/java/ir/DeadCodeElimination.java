@@ -0,0 +1,43 @@
+package ir;
+
+import java.util.*;
+
+/**
+ * This pass removes all instructions whose result is not used by any instruction with effect, neither directly nor
+ * indirectly. Instructions with effect (e.g. prints, calls, stores and runtime checks) and terminators are always
+ * kept, while all other instructions are live only if an operand chain leads to them from a kept instruction.
+ */
+public class DeadCodeElimination implements Pass {
+
+    /**
+     * This method removes the dead instructions of a function.
+     *
+     * @param function the function to optimize.
+     */
+    @Override
+    public void run(IrFunction function) {
+        Set<Instruction> live = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Instruction> worklist = new ArrayDeque<>();
+        for (Block block : function.getBlocks()) {
+            for (Instruction instruction : block.getInstructions()) {
+                if (instruction.getOperation().hasEffect() && live.add(instruction)) {
+                    worklist.add(instruction);
+                }
+            }
+            live.add(block.getTerminator());
+            worklist.add(block.getTerminator());
+        }
+        while (!worklist.isEmpty()) {
+            for (Instruction operand : worklist.poll().getOperands()) {
+                if (live.add(operand)) {
+                    worklist.add(operand);
+                }
+            }
+        }
+        for (Block block : function.getBlocks()) {
+            block.getPhis().removeIf(phi -> !live.contains(phi));
+            block.getInstructions().removeIf(instruction -> !live.contains(instruction));
+        }
+    }
+
+}
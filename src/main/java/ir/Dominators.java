@@ -0,0 +1,129 @@
+package ir;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class computes the dominator tree of a function. A block dominates another block if every path from the
+ * entry block to the other block passes it. The immediate dominators are computed iteratively over the blocks in
+ * reverse postorder, as described by Cooper, Harvey and Kennedy ("A Simple, Fast Dominance Algorithm").
+ */
+public class Dominators {
+
+    private final List<Block> order;
+    private final Map<Block, Integer> index = new IdentityHashMap<>();
+    private final Map<Block, Block> immediateDominators = new IdentityHashMap<>();
+    private final Map<Block, List<Block>> children = new IdentityHashMap<>();
+
+    /**
+     * This constructor computes the dominator tree of a function.
+     *
+     * @param function the function.
+     */
+    public Dominators(IrFunction function) {
+        order = function.getReversePostorder();
+        for (int i = 0; i < order.size(); i++) {
+            index.put(order.get(i), i);
+            children.put(order.get(i), new ArrayList<>());
+        }
+        Block entry = function.getEntry();
+        immediateDominators.put(entry, entry);
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (Block block : order) {
+                if (block == entry) {
+                    continue;
+                }
+                Block dominator = null;
+                for (Block predecessor : block.getPredecessors()) {
+                    if (immediateDominators.containsKey(predecessor)) {
+                        dominator = dominator == null ? predecessor : intersect(predecessor, dominator);
+                    }
+                }
+                if (immediateDominators.get(block) != dominator) {
+                    immediateDominators.put(block, dominator);
+                    changed = true;
+                }
+            }
+        }
+        for (Block block : order) {
+            if (block != entry) {
+                children.get(immediateDominators.get(block)).add(block);
+            }
+        }
+    }
+
+    /**
+     * Returns the reachable blocks in reverse postorder.
+     *
+     * @return the blocks.
+     */
+    public List<Block> getOrder() {
+        return order;
+    }
+
+    /**
+     * Returns the immediate dominator of a block.
+     *
+     * @param block the block.
+     * @return the immediate dominator, or the block itself for the entry block.
+     */
+    public Block getImmediateDominator(Block block) {
+        return immediateDominators.get(block);
+    }
+
+    /**
+     * Returns the blocks which are immediately dominated by a block.
+     *
+     * @param block the block.
+     * @return the children within the dominator tree.
+     */
+    public List<Block> getChildren(Block block) {
+        return children.getOrDefault(block, Collections.emptyList());
+    }
+
+    /**
+     * Returns if a block dominates another block. Every block dominates itself.
+     *
+     * @param dominator the dominating block.
+     * @param block     the dominated block.
+     * @return true, if every path to the block passes the dominator.
+     */
+    public boolean dominates(Block dominator, Block block) {
+        Block current = block;
+        while (current != dominator) {
+            Block next = immediateDominators.get(current);
+            if (next == null || next == current) {
+                return false;
+            }
+            current = next;
+        }
+        return true;
+    }
+
+    /**
+     * This helper method returns the nearest common dominator of two blocks.
+     *
+     * @param block1 the first block.
+     * @param block2 the second block.
+     * @return the common dominator.
+     */
+    private Block intersect(Block block1, Block block2) {
+        Block finger1 = block1;
+        Block finger2 = block2;
+        while (finger1 != finger2) {
+            while (index.get(finger1) > index.get(finger2)) {
+                finger1 = immediateDominators.get(finger1);
+            }
+            while (index.get(finger2) > index.get(finger1)) {
+                finger2 = immediateDominators.get(finger2);
+            }
+        }
+        return finger1;
+    }
+
+}
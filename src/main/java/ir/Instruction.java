@@ -0,0 +1,256 @@
+package ir;
+
+import parser.parsetree.Type;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class represents an instruction of the intermediate representation.
+ * As the representation is in static single assignment form, an instruction is the only definition of its
+ * result value, so operands refer to their defining instructions directly. Depending on the operation, an
+ * instruction additionally holds an operator, the type of its operands, an argument (i.e. a constant value, the
+ * index of a parameter or the slot of a global variable), the called function and the location of the source code.
+ */
+public class Instruction {
+
+    private final int id;
+    private final Operation operation;
+    private final Type type;
+    private final List<Instruction> operands = new ArrayList<>();
+    private Object operator;
+    private Type operandType;
+    private Object argument;
+    private IrFunction callee;
+    private int[] location;
+    private Block block;
+
+    /**
+     * This constructor initializes an instruction.
+     *
+     * @param id        the number of the instruction, unique within its function.
+     * @param operation the operation.
+     * @param type      the type of the result, or null if there is no result.
+     * @param operands  the operands.
+     */
+    Instruction(int id, Operation operation, Type type, Instruction... operands) {
+        this.id = id;
+        this.operation = operation;
+        this.type = type;
+        this.operands.addAll(Arrays.asList(operands));
+    }
+
+    /**
+     * Returns the number of the instruction, which is unique within its function.
+     *
+     * @return the number of the instruction.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Returns the operation of the instruction.
+     *
+     * @return the operation.
+     */
+    public Operation getOperation() {
+        return operation;
+    }
+
+    /**
+     * Returns the type of the result.
+     *
+     * @return the type of the result, or null if there is no result.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Returns the operands of the instruction. The operands of a phi instruction are ordered like the
+     * predecessors of its block.
+     *
+     * @return the operands.
+     */
+    public List<Instruction> getOperands() {
+        return operands;
+    }
+
+    /**
+     * Returns the operand at the passed position.
+     *
+     * @param index the position of the operand.
+     * @return the operand.
+     */
+    public Instruction getOperand(int index) {
+        return operands.get(index);
+    }
+
+    /**
+     * Returns the operator of an arithmetic operation or comparison.
+     *
+     * @return the operator, i.e. a BinaryOperator or UnaryOperator.
+     */
+    public Object getOperator() {
+        return operator;
+    }
+
+    /**
+     * Sets the operator of an arithmetic operation or comparison.
+     *
+     * @param operator the operator.
+     */
+    void setOperator(Object operator) {
+        this.operator = operator;
+    }
+
+    /**
+     * Returns the type of the operands of a comparison or text conversion.
+     *
+     * @return the type of the operands.
+     */
+    public Type getOperandType() {
+        return operandType;
+    }
+
+    /**
+     * Sets the type of the operands of a comparison or text conversion.
+     *
+     * @param operandType the type of the operands.
+     */
+    void setOperandType(Type operandType) {
+        this.operandType = operandType;
+    }
+
+    /**
+     * Returns the argument of the instruction, i.e. the value of a constant, the index of a parameter or the slot of
+     * a global variable.
+     *
+     * @return the argument.
+     */
+    public Object getArgument() {
+        return argument;
+    }
+
+    /**
+     * Sets the argument of the instruction.
+     *
+     * @param argument the argument.
+     */
+    void setArgument(Object argument) {
+        this.argument = argument;
+    }
+
+    /**
+     * Returns the called function.
+     *
+     * @return the called function.
+     */
+    public IrFunction getCallee() {
+        return callee;
+    }
+
+    /**
+     * Sets the called function.
+     *
+     * @param callee the called function.
+     */
+    void setCallee(IrFunction callee) {
+        this.callee = callee;
+    }
+
+    /**
+     * Returns the location of the source code, which is reported by runtime exceptions.
+     *
+     * @return the location, or null if the location is not reported.
+     */
+    public int[] getLocation() {
+        return location;
+    }
+
+    /**
+     * Sets the location of the source code, which is reported by runtime exceptions.
+     *
+     * @param location the location.
+     */
+    void setLocation(int[] location) {
+        this.location = location;
+    }
+
+    /**
+     * Returns the block which contains the instruction.
+     *
+     * @return the block.
+     */
+    public Block getBlock() {
+        return block;
+    }
+
+    /**
+     * Sets the block which contains the instruction.
+     *
+     * @param block the block.
+     */
+    void setBlock(Block block) {
+        this.block = block;
+    }
+
+    /**
+     * Returns a key which is equal for all instructions which compute the same value, as long as the instruction
+     * is pure.
+     *
+     * @return the key of the computed value.
+     */
+    List<Object> getKey() {
+        List<Object> key = new ArrayList<>(Arrays.asList(operation, type, operator, operandType, argument));
+        key.addAll(operands);
+        return key;
+    }
+
+    /**
+     * Returns the name of the result value.
+     *
+     * @return the name.
+     */
+    public String getName() {
+        return "%" + id;
+    }
+
+    /**
+     * Returns the text representation of the instruction, as used for listings.
+     *
+     * @return the instruction as text.
+     */
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder();
+        if (type != null) {
+            out.append(getName()).append(" = ");
+        }
+        out.append(operation);
+        if (type != null) {
+            out.append(' ').append(type.getLiteral());
+        }
+        if (operator != null) {
+            out.append(' ').append(operator);
+        }
+        if (operation == Operation.CONST) {
+            out.append(' ').append(argument instanceof String ? "'" + argument + "'" : argument);
+        } else if (argument != null) {
+            out.append(" #").append(argument);
+        }
+        if (callee != null) {
+            out.append(' ').append(callee.getName());
+        }
+        for (Instruction operand : operands) {
+            out.append(' ').append(operand.getName());
+        }
+        if (location != null) {
+            out.append(" @").append(Arrays.toString(location));
+        }
+        return out.toString();
+    }
+
+}
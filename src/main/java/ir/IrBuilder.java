@@ -0,0 +1,708 @@
+package ir;
+
+import execution.Preparation;
+import parser.parsetree.BinaryOperator;
+import parser.parsetree.Component;
+import parser.parsetree.Program;
+import parser.parsetree.Type;
+import parser.parsetree.UnaryOperator;
+import parser.parsetree.instructions.*;
+import parser.parsetree.interfaces.Visitor;
+import parser.parsetree.statements.*;
+
+import java.util.*;
+
+/**
+ * The purpose of this class is to lower a parse tree into the intermediate representation.
+ * It is implemented as visitor and expects a validated and resolved parse tree. Every function is lowered into a
+ * control-flow graph of basic blocks in static single assignment form. The form is constructed directly while
+ * walking the parse tree: every variable slot gets the latest value per block, while phi instructions are inserted
+ * at merge points on demand and removed again if all their operands are the same.
+ * Global variables which are accessed by any function cannot be tracked this way, as calls may read or write
+ * them. They are held in memory instead and accessed by load and store instructions.
+ * Every loop gets a hidden counter variable, which limits the count of runs like within the Interpreter.
+ * Example for usage (where program is a parsed Program):
+ * <code>IrProgram ir = IrOptimizer.optimize(IrBuilder.build(program));</code>
+ */
+public class IrBuilder implements Visitor {
+
+    private final Map<FunctionDefStatement, IrFunction> functions = new IdentityHashMap<>();
+    private final Deque<FunctionDefStatement> pending = new ArrayDeque<>();
+    private final Set<Integer> sharedSlots = new HashSet<>();   // global slots which are accessed by functions
+    private boolean collecting = false;                         // indicates if shared global slots are collected instead of lowering
+    private IrProgram program;
+
+    private IrFunction function;                                // the function which is currently built
+    private boolean main;                                       // indicates if the top-level statements are built
+    private Block block;                                        // the block which currently receives instructions
+    private Block loopExit;                                     // the block which is executed after the innermost loop
+    private int[] location;                                     // the location of the current statement
+    private int paramIndex;
+    private int loopCount;
+    private Map<Block, Map<Integer, Instruction>> definitions;
+    private Map<Block, Map<Integer, Instruction>> incompletePhis;
+    private Set<Block> sealed;
+
+    /**
+     * This method validates, resolves, folds and lowers a program.
+     *
+     * @param program the program to lower.
+     * @return the program in its intermediate representation, not yet optimized.
+     */
+    public static IrProgram build(Program program) {
+        Preparation.prepare(program);
+        IrBuilder builder = new IrBuilder();
+        program.accept(builder);
+        return builder.getProgram();
+    }
+
+    /**
+     * This method collects a shared global variable, if assigned by a function. Otherwise, it lowers the
+     * assignment. Compound assignments read the current value first.
+     *
+     * @param acceptor the AssignmentStatement to visit.
+     */
+    @Override
+    public void visit(AssignmentStatement acceptor) {
+        if (collecting) {
+            collect(acceptor.getValue());
+            if (acceptor.getDepth() > 0) {
+                sharedSlots.add(acceptor.getSlot());
+            }
+            return;
+        }
+        BinaryOperator operator = acceptor.getOperator();
+        Type type = acceptor.getResolvedType();
+        Instruction value = value(acceptor.getValue());
+        if (operator != BinaryOperator.EQUAL) {
+            Instruction current = read(acceptor.getDepth(), acceptor.getSlot(), type);
+            if (type == Type.STRING) {
+                value = emit(Operation.CONCAT, Type.STRING, current, text(value));
+            } else {
+                value = arithmetic(operator, current, value, null);
+            }
+        }
+        write(acceptor.getDepth(), acceptor.getSlot(), value);
+    }
+
+    /**
+     * This method visits a generic component (i.e. a component which has not an own specific visit method).
+     * A break statement jumps to the exit of the enclosing loop. Following instructions are unreachable.
+     *
+     * @param acceptor the generic Component to visit.
+     */
+    @Override
+    public void visit(Component acceptor) {
+        if (!collecting && acceptor instanceof BreakStatement) {
+            block.terminate(function.create(Operation.JUMP, null), loopExit);
+            block = function.newBlock();
+            seal(block);
+        }
+    }
+
+    /**
+     * This method lowers a function call, whose result is not used.
+     *
+     * @param acceptor the FunctionCallStatement to visit.
+     */
+    @Override
+    public void visit(FunctionCallStatement acceptor) {
+        if (collecting) {
+            collect(acceptor);
+        } else {
+            call(acceptor);
+        }
+    }
+
+    /**
+     * Function definitions are lowered when they are called first. So there is nothing to do here, apart from
+     * collecting the shared global variables.
+     *
+     * @param acceptor the FunctionDefStatement to visit.
+     */
+    @Override
+    public void visit(FunctionDefStatement acceptor) {
+        if (collecting) {
+            walk(acceptor.getStatements());
+            collect(acceptor.getReturnStatement());
+        }
+    }
+
+    /**
+     * This method lowers an if-then-else statement into a branch to the blocks of both bodies, which continue with a
+     * common block.
+     *
+     * @param acceptor the IfThenElseStatement to visit.
+     */
+    @Override
+    public void visit(IfThenElseStatement acceptor) {
+        if (collecting) {
+            collect(acceptor.getCondition());
+            walk(acceptor.getIfStatements());
+            walk(acceptor.getElseStatements());
+            return;
+        }
+        Instruction condition = value(acceptor.getCondition());
+        Block thenBlock = function.newBlock();
+        Block elseBlock = function.newBlock();
+        Block merge = function.newBlock();
+        block.terminate(function.create(Operation.BRANCH, null, condition), thenBlock, elseBlock);
+        seal(thenBlock);
+        seal(elseBlock);
+        block = thenBlock;
+        walk(acceptor.getIfStatements());
+        jump(merge);
+        block = elseBlock;
+        walk(acceptor.getElseStatements());
+        jump(merge);
+        seal(merge);
+        block = merge;
+    }
+
+    /**
+     * This method lowers an if-then statement into a branch to the block of the body or the following block.
+     *
+     * @param acceptor the IfThenStatement to visit.
+     */
+    @Override
+    public void visit(IfThenStatement acceptor) {
+        if (collecting) {
+            collect(acceptor.getCondition());
+            walk(acceptor.getStatements());
+            return;
+        }
+        Instruction condition = value(acceptor.getCondition());
+        Block thenBlock = function.newBlock();
+        Block merge = function.newBlock();
+        block.terminate(function.create(Operation.BRANCH, null, condition), thenBlock, merge);
+        seal(thenBlock);
+        block = thenBlock;
+        walk(acceptor.getStatements());
+        jump(merge);
+        seal(merge);
+        block = merge;
+    }
+
+    /**
+     * This method defines the value of a parameter, which is passed by the caller.
+     *
+     * @param acceptor the ParamDeclaration to visit.
+     */
+    @Override
+    public void visit(ParamDeclaration acceptor) {
+        if (!collecting) {
+            Instruction param = emit(Operation.PARAM, acceptor.getType());
+            param.setArgument(paramIndex++);
+            write(0, acceptor.getSlot(), param);
+        }
+    }
+
+    /**
+     * This method lowers a print statement. The printed value is converted to its text representation first.
+     *
+     * @param acceptor the PrintCallStatement to visit.
+     */
+    @Override
+    public void visit(PrintCallStatement acceptor) {
+        if (collecting) {
+            collect(acceptor.getValue());
+        } else if (acceptor.getValue() != null) {
+            emit(Operation.PRINT, null, text(value(acceptor.getValue())));
+        } else {
+            emit(Operation.PRINT, null);
+        }
+    }
+
+    /**
+     * This method lowers the program. It walks the program once to collect the shared global variables and once
+     * to lower the top-level statements. Afterwards, all called functions are lowered.
+     *
+     * @param acceptor the Program to visit.
+     */
+    @Override
+    public void visit(Program acceptor) {
+        collecting = true;
+        walk(acceptor.getStatements());
+        collecting = false;
+
+        IrFunction mainFunction = new IrFunction("main", null, 0);
+        main = true;
+        begin(mainFunction);
+        walk(acceptor.getStatements());
+        block.terminate(function.create(Operation.RETURN, null));
+        finish();
+
+        main = false;
+        while (!pending.isEmpty()) {
+            FunctionDefStatement definition = pending.poll();
+            begin(functions.get(definition));
+            walk(definition.getStatements());
+            Instruction value = value(definition.getReturnStatement());
+            block.terminate(function.create(Operation.RETURN, null, value));
+            finish();
+        }
+        program = new IrProgram(mainFunction, new ArrayList<>(functions.values()), acceptor.getFrameSize());
+    }
+
+    /**
+     * This method defines the initial value of a declared variable.
+     *
+     * @param acceptor the VariableDeclaration to visit.
+     */
+    @Override
+    public void visit(VariableDeclaration acceptor) {
+        if (collecting) {
+            collect(acceptor.getValue());
+        } else {
+            write(0, acceptor.getSlot(), value(acceptor.getValue()));
+        }
+    }
+
+    /**
+     * This method lowers a while statement. The condition is evaluated by a header block, which branches to the body
+     * or the exit of the loop. The body jumps back to the header. Every run of the body increments the hidden
+     * counter of the loop, which is guarded against the limit.
+     *
+     * @param acceptor the WhileStatement to visit.
+     */
+    @Override
+    public void visit(WhileStatement acceptor) {
+        if (collecting) {
+            collect(acceptor.getCondition());
+            walk(acceptor.getStatements());
+            return;
+        }
+        int[] whileLocation = location;
+        int counter = -(++loopCount);
+        writeVariable(counter, block, constant(0d));
+        Block header = function.newBlock();
+        jump(header);
+        block = header;
+        Instruction condition = value(acceptor.getCondition());
+        Block body = function.newBlock();
+        Block exit = function.newBlock();
+        block.terminate(function.create(Operation.BRANCH, null, condition), body, exit);
+        seal(body);
+        block = body;
+        Instruction count = emit(Operation.UNARY, Type.NUMERIC, readVariable(counter, Type.NUMERIC, block));
+        count.setOperator(UnaryOperator.INC);
+        emit(Operation.GUARD, null, count).setLocation(whileLocation);
+        writeVariable(counter, block, count);
+
+        Block outerExit = loopExit;
+        loopExit = exit;
+        walk(acceptor.getStatements());
+        loopExit = outerExit;
+        jump(header);
+        seal(header);
+        seal(exit);
+        block = exit;
+    }
+
+    /**
+     * Returns the lowered program.
+     *
+     * @return the program in its intermediate representation.
+     */
+    public IrProgram getProgram() {
+        return program;
+    }
+
+    // ------------------------------------------ helper methods ------------------------------------------
+
+    /**
+     * This helper method walks a statement list. The location of every statement is remembered for runtime errors.
+     *
+     * @param components the statements to walk.
+     */
+    private void walk(List<Component> components) {
+        for (Component st : components) {
+            location = st.getLocation();
+            st.accept(this);
+        }
+    }
+
+    /**
+     * This method follows the component chain of an operand and collects all global variables which are read by
+     * functions.
+     *
+     * @param operand the operand to collect.
+     */
+    private void collect(Object operand) {
+        if (operand instanceof FunctionCallStatement) {
+            for (Component argument : ((FunctionCallStatement) operand).getArgumentList()) {
+                collect(argument);
+            }
+        } else if (operand instanceof BinaryExpr) {
+            collect(((BinaryExpr) operand).getOperand1());
+            collect(((BinaryExpr) operand).getOperand2());
+        } else if (operand instanceof UnaryExpr) {
+            collect(((UnaryExpr) operand).getOperand());
+        } else if (operand instanceof ValueWrapper) {
+            ValueWrapper wrapper = (ValueWrapper) operand;
+            if (wrapper.isReference() && wrapper.getDepth() > 0) {
+                sharedSlots.add(wrapper.getSlot());
+            } else {
+                collect(wrapper.getValue());
+            }
+        }
+    }
+
+    /**
+     * This method lowers an operand, which can be any type of program component which results in a value.
+     *
+     * @param operand the operand to lower.
+     * @return the instruction which results in the value of the operand.
+     */
+    private Instruction value(Object operand) {
+        Component component = (Component) operand;
+        if (component.getConstant() != null) {
+            return constant(component.getConstant());
+        } else if (operand instanceof FunctionCallStatement) {
+            return call((FunctionCallStatement) operand);
+        } else if (operand instanceof BinaryExpression) {
+            BinaryExpression expression = (BinaryExpression) operand;
+            Instruction value1 = value(expression.getOperand1());
+            Instruction value2 = value(expression.getOperand2());
+            if (expression.getResolvedType() == Type.STRING) {
+                return emit(Operation.CONCAT, Type.STRING, text(value1), text(value2));
+            }
+            return arithmetic(expression.getOperator(), value1, value2, expression.getLocation());
+        } else if (operand instanceof UnaryExpression) {
+            UnaryExpression expression = (UnaryExpression) operand;
+            Instruction value = value(expression.getOperand());
+            if (expression.getResolvedType() == Type.BOOLEAN) {
+                return emit(Operation.NOT, Type.BOOLEAN, value);
+            }
+            Instruction result = emit(Operation.UNARY, Type.NUMERIC, value);
+            result.setOperator(expression.getOperator());
+            return result;
+        } else if (operand instanceof ValueWrapper) {
+            ValueWrapper wrapper = (ValueWrapper) operand;
+            if (wrapper.isReference()) {
+                return read(wrapper.getDepth(), wrapper.getSlot(), wrapper.getResolvedType());
+            }
+            return value(wrapper.getValue());
+        } else if (operand instanceof BinaryCondition) {
+            BinaryCondition condition = (BinaryCondition) operand;
+            Instruction result = emit(Operation.COMPARE, Type.BOOLEAN, value(condition.getOperand1()), value(condition.getOperand2()));
+            result.setOperator(condition.getOperator());
+            result.setOperandType(((Component) condition.getOperand1()).getResolvedType());
+            return result;
+        } else if (operand instanceof UnaryCondition) {
+            return emit(Operation.NOT, Type.BOOLEAN, value(((UnaryCondition) operand).getOperand()));
+        }
+        throw new IllegalArgumentException("Operand <" + operand + "> cannot be lowered!");
+    }
+
+    /**
+     * This method lowers a function call. The called function is lowered later, if not yet done.
+     *
+     * @param call the function call.
+     * @return the call instruction.
+     */
+    private Instruction call(FunctionCallStatement call) {
+        FunctionDefStatement definition = call.getFunction();
+        IrFunction callee = functions.get(definition);
+        if (callee == null) {
+            callee = new IrFunction(definition.getIdentifier() + "(" + definition.paramTypeListAsString() + ")",
+                    definition.getType(), definition.getParamCount());
+            functions.put(definition, callee);
+            pending.add(definition);
+        }
+        List<Component> argumentList = call.getArgumentList();
+        Instruction[] arguments = new Instruction[argumentList.size()];
+        for (int i = 0; i < arguments.length; i++) {
+            arguments[i] = value(argumentList.get(i));
+        }
+        Instruction instruction = emit(Operation.CALL, definition.getType(), arguments);
+        instruction.setCallee(callee);
+        instruction.setLocation(call.getLocation());
+        return instruction;
+    }
+
+    /**
+     * This method lowers an arithmetic operation, followed by the validation of its result.
+     *
+     * @param operator         the arithmetic operator.
+     * @param value1           the first operand.
+     * @param value2           the second operand.
+     * @param operatorLocation the location reported by an invalid result, or null.
+     * @return the instruction which results in the value of the operation.
+     */
+    private Instruction arithmetic(BinaryOperator operator, Instruction value1, Instruction value2, int[] operatorLocation) {
+        Instruction result = emit(Operation.ARITH, Type.NUMERIC, value1, value2);
+        result.setOperator(operator);
+        emit(Operation.CHECK, null, result).setLocation(operatorLocation);
+        return result;
+    }
+
+    /**
+     * Returns the text representation of a value. Strings are used as they are.
+     *
+     * @param value the value.
+     * @return the instruction which results in the text.
+     */
+    private Instruction text(Instruction value) {
+        if (value.getType() == Type.STRING) {
+            return value;
+        }
+        Instruction text = emit(Operation.TEXT, Type.STRING, value);
+        text.setOperandType(value.getType());
+        return text;
+    }
+
+    /**
+     * Returns a new constant within the current block.
+     *
+     * @param value the value of the constant.
+     * @return the constant instruction.
+     */
+    private Instruction constant(Object value) {
+        Type type = value instanceof Double ? Type.NUMERIC : value instanceof Boolean ? Type.BOOLEAN : Type.STRING;
+        Instruction constant = emit(Operation.CONST, type);
+        constant.setArgument(value);
+        return constant;
+    }
+
+    /**
+     * This method appends a new instruction to the current block.
+     *
+     * @param operation the operation.
+     * @param type      the type of the result, or null if there is no result.
+     * @param operands  the operands.
+     * @return the new instruction.
+     */
+    private Instruction emit(Operation operation, Type type, Instruction... operands) {
+        Instruction instruction = function.create(operation, type, operands);
+        block.add(instruction);
+        return instruction;
+    }
+
+    /**
+     * This method terminates the current block with a jump to the passed block, if the current block is not
+     * terminated yet.
+     *
+     * @param target the block to continue with.
+     */
+    private void jump(Block target) {
+        if (!block.isTerminated()) {
+            block.terminate(function.create(Operation.JUMP, null), target);
+        }
+    }
+
+    /**
+     * Returns the value of a variable. Shared global variables are loaded from memory.
+     *
+     * @param depth the count of frames to walk up from the current frame.
+     * @param slot  the index of the variable within the frame.
+     * @param type  the type of the variable.
+     * @return the instruction which results in the value of the variable.
+     */
+    private Instruction read(int depth, int slot, Type type) {
+        if (isShared(depth, slot)) {
+            Instruction load = emit(Operation.LOAD, type);
+            load.setArgument(slot);
+            return load;
+        }
+        return readVariable(slot, type, block);
+    }
+
+    /**
+     * This method assigns a value to a variable. Shared global variables are stored in memory.
+     *
+     * @param depth the count of frames to walk up from the current frame.
+     * @param slot  the index of the variable within the frame.
+     * @param value the instruction which results in the assigned value.
+     */
+    private void write(int depth, int slot, Instruction value) {
+        if (isShared(depth, slot)) {
+            emit(Operation.STORE, null, value).setArgument(slot);
+        } else {
+            writeVariable(slot, block, value);
+        }
+    }
+
+    /**
+     * Returns if a variable is a shared global variable.
+     *
+     * @param depth the count of frames to walk up from the current frame.
+     * @param slot  the index of the variable within the frame.
+     * @return true, if the variable is held in memory.
+     */
+    private boolean isShared(int depth, int slot) {
+        return depth > 0 || main && sharedSlots.contains(slot);
+    }
+
+    /**
+     * This method starts the construction of a function with its entry block.
+     *
+     * @param irFunction the function to construct.
+     */
+    private void begin(IrFunction irFunction) {
+        function = irFunction;
+        definitions = new IdentityHashMap<>();
+        incompletePhis = new IdentityHashMap<>();
+        sealed = Collections.newSetFromMap(new IdentityHashMap<>());
+        paramIndex = 0;
+        loopExit = null;
+        block = function.newBlock();
+        seal(block);
+    }
+
+    /**
+     * This method finishes the construction of a function. Unreachable blocks (i.e. blocks following a break
+     * statement) are removed, which may turn phi instructions trivial.
+     */
+    private void finish() {
+        function.removeUnreachableBlocks();
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (Block phiBlock : function.getBlocks()) {
+                for (Instruction phi : new ArrayList<>(phiBlock.getPhis())) {
+                    if (phiBlock.getPhis().contains(phi)) {
+                        changed |= removeTrivialPhi(phi) != phi;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * This method records the value of a variable slot at the end of a block.
+     *
+     * @param slot  the slot of the variable (negative for hidden loop counters).
+     * @param owner the block.
+     * @param value the instruction which results in the value.
+     */
+    private void writeVariable(int slot, Block owner, Instruction value) {
+        definitions.computeIfAbsent(owner, b -> new HashMap<>()).put(slot, value);
+    }
+
+    /**
+     * Returns the value of a variable slot at the end of a block. If the block does not define the slot, the value
+     * is looked up within the predecessors. If there are multiple predecessors, a phi instruction is inserted.
+     * If the predecessors are not all known yet (i.e. the block is a loop header), the phi instruction is completed
+     * as soon as the block is sealed.
+     *
+     * @param slot  the slot of the variable (negative for hidden loop counters).
+     * @param type  the type of the variable.
+     * @param owner the block.
+     * @return the instruction which results in the value.
+     */
+    private Instruction readVariable(int slot, Type type, Block owner) {
+        Map<Integer, Instruction> defined = definitions.get(owner);
+        if (defined != null && defined.containsKey(slot)) {
+            return defined.get(slot);
+        }
+        Instruction value;
+        List<Block> predecessors = owner.getPredecessors();
+        if (!sealed.contains(owner)) {
+            value = function.create(Operation.PHI, type);
+            owner.add(value);
+            incompletePhis.computeIfAbsent(owner, b -> new HashMap<>()).put(slot, value);
+        } else if (predecessors.isEmpty()) {
+            value = defaultValue(type);
+        } else if (predecessors.size() == 1) {
+            value = readVariable(slot, type, predecessors.get(0));
+        } else {
+            Instruction phi = function.create(Operation.PHI, type);
+            owner.add(phi);
+            writeVariable(slot, owner, phi);
+            value = addPhiOperands(slot, phi);
+        }
+        writeVariable(slot, owner, value);
+        return value;
+    }
+
+    /**
+     * This method adds the value of a variable slot at the end of every predecessor to a phi instruction.
+     *
+     * @param slot the slot of the variable.
+     * @param phi  the phi instruction.
+     * @return the phi instruction, or its only operand if the phi instruction turned out to be trivial.
+     */
+    private Instruction addPhiOperands(int slot, Instruction phi) {
+        for (Block predecessor : phi.getBlock().getPredecessors()) {
+            phi.getOperands().add(readVariable(slot, phi.getType(), predecessor));
+        }
+        return removeTrivialPhi(phi);
+    }
+
+    /**
+     * This method removes a phi instruction if it selects the same value from all predecessors (apart from itself).
+     * All uses are replaced by this value. Phi instructions which use the removed one may turn trivial as well.
+     *
+     * @param phi the phi instruction.
+     * @return the phi instruction, or its only operand if the phi instruction was removed.
+     */
+    private Instruction removeTrivialPhi(Instruction phi) {
+        Instruction same = null;
+        for (Instruction operand : phi.getOperands()) {
+            if (operand == same || operand == phi) {
+                continue;
+            }
+            if (same != null) {
+                return phi;
+            }
+            same = operand;
+        }
+        if (same == null) {
+            same = defaultValue(phi.getType());
+        }
+        List<Instruction> users = new ArrayList<>();
+        for (Block userBlock : function.getBlocks()) {
+            for (Instruction user : userBlock.getPhis()) {
+                if (user != phi && user.getOperands().contains(phi)) {
+                    users.add(user);
+                }
+            }
+        }
+        function.replaceUses(Collections.singletonMap(phi, same));
+        for (Map<Integer, Instruction> defined : definitions.values()) {
+            for (Map.Entry<Integer, Instruction> entry : defined.entrySet()) {
+                if (entry.getValue() == phi) {
+                    entry.setValue(same);
+                }
+            }
+        }
+        phi.getBlock().remove(phi);
+        for (Instruction user : users) {
+            if (user.getBlock().getPhis().contains(user)) {
+                removeTrivialPhi(user);
+            }
+        }
+        return same;
+    }
+
+    /**
+     * This method completes the phi instructions of a block, as all predecessors of the block are known.
+     *
+     * @param owner the block to seal.
+     */
+    private void seal(Block owner) {
+        Map<Integer, Instruction> phis = incompletePhis.remove(owner);
+        if (phis != null) {
+            for (Map.Entry<Integer, Instruction> entry : phis.entrySet()) {
+                addPhiOperands(entry.getKey(), entry.getValue());
+            }
+        }
+        sealed.add(owner);
+    }
+
+    /**
+     * Returns a constant with the default value of a type within the entry block, which is used for variables without
+     * a value on some path.
+     *
+     * @param type the type.
+     * @return the constant instruction.
+     */
+    private Instruction defaultValue(Type type) {
+        Instruction constant = function.create(Operation.CONST, type);
+        constant.setArgument(type.toValue(type.getDefaultValue()));
+        function.getEntry().add(constant);
+        return constant;
+    }
+
+}
@@ -0,0 +1,202 @@
+package ir;
+
+import parser.parsetree.Type;
+
+import java.util.*;
+
+/**
+ * This class represents a function of the intermediate representation, i.e. its control-flow graph.
+ * The first block is the entry block. The top-level statements of a program are represented by a function
+ * without parameters and without return value.
+ */
+public class IrFunction {
+
+    private final String name;
+    private final Type returnType;
+    private final int paramCount;
+    private final List<Block> blocks = new ArrayList<>();
+    private int blockCount = 0;
+    private int instructionCount = 0;
+
+    /**
+     * This constructor initializes a function without blocks.
+     *
+     * @param name       the name of the function.
+     * @param returnType the type of the return value, or null if there is no return value.
+     * @param paramCount the count of parameters.
+     */
+    IrFunction(String name, Type returnType, int paramCount) {
+        this.name = name;
+        this.returnType = returnType;
+        this.paramCount = paramCount;
+    }
+
+    /**
+     * Returns the name of the function.
+     *
+     * @return the name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the type of the return value.
+     *
+     * @return the type of the return value, or null if there is no return value.
+     */
+    public Type getReturnType() {
+        return returnType;
+    }
+
+    /**
+     * Returns the count of parameters.
+     *
+     * @return the count of parameters.
+     */
+    public int getParamCount() {
+        return paramCount;
+    }
+
+    /**
+     * Returns all blocks of the function. The first block is the entry block.
+     *
+     * @return the blocks.
+     */
+    public List<Block> getBlocks() {
+        return blocks;
+    }
+
+    /**
+     * Returns the entry block of the function.
+     *
+     * @return the entry block.
+     */
+    public Block getEntry() {
+        return blocks.get(0);
+    }
+
+    /**
+     * Returns the count of instructions created for the function, which is an upper bound of the instruction numbers.
+     *
+     * @return the count of created instructions.
+     */
+    public int getInstructionCount() {
+        return instructionCount;
+    }
+
+    /**
+     * Creates a new empty block and adds it to the function.
+     *
+     * @return the new block.
+     */
+    Block newBlock() {
+        Block block = new Block(blockCount++);
+        blocks.add(block);
+        return block;
+    }
+
+    /**
+     * Creates a new instruction, which is not yet part of a block.
+     *
+     * @param operation the operation.
+     * @param type      the type of the result, or null if there is no result.
+     * @param operands  the operands.
+     * @return the new instruction.
+     */
+    Instruction create(Operation operation, Type type, Instruction... operands) {
+        return new Instruction(instructionCount++, operation, type, operands);
+    }
+
+    /**
+     * Returns the blocks in reverse postorder, i.e. every block is listed before its successors, apart from back edges.
+     * Blocks which cannot be reached from the entry block are not listed.
+     *
+     * @return the reachable blocks in reverse postorder.
+     */
+    public List<Block> getReversePostorder() {
+        List<Block> order = new ArrayList<>();
+        Set<Block> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Block> stack = new ArrayDeque<>();
+        Deque<Iterator<Block>> iterators = new ArrayDeque<>();
+        visited.add(getEntry());
+        stack.push(getEntry());
+        iterators.push(getEntry().getSuccessors().iterator());
+        while (!stack.isEmpty()) {
+            if (iterators.peek().hasNext()) {
+                Block successor = iterators.peek().next();
+                if (visited.add(successor)) {
+                    stack.push(successor);
+                    iterators.push(successor.getSuccessors().iterator());
+                }
+            } else {
+                order.add(stack.pop());
+                iterators.pop();
+            }
+        }
+        Collections.reverse(order);
+        return order;
+    }
+
+    /**
+     * This method replaces all uses of instructions by other instructions. Chains of replacements are followed.
+     *
+     * @param replacements the replacing instruction per replaced instruction.
+     */
+    void replaceUses(Map<Instruction, Instruction> replacements) {
+        if (replacements.isEmpty()) {
+            return;
+        }
+        for (Block block : blocks) {
+            replaceOperands(block.getPhis(), replacements);
+            replaceOperands(block.getInstructions(), replacements);
+            if (block.getTerminator() != null) {
+                replaceOperands(Collections.singletonList(block.getTerminator()), replacements);
+            }
+        }
+    }
+
+    /**
+     * This method removes all blocks which cannot be reached from the entry block. The according operands of the phi
+     * instructions of their successors are removed as well.
+     */
+    void removeUnreachableBlocks() {
+        Set<Block> reachable = Collections.newSetFromMap(new IdentityHashMap<>());
+        reachable.addAll(getReversePostorder());
+        for (Block block : blocks) {
+            if (!reachable.contains(block)) {
+                for (Block successor : block.getSuccessors()) {
+                    int index;
+                    while ((index = successor.getPredecessors().indexOf(block)) >= 0) {
+                        successor.getPredecessors().remove(index);
+                        for (Instruction phi : successor.getPhis()) {
+                            phi.getOperands().remove(index);
+                        }
+                    }
+                }
+            }
+        }
+        blocks.removeIf(block -> !reachable.contains(block));
+    }
+
+    /**
+     * This helper method replaces the operands of a list of instructions.
+     *
+     * @param instructions the instructions whose operands are replaced.
+     * @param replacements the replacing instruction per replaced instruction.
+     */
+    private static void replaceOperands(List<Instruction> instructions, Map<Instruction, Instruction> replacements) {
+        for (Instruction instruction : instructions) {
+            List<Instruction> operands = instruction.getOperands();
+            for (int i = 0; i < operands.size(); i++) {
+                Instruction operand = operands.get(i);
+                Instruction replacement;
+                while ((replacement = replacements.get(operand)) != null) {
+                    operand = replacement;
+                }
+                operands.set(i, operand);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,490 @@
+package ir;
+
+import execution.Budget;
+import execution.ConcatString;
+import execution.ExecutionLimits;
+import execution.NumberFormatter;
+import output.BufferedSink;
+import output.OutputSink;
+import parser.parsetree.BinaryOperator;
+import parser.parsetree.Type;
+import parser.parsetree.UnaryOperator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The purpose of this class is to execute a program in its intermediate representation, usually after it was
+ * optimized by the IrOptimizer.
+ * Before execution, every function is linked once: each value gets a register within a register file of its type
+ * (a double array for numbers, a boolean array for booleans and an object array for strings, where concatenated
+ * strings are held as {@link ConcatString} to be appended to in place), while every
+ * instruction is translated into a step which refers to the registers of its operands. Phi instructions are
+ * resolved into moves along the edges of the control-flow graph. As all moves of an edge happen at the same time,
+ * they are performed in two phases by a shadow register per phi instruction.
+ * Runtime exceptions match the Interpreter (i.e. arithmetic runtime checks and the limited count of loop runs).
+ * Every loop run and every call is charged to the budget of the run, which enforces the ExecutionLimits.
+ * Example for usage (where program is a parsed Program):
+ * <code>IrMachine machine = new IrMachine(IrOptimizer.optimize(IrBuilder.build(program)));
+ * machine.run();</code>
+ */
+public class IrMachine {
+
+    private final IrProgram program;
+    private final Map<IrFunction, Code> codes = new IdentityHashMap<>();
+    private OutputSink output = new BufferedSink();
+    private final Budget budget = new Budget();
+    private ExecutionLimits limits = ExecutionLimits.DEFAULT;
+    private Object[] memory;
+
+    /**
+     * This constructor links all functions of a program.
+     *
+     * @param program the program to execute.
+     */
+    public IrMachine(IrProgram program) {
+        this.program = program;
+        codes.put(program.getMain(), new Code());
+        for (IrFunction function : program.getFunctions()) {
+            codes.put(function, new Code());
+        }
+        for (Map.Entry<IrFunction, Code> entry : codes.entrySet()) {
+            link(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * This method executes the program. The output of a previous run is discarded.
+     */
+    public void run() {
+        output.clear();
+        budget.start(limits);
+        memory = new Object[program.getMemorySize()];
+        Code main = codes.get(program.getMain());
+        execute(main, new Registers(main));
+    }
+
+    /**
+     * This method sets the limits of the following runs.
+     *
+     * @param limits the limits of a run.
+     */
+    public void setLimits(ExecutionLimits limits) {
+        this.limits = limits;
+    }
+
+    /**
+     * This method sets the sink, which receives the printed lines of the following runs.
+     *
+     * @param output the output sink.
+     */
+    public void setOutput(OutputSink output) {
+        this.output = output;
+    }
+
+    /**
+     * Returns the output of all executed print statements.
+     *
+     * @return the printed lines.
+     */
+    public List<String> getOutput() {
+        return output.getLines();
+    }
+
+    /**
+     * This method executes the steps of a function until it returns.
+     *
+     * @param code      the linked function.
+     * @param registers the registers of the call.
+     */
+    private void execute(Code code, Registers registers) {
+        double[] numbers = registers.numbers;
+        boolean[] booleans = registers.booleans;
+        Object[] objects = registers.objects;
+        Linked block = code.entry;
+        while (true) {
+            for (Step step : block.steps) {
+                int[] sources = step.sources;
+                switch (step.operation) {
+                    case CONST:
+                        store(registers, step.type, step.target, step.argument);
+                        break;
+                    case ARITH:
+                        numbers[step.target] = ((BinaryOperator) step.operator).apply(numbers[sources[0]], numbers[sources[1]]);
+                        break;
+                    case UNARY:
+                        numbers[step.target] = ((UnaryOperator) step.operator).apply(numbers[sources[0]]);
+                        break;
+                    case NOT:
+                        booleans[step.target] = !booleans[sources[0]];
+                        break;
+                    case COMPARE:
+                        booleans[step.target] = compare(step, registers);
+                        break;
+                    case TEXT:
+                        objects[step.target] = step.operandType == Type.NUMERIC ? NumberFormatter.format(numbers[sources[0]]) : String.valueOf(booleans[sources[0]]);
+                        break;
+                    case CONCAT:
+                        objects[step.target] = ConcatString.concat((CharSequence) objects[sources[0]], objects[sources[1]].toString());
+                        break;
+                    case CHECK:
+                        check(numbers[sources[0]], step.location);
+                        break;
+                    case GUARD:
+                        if (numbers[sources[0]] > budget.getMaxLoopRuns()) {
+                            throw new StackOverflowError("StackoverflowError at location " + Arrays.toString(step.location) + " occurred!");
+                        }
+                        budget.step(step.location);
+                        break;
+                    case LOAD:
+                        store(registers, step.type, step.target, memory[(Integer) step.argument]);
+                        break;
+                    case STORE:
+                        memory[(Integer) step.argument] = load(registers, step.operandType, sources[0]);
+                        break;
+                    case CALL:
+                        call(step, registers);
+                        break;
+                    case PRINT:
+                        print(sources.length == 0 ? "" : objects[sources[0]].toString());
+                        break;
+                    default:
+                        throw new IllegalStateException("Operation <" + step.operation + "> cannot be executed!");
+                }
+            }
+            int next = 0;
+            if (block.terminator.operation == Operation.BRANCH) {
+                next = booleans[block.terminator.sources[0]] ? 0 : 1;
+            } else if (block.terminator.operation == Operation.RETURN) {
+                if (block.terminator.sources.length > 0) {
+                    registers.result = load(registers, code.returnType, block.terminator.sources[0]);
+                }
+                return;
+            }
+            move(block.moves[next], registers);
+            block = block.successors[next];
+        }
+    }
+
+    /**
+     * This method executes a call. The arguments are passed to the parameter registers of the callee directly.
+     * If the execution results in a StackOverflowError, the location of the call is added to the error (if not
+     * already done by a nested call).
+     *
+     * @param step      the call step.
+     * @param registers the registers of the caller.
+     */
+    private void call(Step step, Registers registers) {
+        Code callee = step.callee;
+        budget.step(step.location);
+        Registers calleeRegisters = new Registers(callee);
+        for (int i = 0; i < step.sources.length; i++) {
+            if (callee.params[i] >= 0) {
+                copy(callee.paramTypes[i], registers, step.sources[i], calleeRegisters, callee.params[i]);
+            }
+        }
+        try {
+            execute(callee, calleeRegisters);
+        } catch (StackOverflowError e) {
+            if (e.getMessage() != null) {
+                throw e;
+            }
+            throw new StackOverflowError("StackoverflowError at location " + Arrays.toString(step.location) + " occurred!");
+        }
+        store(registers, step.type, step.target, calleeRegisters.result);
+    }
+
+    /**
+     * This method performs the moves of an edge of the control-flow graph. All source registers are read before any
+     * target register is written.
+     *
+     * @param moves     the moves of the edge.
+     * @param registers the registers of the call.
+     */
+    private static void move(Move[] moves, Registers registers) {
+        for (Move move : moves) {
+            copy(move.type, registers, move.source, registers, move.shadow);
+        }
+        for (Move move : moves) {
+            copy(move.type, registers, move.shadow, registers, move.target);
+        }
+    }
+
+    /**
+     * This method evaluates a comparison. The operator is chosen by the type of the operands.
+     *
+     * @param step      the comparison step.
+     * @param registers the registers of the call.
+     * @return the result of the comparison.
+     */
+    private static boolean compare(Step step, Registers registers) {
+        BinaryOperator operator = (BinaryOperator) step.operator;
+        int[] sources = step.sources;
+        if (step.operandType == Type.NUMERIC) {
+            return operator.test(registers.numbers[sources[0]], registers.numbers[sources[1]]);
+        } else if (step.operandType == Type.BOOLEAN) {
+            return operator.test(registers.booleans[sources[0]], registers.booleans[sources[1]]);
+        }
+        return operator.test(registers.objects[sources[0]].toString(), registers.objects[sources[1]].toString());
+    }
+
+    /**
+     * This method executes a print statement.
+     *
+     * @param out the text to print.
+     */
+    private void print(String out) {
+        output.print(out);
+    }
+
+    // ------------------------------------------ linking ------------------------------------------
+
+    /**
+     * This method links a function: every value gets a register of its type, every block is translated into its
+     * steps and the phi instructions into moves per edge.
+     *
+     * @param function the function.
+     * @param code     the linked function to fill.
+     */
+    private void link(IrFunction function, Code code) {
+        Map<Instruction, Integer> registers = new IdentityHashMap<>();
+        Map<Instruction, Integer> shadows = new IdentityHashMap<>();
+        int[] counts = new int[3];
+        code.params = new int[function.getParamCount()];
+        code.paramTypes = new Type[function.getParamCount()];
+        Arrays.fill(code.params, -1);
+        for (Block block : function.getBlocks()) {
+            for (Instruction phi : block.getPhis()) {
+                registers.put(phi, counts[getFile(phi.getType())]++);
+                shadows.put(phi, counts[getFile(phi.getType())]++);
+            }
+            for (Instruction instruction : block.getInstructions()) {
+                if (instruction.getType() != null) {
+                    registers.put(instruction, counts[getFile(instruction.getType())]++);
+                }
+                if (instruction.getOperation() == Operation.PARAM) {
+                    code.params[(Integer) instruction.getArgument()] = registers.get(instruction);
+                    code.paramTypes[(Integer) instruction.getArgument()] = instruction.getType();
+                }
+            }
+        }
+        code.numberCount = counts[0];
+        code.booleanCount = counts[1];
+        code.objectCount = counts[2];
+        code.returnType = function.getReturnType();
+
+        Map<Block, Linked> linked = new IdentityHashMap<>();
+        for (Block block : function.getBlocks()) {
+            linked.put(block, new Linked());
+        }
+        for (Block block : function.getBlocks()) {
+            Linked target = linked.get(block);
+            List<Step> steps = new ArrayList<>();
+            for (Instruction instruction : block.getInstructions()) {
+                if (instruction.getOperation() != Operation.PARAM) {
+                    steps.add(getStep(instruction, registers));
+                }
+            }
+            target.steps = steps.toArray(new Step[0]);
+            target.terminator = getStep(block.getTerminator(), registers);
+            int successorCount = block.getSuccessors().size();
+            target.successors = new Linked[successorCount];
+            target.moves = new Move[successorCount][];
+            for (int i = 0; i < successorCount; i++) {
+                Block successor = block.getSuccessors().get(i);
+                int index = successor.getPredecessors().indexOf(block);
+                List<Instruction> phis = successor.getPhis();
+                target.successors[i] = linked.get(successor);
+                target.moves[i] = new Move[phis.size()];
+                for (int j = 0; j < phis.size(); j++) {
+                    Instruction phi = phis.get(j);
+                    target.moves[i][j] = new Move(phi.getType(), registers.get(phi.getOperand(index)), shadows.get(phi), registers.get(phi));
+                }
+            }
+        }
+        code.entry = linked.get(function.getEntry());
+    }
+
+    /**
+     * Returns the step of an instruction.
+     *
+     * @param instruction the instruction.
+     * @param registers   the register per value.
+     * @return the step.
+     */
+    private Step getStep(Instruction instruction, Map<Instruction, Integer> registers) {
+        Step step = new Step();
+        step.operation = instruction.getOperation();
+        step.type = instruction.getType();
+        step.target = instruction.getType() == null ? -1 : registers.get(instruction);
+        step.sources = new int[instruction.getOperands().size()];
+        for (int i = 0; i < step.sources.length; i++) {
+            step.sources[i] = registers.get(instruction.getOperand(i));
+        }
+        step.operator = instruction.getOperator();
+        step.operandType = instruction.getOperation() == Operation.STORE ? instruction.getOperand(0).getType() : instruction.getOperandType();
+        step.argument = instruction.getArgument();
+        step.location = instruction.getLocation();
+        step.callee = instruction.getCallee() == null ? null : codes.get(instruction.getCallee());
+        return step;
+    }
+
+    // ------------------------------------------ helper methods ------------------------------------------
+
+    /**
+     * Returns the register file of a type.
+     *
+     * @param type the type.
+     * @return 0 for numbers, 1 for booleans and 2 for strings.
+     */
+    private static int getFile(Type type) {
+        return type == Type.NUMERIC ? 0 : type == Type.BOOLEAN ? 1 : 2;
+    }
+
+    /**
+     * This method copies a register value of a type.
+     *
+     * @param type   the type of the value.
+     * @param from   the source registers.
+     * @param source the source register.
+     * @param to     the target registers.
+     * @param target the target register.
+     */
+    private static void copy(Type type, Registers from, int source, Registers to, int target) {
+        if (type == Type.NUMERIC) {
+            to.numbers[target] = from.numbers[source];
+        } else if (type == Type.BOOLEAN) {
+            to.booleans[target] = from.booleans[source];
+        } else {
+            to.objects[target] = from.objects[source];
+        }
+    }
+
+    /**
+     * Returns the value of a register as object.
+     *
+     * @param registers the registers.
+     * @param type      the type of the value.
+     * @param register  the register.
+     * @return the value.
+     */
+    private static Object load(Registers registers, Type type, int register) {
+        if (type == Type.NUMERIC) {
+            return registers.numbers[register];
+        } else if (type == Type.BOOLEAN) {
+            return registers.booleans[register];
+        }
+        return registers.objects[register];
+    }
+
+    /**
+     * This method stores a value given as object in a register.
+     *
+     * @param registers the registers.
+     * @param type      the type of the value.
+     * @param register  the register.
+     * @param value     the value.
+     */
+    private static void store(Registers registers, Type type, int register, Object value) {
+        if (type == Type.NUMERIC) {
+            registers.numbers[register] = (Double) value;
+        } else if (type == Type.BOOLEAN) {
+            registers.booleans[register] = (Boolean) value;
+        } else {
+            registers.objects[register] = value;
+        }
+    }
+
+    /**
+     * This method validates the result of an arithmetic operation for runtime exceptions. In case of an exception,
+     * the location of the operation is added if known.
+     *
+     * @param value    the result of an arithmetic operation.
+     * @param location the location of the operation, or null.
+     */
+    private static void check(double value, int[] location) {
+        if (!Double.isInfinite(value) && !Double.isNaN(value)) {
+            return;
+        }
+        String message = Double.isInfinite(value) ? "Invalid arithmetic operation! Result evaluated to Infinity!" : "Invalid arithmetic operation! Result is not a number!";
+        if (location == null) {
+            throw new ArithmeticException(message);
+        }
+        throw new ArithmeticException("Arithmetic exception at location " + Arrays.toString(location) + " occurred!\n" + message);
+    }
+
+    /**
+     * This class holds a linked function.
+     */
+    private static final class Code {
+        Linked entry;
+        int numberCount;
+        int booleanCount;
+        int objectCount;
+        int[] params;               // the register per parameter, or -1 if the parameter is not used
+        Type[] paramTypes;
+        Type returnType;
+    }
+
+    /**
+     * This class holds a linked block with the moves per successor.
+     */
+    private static final class Linked {
+        Step[] steps;
+        Step terminator;
+        Linked[] successors;
+        Move[][] moves;
+    }
+
+    /**
+     * This class holds a linked instruction, which refers to the registers of its result and its operands.
+     */
+    private static final class Step {
+        Operation operation;
+        Type type;
+        int target;
+        int[] sources;
+        Object operator;
+        Type operandType;
+        Object argument;
+        int[] location;
+        Code callee;
+    }
+
+    /**
+     * This class holds a move of a value to a phi register along an edge.
+     */
+    private static final class Move {
+        final Type type;
+        final int source;
+        final int shadow;
+        final int target;
+
+        Move(Type type, int source, int shadow, int target) {
+            this.type = type;
+            this.source = source;
+            this.shadow = shadow;
+            this.target = target;
+        }
+    }
+
+    /**
+     * This class holds the registers of a call.
+     */
+    private static final class Registers {
+        final double[] numbers;
+        final boolean[] booleans;
+        final Object[] objects;
+        Object result;
+
+        Registers(Code code) {
+            numbers = new double[code.numberCount];
+            booleans = new boolean[code.booleanCount];
+            objects = new Object[code.objectCount];
+        }
+    }
+
+}
@@ -0,0 +1,50 @@
+package ir;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The purpose of this class is to optimize a program in its intermediate representation.
+ * All functions are transformed by the same sequence of passes: common subexpressions are eliminated first, so
+ * loop invariant instructions are moved once only. As moved instructions may become common subexpressions of
+ * instructions outside of the loop, the elimination is repeated afterwards. Finally, dead instructions are removed.
+ * Example for usage (where program is a parsed Program):
+ * <code>IrProgram ir = IrOptimizer.optimize(IrBuilder.build(program));</code>
+ */
+public final class IrOptimizer {
+
+    private static final List<Pass> PASSES = Arrays.asList(new CommonSubexpressionElimination(),
+            new LoopInvariantCodeMotion(), new CommonSubexpressionElimination(), new DeadCodeElimination());
+
+    /**
+     * This class only provides static methods and is not instantiated.
+     */
+    private IrOptimizer() {
+    }
+
+    /**
+     * This method optimizes all functions of a program in place.
+     *
+     * @param program the program to optimize.
+     * @return the optimized program.
+     */
+    public static IrProgram optimize(IrProgram program) {
+        optimize(program.getMain());
+        for (IrFunction function : program.getFunctions()) {
+            optimize(function);
+        }
+        return program;
+    }
+
+    /**
+     * This method optimizes a function in place.
+     *
+     * @param function the function to optimize.
+     */
+    public static void optimize(IrFunction function) {
+        for (Pass pass : PASSES) {
+            pass.run(function);
+        }
+    }
+
+}
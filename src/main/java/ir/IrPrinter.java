@@ -0,0 +1,68 @@
+package ir;
+
+/**
+ * The purpose of this class is to translate a program in its intermediate representation into a readable listing,
+ * which is useful to inspect the effect of the optimization passes.
+ * Every block is listed with its predecessors, followed by its phi instructions, its instructions and its
+ * terminator with the successors.
+ * Example for usage (where ir is an IrProgram):
+ * <code>System.out.println(IrPrinter.print(ir));</code>
+ */
+public final class IrPrinter {
+
+    /**
+     * This class only provides static methods and is not instantiated.
+     */
+    private IrPrinter() {
+    }
+
+    /**
+     * Returns the listing of all functions of a program.
+     *
+     * @param program the program.
+     * @return the listing.
+     */
+    public static String print(IrProgram program) {
+        StringBuilder out = new StringBuilder();
+        print(program.getMain(), out);
+        for (IrFunction function : program.getFunctions()) {
+            print(function, out);
+        }
+        return out.toString();
+    }
+
+    /**
+     * This method appends the listing of one function.
+     *
+     * @param function the function to list.
+     * @param out      the listing to append to.
+     */
+    private static void print(IrFunction function, StringBuilder out) {
+        out.append(String.format("== %s (params %d) ==%n", function.getName(), function.getParamCount()));
+        for (Block block : function.getBlocks()) {
+            out.append(block.getName()).append(':');
+            if (!block.getPredecessors().isEmpty()) {
+                out.append("    ; <-");
+                for (Block predecessor : block.getPredecessors()) {
+                    out.append(' ').append(predecessor.getName());
+                }
+            }
+            out.append(String.format("%n"));
+            for (Instruction phi : block.getPhis()) {
+                out.append("    ").append(phi).append(String.format("%n"));
+            }
+            for (Instruction instruction : block.getInstructions()) {
+                out.append("    ").append(instruction).append(String.format("%n"));
+            }
+            out.append("    ").append(block.getTerminator());
+            if (!block.getSuccessors().isEmpty()) {
+                out.append(" ->");
+                for (Block successor : block.getSuccessors()) {
+                    out.append(' ').append(successor.getName());
+                }
+            }
+            out.append(String.format("%n"));
+        }
+    }
+
+}
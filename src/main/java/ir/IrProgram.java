@@ -0,0 +1,56 @@
+package ir;
+
+import java.util.List;
+
+/**
+ * This class holds a program in its intermediate representation, i.e. the function of the top-level statements and
+ * all called functions. Global variables which are shared with functions are not part of the static single
+ * assignment form, but are held in a memory of the size of the global frame.
+ */
+public class IrProgram {
+
+    private final IrFunction main;
+    private final List<IrFunction> functions;
+    private final int memorySize;
+
+    /**
+     * This constructor initializes a program.
+     *
+     * @param main       the function of the top-level statements.
+     * @param functions  all called functions.
+     * @param memorySize the count of slots of the memory for shared global variables.
+     */
+    IrProgram(IrFunction main, List<IrFunction> functions, int memorySize) {
+        this.main = main;
+        this.functions = functions;
+        this.memorySize = memorySize;
+    }
+
+    /**
+     * Returns the function of the top-level statements.
+     *
+     * @return the main function.
+     */
+    public IrFunction getMain() {
+        return main;
+    }
+
+    /**
+     * Returns all called functions.
+     *
+     * @return the functions.
+     */
+    public List<IrFunction> getFunctions() {
+        return functions;
+    }
+
+    /**
+     * Returns the count of slots of the memory for shared global variables.
+     *
+     * @return the size of the memory.
+     */
+    public int getMemorySize() {
+        return memorySize;
+    }
+
+}
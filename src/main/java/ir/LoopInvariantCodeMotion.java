@@ -0,0 +1,126 @@
+package ir;
+
+import java.util.*;
+
+/**
+ * This pass moves pure instructions out of loops if all their operands are defined outside of the loop, so they are
+ * executed once before the loop instead of once per run. Loops are detected by their back edges (i.e. edges to a
+ * block which dominates the source of the edge). The instructions are moved to the preheader of the loop, i.e. the
+ * only block outside the loop which continues with the loop header. Inner loops are processed first, so invariant
+ * instructions may move out of several loops.
+ * Pure instructions never fail, so moving them is safe even if the loop body is not executed at all. Validations of
+ * arithmetic results stay within the loop.
+ */
+public class LoopInvariantCodeMotion implements Pass {
+
+    /**
+     * This method moves the loop invariant instructions of a function.
+     *
+     * @param function the function to optimize.
+     */
+    @Override
+    public void run(IrFunction function) {
+        Dominators dominators = new Dominators(function);
+        Map<Block, Set<Block>> loops = new LinkedHashMap<>();
+        for (Block block : dominators.getOrder()) {
+            for (Block successor : block.getSuccessors()) {
+                if (dominators.dominates(successor, block)) {
+                    loops.computeIfAbsent(successor, header -> Collections.newSetFromMap(new IdentityHashMap<>()))
+                            .addAll(getBody(successor, block));
+                }
+            }
+        }
+        List<Map.Entry<Block, Set<Block>>> ordered = new ArrayList<>(loops.entrySet());
+        ordered.sort(Comparator.comparingInt(loop -> loop.getValue().size()));
+        for (Map.Entry<Block, Set<Block>> loop : ordered) {
+            Block preheader = getPreheader(loop.getKey(), loop.getValue());
+            if (preheader != null) {
+                hoist(loop.getValue(), preheader, dominators.getOrder());
+            }
+        }
+    }
+
+    /**
+     * This method moves the invariant instructions of a loop to its preheader. The blocks are processed in reverse
+     * postorder, so operands are moved before the instructions which use them.
+     *
+     * @param body      the blocks of the loop.
+     * @param preheader the preheader of the loop.
+     * @param order     all blocks of the function in reverse postorder.
+     */
+    private void hoist(Set<Block> body, Block preheader, List<Block> order) {
+        for (Block block : order) {
+            if (!body.contains(block)) {
+                continue;
+            }
+            Iterator<Instruction> iterator = block.getInstructions().iterator();
+            while (iterator.hasNext()) {
+                Instruction instruction = iterator.next();
+                if (instruction.getOperation().isPure() && isInvariant(instruction, body)) {
+                    iterator.remove();
+                    preheader.add(instruction);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns if all operands of an instruction are defined outside of a loop.
+     *
+     * @param instruction the instruction.
+     * @param body        the blocks of the loop.
+     * @return true, if the instruction is loop invariant.
+     */
+    private static boolean isInvariant(Instruction instruction, Set<Block> body) {
+        for (Instruction operand : instruction.getOperands()) {
+            if (body.contains(operand.getBlock())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the blocks of the natural loop of a back edge, i.e. the header and all blocks which reach the source of
+     * the back edge without passing the header.
+     *
+     * @param header the target of the back edge.
+     * @param source the source of the back edge.
+     * @return the blocks of the loop.
+     */
+    private static Set<Block> getBody(Block header, Block source) {
+        Set<Block> body = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Block> worklist = new ArrayDeque<>();
+        body.add(header);
+        worklist.push(source);
+        while (!worklist.isEmpty()) {
+            Block block = worklist.pop();
+            if (body.add(block)) {
+                block.getPredecessors().forEach(worklist::push);
+            }
+        }
+        return body;
+    }
+
+    /**
+     * Returns the preheader of a loop, i.e. the only predecessor of the header outside of the loop, if it continues
+     * with the header only.
+     *
+     * @param header the header of the loop.
+     * @param body   the blocks of the loop.
+     * @return the preheader, or null if there is none.
+     */
+    private static Block getPreheader(Block header, Set<Block> body) {
+        Block preheader = null;
+        for (Block predecessor : header.getPredecessors()) {
+            if (!body.contains(predecessor)) {
+                if (preheader != null) {
+                    return null;
+                }
+                preheader = predecessor;
+            }
+        }
+        return preheader != null && preheader.getSuccessors().size() == 1 ? preheader : null;
+    }
+
+}
@@ -0,0 +1,126 @@
+package ir;
+
+/**
+ * This enum holds all operations of the intermediate representation.
+ * Every operation declares if it is pure, i.e. its result depends on its operands only and its execution has no
+ * observable effect. Pure instructions may be merged, moved or removed by optimizations. Instructions with effect
+ * are kept in place and in order. All other instructions (e.g. loads of global variables) may only be removed if
+ * their result is not used.
+ */
+public enum Operation {
+
+    /**
+     * Results in a value known before execution.
+     */
+    CONST(true, false),
+    /**
+     * Results in the value of a parameter passed by the caller.
+     */
+    PARAM(false, false),
+    /**
+     * Selects the value of the operand which belongs to the predecessor the block was entered from.
+     */
+    PHI(false, false),
+    /**
+     * Performs a binary arithmetic operation on two numbers. The result is not validated.
+     */
+    ARITH(true, false),
+    /**
+     * Performs a unary arithmetic operation on a number.
+     */
+    UNARY(true, false),
+    /**
+     * Negates a boolean value.
+     */
+    NOT(true, false),
+    /**
+     * Compares two values of the same type.
+     */
+    COMPARE(true, false),
+    /**
+     * Converts a value to its text representation.
+     */
+    TEXT(true, false),
+    /**
+     * Concatenates two strings.
+     */
+    CONCAT(true, false),
+    /**
+     * Validates the result of an arithmetic operation and throws a runtime exception for an invalid result.
+     */
+    CHECK(false, true),
+    /**
+     * Counts the runs of a loop and throws an error if the count of runs exceeds the limit.
+     */
+    GUARD(false, true),
+    /**
+     * Reads a global variable which is shared with functions.
+     */
+    LOAD(false, false),
+    /**
+     * Writes a global variable which is shared with functions.
+     */
+    STORE(false, true),
+    /**
+     * Calls a function and results in its return value.
+     */
+    CALL(false, true),
+    /**
+     * Prints a text.
+     */
+    PRINT(false, true),
+    /**
+     * Continues execution with the only successor of the block.
+     */
+    JUMP(false, true),
+    /**
+     * Continues execution with the first successor of the block if the condition is true, with the second otherwise.
+     */
+    BRANCH(false, true),
+    /**
+     * Leaves the function, optionally with a return value.
+     */
+    RETURN(false, true);
+
+    private final boolean pure;
+    private final boolean effect;
+
+    /**
+     * This constructor initializes the enum for operations.
+     *
+     * @param pure   indicates if the result depends on the operands only and there is no observable effect.
+     * @param effect indicates if the execution has an effect, so the instruction has to be kept in place.
+     */
+    Operation(boolean pure, boolean effect) {
+        this.pure = pure;
+        this.effect = effect;
+    }
+
+    /**
+     * Returns if the result depends on the operands only and there is no observable effect.
+     *
+     * @return true, if the operation is pure.
+     */
+    public boolean isPure() {
+        return pure;
+    }
+
+    /**
+     * Returns if the execution has an effect, so the instruction has to be kept in place.
+     *
+     * @return true, if the operation has an effect.
+     */
+    public boolean hasEffect() {
+        return effect;
+    }
+
+    /**
+     * Returns if the operation terminates a block.
+     *
+     * @return true, if the operation is a jump, branch or return.
+     */
+    public boolean isTerminator() {
+        return this == JUMP || this == BRANCH || this == RETURN;
+    }
+
+}
@@ -0,0 +1,16 @@
+package ir;
+
+/**
+ * This interface defines an optimization pass, which transforms a function of the intermediate representation
+ * without changing its observable behavior (i.e. its output, its result and its runtime exceptions).
+ */
+public interface Pass {
+
+    /**
+     * This method optimizes a function in place.
+     *
+     * @param function the function to optimize.
+     */
+    void run(IrFunction function);
+
+}
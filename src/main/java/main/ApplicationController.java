@@ -1,7 +1,11 @@
 package main;
 
+import execution.CancellationToken;
+import execution.ExecutionLimits;
 import execution.Mode;
 import execution.Processor;
+import execution.ProcessorOptions;
+import execution.ProgramCache;
 import java_cup.runtime.Symbol;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
@@ -26,6 +30,10 @@ import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
 import java.util.List;
 import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
@@ -33,10 +41,19 @@ import java.util.jar.JarFile;
  * This is the class responsible for the graphical user interface.
  * The user interface is designed as IDE for our toy programming language. It will allow
  * to enter code in multiple ways, but also to run and validate it.
+ * The code is processed on a background thread, so the editor stays responsive while a script runs. Processing
+ * triggered by typing is debounced, and every new edit cancels the run in progress, as its result is stale anyway.
  */
 public class ApplicationController implements Initializable {
 
+    private static final long DEBOUNCE_DELAY = 300;     // the delay in milliseconds between the last edit and processing
     private final FileChooser fileChooser = new FileChooser();
+    private final ProgramCache programCache = new ProgramCache(16);
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "processor");
+        thread.setDaemon(true);                         // must not keep the application alive after the stage was closed
+        return thread;
+    });
     private final List<String> demoFileList = new ArrayList<>();
     private final String appCss = Objects.requireNonNull(Main.class.getClassLoader().getResource("css/application.css")).toExternalForm();
     private final String darkTheme = Objects.requireNonNull(Main.class.getClassLoader().getResource("css/darkTheme.css")).toExternalForm();
@@ -80,6 +97,8 @@ public class ApplicationController implements Initializable {
     @FXML
     Button help;
     private boolean isDarkTheme = true;
+    private ScheduledFuture<?> pendingRun;              // the scheduled or running processing, accessed by the ui thread only
+    private CancellationToken currentRun;               // the token of the latest processing, accessed by the ui thread only
 
     /**
      * This method will initialize the graphic interface and according controls from an fxml file.
@@ -94,14 +113,48 @@ public class ApplicationController implements Initializable {
     }
 
     /**
-     * This method will trigger the processing of the code. After processing, the according results are
-     * extracted and visualized on the ui.
+     * This method will trigger the processing of the code after the passed delay. A processing which is still
+     * pending or running is cancelled before. The code is processed on a background thread, while the results are
+     * passed back to the ui thread, unless the processing was cancelled in the meantime.
      *
      * @param showExecutionResultTab determines, if the execution result tab will be opened and focused or not.
+     * @param delay                  the delay in milliseconds before the processing starts.
      */
-    private void process(boolean showExecutionResultTab) {
-        Processor processor = new Processor(Mode.GUI, input.getText());
+    private void process(boolean showExecutionResultTab, long delay) {
+        cancelProcessing();
+        String code = input.getText();
+        CancellationToken token = new CancellationToken();
+        currentRun = token;
+        pendingRun = executor.schedule(() -> {
+            Processor processor = new Processor(Mode.GUI, code, ProcessorOptions.DEFAULT.withLimits(ExecutionLimits.DEFAULT.withCancellation(token)).withProgramCache(programCache));
+            Platform.runLater(() -> {
+                if (token == currentRun && !token.isCancelled()) {
+                    showResult(processor, showExecutionResultTab);
+                }
+            });
+        }, delay, TimeUnit.MILLISECONDS);
+    }
 
+    /**
+     * This method cancels the pending or running processing, if any. A running processing is aborted at its next loop
+     * run or call.
+     */
+    private void cancelProcessing() {
+        if (pendingRun != null) {
+            pendingRun.cancel(false);
+            currentRun.cancel();
+            pendingRun = null;
+            currentRun = null;
+        }
+    }
+
+    /**
+     * This method will visualize the results of a processing on the ui.
+     *
+     * @param processor              the processor holding the results.
+     * @param showExecutionResultTab determines, if the execution result tab will be opened and focused or not.
+     */
+    private void showResult(Processor processor, boolean showExecutionResultTab) {
         lexCheck.setSelected(processor.isLexCheckSuccessful());
         parseCheck.setSelected(processor.isParseCheckSuccessful());
         validationCheck.setSelected(processor.isValidationCheckSuccessful());
@@ -204,13 +257,14 @@ public class ApplicationController implements Initializable {
             input.deselect();
             demoFiles.getSelectionModel().selectFirst();
             setCheckResultHintSelected(false);
+            cancelProcessing();
             if (input.getText().length() > 2 && input.getText().endsWith("\n\n")) {
-                process(false);
+                process(false, DEBOUNCE_DELAY);
             }
             Platform.runLater(() -> input.requestFocus());
         });
 
-        start.setOnAction(e -> process(true));
+        start.setOnAction(e -> process(true, 0));
 
         help.setOnAction(e -> {
             String url = "https://github.com/lpapailiou/fac#run-with-gui";
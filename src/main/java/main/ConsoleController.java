@@ -1,12 +1,20 @@
 package main;
 
+import execution.ExecutionLimits;
 import execution.Mode;
 import execution.Processor;
+import execution.ProcessorOptions;
+import execution.ProgramCache;
+import execution.ReplSession;
+import output.BufferedSink;
+import output.EchoSink;
+import vm.BytecodeCache;
 
 import java.io.BufferedReader;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.nio.file.InvalidPathException;
 import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Objects;
@@ -24,8 +32,10 @@ class ConsoleController {
     private static final Logger LOG = Logger.getLogger(String.class.getName());
     private static final Scanner SCANNER = new Scanner(System.in);
     private static final String defaultFilePath = "samples/hello_world.txt";
+    private static final ProgramCache PROGRAM_CACHE = new ProgramCache(16);
     private static Mode mode = Mode.CONSOLE;
     private static String path;
+    private static BytecodeCache bytecodeCache;
     private static String cache = "";
 
     /**
@@ -35,10 +45,17 @@ class ConsoleController {
      * <code>-o parse</code>: parse a code for syntactical validation.
      * <code>-o validate</code>: validate a code for semantic validation.
      * <code>-o execute</code>: execute a code.
+     * <code>-o compile</code>: compile a code into a JVM class and execute it.
+     * <code>-o specialize</code>: execute a code as self-specializing node tree.
+     * <code>-o vm</code>: compile a code into bytecode and execute it on the virtual machine.
+     * <code>-o closure</code>: compile a code into a tree of lambdas and execute it.
+     * <code>-o ir</code>: lower a code into an optimized intermediate representation and execute it.
      * <code>-o console</code>: start console mode and process code typed as console input.
      * <code>-o gui</code>: starts up the graphic user interface while leaving the console open.
      * If a file path is given as third argument, the according file will be processed. Otherwise, a short demo file
      * will be processed.
+     * In vm mode, a cache directory for compiled programs may follow the file path as <code>-c directory</code>.
+     * Like this, an unchanged file is compiled once only, while later runs load the compiled program from the cache.
      * If no arguments are given at all, console mode will be started immediately.
      *
      * @param args the arguments passed to start the console mode.
@@ -58,6 +75,11 @@ class ConsoleController {
                 case PARSE:
                 case VALIDATE:
                 case EXECUTE:
+                case COMPILE:
+                case SPECIALIZE:
+                case VM:
+                case CLOSURE:
+                case IR:
                     try {
                         if (path != null) {
                             processFile(path);
@@ -101,6 +123,7 @@ class ConsoleController {
     private void evaluateArguments(String... args) {
         mode = Mode.CONSOLE;
         path = null;
+        bytecodeCache = null;
         if (args == null || args.length == 0) {
             return;
         }
@@ -112,7 +135,7 @@ class ConsoleController {
                 System.exit(0);
             case "-h":
                 System.out.println();
-                LOG.log(Level.INFO, "Following options are available:\n\t-o scan\n\t-o parse\n\t-o validate\n\t-o execute\n\t-o gui\n\nOptionally you may enter a file path after the option.");
+                LOG.log(Level.INFO, "Following options are available:\n\t-o scan\n\t-o parse\n\t-o validate\n\t-o execute\n\t-o compile\n\t-o specialize\n\t-o vm\n\t-o closure\n\t-o ir\n\t-o gui\n\nOptionally you may enter a file path after the option. In vm mode, you may add -c and a directory to cache compiled programs.");
                 cache = SCANNER.nextLine();
                 evaluateArguments(cache.split(" "));
                 break;
@@ -128,6 +151,9 @@ class ConsoleController {
                     path = null;
                 } else if (args.length > 2) {
                     path = args[2];
+                    if (mode == Mode.VM && args.length > 4 && args[3].equals("-c")) {
+                        bytecodeCache = openBytecodeCache(args[4]);
+                    }
                 } else {
                     path = defaultFilePath;
                 }
@@ -138,13 +164,31 @@ class ConsoleController {
         cache = "";
     }
 
+    /**
+     * This method opens the cache directory for compiled programs. If the directory cannot be created, the files are
+     * processed without cache.
+     *
+     * @param directory the path of the cache directory.
+     * @return the cache, or null if the directory is not usable.
+     */
+    private BytecodeCache openBytecodeCache(String directory) {
+        try {
+            return new BytecodeCache(Paths.get(directory));
+        } catch (IOException | InvalidPathException e) {
+            System.out.println();
+            LOG.log(Level.WARNING, "Cache directory " + directory + " is not usable. Files will be processed without cache.");
+            return null;
+        }
+    }
+
     /**
      * This method will start the interactive console mode. After printing a header, the user may then
-     * enter script code to process.
+     * enter script code to process. The entries are processed within one session, so each entry is processed once
+     * only, while it may use the variables and functions of the previous entries.
      */
     private void startConsole() {
         String consoleMarker = ">  ";
-        StringBuilder code = new StringBuilder();
+        ReplSession session = new ReplSession(ExecutionLimits.DEFAULT, new EchoSink(new BufferedSink(), System.out));
         String tmpCache;
 
         System.out.println("(press -h for help or -q to quit)");
@@ -171,9 +215,11 @@ class ConsoleController {
                 continue;
             }
 
-            Processor processor = new Processor(mode, code + cache);
-            if (!processor.isErrorThrown() && !processor.isExceptionThrown()) {
-                code.append(cache);
+            try {
+                session.evaluate(cache);
+            } catch (Exception | Error e) {
+                e.printStackTrace();
+                LOG.log(Level.WARNING, "Entry could not be processed and was discarded: " + e.getMessage());
             }
             cache = "";
         }
@@ -197,7 +243,7 @@ class ConsoleController {
                 text.append(line);
                 text.append("\n");
             }
-            Processor processor = new Processor(mode, text.toString());
+            Processor processor = new Processor(mode, text.toString(), ProcessorOptions.DEFAULT.withProgramCache(PROGRAM_CACHE).withBytecodeCache(bytecodeCache));
 
             System.out.println();
             if (mode != Mode.SCAN) {
@@ -206,7 +252,7 @@ class ConsoleController {
             }
             if (mode == Mode.VALIDATE && !processor.isExceptionThrown()) {
                 System.out.println("\n***** SEMANTIC CHECK SUCCEEDED *****\n");
-            } else if (mode == Mode.EXECUTE) {
+            } else if (mode == Mode.EXECUTE || mode == Mode.COMPILE || mode == Mode.SPECIALIZE || mode == Mode.VM || mode == Mode.CLOSURE || mode == Mode.IR) {
                 System.out.println("***** EXECUTION RESULT *****\n\n" + processor.getExecutionResult());
             }
 
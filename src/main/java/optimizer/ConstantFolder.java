@@ -0,0 +1,338 @@
+package optimizer;
+
+import execution.NumberFormatter;
+import parser.parsetree.BinaryOperator;
+import parser.parsetree.Component;
+import parser.parsetree.Program;
+import parser.parsetree.Type;
+import parser.parsetree.instructions.*;
+import parser.parsetree.interfaces.Declaration;
+import parser.parsetree.interfaces.Visitor;
+import parser.parsetree.statements.*;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The purpose of this class is to compute the values of expressions which do not depend on runtime values once
+ * before execution, so they are not evaluated again every time they are executed.
+ * It is implemented as visitor and expects a validated and resolved parse tree. Expressions whose operands are
+ * all constant are folded, i.e. their runtime value is recorded as constant of the component. Variables which are
+ * initialized with a constant and never reassigned are propagated, i.e. references to them become constant as well.
+ * Finally, the body of an if statement which can never be executed due to a constant condition is pruned.
+ * As the program was validated before, type errors are reported at their original location. Arithmetic operations
+ * resulting in an invalid value are not folded, so the runtime exception occurs at the original location as well.
+ * The program is walked twice: the first walk collects all reassigned variables, the second one folds.
+ * Within both walks, the declaration currently holding a frame slot is tracked, as references know their slot only.
+ * If the program is a fragment of an interactive session, the top-level variables may still be reassigned by later
+ * fragments. In this case, only the variables of functions are propagated.
+ * Example for usage (where program is a validated and resolved Program):
+ * <code>program.accept(new ConstantFolder());</code>
+ */
+public class ConstantFolder implements Visitor {
+
+    private final Set<Declaration> reassigned = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Map<Declaration, Object> constants = new IdentityHashMap<>();
+    private final boolean propagateGlobals;     // indicates if top-level variables are propagated
+    private Declaration[] globalSlots;          // declarations currently holding the slots of the global frame
+    private Declaration[] localSlots;           // declarations currently holding the slots of the function frame
+    private boolean collecting = false;         // indicates if reassigned variables are collected instead of folding
+
+    /**
+     * This constructor initializes a folder which propagates all variables.
+     */
+    public ConstantFolder() {
+        this(true);
+    }
+
+    /**
+     * This constructor initializes a folder. Top-level variables are only propagated if the program is complete.
+     *
+     * @param propagateGlobals true if top-level variables are propagated.
+     */
+    public ConstantFolder(boolean propagateGlobals) {
+        this.propagateGlobals = propagateGlobals;
+    }
+
+    /**
+     * This method collects the reassigned variable if reassigned variables are collected. Otherwise, it folds the
+     * assigned value.
+     *
+     * @param acceptor the AssignmentStatement to visit.
+     */
+    @Override
+    public void visit(AssignmentStatement acceptor) {
+        if (collecting) {
+            Declaration declaration = getDeclaration(acceptor.getDepth(), acceptor.getSlot());
+            if (declaration != null) {
+                reassigned.add(declaration);
+            }
+        } else {
+            fold(acceptor.getValue());
+        }
+    }
+
+    /**
+     * This method visits a generic component (i.e. a component which has not an own specific visit method).
+     * This is a fall-through action.
+     *
+     * @param acceptor the generic Component to visit.
+     */
+    @Override
+    public void visit(Component acceptor) {
+    }
+
+    /**
+     * This method folds the arguments of a function call.
+     *
+     * @param acceptor the FunctionCallStatement to visit.
+     */
+    @Override
+    public void visit(FunctionCallStatement acceptor) {
+        if (!collecting) {
+            fold(acceptor);
+        }
+    }
+
+    /**
+     * This method walks a function definition within its own frame.
+     *
+     * @param acceptor the FunctionDefStatement to visit.
+     */
+    @Override
+    public void visit(FunctionDefStatement acceptor) {
+        localSlots = new Declaration[acceptor.getFrameSize()];
+        walk(acceptor.getStatements());
+        if (!collecting) {
+            fold(acceptor.getReturnStatement());
+        }
+        localSlots = null;
+    }
+
+    /**
+     * This method folds the condition of an if-then-else statement and prunes the dead body, if the condition is constant.
+     *
+     * @param acceptor the IfThenElseStatement to visit.
+     */
+    @Override
+    public void visit(IfThenElseStatement acceptor) {
+        Object condition = collecting ? null : fold(acceptor.getCondition());
+        walk(acceptor.getIfStatements());
+        walk(acceptor.getElseStatements());
+        if (condition != null) {
+            acceptor.prune((Boolean) condition);
+        }
+    }
+
+    /**
+     * This method folds the condition of an if-then statement and prunes the body, if the condition is constantly false.
+     *
+     * @param acceptor the IfThenStatement to visit.
+     */
+    @Override
+    public void visit(IfThenStatement acceptor) {
+        Object condition = collecting ? null : fold(acceptor.getCondition());
+        walk(acceptor.getStatements());
+        if (condition != null) {
+            acceptor.prune((Boolean) condition);
+        }
+    }
+
+    /**
+     * This method tracks the slot of a parameter. Parameters are never constant.
+     *
+     * @param acceptor the ParamDeclaration to visit.
+     */
+    @Override
+    public void visit(ParamDeclaration acceptor) {
+        localSlots[acceptor.getSlot()] = acceptor;
+    }
+
+    /**
+     * This method folds the printed value.
+     *
+     * @param acceptor the PrintCallStatement to visit.
+     */
+    @Override
+    public void visit(PrintCallStatement acceptor) {
+        if (!collecting) {
+            fold(acceptor.getValue());
+        }
+    }
+
+    /**
+     * This method folds the program. It walks the program once to collect the reassigned variables and once to fold.
+     *
+     * @param acceptor the Program to visit.
+     */
+    @Override
+    public void visit(Program acceptor) {
+        collecting = true;
+        globalSlots = new Declaration[acceptor.getFrameSize()];
+        walk(acceptor.getStatements());
+        collecting = false;
+        globalSlots = new Declaration[acceptor.getFrameSize()];
+        walk(acceptor.getStatements());
+    }
+
+    /**
+     * This method tracks the slot of a declared variable. If the variable is initialized with a constant and never
+     * reassigned, its value is recorded for propagation.
+     *
+     * @param acceptor the VariableDeclaration to visit.
+     */
+    @Override
+    public void visit(VariableDeclaration acceptor) {
+        if (!collecting) {
+            Object value = fold(acceptor.getValue());
+            if (value != null && !reassigned.contains(acceptor) && (propagateGlobals || localSlots != null)) {
+                constants.put(acceptor, value);
+            }
+        }
+        if (localSlots != null) {
+            localSlots[acceptor.getSlot()] = acceptor;
+        } else {
+            globalSlots[acceptor.getSlot()] = acceptor;
+        }
+    }
+
+    /**
+     * This method folds the condition and the body of a while statement.
+     *
+     * @param acceptor the WhileStatement to visit.
+     */
+    @Override
+    public void visit(WhileStatement acceptor) {
+        if (!collecting) {
+            fold(acceptor.getCondition());
+        }
+        walk(acceptor.getStatements());
+    }
+
+    // ------------------------------------------ helper methods ------------------------------------------
+
+    /**
+     * This helper method walks a statement list.
+     *
+     * @param components the statements to walk.
+     */
+    private void walk(List<Component> components) {
+        for (Component st : components) {
+            st.accept(this);
+        }
+    }
+
+    /**
+     * Returns the declaration which currently holds the passed frame coordinate.
+     *
+     * @param depth the count of frames to walk up from the current frame.
+     * @param slot  the index of the variable within the frame.
+     * @return the declaration, or null if unknown.
+     */
+    private Declaration getDeclaration(int depth, int slot) {
+        Declaration[] slots = localSlots != null && depth == 0 ? localSlots : globalSlots;
+        return slot >= 0 && slot < slots.length ? slots[slot] : null;
+    }
+
+    /**
+     * This method folds an operand, which can be any type of program component which results in a value. Nested
+     * operands are folded first. If the value of the operand is constant, it is recorded at the component.
+     *
+     * @param operand the operand to fold.
+     * @return the constant value of the operand, or null if the value is only known at runtime.
+     */
+    private Object fold(Object operand) {
+        if (!(operand instanceof Component)) {
+            return null;
+        }
+        Component component = (Component) operand;
+        Object value = null;
+        if (operand instanceof FunctionCallStatement) {
+            for (Component argument : ((FunctionCallStatement) operand).getArgumentList()) {
+                fold(argument);
+            }
+        } else if (operand instanceof BinaryExpression) {
+            value = fold((BinaryExpression) operand);
+        } else if (operand instanceof UnaryExpression) {
+            Object value1 = fold(((UnaryExpression) operand).getOperand());
+            if (value1 instanceof Boolean) {
+                value = ((UnaryExpression) operand).getOperator().apply((boolean) (Boolean) value1);
+            } else if (value1 instanceof Double) {
+                value = ((UnaryExpression) operand).getOperator().apply((double) (Double) value1);
+            }
+        } else if (operand instanceof ValueWrapper) {
+            value = fold((ValueWrapper) operand);
+        } else if (operand instanceof BinaryCondition) {
+            value = fold((BinaryCondition) operand);
+        } else if (operand instanceof UnaryCondition) {
+            Object value1 = fold(((UnaryCondition) operand).getOperand());
+            if (value1 != null) {
+                value = ((UnaryCondition) operand).getOperator().apply((boolean) (Boolean) value1);
+            }
+        }
+        if (value == null) {
+            return component.getConstant();
+        }
+        component.setConstant(value);
+        return value;
+    }
+
+    /**
+     * This method folds a binary expression. Arithmetic operations which result in an invalid value are not folded.
+     *
+     * @param operand the operand to fold.
+     * @return the constant value of the operand, or null if the value is only known at runtime.
+     */
+    private Object fold(BinaryExpression operand) {
+        Object value1 = fold(operand.getOperand1());
+        Object value2 = fold(operand.getOperand2());
+        if (value1 == null || value2 == null) {
+            return null;
+        }
+        if (operand.getResolvedType() == Type.STRING) {
+            return operand.getOperator().apply(NumberFormatter.toText(value1), NumberFormatter.toText(value2));
+        }
+        double result = operand.getOperator().apply((Double) value1, (Double) value2);
+        return Double.isInfinite(result) || Double.isNaN(result) ? null : result;
+    }
+
+    /**
+     * This method folds a constant, which is either a literal, a nested expression or a variable reference. References
+     * are folded if they refer to a propagated variable.
+     *
+     * @param operand the operand to fold.
+     * @return the constant value of the operand, or null if the value is only known at runtime.
+     */
+    private Object fold(ValueWrapper operand) {
+        if (operand.isReference()) {
+            Declaration declaration = getDeclaration(operand.getDepth(), operand.getSlot());
+            return declaration == null ? null : constants.get(declaration);
+        }
+        return fold(operand.getValue());
+    }
+
+    /**
+     * This method folds a binary conditional expression. The operator is chosen by the data type of the operands.
+     *
+     * @param operand the operand to fold.
+     * @return the constant value of the operand, or null if the value is only known at runtime.
+     */
+    private Object fold(BinaryCondition operand) {
+        Object value1 = fold(operand.getOperand1());
+        Object value2 = fold(operand.getOperand2());
+        if (value1 == null || value2 == null) {
+            return null;
+        }
+        BinaryOperator operator = operand.getOperator();
+        if (value1 instanceof Double) {
+            return operator.test((Double) value1, (Double) value2);
+        } else if (value1 instanceof Boolean) {
+            return operator.test((Boolean) value1, (Boolean) value2);
+        }
+        return operator.test((String) value1, (String) value2);
+    }
+
+}
@@ -0,0 +1,224 @@
+package optimizer;
+
+import parser.parsetree.Component;
+import parser.parsetree.Program;
+import parser.parsetree.instructions.*;
+import parser.parsetree.interfaces.Visitor;
+import parser.parsetree.statements.*;
+
+import java.util.*;
+
+/**
+ * The purpose of this class is to find all functions which are free of side effects, so their results may be reused
+ * for calls with the same arguments.
+ * It is implemented as visitor and expects a validated, resolved and folded parse tree. A function is pure, if it
+ * neither prints, nor reads or assigns a global variable (apart from propagated constants), nor calls an impure
+ * function. Runtime exceptions do not make a function impure, as they occur for the same arguments every time.
+ * The program is walked once to collect the direct effects and the called functions of every function definition.
+ * Afterwards, impurity is propagated from callees to callers until no more function changes, so recursive functions
+ * remain pure as long as the whole recursion is free of side effects. The result is recorded at the definition.
+ * Example for usage (where program is a folded Program):
+ * <code>program.accept(new EffectAnalyzer());</code>
+ */
+public class EffectAnalyzer implements Visitor {
+
+    private final Map<FunctionDefStatement, Set<FunctionDefStatement>> callees = new IdentityHashMap<>();
+    private final Set<FunctionDefStatement> impure = Collections.newSetFromMap(new IdentityHashMap<>());
+    private FunctionDefStatement function;      // the function definition which is currently walked, or null
+
+    /**
+     * This method records an assignment to a global variable as side effect. Additionally, the assigned value is
+     * analyzed.
+     *
+     * @param acceptor the AssignmentStatement to visit.
+     */
+    @Override
+    public void visit(AssignmentStatement acceptor) {
+        if (acceptor.getDepth() > 0) {
+            markImpure();
+        }
+        analyze(acceptor.getValue());
+    }
+
+    /**
+     * This method visits a generic component (i.e. a component which has not an own specific visit method).
+     * This is a fall-through action.
+     *
+     * @param acceptor the generic Component to visit.
+     */
+    @Override
+    public void visit(Component acceptor) {
+    }
+
+    /**
+     * This method analyzes a function call, whose result is not used.
+     *
+     * @param acceptor the FunctionCallStatement to visit.
+     */
+    @Override
+    public void visit(FunctionCallStatement acceptor) {
+        analyze(acceptor);
+    }
+
+    /**
+     * This method collects the effects and the called functions of a function definition.
+     *
+     * @param acceptor the FunctionDefStatement to visit.
+     */
+    @Override
+    public void visit(FunctionDefStatement acceptor) {
+        FunctionDefStatement outer = function;
+        function = acceptor;
+        callees.put(acceptor, Collections.newSetFromMap(new IdentityHashMap<>()));
+        walk(acceptor.getStatements());
+        analyze(acceptor.getReturnStatement());
+        function = outer;
+    }
+
+    /**
+     * This method analyzes the condition and both bodies of an if-then-else statement.
+     *
+     * @param acceptor the IfThenElseStatement to visit.
+     */
+    @Override
+    public void visit(IfThenElseStatement acceptor) {
+        analyze(acceptor.getCondition());
+        walk(acceptor.getIfStatements());
+        walk(acceptor.getElseStatements());
+    }
+
+    /**
+     * This method analyzes the condition and the body of an if-then statement.
+     *
+     * @param acceptor the IfThenStatement to visit.
+     */
+    @Override
+    public void visit(IfThenStatement acceptor) {
+        analyze(acceptor.getCondition());
+        walk(acceptor.getStatements());
+    }
+
+    /**
+     * Parameters have no effect. So there is nothing to do here.
+     *
+     * @param acceptor the ParamDeclaration to visit.
+     */
+    @Override
+    public void visit(ParamDeclaration acceptor) {
+    }
+
+    /**
+     * This method records a print statement as side effect.
+     *
+     * @param acceptor the PrintCallStatement to visit.
+     */
+    @Override
+    public void visit(PrintCallStatement acceptor) {
+        markImpure();
+        analyze(acceptor.getValue());
+    }
+
+    /**
+     * This method analyzes the program. After all function definitions were walked, impurity is propagated to the
+     * callers and the result is recorded at every definition.
+     *
+     * @param acceptor the Program to visit.
+     */
+    @Override
+    public void visit(Program acceptor) {
+        walk(acceptor.getStatements());
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (Map.Entry<FunctionDefStatement, Set<FunctionDefStatement>> entry : callees.entrySet()) {
+                if (!impure.contains(entry.getKey()) && !Collections.disjoint(entry.getValue(), impure)) {
+                    impure.add(entry.getKey());
+                    changed = true;
+                }
+            }
+        }
+        for (FunctionDefStatement definition : callees.keySet()) {
+            definition.setPure(!impure.contains(definition));
+        }
+    }
+
+    /**
+     * This method analyzes the initial value of a declared variable.
+     *
+     * @param acceptor the VariableDeclaration to visit.
+     */
+    @Override
+    public void visit(VariableDeclaration acceptor) {
+        analyze(acceptor.getValue());
+    }
+
+    /**
+     * This method analyzes the condition and the body of a while statement.
+     *
+     * @param acceptor the WhileStatement to visit.
+     */
+    @Override
+    public void visit(WhileStatement acceptor) {
+        analyze(acceptor.getCondition());
+        walk(acceptor.getStatements());
+    }
+
+    // ------------------------------------------ helper methods ------------------------------------------
+
+    /**
+     * This helper method walks a statement list.
+     *
+     * @param components the statements to walk.
+     */
+    private void walk(List<Component> components) {
+        for (Component st : components) {
+            st.accept(this);
+        }
+    }
+
+    /**
+     * This method marks the function which is currently walked as impure. Top-level statements are not tracked.
+     */
+    private void markImpure() {
+        if (function != null) {
+            impure.add(function);
+        }
+    }
+
+    /**
+     * This method follows the component chain of an operand. Calls are recorded for the current function, while
+     * reading a global variable is recorded as side effect. Operands which were folded are not evaluated at runtime,
+     * so they are skipped.
+     *
+     * @param operand the operand to analyze.
+     */
+    private void analyze(Object operand) {
+        if (operand instanceof Component && ((Component) operand).getConstant() != null) {
+            return;
+        }
+        if (operand instanceof FunctionCallStatement) {
+            FunctionCallStatement call = (FunctionCallStatement) operand;
+            if (function != null) {
+                callees.get(function).add(call.getFunction());
+            }
+            for (Component argument : call.getArgumentList()) {
+                analyze(argument);
+            }
+        } else if (operand instanceof BinaryExpr) {
+            analyze(((BinaryExpr) operand).getOperand1());
+            analyze(((BinaryExpr) operand).getOperand2());
+        } else if (operand instanceof UnaryExpr) {
+            analyze(((UnaryExpr) operand).getOperand());
+        } else if (operand instanceof ValueWrapper) {
+            ValueWrapper wrapper = (ValueWrapper) operand;
+            if (wrapper.isReference()) {
+                if (wrapper.getDepth() > 0) {
+                    markImpure();
+                }
+            } else {
+                analyze(wrapper.getValue());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,88 @@
+package output;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * This class keeps a bounded count of printed lines in memory, so programs printing within long loops run in
+ * constant memory. If the bound is reached, the sink either truncates the output (i.e. keeps the first lines) or
+ * acts as ring buffer (i.e. keeps the last lines). The count of dropped lines is recorded.
+ */
+public class BoundedSink implements OutputSink {
+
+    private final int maxLines;
+    private final boolean keepLast;
+    private final Deque<String> lines = new ArrayDeque<>();
+    private long dropped;
+
+    /**
+     * This constructor initializes an empty sink.
+     *
+     * @param maxLines the maximum count of kept lines.
+     * @param keepLast true to keep the last lines (ring buffer), false to keep the first lines (truncation).
+     */
+    public BoundedSink(int maxLines, boolean keepLast) {
+        if (maxLines < 0) {
+            throw new IllegalArgumentException("The bound of the output must not be negative!");
+        }
+        this.maxLines = maxLines;
+        this.keepLast = keepLast;
+    }
+
+    /**
+     * This method keeps a printed line, unless the bound is reached. If the sink is a ring buffer, the oldest line is
+     * dropped instead.
+     *
+     * @param line the printed line.
+     */
+    @Override
+    public void print(String line) {
+        if (lines.size() < maxLines) {
+            lines.addLast(line);
+        } else {
+            dropped++;
+            if (keepLast && maxLines > 0) {
+                lines.removeFirst();
+                lines.addLast(line);
+            }
+        }
+    }
+
+    /**
+     * Returns a copy of the kept lines.
+     *
+     * @return the kept lines.
+     */
+    @Override
+    public List<String> getLines() {
+        return new ArrayList<>(lines);
+    }
+
+    /**
+     * This method discards all kept lines and resets the count of dropped lines.
+     */
+    @Override
+    public void clear() {
+        lines.clear();
+        dropped = 0;
+    }
+
+    /**
+     * All kept lines are held in memory. So there is nothing to do here.
+     */
+    @Override
+    public void flush() {
+    }
+
+    /**
+     * Returns the count of lines, which were not kept as the bound was reached.
+     *
+     * @return the count of dropped lines.
+     */
+    public long getDroppedCount() {
+        return dropped;
+    }
+
+}
@@ -0,0 +1,48 @@
+package output;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class keeps all printed lines in memory. It is the default sink of all engines.
+ */
+public class BufferedSink implements OutputSink {
+
+    private final List<String> lines = new ArrayList<>();
+
+    /**
+     * This method keeps a printed line.
+     *
+     * @param line the printed line.
+     */
+    @Override
+    public void print(String line) {
+        lines.add(line);
+    }
+
+    /**
+     * Returns all printed lines.
+     *
+     * @return the printed lines.
+     */
+    @Override
+    public List<String> getLines() {
+        return lines;
+    }
+
+    /**
+     * This method discards all printed lines.
+     */
+    @Override
+    public void clear() {
+        lines.clear();
+    }
+
+    /**
+     * All lines are kept in memory. So there is nothing to do here.
+     */
+    @Override
+    public void flush() {
+    }
+
+}
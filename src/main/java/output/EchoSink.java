@@ -0,0 +1,64 @@
+package output;
+
+import java.io.PrintStream;
+import java.util.List;
+
+/**
+ * This class echoes every printed line to the console, marked by a prompt, and passes it on to another sink.
+ * It is used, if the processing is verbose, e.g. within console mode.
+ */
+public class EchoSink implements OutputSink {
+
+    private final OutputSink sink;
+    private final PrintStream console;
+
+    /**
+     * This constructor initializes the sink.
+     *
+     * @param sink    the sink to pass the printed lines on to.
+     * @param console the stream to echo the printed lines to.
+     */
+    public EchoSink(OutputSink sink, PrintStream console) {
+        this.sink = sink;
+        this.console = console;
+    }
+
+    /**
+     * This method echoes a printed line and passes it on.
+     *
+     * @param line the printed line.
+     */
+    @Override
+    public void print(String line) {
+        console.println(">>>>  " + line);
+        sink.print(line);
+    }
+
+    /**
+     * Returns the lines kept by the sink the lines are passed on to.
+     *
+     * @return the kept lines.
+     */
+    @Override
+    public List<String> getLines() {
+        return sink.getLines();
+    }
+
+    /**
+     * This method discards the lines kept by the sink the lines are passed on to.
+     */
+    @Override
+    public void clear() {
+        sink.clear();
+    }
+
+    /**
+     * This method flushes the console and the sink the lines are passed on to.
+     */
+    @Override
+    public void flush() {
+        console.flush();
+        sink.flush();
+    }
+
+}
@@ -0,0 +1,35 @@
+package output;
+
+import java.util.List;
+
+/**
+ * This interface is designed to receive the lines printed by an executed program.
+ * Every engine passes each printed line to its sink as soon as the print statement is executed, so the sink decides
+ * whether the lines are kept in memory (completely or bounded) or streamed elsewhere.
+ */
+public interface OutputSink {
+
+    /**
+     * This method receives a printed line.
+     *
+     * @param line the printed line.
+     */
+    void print(String line);
+
+    /**
+     * Returns the lines kept by this sink. Sinks which stream their lines elsewhere keep none of them.
+     *
+     * @return the kept lines.
+     */
+    List<String> getLines();
+
+    /**
+     * This method discards the kept lines, so a new run starts with an empty output.
+     */
+    void clear();
+
+    /**
+     * This method passes all received lines on to their destination, if the sink buffers them.
+     */
+    void flush();
+}
@@ -0,0 +1,73 @@
+package output;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class streams every printed line to a writer, followed by a line break. No line is kept in memory, so the
+ * output of a program may be of any size. The writer is neither flushed per line nor closed by this sink.
+ */
+public class WriterSink implements OutputSink {
+
+    private final Writer writer;
+
+    /**
+     * This constructor initializes the sink.
+     *
+     * @param writer the writer to stream the printed lines to.
+     */
+    public WriterSink(Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * This method writes a printed line.
+     *
+     * @param line the printed line.
+     * @throws UncheckedIOException if the line could not be written.
+     */
+    @Override
+    public void print(String line) {
+        try {
+            writer.write(line);
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns no lines, as all lines were streamed to the writer.
+     *
+     * @return an empty list.
+     */
+    @Override
+    public List<String> getLines() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Written lines cannot be discarded. So there is nothing to do here.
+     */
+    @Override
+    public void clear() {
+    }
+
+    /**
+     * This method flushes the writer.
+     *
+     * @throws UncheckedIOException if the writer could not be flushed.
+     */
+    @Override
+    public void flush() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
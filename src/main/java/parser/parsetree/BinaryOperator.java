@@ -2,10 +2,14 @@ package parser.parsetree;
 
 import java.util.Arrays;
 import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.DoubleBinaryOperator;
 
 /**
  * This enum holds all available operators for binary expressions.
- * As expressions can be executed, every operator will provide its own execution method.
+ * As expressions can be executed, every operator will provide its own execution methods. There is one
+ * specialized method per operand type, which works on primitive values, so the type of the operands is decided
+ * by the caller and values never have to be converted.
  */
 public enum BinaryOperator {
 
@@ -14,149 +18,132 @@ public enum BinaryOperator {
      * processing (as assignments like +=, -=, etc. are binary operations).
      * When applied, this operator will return the second value passed.
      */
-    EQUAL("=", (a, b) -> b),
-    /**
-     * This operator will return either a concatenated string of at least one of the operands is a string
-     * or perform an arithmetic addition.
-     */
-    PLUSEQ("+=", (a, b) -> {
-        if (Type.getByInput(a) == Type.STRING) {
-            if (Type.getByInput(b) == Type.NUMERIC) {
-                double doubleValue = Double.parseDouble(b.toString());
-                String result = doubleValue + "";
-                if (doubleValue == Math.floor(doubleValue)) {
-                    result = ((int) doubleValue) + "";
-                }
-                return "'" + (a.toString() + (result)).replaceAll("'", "") + "'";
-            }
-            return "'" + (a.toString() + (b.toString())).replaceAll("'", "") + "'";
-        } else {
-            return Double.parseDouble(a.toString()) + Double.parseDouble(b.toString());
-        }
-    }),
+    EQUAL("=", (a, b) -> b, (a, b) -> b),
+    /**
+     * This operator will either concatenate two strings or perform an arithmetic addition.
+     */
+    PLUSEQ("+=", (a, b) -> a + b, (a, b) -> a + b),
     /**
      * With this operator, a subtraction is performed.
      */
-    MINEQ("-=", (a, b) -> Double.parseDouble(a.toString()) - Double.parseDouble(b.toString())),
+    MINEQ("-=", (a, b) -> a - b, null),
     /**
      * With this operator, a multiplication is performed.
      */
-    MULEQ("*=", (a, b) -> Double.parseDouble(a.toString()) * Double.parseDouble(b.toString())),
+    MULEQ("*=", (a, b) -> a * b, null),
     /**
      * With this operator, a division is performed.
      */
-    DIVEQ("/=", (a, b) -> Double.parseDouble(a.toString()) / Double.parseDouble(b.toString())),
+    DIVEQ("/=", (a, b) -> a / b, null),
     /**
      * With this operator, a modulo operation is performed.
      */
-    MODEQ("%=", (a, b) -> Double.parseDouble(a.toString()) % Double.parseDouble(b.toString())),
+    MODEQ("%=", (a, b) -> a % b, null),
     /**
      * This operator will apply the logical and, by evaluating both operands.
      */
-    AND("&&", (a, b) -> (Boolean.parseBoolean(a.toString()) && Boolean.parseBoolean(b.toString()))),
+    AND("&&", null, (a, b) -> a && b, null),
     /**
      * This operator will apply the logical or, by evaluating both operands.
      */
-    OR("||", (a, b) -> (Boolean.parseBoolean(a.toString()) || Boolean.parseBoolean(b.toString()))),
+    OR("||", null, (a, b) -> a || b, null),
     /**
      * This operator will test for equality of 'primitive' values. Strings are evaluated
      * as usual in Java with the equal method.
      */
-    EQ("==", (a, b) -> {
-        Type type = Type.getByInput(a);
-        if (type == Type.BOOLEAN) {
-            return Boolean.parseBoolean(a.toString()) == Boolean.parseBoolean(b.toString());
-        } else if (type == Type.NUMERIC) {
-            return Double.parseDouble(a.toString()) == Double.parseDouble(b.toString());
-        } else {
-            return a.toString().equals(b.toString());
-        }
-    }),
+    EQ("==", (a, b) -> a == b, (a, b) -> a == b, String::equals),
     /**
      * This operator will test for inequality of 'primitive' values. Strings are evaluated
      * as usual in Java with the !equal method.
      */
-    NEQ("!=", (a, b) -> {
-        Type type = Type.getByInput(a);
-        if (type == Type.BOOLEAN) {
-            return Boolean.parseBoolean(a.toString()) != Boolean.parseBoolean(b.toString());
-        } else if (type == Type.NUMERIC) {
-            return Double.parseDouble(a.toString()) != Double.parseDouble(b.toString());
-        } else {
-            return !a.toString().equals(b.toString());
-        }
-    }),
+    NEQ("!=", (a, b) -> a != b, (a, b) -> a != b, (a, b) -> !a.equals(b)),
     /**
      * This operator tests if the first operand is greater than the second operand.
      */
-    GREATER(">", (a, b) -> Double.parseDouble(a.toString()) > Double.parseDouble(b.toString())),
+    GREATER(">", (a, b) -> a > b, null, null),
     /**
      * This operator tests if the first operand is greater than or equal to the second operand.
      */
-    GREQ(">=", (a, b) -> Double.parseDouble(a.toString()) >= Double.parseDouble(b.toString())),
+    GREQ(">=", (a, b) -> a >= b, null, null),
+    /**
+     * This operator tests if the first operand is less than or equal to the second operand.
+     */
+    LEQ("<=", (a, b) -> a <= b, null, null),
     /**
      * This operator tests if the first operand is less than the second operand.
      */
-    LEQ("<=", (a, b) -> Double.parseDouble(a.toString()) <= Double.parseDouble(b.toString())),
+    LESS("<", (a, b) -> a < b, null, null),
     /**
-     * This operator tests if the first operand is less than or equal to the second operand.
+     * This operator will either concatenate two strings or perform an arithmetic addition.
      */
-    LESS("<", (a, b) -> Double.parseDouble(a.toString()) < Double.parseDouble(b.toString())),
-    /**
-     * This operator will return either a concatenated string of at least one of the operands is a string
-     * or perform an arithmetic addition.
-     */
-    PLUS("+", (a, b) -> {
-        if (Type.getByInput(a) == Type.STRING || Type.getByInput(b) == Type.STRING) {
-            if (Type.getByInput(a) == Type.NUMERIC) {
-                double doubleValue = Double.parseDouble(a.toString());
-                String result = doubleValue + "";
-                if (doubleValue == Math.floor(doubleValue)) {
-                    result = ((int) doubleValue) + "";
-                }
-                return "'" + (result + (b.toString())).replaceAll("'", "") + "'";
-            } else if (Type.getByInput(b) == Type.NUMERIC) {
-                double doubleValue = Double.parseDouble(b.toString());
-                String result = doubleValue + "";
-                if (doubleValue == Math.floor(doubleValue)) {
-                    result = ((int) doubleValue) + "";
-                }
-                return "'" + (a.toString() + (result)).replaceAll("'", "") + "'";
-            }
-            return "'" + (a.toString() + (b.toString())).replaceAll("'", "") + "'";
-        } else {
-            return Double.parseDouble(a.toString()) + Double.parseDouble(b.toString());
-        }
-    }),
+    PLUS("+", (a, b) -> a + b, (a, b) -> a + b),
     /**
      * With this operator, a subtraction is performed.
      */
-    MINUS("-", (a, b) -> Double.parseDouble(a.toString()) - Double.parseDouble(b.toString())),
+    MINUS("-", (a, b) -> a - b, null),
     /**
      * With this operator, a multiplication is performed.
      */
-    MUL("*", (a, b) -> Double.parseDouble(a.toString()) * Double.parseDouble(b.toString())),
+    MUL("*", (a, b) -> a * b, null),
     /**
      * With this operator, a division is performed.
      */
-    DIV("/", (a, b) -> Double.parseDouble(a.toString()) / Double.parseDouble(b.toString())),
+    DIV("/", (a, b) -> a / b, null),
     /**
      * With this operator, a modulo operation is performed.
      */
-    MOD("%", (a, b) -> Double.parseDouble(a.toString()) % Double.parseDouble(b.toString()));
+    MOD("%", (a, b) -> a % b, null);
 
     private final String operator;
-    private final BiFunction<Object, Object, Object> function;
+    private final DoubleBinaryOperator arithmetic;
+    private final BiFunction<String, String, String> concatenation;
+    private final NumericCondition numericCondition;
+    private final BooleanCondition booleanCondition;
+    private final BiPredicate<String, String> stringCondition;
 
     /**
-     * This constructor initializes the enum for binary operators.
+     * This constructor initializes the enum for arithmetic operators. Values of a type which is not supported
+     * by the operator are passed as null.
      *
-     * @param operator the operator.
-     * @param function the BiFunction to be applied to two operands.
+     * @param operator      the operator.
+     * @param arithmetic    the function to be applied to two numeric operands.
+     * @param concatenation the function to be applied to two string operands.
      */
-    BinaryOperator(String operator, BiFunction<Object, Object, Object> function) {
+    BinaryOperator(String operator, DoubleBinaryOperator arithmetic, BiFunction<String, String, String> concatenation) {
+        this(operator, arithmetic, concatenation, null, null, null);
+    }
+
+    /**
+     * This constructor initializes the enum for conditional operators. Values of a type which is not supported
+     * by the operator are passed as null.
+     *
+     * @param operator         the operator.
+     * @param numericCondition the condition to be applied to two numeric operands.
+     * @param booleanCondition the condition to be applied to two boolean operands.
+     * @param stringCondition  the condition to be applied to two string operands.
+     */
+    BinaryOperator(String operator, NumericCondition numericCondition, BooleanCondition booleanCondition, BiPredicate<String, String> stringCondition) {
+        this(operator, null, null, numericCondition, booleanCondition, stringCondition);
+    }
+
+    /**
+     * This constructor initializes the enum for binary operators.
+     *
+     * @param operator         the operator.
+     * @param arithmetic       the function to be applied to two numeric operands.
+     * @param concatenation    the function to be applied to two string operands.
+     * @param numericCondition the condition to be applied to two numeric operands.
+     * @param booleanCondition the condition to be applied to two boolean operands.
+     * @param stringCondition  the condition to be applied to two string operands.
+     */
+    BinaryOperator(String operator, DoubleBinaryOperator arithmetic, BiFunction<String, String, String> concatenation,
+                   NumericCondition numericCondition, BooleanCondition booleanCondition, BiPredicate<String, String> stringCondition) {
         this.operator = operator;
-        this.function = function;
+        this.arithmetic = arithmetic;
+        this.concatenation = concatenation;
+        this.numericCondition = numericCondition;
+        this.booleanCondition = booleanCondition;
+        this.stringCondition = stringCondition;
     }
 
     /**
@@ -183,14 +170,74 @@ public enum BinaryOperator {
     }
 
     /**
-     * This method applies the operator to two operands. It is used for the execution of code.
+     * This method applies the operator to two numeric operands. It is used for the execution of code.
+     *
+     * @param a the first operand.
+     * @param b the second operand.
+     * @return the result of the performed operation.
+     */
+    public double apply(double a, double b) {
+        return arithmetic.applyAsDouble(a, b);
+    }
+
+    /**
+     * This method applies the operator to two string operands. It is used for the execution of code.
      *
      * @param a the first operand.
      * @param b the second operand.
      * @return the result of the performed operation.
      */
-    public Object apply(Object a, Object b) {
-        return function.apply(a, b);
+    public String apply(String a, String b) {
+        return concatenation.apply(a, b);
+    }
+
+    /**
+     * This method tests two numeric operands with this operator. It is used for the execution of code.
+     *
+     * @param a the first operand.
+     * @param b the second operand.
+     * @return the result of the performed test.
+     */
+    public boolean test(double a, double b) {
+        return numericCondition.test(a, b);
+    }
+
+    /**
+     * This method tests two boolean operands with this operator. It is used for the execution of code.
+     *
+     * @param a the first operand.
+     * @param b the second operand.
+     * @return the result of the performed test.
+     */
+    public boolean test(boolean a, boolean b) {
+        return booleanCondition.test(a, b);
+    }
+
+    /**
+     * This method tests two string operands with this operator. It is used for the execution of code.
+     *
+     * @param a the first operand.
+     * @param b the second operand.
+     * @return the result of the performed test.
+     */
+    public boolean test(String a, String b) {
+        return stringCondition.test(a, b);
+    }
+
+    /**
+     * A condition on two primitive numeric operands.
+     */
+    @FunctionalInterface
+    private interface NumericCondition {
+        boolean test(double a, double b);
+    }
+
+    /**
+     * A condition on two primitive boolean operands.
+     */
+    @FunctionalInterface
+    private interface BooleanCondition {
+        boolean test(boolean a, boolean b);
     }
 
 }
@@ -19,6 +19,8 @@ public abstract class Component implements Traversable {
     private static final String PARSE_TREE_PREFIX = "$ ";
     protected static final String PRETTY_PRINT_INDENT = "    ";
     private final int[] location;
+    private Type resolvedType;
+    private Object constant;
 
     /**
      * The constructor is used to set the location from the source file of this code fragment.
@@ -485,6 +487,44 @@ public abstract class Component implements Traversable {
         return location;
     }
 
+    /**
+     * Returns the data type this component evaluates to. The type is recorded during validation, so it does not
+     * have to be evaluated again at runtime.
+     *
+     * @return the resolved data type, or null if the component was not validated or does not evaluate to a value.
+     */
+    public Type getResolvedType() {
+        return resolvedType;
+    }
+
+    /**
+     * Records the data type this component evaluates to.
+     *
+     * @param resolvedType the resolved data type.
+     */
+    public void setResolvedType(Type resolvedType) {
+        this.resolvedType = resolvedType;
+    }
+
+    /**
+     * Returns the runtime value of this component, if it is known before execution. This is the case for literals,
+     * which are converted once during validation, and for expressions folded by the ConstantFolder.
+     *
+     * @return the constant runtime value, or null if the value is only known at runtime.
+     */
+    public Object getConstant() {
+        return constant;
+    }
+
+    /**
+     * Sets the runtime value of this component, which is known before execution.
+     *
+     * @param constant the constant runtime value.
+     */
+    public void setConstant(Object constant) {
+        this.constant = constant;
+    }
+
     // ------------------------------------------ parse tree helper methods ------------------------------------------
 
     /**
@@ -14,6 +14,8 @@ import java.util.List;
 public class Program extends Component {
 
     private final List<Component> componentList = new ArrayList<>();
+    private int frameSize;
+    private boolean prepared;
 
     /**
      * This constructor initializes the wrapper for the root of the generated parse tree.
@@ -35,6 +37,42 @@ public class Program extends Component {
         return componentList;
     }
 
+    /**
+     * Returns the count of variable slots a frame of this program requires.
+     *
+     * @return the frame size.
+     */
+    public int getFrameSize() {
+        return frameSize;
+    }
+
+    /**
+     * Sets the count of variable slots a frame of this program requires. The size is evaluated once during resolution.
+     *
+     * @param frameSize the frame size.
+     */
+    public void setFrameSize(int frameSize) {
+        this.frameSize = frameSize;
+    }
+
+    /**
+     * Returns whether the program was already validated, resolved and folded, so it is ready to be executed.
+     *
+     * @return true, if the program was prepared.
+     */
+    public boolean isPrepared() {
+        return prepared;
+    }
+
+    /**
+     * Marks the program as validated, resolved and folded. Afterwards, the parse tree is not modified anymore.
+     *
+     * @param prepared whether the program was prepared.
+     */
+    public void setPrepared(boolean prepared) {
+        this.prepared = prepared;
+    }
+
     /**
      * The toString method provides a pretty-printable String
      * of this parse tree component.
@@ -3,6 +3,8 @@ package parser.parsetree;
 import exceptions.TypeMismatchException;
 
 import java.util.Arrays;
+import java.util.function.Function;
+import java.util.regex.Pattern;
 
 /**
  * this enum defines all available data types of this toy language.
@@ -14,36 +16,39 @@ public enum Type {
     /**
      * This type is the representation of string values. It does not apply completely to Java strings.
      */
-    STRING("string", "'[a-z0-9_\\,\\.\\(\\)\\;\\:\\/\\+\\-\\*\\/ \\s\\t\\f\\r\\n]*'", "''"),
+    STRING("string", "'[a-z0-9_\\,\\.\\(\\)\\;\\:\\/\\+\\-\\*\\/ \\s\\t\\f\\r\\n]*'", "''", (s) -> s.substring(1, s.length() - 1)),
     /**
      * This type is the representation of numeric values. It supports integer-like numbers as well as floating-point
      * numbers. Values may be positive or negative.
      */
-    NUMERIC("number", "-?[0-9]\\d*(\\.\\d+)?", "0"),
+    NUMERIC("number", "-?[0-9]\\d*(\\.\\d+)?", "0", Double::valueOf),
     /**
      * This type is the representation of boolean values.
      */
-    BOOLEAN("boolean", "true|false", "false"),
+    BOOLEAN("boolean", "true|false", "false", Boolean::valueOf),
     /**
      * This type is a marker for variables, whose values will be evaluated separately.
      */
-    VARIABLE("var", "[a-z_]+([0-9])*", null);
+    VARIABLE("var", "[a-z_]+([0-9])*", null, null);
 
     private final String identifier;
-    private final String pattern;
+    private final Pattern pattern;
     private final String defaultValue;
+    private final Function<String, Object> converter;
 
     /**
      * This constructor initializes the enum for data types.
      *
      * @param identifier   the string marker of the data type.
-     * @param pattern      the regex pattern to test for.
+     * @param pattern      the regex pattern to test for, which is compiled once.
      * @param defaultValue the default value for the data type.
+     * @param converter    the function to convert a literal of the data type to its runtime value.
      */
-    Type(String identifier, String pattern, String defaultValue) {
+    Type(String identifier, String pattern, String defaultValue, Function<String, Object> converter) {
         this.identifier = identifier;
-        this.pattern = pattern;
+        this.pattern = Pattern.compile(pattern);
         this.defaultValue = defaultValue;
+        this.converter = converter;
     }
 
     /**
@@ -101,6 +106,17 @@ public enum Type {
         return defaultValue;
     }
 
+    /**
+     * This method converts a literal of this data type to its runtime value. Numeric values are represented as
+     * Double, boolean values as Boolean and string values as String without the surrounding quotes.
+     *
+     * @param literal the literal as found in the code.
+     * @return the runtime value.
+     */
+    public Object toValue(Object literal) {
+        return converter.apply(literal.toString());
+    }
+
     /**
      * This method tests an input value with the regex pattern of this enum.
      *
@@ -109,7 +125,7 @@ public enum Type {
      */
     private boolean accepts(Object obj) {
         try {
-            return obj.toString().matches(pattern);
+            return pattern.matcher(obj.toString()).matches();
         } catch (RuntimeException e) {
             e.printStackTrace();
         }
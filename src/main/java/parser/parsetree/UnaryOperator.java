@@ -1,43 +1,47 @@
 package parser.parsetree;
 
 import java.util.Arrays;
-import java.util.function.Function;
+import java.util.function.DoubleUnaryOperator;
 
 /**
  * This enum holds all available operators for unary expressions.
- * As expressions can be executed, every operator will provide its own execution method.
+ * As expressions can be executed, every operator will provide its own execution methods, one per operand type.
  */
 public enum UnaryOperator {
 
     /**
      * With this operator, a subtraction is performed.
      */
-    MINUS("-", (e) -> -Double.parseDouble(e.toString())),
+    MINUS("-", (e) -> -e, null),
     /**
      * This operator will increment a numeric value by 1.
      */
-    INC("++", (e) -> Double.parseDouble(e.toString()) + 1),
+    INC("++", (e) -> e + 1, null),
     /**
      * This operator will decrement a numeric value by 1.
      */
-    DEC("--", (e) -> Double.parseDouble(e.toString()) - 1),
+    DEC("--", (e) -> e - 1, null),
     /**
      * This operator negates a boolean value.
      */
-    EXCL("!", (e) -> !Boolean.parseBoolean(e.toString()));
+    EXCL("!", null, (e) -> !e);
 
     private final String operator;
-    private final Function<Object, Object> function;
+    private final DoubleUnaryOperator arithmetic;
+    private final BooleanOperation logic;
 
     /**
-     * This constructor initializes the enum for unary operators.
+     * This constructor initializes the enum for unary operators. Values of a type which is not supported
+     * by the operator are passed as null.
      *
-     * @param operator the operator.
-     * @param function the Function to be applied to the operand.
+     * @param operator   the operator.
+     * @param arithmetic the function to be applied to a numeric operand.
+     * @param logic      the function to be applied to a boolean operand.
      */
-    UnaryOperator(String operator, Function<Object, Object> function) {
+    UnaryOperator(String operator, DoubleUnaryOperator arithmetic, BooleanOperation logic) {
         this.operator = operator;
-        this.function = function;
+        this.arithmetic = arithmetic;
+        this.logic = logic;
     }
 
     /**
@@ -64,13 +68,31 @@ public enum UnaryOperator {
     }
 
     /**
-     * This method applies the operator to an operand. It is used for the execution of code.
+     * This method applies the operator to a numeric operand. It is used for the execution of code.
      *
      * @param e the operand.
      * @return the result of the performed operation.
      */
-    public Object apply(Object e) {
-        return function.apply(e);
+    public double apply(double e) {
+        return arithmetic.applyAsDouble(e);
+    }
+
+    /**
+     * This method applies the operator to a boolean operand. It is used for the execution of code.
+     *
+     * @param e the operand.
+     * @return the result of the performed operation.
+     */
+    public boolean apply(boolean e) {
+        return logic.apply(e);
+    }
+
+    /**
+     * An operation on a primitive boolean operand.
+     */
+    @FunctionalInterface
+    private interface BooleanOperation {
+        boolean apply(boolean e);
     }
 
 }
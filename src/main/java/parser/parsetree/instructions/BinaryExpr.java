@@ -14,6 +14,8 @@ public abstract class BinaryExpr extends Component {
 
     /**
      * The constructor is used to set the location from the source file of this code fragment.
+     * Operands which are not program components yet (i.e. raw values or identifiers) are wrapped as constants,
+     * so every leaf of an expression can be resolved and annotated individually.
      *
      * @param operator the operator.
      * @param operand1 the first operand.
@@ -23,8 +25,8 @@ public abstract class BinaryExpr extends Component {
      */
     BinaryExpr(Object operator, Object operand1, Object operand2, int left, int right) {
         super(left, right);
-        this.operand1 = operand1;
-        this.operand2 = operand2;
+        this.operand1 = wrap(operand1, left, right);
+        this.operand2 = wrap(operand2, left, right);
         this.operator = BinaryOperator.getByLiteral(operator.toString());
     }
 
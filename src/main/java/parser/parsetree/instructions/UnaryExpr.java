@@ -13,6 +13,8 @@ public abstract class UnaryExpr extends Component {
 
     /**
      * The constructor is used to set the location from the source file of this code fragment.
+     * An operand which is not a program component yet (i.e. a raw value or identifier) is wrapped as constant,
+     * so every leaf of an expression can be resolved and annotated individually.
      *
      * @param operator the operator.
      * @param operand  the operand.
@@ -22,7 +24,7 @@ public abstract class UnaryExpr extends Component {
     UnaryExpr(Object operator, Object operand, int left, int right) {
         super(left, right);
         this.operator = UnaryOperator.getByLiteral(operator.toString());
-        this.operand = operand;
+        this.operand = wrap(operand, left, right);
     }
 
     /**
@@ -2,14 +2,18 @@ package parser.parsetree.instructions;
 
 import parser.parsetree.Component;
 import parser.parsetree.Keyword;
+import parser.parsetree.interfaces.Reference;
 
 /**
  * This is a wrapper class for constants. A constant may be an expression or a value of any type.
+ * If the wrapped value is a variable identifier, the wrapper serves as reference to the according declaration.
  */
-public class ValueWrapper extends Component {
+public class ValueWrapper extends Component implements Reference {
 
     private final Object obj;
     private boolean hasBrackets;
+    private int depth;
+    private int slot = -1;
 
     /**
      * This constructor will create a wrapper for one single object.
@@ -47,6 +51,57 @@ public class ValueWrapper extends Component {
         return obj;
     }
 
+    /**
+     * Returns the wrapped object as identifier, in case it refers to a variable.
+     *
+     * @return the identifier.
+     */
+    @Override
+    public String getIdentifier() {
+        return obj.toString();
+    }
+
+    /**
+     * Sets the resolved coordinate of the referenced variable.
+     *
+     * @param depth the count of frames to walk up from the current frame.
+     * @param slot  the index of the variable within the frame.
+     */
+    @Override
+    public void resolve(int depth, int slot) {
+        this.depth = depth;
+        this.slot = slot;
+    }
+
+    /**
+     * Returns the count of frames to walk up from the current frame.
+     *
+     * @return the frame depth.
+     */
+    @Override
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Returns the index of the referenced variable within its frame.
+     *
+     * @return the slot index, or -1 if this wrapper does not refer to a variable.
+     */
+    @Override
+    public int getSlot() {
+        return slot;
+    }
+
+    /**
+     * Returns true if this wrapper refers to a resolved variable.
+     *
+     * @return true if this wrapper is a resolved reference.
+     */
+    public boolean isReference() {
+        return slot >= 0;
+    }
+
     /**
      * Returns true if has surrounding brackets.
      *
@@ -24,23 +24,24 @@ public interface Declaration {
     String getIdentifier();
 
     /**
-     * Returns the value of the declared variable.
+     * Returns the index of the declared variable within its frame.
      *
-     * @return the value.
+     * @return the slot index.
      */
-    Object getValue();
+    int getSlot();
 
     /**
-     * Allows to set a new value to this variable.
+     * Sets the index of the declared variable within its frame. The slot is assigned once during resolution.
      *
-     * @param obj the value to set.
+     * @param slot the slot index.
      */
-    void setValue(Object obj);
+    void setSlot(int slot);
 
     /**
-     * Allows to reset the value of this variable to the value which was originally declared.
-     * This is especially useful for local variables (e.g. in while loops) and would allow
-     * the code to run multiple times.
+     * Returns the value of the declared variable as it was originally declared.
+     * The declaration is never modified at runtime, the current value is held by the frame of the execution.
+     *
+     * @return the initial value.
      */
-    void reset();
+    Object getValue();
 }
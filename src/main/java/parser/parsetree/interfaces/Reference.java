@@ -0,0 +1,41 @@
+package parser.parsetree.interfaces;
+
+/**
+ * This interface is designed to mark components which refer to a declared variable by its identifier.
+ * During resolution, every reference gets a coordinate assigned: the depth counts the frames to walk up from the
+ * current frame (0 for the current frame, 1 for the global frame if referenced from within a function body) and
+ * the slot is the index of the value within this frame.
+ * Like this, variables can be read and written without looking them up by their identifier at runtime.
+ */
+public interface Reference {
+
+    /**
+     * Returns the identifier of the referenced variable.
+     *
+     * @return the identifier.
+     */
+    String getIdentifier();
+
+    /**
+     * Sets the resolved coordinate of the referenced variable.
+     *
+     * @param depth the count of frames to walk up from the current frame.
+     * @param slot  the index of the variable within the frame.
+     */
+    void resolve(int depth, int slot);
+
+    /**
+     * Returns the count of frames to walk up from the current frame.
+     *
+     * @return the frame depth.
+     */
+    int getDepth();
+
+    /**
+     * Returns the index of the variable within its frame.
+     *
+     * @return the slot index, or -1 if not resolved.
+     */
+    int getSlot();
+
+}
@@ -5,17 +5,20 @@ import parser.parsetree.Component;
 import parser.parsetree.Keyword;
 import parser.parsetree.UnaryOperator;
 import parser.parsetree.instructions.UnaryExpression;
+import parser.parsetree.interfaces.Reference;
 import parser.parsetree.interfaces.Visitor;
 
 /**
  * This is a wrapper class for assignment statements.
  * Its instances will hold an assignment operator, an identifier and an assigned value.
  */
-public class AssignmentStatement extends Component {
+public class AssignmentStatement extends Component implements Reference {
 
     private final BinaryOperator op;
     private final String identifier;
     private final Object value;
+    private int depth;
+    private int slot = -1;
 
     /**
      * This constructor will instantiate a wrapper for an assignment statement.
@@ -38,10 +41,43 @@ public class AssignmentStatement extends Component {
      *
      * @return the identifier.
      */
+    @Override
     public String getIdentifier() {
         return identifier;
     }
 
+    /**
+     * Sets the resolved coordinate of the assigned variable.
+     *
+     * @param depth the count of frames to walk up from the current frame.
+     * @param slot  the index of the variable within the frame.
+     */
+    @Override
+    public void resolve(int depth, int slot) {
+        this.depth = depth;
+        this.slot = slot;
+    }
+
+    /**
+     * Returns the count of frames to walk up from the current frame.
+     *
+     * @return the frame depth.
+     */
+    @Override
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Returns the index of the assigned variable within its frame.
+     *
+     * @return the slot index, or -1 if not resolved.
+     */
+    @Override
+    public int getSlot() {
+        return slot;
+    }
+
     /**
      * Returns the binary operator of this variable assignment.
      *
@@ -18,6 +18,7 @@ public class FunctionCallStatement extends Component {
     private final String identifier;
     private List<Component> argumentList = new ArrayList<>();
     private boolean isStatement;
+    private FunctionDefStatement function;
 
     /**
      * This constructor initializes a wrapper for a function call without arguments.
@@ -99,6 +100,24 @@ public class FunctionCallStatement extends Component {
         return isStatement;
     }
 
+    /**
+     * Returns the function definition this call was bound to during validation.
+     *
+     * @return the called function definition, or null if not validated yet.
+     */
+    public FunctionDefStatement getFunction() {
+        return function;
+    }
+
+    /**
+     * Binds this function call to the matching function definition.
+     *
+     * @param function the called function definition.
+     */
+    public void setFunction(FunctionDefStatement function) {
+        this.function = function;
+    }
+
     /**
      * The toString method provides a pretty-printable String
      * of this parse tree component.
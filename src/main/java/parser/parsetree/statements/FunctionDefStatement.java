@@ -22,6 +22,8 @@ public class FunctionDefStatement extends Component {
     private final List<ParamDeclaration> paramDeclarationList = new ArrayList<>();
     private final List<Component> componentList = new ArrayList<>();
     private final Object returnStatement;
+    private int frameSize;
+    private boolean pure;
 
     /**
      * This constructor will create a wrapper for a function definition.
@@ -88,6 +90,43 @@ public class FunctionDefStatement extends Component {
         return paramDeclarationList.size();
     }
 
+    /**
+     * Returns the count of variable slots a frame of this function requires.
+     *
+     * @return the frame size.
+     */
+    public int getFrameSize() {
+        return frameSize;
+    }
+
+    /**
+     * Sets the count of variable slots a frame of this function requires. The size is evaluated once during resolution.
+     *
+     * @param frameSize the frame size.
+     */
+    public void setFrameSize(int frameSize) {
+        this.frameSize = frameSize;
+    }
+
+    /**
+     * Returns if this function is free of side effects, i.e. every call with the same arguments results in the same
+     * value without any other observable effect.
+     *
+     * @return true, if the function is pure.
+     */
+    public boolean isPure() {
+        return pure;
+    }
+
+    /**
+     * Marks this function as free of side effects. Purity is evaluated once by the effect analysis.
+     *
+     * @param pure indicates if the function is pure.
+     */
+    public void setPure(boolean pure) {
+        this.pure = pure;
+    }
+
     /**
      * Returns the parameter types as concatenated string.
      *
@@ -34,6 +34,20 @@ public class IfThenElseStatement extends IfThenStatement {
         }
     }
 
+    /**
+     * This method removes the statements of the body which can never be executed, as the condition is known
+     * before execution.
+     *
+     * @param condition the constant value of the condition.
+     */
+    @Override
+    public void prune(boolean condition) {
+        super.prune(condition);
+        if (condition) {
+            componentListElse.clear();
+        }
+    }
+
     /**
      * Returns the statements of the if-then body.
      *
@@ -43,6 +43,18 @@ public class IfThenStatement extends Component {
         return condition;
     }
 
+    /**
+     * This method removes the statements of the body which can never be executed, as the condition is known
+     * before execution.
+     *
+     * @param condition the constant value of the condition.
+     */
+    public void prune(boolean condition) {
+        if (!condition) {
+            componentListIf.clear();
+        }
+    }
+
     /**
      * Returns the statement list of the if-else body.
      *
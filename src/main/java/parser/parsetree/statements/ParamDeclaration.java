@@ -13,9 +13,9 @@ public class ParamDeclaration extends Component implements Declaration {
 
     private final Type type;
     private final String identifier;
-    private final Object initValue;
-    private Object value;
+    private final Object value;
     private ParamDeclaration next;
+    private int slot;
 
     /**
      * This constructor will create a wrapper for a parameter declaration.
@@ -31,7 +31,6 @@ public class ParamDeclaration extends Component implements Declaration {
         this.type = Type.getByLiteral(type);
         this.identifier = identifier;
         value = Type.getByLiteral(type).getDefaultValue();
-        initValue = value;
     }
 
     /**
@@ -69,39 +68,42 @@ public class ParamDeclaration extends Component implements Declaration {
     }
 
     /**
-     * Returns the value of this parameter.
+     * Returns the index of this parameter within its frame.
      *
-     * @return the value.
+     * @return the slot index.
      */
     @Override
-    public Object getValue() {
-        return value;
+    public int getSlot() {
+        return slot;
     }
 
     /**
-     * Allows to set a new value to this parameter.
+     * Sets the index of this parameter within its frame.
      *
-     * @param obj the value to set.
+     * @param slot the slot index.
      */
     @Override
-    public void setValue(Object obj) {
-        this.value = obj;
+    public void setSlot(int slot) {
+        this.slot = slot;
     }
 
     /**
-     * Returns the instance of the following parameter declaration.
+     * Returns the default value of this parameter. The passed arguments are stored in the frame of the call.
      *
-     * @return the following parameter.
+     * @return the value.
      */
-    public ParamDeclaration getNext() {
-        return next;
+    @Override
+    public Object getValue() {
+        return value;
     }
 
     /**
-     * Resets the value of this parameter to the initially initialized default value.
+     * Returns the instance of the following parameter declaration.
+     *
+     * @return the following parameter.
      */
-    public void reset() {
-        value = initValue;
+    public ParamDeclaration getNext() {
+        return next;
     }
 
     /**
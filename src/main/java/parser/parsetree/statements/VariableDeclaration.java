@@ -4,26 +4,28 @@ import parser.parsetree.BinaryOperator;
 import parser.parsetree.Component;
 import parser.parsetree.Keyword;
 import parser.parsetree.Type;
+import parser.parsetree.instructions.ValueWrapper;
 import parser.parsetree.interfaces.Declaration;
 import parser.parsetree.interfaces.Visitor;
 
 /**
  * This is a wrapper class for variable declarations.
- * It holds the data type of the variable, the identifier and a value.
- * During initialization, the initialized value will be stored, which will allow to run parts of the code -
- * or the whole code - multiple times.
+ * It holds the data type of the variable, the identifier and the initially assigned value.
+ * Runtime values are never stored here, but in the frames of an execution. So the declaration is not modified while
+ * a program runs, which allows to run the code multiple times - even concurrently.
  */
 public class VariableDeclaration extends Component implements Declaration {
 
     private final Type type;
     private final String identifier;
-    private Object value;
-    private Object initValue;
-    private boolean initializedWithValue;
+    private final Object value;
+    private final boolean initializedWithValue;
+    private int slot;
 
     /**
      * This constructor will create a wrapper for a variable declaration without initial value.
-     * The value of the declared variable will be initialized to the default value of the according data type.
+     * The value of the declared variable will be initialized to the default value of the according data type,
+     * which is wrapped as constant like any other value.
      *
      * @param type       the data type.
      * @param identifier the identifier.
@@ -31,11 +33,8 @@ public class VariableDeclaration extends Component implements Declaration {
      * @param right      the end index.
      */
     public VariableDeclaration(Object type, String identifier, int left, int right) {
-        super(left, right);
-        this.type = Type.getByLiteral(type);
-        this.identifier = identifier;
-        this.value = Type.getByLiteral(type).getDefaultValue();
-        this.initValue = value;
+        this(type, identifier, new ValueWrapper(Type.getByLiteral(type).getDefaultValue(), left, right), false,
+                left, right);
     }
 
     /**
@@ -48,10 +47,26 @@ public class VariableDeclaration extends Component implements Declaration {
      * @param right      the end index.
      */
     public VariableDeclaration(Object type, String identifier, Object value, int left, int right) {
-        this(type, identifier, left, right);
+        this(type, identifier, value, true, left, right);
+    }
+
+    /**
+     * This constructor will create a wrapper for a variable declaration with the given initial value.
+     *
+     * @param type                 the data type.
+     * @param identifier           the identifier.
+     * @param value                the value to be assigned initially.
+     * @param initializedWithValue whether the value was declared explicitly.
+     * @param left                 the start index.
+     * @param right                the end index.
+     */
+    private VariableDeclaration(Object type, String identifier, Object value, boolean initializedWithValue,
+                                int left, int right) {
+        super(left, right);
+        this.type = Type.getByLiteral(type);
+        this.identifier = identifier;
         this.value = value;
-        this.initValue = value;
-        this.initializedWithValue = true;
+        this.initializedWithValue = initializedWithValue;
     }
 
     /**
@@ -75,30 +90,33 @@ public class VariableDeclaration extends Component implements Declaration {
     }
 
     /**
-     * Returns the value of this variable.
+     * Returns the index of this variable within its frame.
      *
-     * @return the value.
+     * @return the slot index.
      */
     @Override
-    public Object getValue() {
-        return value;
+    public int getSlot() {
+        return slot;
     }
 
     /**
-     * Allows to set a new value to this variable.
+     * Sets the index of this variable within its frame.
      *
-     * @param obj the value to set.
+     * @param slot the slot index.
      */
     @Override
-    public void setValue(Object obj) {
-        this.value = obj;
+    public void setSlot(int slot) {
+        this.slot = slot;
     }
 
     /**
-     * Resets the value of this variable to the initially initialized default value.
+     * Returns the initial value of this variable.
+     *
+     * @return the value.
      */
-    public void reset() {
-        value = initValue;
+    @Override
+    public Object getValue() {
+        return value;
     }
 
     /**
@@ -0,0 +1,268 @@
+package specializer;
+
+import execution.ConcatString;
+import execution.Frame;
+import execution.NumberFormatter;
+import parser.parsetree.BinaryOperator;
+
+import java.util.Arrays;
+
+/**
+ * This is the superclass of all nodes which represent a binary arithmetic expression.
+ * A new expression is represented by an uninitialized node. At its first execution, it observes the runtime values
+ * of its operands and rewrites itself to a node which is specialized for the operator and the operand types, i.e.
+ * a numeric operation on primitive values or a string concatenation.
+ */
+public abstract class ArithmeticNode extends ExpressionNode {
+
+    protected ExpressionNode left;
+    protected ExpressionNode right;
+    protected final int[] location;
+
+    /**
+     * This constructor initializes the node with its operands.
+     *
+     * @param left     the first operand.
+     * @param right    the second operand.
+     * @param location the start and end index of the expression.
+     */
+    protected ArithmeticNode(ExpressionNode left, ExpressionNode right, int[] location) {
+        this.left = adopt(left);
+        this.right = adopt(right);
+        this.location = location;
+    }
+
+    /**
+     * Returns a new, not yet specialized node for a binary arithmetic expression.
+     *
+     * @param operator the arithmetic operator.
+     * @param left     the first operand.
+     * @param right    the second operand.
+     * @param location the start and end index of the expression.
+     * @return the uninitialized node.
+     */
+    public static ArithmeticNode create(BinaryOperator operator, ExpressionNode left, ExpressionNode right, int[] location) {
+        return new Uninitialized(operator, left, right, location);
+    }
+
+    /**
+     * This method applies the operation to already evaluated operands.
+     *
+     * @param a the value of the first operand.
+     * @param b the value of the second operand.
+     * @return the result of the operation.
+     */
+    protected abstract Object evaluate(Object a, Object b);
+
+    @Override
+    protected void replaceChild(Node oldChild, Node newChild) {
+        if (left == oldChild) {
+            left = (ExpressionNode) newChild;
+        } else if (right == oldChild) {
+            right = (ExpressionNode) newChild;
+        }
+    }
+
+    /**
+     * This method validates the result of the arithmetic operation. In case of a runtime exception, the location
+     * of the expression is added.
+     *
+     * @param value the result of the arithmetic operation.
+     * @return the validated result.
+     */
+    protected double check(double value) {
+        try {
+            return checkNumber(value);
+        } catch (ArithmeticException e) {
+            throw new ArithmeticException("Arithmetic exception at location " + Arrays.toString(location) + " occurred!\n" + e.getMessage());
+        }
+    }
+
+    /**
+     * This node is not specialized yet. It rewrites itself at its first execution.
+     */
+    static final class Uninitialized extends ArithmeticNode {
+
+        private final BinaryOperator operator;
+
+        Uninitialized(BinaryOperator operator, ExpressionNode left, ExpressionNode right, int[] location) {
+            super(left, right, location);
+            this.operator = operator;
+        }
+
+        @Override
+        public Object execute(Frame frame) {
+            Object a = left.execute(frame);
+            Object b = right.execute(frame);
+            return replace(specialize(a, b)).evaluate(a, b);
+        }
+
+        @Override
+        protected Object evaluate(Object a, Object b) {
+            throw new IllegalStateException("Uninitialized node cannot evaluate values!");
+        }
+
+        /**
+         * Returns the specialized node for the observed operand values. The new node adopts the operands.
+         *
+         * @param a the value of the first operand.
+         * @param b the value of the second operand.
+         * @return the specialized node.
+         */
+        private ArithmeticNode specialize(Object a, Object b) {
+            if (!(a instanceof Double) || !(b instanceof Double)) {
+                return new Concat(left, right, location);
+            }
+            switch (operator) {
+                case PLUS:
+                    return new Add(left, right, location);
+                case MINUS:
+                    return new Subtract(left, right, location);
+                case MUL:
+                    return new Multiply(left, right, location);
+                case DIV:
+                    return new Divide(left, right, location);
+                case MOD:
+                    return new Modulo(left, right, location);
+                default:
+                    throw new IllegalStateException("Operator <" + operator.getLiteral() + "> is not arithmetic!");
+            }
+        }
+    }
+
+    /**
+     * This is the superclass of the numeric operations, which pass primitive values only.
+     */
+    abstract static class Numeric extends ArithmeticNode {
+
+        Numeric(ExpressionNode left, ExpressionNode right, int[] location) {
+            super(left, right, location);
+        }
+
+        @Override
+        public Object execute(Frame frame) {
+            return executeNumber(frame);
+        }
+
+        @Override
+        protected Object evaluate(Object a, Object b) {
+            return check(compute((Double) a, (Double) b));
+        }
+
+        /**
+         * This method applies the operation to primitive values.
+         *
+         * @param a the first number.
+         * @param b the second number.
+         * @return the unchecked result.
+         */
+        abstract double compute(double a, double b);
+    }
+
+    static final class Add extends Numeric {
+
+        Add(ExpressionNode left, ExpressionNode right, int[] location) {
+            super(left, right, location);
+        }
+
+        @Override
+        public double executeNumber(Frame frame) {
+            return check(compute(left.executeNumber(frame), right.executeNumber(frame)));
+        }
+
+        @Override
+        double compute(double a, double b) {
+            return a + b;
+        }
+    }
+
+    static final class Subtract extends Numeric {
+
+        Subtract(ExpressionNode left, ExpressionNode right, int[] location) {
+            super(left, right, location);
+        }
+
+        @Override
+        public double executeNumber(Frame frame) {
+            return check(compute(left.executeNumber(frame), right.executeNumber(frame)));
+        }
+
+        @Override
+        double compute(double a, double b) {
+            return a - b;
+        }
+    }
+
+    static final class Multiply extends Numeric {
+
+        Multiply(ExpressionNode left, ExpressionNode right, int[] location) {
+            super(left, right, location);
+        }
+
+        @Override
+        public double executeNumber(Frame frame) {
+            return check(compute(left.executeNumber(frame), right.executeNumber(frame)));
+        }
+
+        @Override
+        double compute(double a, double b) {
+            return a * b;
+        }
+    }
+
+    static final class Divide extends Numeric {
+
+        Divide(ExpressionNode left, ExpressionNode right, int[] location) {
+            super(left, right, location);
+        }
+
+        @Override
+        public double executeNumber(Frame frame) {
+            return check(compute(left.executeNumber(frame), right.executeNumber(frame)));
+        }
+
+        @Override
+        double compute(double a, double b) {
+            return a / b;
+        }
+    }
+
+    static final class Modulo extends Numeric {
+
+        Modulo(ExpressionNode left, ExpressionNode right, int[] location) {
+            super(left, right, location);
+        }
+
+        @Override
+        public double executeNumber(Frame frame) {
+            return check(compute(left.executeNumber(frame), right.executeNumber(frame)));
+        }
+
+        @Override
+        double compute(double a, double b) {
+            return a % b;
+        }
+    }
+
+    /**
+     * This node concatenates the text representations of its operands.
+     */
+    static final class Concat extends ArithmeticNode {
+
+        Concat(ExpressionNode left, ExpressionNode right, int[] location) {
+            super(left, right, location);
+        }
+
+        @Override
+        public Object execute(Frame frame) {
+            return evaluate(left.execute(frame), right.execute(frame));
+        }
+
+        @Override
+        protected Object evaluate(Object a, Object b) {
+            CharSequence left = a instanceof ConcatString ? (ConcatString) a : NumberFormatter.toText(a);
+            return b instanceof Double ? ConcatString.concat(left, (double) (Double) b) : ConcatString.concat(left, b.toString());
+        }
+    }
+
+}
@@ -0,0 +1,51 @@
+package specializer;
+
+import execution.Frame;
+
+import java.util.Arrays;
+
+/**
+ * This node executes a list of statements. If the execution results in a StackOverflowError, the location of the
+ * failing statement is added to the error (if not already done by a nested statement).
+ */
+public class BlockNode extends StatementNode {
+
+    private final StatementNode[] statements;
+
+    /**
+     * This constructor initializes the block with its statements.
+     *
+     * @param statements the statements to execute.
+     */
+    public BlockNode(StatementNode[] statements) {
+        super(null);
+        this.statements = statements;
+        for (StatementNode statement : statements) {
+            adopt(statement);
+        }
+    }
+
+    @Override
+    public void execute(Frame frame) {
+        for (StatementNode statement : statements) {
+            try {
+                statement.execute(frame);
+            } catch (StackOverflowError e) {
+                if (e.getMessage() != null) {
+                    throw e;
+                }
+                throw new StackOverflowError("StackoverflowError at location " + Arrays.toString(statement.getLocation()) + " occurred!");
+            }
+        }
+    }
+
+    @Override
+    protected void replaceChild(Node oldChild, Node newChild) {
+        for (int i = 0; i < statements.length; i++) {
+            if (statements[i] == oldChild) {
+                statements[i] = (StatementNode) newChild;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,18 @@
+package specializer;
+
+/**
+ * This exception is thrown by a break statement and caught by the enclosing while loop.
+ * As it is used for control flow only, a single instance without stack trace is shared.
+ */
+class BreakException extends RuntimeException {
+
+    static final BreakException INSTANCE = new BreakException();
+
+    /**
+     * This constructor initializes the exception without message, cause and stack trace.
+     */
+    private BreakException() {
+        super(null, null, false, false);
+    }
+
+}
@@ -0,0 +1,24 @@
+package specializer;
+
+import execution.Frame;
+
+/**
+ * This node leaves the enclosing while loop.
+ */
+public class BreakNode extends StatementNode {
+
+    /**
+     * This constructor initializes the statement with its location.
+     *
+     * @param location the start and end index of the statement.
+     */
+    public BreakNode(int[] location) {
+        super(location);
+    }
+
+    @Override
+    public void execute(Frame frame) {
+        throw BreakException.INSTANCE;
+    }
+
+}
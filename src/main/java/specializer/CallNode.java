@@ -0,0 +1,100 @@
+package specializer;
+
+import execution.Budget;
+import execution.Frame;
+import parser.parsetree.statements.FunctionDefStatement;
+
+/**
+ * This is the superclass of all nodes which represent a function call.
+ * A new call is represented by an uninitialized node, which holds the function definition bound during validation.
+ * At its first execution, it requests the executable function from the NodeBuilder and rewrites itself to a direct
+ * call of this function. Like this, function bodies are built lazily and never-called functions are not built at all.
+ * Every call is charged to the budget at the location of the call.
+ */
+public abstract class CallNode extends ExpressionNode {
+
+    protected final ExpressionNode[] arguments;
+    protected final int[] location;
+
+    /**
+     * This constructor initializes the node with its arguments.
+     *
+     * @param arguments the arguments of the call.
+     * @param location  the start and end index of the call.
+     */
+    protected CallNode(ExpressionNode[] arguments, int[] location) {
+        this.arguments = arguments;
+        this.location = location;
+        for (ExpressionNode argument : arguments) {
+            adopt(argument);
+        }
+    }
+
+    /**
+     * Returns a new, not yet linked node for a function call.
+     *
+     * @param function  the called function definition.
+     * @param arguments the arguments of the call.
+     * @param location  the start and end index of the call.
+     * @param builder   the builder which provides the executable function.
+     * @return the uninitialized node.
+     */
+    public static CallNode create(FunctionDefStatement function, ExpressionNode[] arguments, int[] location, NodeBuilder builder) {
+        return new Uninitialized(function, arguments, location, builder);
+    }
+
+    @Override
+    protected void replaceChild(Node oldChild, Node newChild) {
+        for (int i = 0; i < arguments.length; i++) {
+            if (arguments[i] == oldChild) {
+                arguments[i] = (ExpressionNode) newChild;
+            }
+        }
+    }
+
+    /**
+     * This node is not linked to the executable function yet. It rewrites itself at its first execution.
+     */
+    static final class Uninitialized extends CallNode {
+
+        private final FunctionDefStatement function;
+        private final NodeBuilder builder;
+
+        Uninitialized(FunctionDefStatement function, ExpressionNode[] arguments, int[] location, NodeBuilder builder) {
+            super(arguments, location);
+            this.function = function;
+            this.builder = builder;
+        }
+
+        @Override
+        public Object execute(Frame frame) {
+            return replace(new Direct(builder.getTarget(function), arguments, location, builder.getBudget())).execute(frame);
+        }
+    }
+
+    /**
+     * This node calls an already built function.
+     */
+    static final class Direct extends CallNode {
+
+        private final FunctionTarget target;
+        private final Budget budget;
+
+        Direct(FunctionTarget target, ExpressionNode[] arguments, int[] location, Budget budget) {
+            super(arguments, location);
+            this.target = target;
+            this.budget = budget;
+        }
+
+        @Override
+        public Object execute(Frame frame) {
+            budget.step(location);
+            Object[] values = new Object[arguments.length];
+            for (int i = 0; i < arguments.length; i++) {
+                values[i] = arguments[i].execute(frame);
+            }
+            return target.call(frame.getParent() == null ? frame : frame.getParent(), values);
+        }
+    }
+
+}
@@ -0,0 +1,133 @@
+package specializer;
+
+import execution.ConcatString;
+import execution.Frame;
+import parser.parsetree.BinaryOperator;
+
+/**
+ * This is the superclass of all nodes which represent a compound assignment (e.g. +=).
+ * A new assignment is represented by an uninitialized node. At its first execution, it observes the current value
+ * of the variable and rewrites itself either to an arithmetic assignment or to a string append.
+ * Like within the Interpreter, the assigned value is evaluated before the current value is read.
+ */
+public abstract class CompoundAssignNode extends StatementNode {
+
+    protected final BinaryOperator operator;
+    protected final int depth;
+    protected final int slot;
+    protected ExpressionNode value;
+
+    /**
+     * This constructor initializes the statement.
+     *
+     * @param operator the assignment operator.
+     * @param depth    the count of frames to walk up from the current frame.
+     * @param slot     the index of the variable within the target frame.
+     * @param value    the value to combine with the variable.
+     * @param location the start and end index of the statement.
+     */
+    protected CompoundAssignNode(BinaryOperator operator, int depth, int slot, ExpressionNode value, int[] location) {
+        super(location);
+        this.operator = operator;
+        this.depth = depth;
+        this.slot = slot;
+        this.value = adopt(value);
+    }
+
+    /**
+     * Returns a new, not yet specialized node for a compound assignment.
+     *
+     * @param operator the assignment operator.
+     * @param depth    the count of frames to walk up from the current frame.
+     * @param slot     the index of the variable within the target frame.
+     * @param value    the value to combine with the variable.
+     * @param location the start and end index of the statement.
+     * @return the uninitialized node.
+     */
+    public static CompoundAssignNode create(BinaryOperator operator, int depth, int slot, ExpressionNode value, int[] location) {
+        return new Uninitialized(operator, depth, slot, value, location);
+    }
+
+    /**
+     * This method combines the current value of the variable with an already evaluated value and stores the result.
+     *
+     * @param frame    the frame of the current execution context.
+     * @param assigned the evaluated value.
+     */
+    protected abstract void assign(Frame frame, Object assigned);
+
+    @Override
+    protected void replaceChild(Node oldChild, Node newChild) {
+        if (value == oldChild) {
+            value = (ExpressionNode) newChild;
+        }
+    }
+
+    /**
+     * This node is not specialized yet. It rewrites itself at its first execution.
+     */
+    static final class Uninitialized extends CompoundAssignNode {
+
+        Uninitialized(BinaryOperator operator, int depth, int slot, ExpressionNode value, int[] location) {
+            super(operator, depth, slot, value, location);
+        }
+
+        @Override
+        public void execute(Frame frame) {
+            Object assigned = value.execute(frame);
+            CompoundAssignNode specialized = frame.get(depth, slot) instanceof CharSequence
+                    ? new Append(operator, depth, slot, value, getLocation())
+                    : new Arithmetic(operator, depth, slot, value, getLocation());
+            replace(specialized).assign(frame, assigned);
+        }
+
+        @Override
+        protected void assign(Frame frame, Object assigned) {
+            throw new IllegalStateException("Uninitialized node cannot assign values!");
+        }
+    }
+
+    /**
+     * This node combines a numeric variable arithmetically with a number.
+     */
+    static final class Arithmetic extends CompoundAssignNode {
+
+        Arithmetic(BinaryOperator operator, int depth, int slot, ExpressionNode value, int[] location) {
+            super(operator, depth, slot, value, location);
+        }
+
+        @Override
+        public void execute(Frame frame) {
+            double assigned = value.executeNumber(frame);
+            frame.set(depth, slot, checkNumber(operator.apply((Double) frame.get(depth, slot), assigned)));
+        }
+
+        @Override
+        protected void assign(Frame frame, Object assigned) {
+            frame.set(depth, slot, checkNumber(operator.apply((Double) frame.get(depth, slot), (Double) assigned)));
+        }
+    }
+
+    /**
+     * This node appends the text representation of a value to a string variable.
+     */
+    static final class Append extends CompoundAssignNode {
+
+        Append(BinaryOperator operator, int depth, int slot, ExpressionNode value, int[] location) {
+            super(operator, depth, slot, value, location);
+        }
+
+        @Override
+        public void execute(Frame frame) {
+            assign(frame, value.execute(frame));
+        }
+
+        @Override
+        protected void assign(Frame frame, Object assigned) {
+            CharSequence current = (CharSequence) frame.get(depth, slot);
+            frame.set(depth, slot, assigned instanceof Double ? ConcatString.concat(current, (double) (Double) assigned)
+                    : ConcatString.concat(current, assigned.toString()));
+        }
+    }
+
+}
@@ -0,0 +1,373 @@
+package specializer;
+
+import execution.Frame;
+import parser.parsetree.BinaryOperator;
+
+/**
+ * This is the superclass of all nodes which represent a binary conditional expression.
+ * A new condition is represented by an uninitialized node. At its first execution, it observes the runtime value
+ * of its first operand and rewrites itself to a node which is specialized for the operator and the operand type,
+ * i.e. a comparison of primitive numbers, a logical operation on primitive booleans or a string comparison.
+ * Like within the Interpreter, both operands are always evaluated.
+ */
+public abstract class ConditionNode extends ExpressionNode {
+
+    protected ExpressionNode left;
+    protected ExpressionNode right;
+
+    /**
+     * This constructor initializes the node with its operands.
+     *
+     * @param left  the first operand.
+     * @param right the second operand.
+     */
+    protected ConditionNode(ExpressionNode left, ExpressionNode right) {
+        this.left = adopt(left);
+        this.right = adopt(right);
+    }
+
+    /**
+     * Returns a new, not yet specialized node for a binary conditional expression.
+     *
+     * @param operator the conditional operator.
+     * @param left     the first operand.
+     * @param right    the second operand.
+     * @return the uninitialized node.
+     */
+    public static ConditionNode create(BinaryOperator operator, ExpressionNode left, ExpressionNode right) {
+        return new Uninitialized(operator, left, right);
+    }
+
+    /**
+     * This method applies the condition to already evaluated operands.
+     *
+     * @param a the value of the first operand.
+     * @param b the value of the second operand.
+     * @return the result of the condition.
+     */
+    protected abstract boolean evaluate(Object a, Object b);
+
+    @Override
+    public Object execute(Frame frame) {
+        return executeBoolean(frame);
+    }
+
+    @Override
+    protected void replaceChild(Node oldChild, Node newChild) {
+        if (left == oldChild) {
+            left = (ExpressionNode) newChild;
+        } else if (right == oldChild) {
+            right = (ExpressionNode) newChild;
+        }
+    }
+
+    /**
+     * This node is not specialized yet. It rewrites itself at its first execution.
+     */
+    static final class Uninitialized extends ConditionNode {
+
+        private final BinaryOperator operator;
+
+        Uninitialized(BinaryOperator operator, ExpressionNode left, ExpressionNode right) {
+            super(left, right);
+            this.operator = operator;
+        }
+
+        @Override
+        public boolean executeBoolean(Frame frame) {
+            Object a = left.execute(frame);
+            Object b = right.execute(frame);
+            return replace(specialize(a)).evaluate(a, b);
+        }
+
+        @Override
+        protected boolean evaluate(Object a, Object b) {
+            throw new IllegalStateException("Uninitialized node cannot evaluate values!");
+        }
+
+        /**
+         * Returns the specialized node for the observed operand type. The new node adopts the operands.
+         *
+         * @param a the value of the first operand.
+         * @return the specialized node.
+         */
+        private ConditionNode specialize(Object a) {
+            if (a instanceof Double) {
+                switch (operator) {
+                    case LESS:
+                        return new Less(left, right);
+                    case LEQ:
+                        return new LessEqual(left, right);
+                    case GREATER:
+                        return new Greater(left, right);
+                    case GREQ:
+                        return new GreaterEqual(left, right);
+                    case EQ:
+                        return new NumericEqual(left, right);
+                    case NEQ:
+                        return new NumericNotEqual(left, right);
+                    default:
+                        break;
+                }
+            } else if (a instanceof Boolean) {
+                switch (operator) {
+                    case AND:
+                        return new And(left, right);
+                    case OR:
+                        return new Or(left, right);
+                    case EQ:
+                        return new BooleanEqual(left, right);
+                    case NEQ:
+                        return new BooleanNotEqual(left, right);
+                    default:
+                        break;
+                }
+            } else if (operator == BinaryOperator.EQ || operator == BinaryOperator.NEQ) {
+                return new StringEqual(left, right, operator == BinaryOperator.NEQ);
+            }
+            throw new IllegalStateException("Operator <" + operator.getLiteral() + "> is not applicable to <" + a + ">!");
+        }
+    }
+
+    /**
+     * This is the superclass of the numeric comparisons, which pass primitive values only.
+     */
+    abstract static class Numeric extends ConditionNode {
+
+        Numeric(ExpressionNode left, ExpressionNode right) {
+            super(left, right);
+        }
+
+        @Override
+        protected boolean evaluate(Object a, Object b) {
+            return compare((Double) a, (Double) b);
+        }
+
+        /**
+         * This method compares primitive values.
+         *
+         * @param a the first number.
+         * @param b the second number.
+         * @return the result of the comparison.
+         */
+        abstract boolean compare(double a, double b);
+    }
+
+    static final class Less extends Numeric {
+
+        Less(ExpressionNode left, ExpressionNode right) {
+            super(left, right);
+        }
+
+        @Override
+        public boolean executeBoolean(Frame frame) {
+            return compare(left.executeNumber(frame), right.executeNumber(frame));
+        }
+
+        @Override
+        boolean compare(double a, double b) {
+            return a < b;
+        }
+    }
+
+    static final class LessEqual extends Numeric {
+
+        LessEqual(ExpressionNode left, ExpressionNode right) {
+            super(left, right);
+        }
+
+        @Override
+        public boolean executeBoolean(Frame frame) {
+            return compare(left.executeNumber(frame), right.executeNumber(frame));
+        }
+
+        @Override
+        boolean compare(double a, double b) {
+            return a <= b;
+        }
+    }
+
+    static final class Greater extends Numeric {
+
+        Greater(ExpressionNode left, ExpressionNode right) {
+            super(left, right);
+        }
+
+        @Override
+        public boolean executeBoolean(Frame frame) {
+            return compare(left.executeNumber(frame), right.executeNumber(frame));
+        }
+
+        @Override
+        boolean compare(double a, double b) {
+            return a > b;
+        }
+    }
+
+    static final class GreaterEqual extends Numeric {
+
+        GreaterEqual(ExpressionNode left, ExpressionNode right) {
+            super(left, right);
+        }
+
+        @Override
+        public boolean executeBoolean(Frame frame) {
+            return compare(left.executeNumber(frame), right.executeNumber(frame));
+        }
+
+        @Override
+        boolean compare(double a, double b) {
+            return a >= b;
+        }
+    }
+
+    static final class NumericEqual extends Numeric {
+
+        NumericEqual(ExpressionNode left, ExpressionNode right) {
+            super(left, right);
+        }
+
+        @Override
+        public boolean executeBoolean(Frame frame) {
+            return compare(left.executeNumber(frame), right.executeNumber(frame));
+        }
+
+        @Override
+        boolean compare(double a, double b) {
+            return a == b;
+        }
+    }
+
+    static final class NumericNotEqual extends Numeric {
+
+        NumericNotEqual(ExpressionNode left, ExpressionNode right) {
+            super(left, right);
+        }
+
+        @Override
+        public boolean executeBoolean(Frame frame) {
+            return compare(left.executeNumber(frame), right.executeNumber(frame));
+        }
+
+        @Override
+        boolean compare(double a, double b) {
+            return a != b;
+        }
+    }
+
+    /**
+     * This is the superclass of the logical operations, which pass primitive values only.
+     */
+    abstract static class Logical extends ConditionNode {
+
+        Logical(ExpressionNode left, ExpressionNode right) {
+            super(left, right);
+        }
+
+        @Override
+        protected boolean evaluate(Object a, Object b) {
+            return combine((Boolean) a, (Boolean) b);
+        }
+
+        /**
+         * This method combines primitive values.
+         *
+         * @param a the first boolean value.
+         * @param b the second boolean value.
+         * @return the result of the operation.
+         */
+        abstract boolean combine(boolean a, boolean b);
+    }
+
+    static final class And extends Logical {
+
+        And(ExpressionNode left, ExpressionNode right) {
+            super(left, right);
+        }
+
+        @Override
+        public boolean executeBoolean(Frame frame) {
+            return combine(left.executeBoolean(frame), right.executeBoolean(frame));
+        }
+
+        @Override
+        boolean combine(boolean a, boolean b) {
+            return a & b;
+        }
+    }
+
+    static final class Or extends Logical {
+
+        Or(ExpressionNode left, ExpressionNode right) {
+            super(left, right);
+        }
+
+        @Override
+        public boolean executeBoolean(Frame frame) {
+            return combine(left.executeBoolean(frame), right.executeBoolean(frame));
+        }
+
+        @Override
+        boolean combine(boolean a, boolean b) {
+            return a | b;
+        }
+    }
+
+    static final class BooleanEqual extends Logical {
+
+        BooleanEqual(ExpressionNode left, ExpressionNode right) {
+            super(left, right);
+        }
+
+        @Override
+        public boolean executeBoolean(Frame frame) {
+            return combine(left.executeBoolean(frame), right.executeBoolean(frame));
+        }
+
+        @Override
+        boolean combine(boolean a, boolean b) {
+            return a == b;
+        }
+    }
+
+    static final class BooleanNotEqual extends Logical {
+
+        BooleanNotEqual(ExpressionNode left, ExpressionNode right) {
+            super(left, right);
+        }
+
+        @Override
+        public boolean executeBoolean(Frame frame) {
+            return combine(left.executeBoolean(frame), right.executeBoolean(frame));
+        }
+
+        @Override
+        boolean combine(boolean a, boolean b) {
+            return a != b;
+        }
+    }
+
+    /**
+     * This node compares the content of two strings.
+     */
+    static final class StringEqual extends ConditionNode {
+
+        private final boolean negated;
+
+        StringEqual(ExpressionNode left, ExpressionNode right, boolean negated) {
+            super(left, right);
+            this.negated = negated;
+        }
+
+        @Override
+        public boolean executeBoolean(Frame frame) {
+            return evaluate(left.execute(frame), right.execute(frame));
+        }
+
+        @Override
+        protected boolean evaluate(Object a, Object b) {
+            return a.toString().equals(b.toString()) != negated;
+        }
+    }
+
+}
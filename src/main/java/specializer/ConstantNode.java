@@ -0,0 +1,41 @@
+package specializer;
+
+import execution.Frame;
+
+/**
+ * This node results in a literal value, which was converted to its runtime value during validation.
+ * Numeric and boolean literals are additionally held as primitive values.
+ */
+public class ConstantNode extends ExpressionNode {
+
+    private final Object value;
+    private final double number;
+    private final boolean bool;
+
+    /**
+     * This constructor initializes the node with the runtime value of a literal.
+     *
+     * @param value the runtime value.
+     */
+    public ConstantNode(Object value) {
+        this.value = value;
+        this.number = value instanceof Double ? (Double) value : 0;
+        this.bool = value instanceof Boolean && (Boolean) value;
+    }
+
+    @Override
+    public Object execute(Frame frame) {
+        return value;
+    }
+
+    @Override
+    public double executeNumber(Frame frame) {
+        return number;
+    }
+
+    @Override
+    public boolean executeBoolean(Frame frame) {
+        return bool;
+    }
+
+}
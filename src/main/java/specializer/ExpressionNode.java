@@ -0,0 +1,40 @@
+package specializer;
+
+import execution.Frame;
+
+/**
+ * This is the superclass of all nodes which result in a value.
+ * Next to the generic execute method, there are execution methods for primitive values. Specialized nodes override
+ * them, so numeric and boolean values can be passed between specialized nodes without boxing.
+ */
+public abstract class ExpressionNode extends Node {
+
+    /**
+     * This method executes the node.
+     *
+     * @param frame the frame of the current execution context.
+     * @return the resulting value.
+     */
+    public abstract Object execute(Frame frame);
+
+    /**
+     * This method executes the node, which is expected to result in a number.
+     *
+     * @param frame the frame of the current execution context.
+     * @return the resulting number.
+     */
+    public double executeNumber(Frame frame) {
+        return (Double) execute(frame);
+    }
+
+    /**
+     * This method executes the node, which is expected to result in a boolean value.
+     *
+     * @param frame the frame of the current execution context.
+     * @return the resulting boolean value.
+     */
+    public boolean executeBoolean(Frame frame) {
+        return (Boolean) execute(frame);
+    }
+
+}
@@ -0,0 +1,35 @@
+package specializer;
+
+import execution.Frame;
+
+/**
+ * This node evaluates an expression as independent statement (i.e. a function call) and discards its value.
+ */
+public class ExpressionStatementNode extends StatementNode {
+
+    private ExpressionNode expression;
+
+    /**
+     * This constructor initializes the statement with its expression.
+     *
+     * @param expression the expression to evaluate.
+     * @param location   the start and end index of the statement.
+     */
+    public ExpressionStatementNode(ExpressionNode expression, int[] location) {
+        super(location);
+        this.expression = adopt(expression);
+    }
+
+    @Override
+    public void execute(Frame frame) {
+        expression.execute(frame);
+    }
+
+    @Override
+    protected void replaceChild(Node oldChild, Node newChild) {
+        if (expression == oldChild) {
+            expression = (ExpressionNode) newChild;
+        }
+    }
+
+}
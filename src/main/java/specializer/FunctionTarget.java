@@ -0,0 +1,54 @@
+package specializer;
+
+import execution.Frame;
+
+/**
+ * This node is the executable root of a function definition. It is built once per function, when the function is
+ * called for the first time, and is shared by all call nodes of the function.
+ */
+public class FunctionTarget extends Node {
+
+    private final int frameSize;
+    private final int[] paramSlots;
+    private final BlockNode body;
+    private ExpressionNode result;
+
+    /**
+     * This constructor initializes the function with its body and return value.
+     *
+     * @param frameSize  the count of slots of a function frame.
+     * @param paramSlots the slots of the parameters in declaration order.
+     * @param body       the statements of the function.
+     * @param result     the return value of the function.
+     */
+    public FunctionTarget(int frameSize, int[] paramSlots, BlockNode body, ExpressionNode result) {
+        this.frameSize = frameSize;
+        this.paramSlots = paramSlots;
+        this.body = adopt(body);
+        this.result = adopt(result);
+    }
+
+    /**
+     * This method executes the function within a new frame, which receives the arguments in its parameter slots.
+     *
+     * @param globalFrame the global frame.
+     * @param arguments   the already evaluated arguments.
+     * @return the return value of the function.
+     */
+    public Object call(Frame globalFrame, Object[] arguments) {
+        Frame frame = new Frame(frameSize, globalFrame);
+        for (int i = 0; i < paramSlots.length; i++) {
+            frame.set(0, paramSlots[i], arguments[i]);
+        }
+        body.execute(frame);
+        return result.execute(frame);
+    }
+
+    @Override
+    protected void replaceChild(Node oldChild, Node newChild) {
+        if (result == oldChild) {
+            result = (ExpressionNode) newChild;
+        }
+    }
+
+}
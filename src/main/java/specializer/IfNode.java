@@ -0,0 +1,45 @@
+package specializer;
+
+import execution.Frame;
+
+/**
+ * This node evaluates its condition and executes the according branch.
+ */
+public class IfNode extends StatementNode {
+
+    private ExpressionNode condition;
+    private final BlockNode thenBranch;
+    private final BlockNode elseBranch;
+
+    /**
+     * This constructor initializes the statement with its condition and branches.
+     *
+     * @param condition  the condition.
+     * @param thenBranch the statements to execute if the condition is true.
+     * @param elseBranch the statements to execute if the condition is false.
+     * @param location   the start and end index of the statement.
+     */
+    public IfNode(ExpressionNode condition, BlockNode thenBranch, BlockNode elseBranch, int[] location) {
+        super(location);
+        this.condition = adopt(condition);
+        this.thenBranch = adopt(thenBranch);
+        this.elseBranch = adopt(elseBranch);
+    }
+
+    @Override
+    public void execute(Frame frame) {
+        if (condition.executeBoolean(frame)) {
+            thenBranch.execute(frame);
+        } else {
+            elseBranch.execute(frame);
+        }
+    }
+
+    @Override
+    protected void replaceChild(Node oldChild, Node newChild) {
+        if (condition == oldChild) {
+            condition = (ExpressionNode) newChild;
+        }
+    }
+
+}
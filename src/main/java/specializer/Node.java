@@ -0,0 +1,74 @@
+package specializer;
+
+/**
+ * This is the superclass of all executable nodes. The executable node tree is built once from a validated and
+ * resolved parse tree. Nodes may rewrite themselves to a specialized variant after their first execution, so every
+ * node knows its parent and every parent allows to replace its children.
+ */
+public abstract class Node {
+
+    private Node parent;
+
+    /**
+     * Returns the parent node.
+     *
+     * @return the parent node, or null for the root node.
+     */
+    public Node getParent() {
+        return parent;
+    }
+
+    /**
+     * This method adopts a child node, i.e. it becomes the parent of the child.
+     *
+     * @param child the child node to adopt.
+     * @param <T>   the type of the child node.
+     * @return the adopted child node.
+     */
+    protected <T extends Node> T adopt(T child) {
+        if (child != null) {
+            ((Node) child).parent = this;
+        }
+        return child;
+    }
+
+    /**
+     * This method replaces this node within the node tree by another node, which is usually a specialized variant.
+     *
+     * @param node the node which replaces this node.
+     * @param <T>  the type of the new node.
+     * @return the new node.
+     */
+    protected <T extends Node> T replace(T node) {
+        parent.replaceChild(this, node);
+        ((Node) node).parent = parent;
+        return node;
+    }
+
+    /**
+     * This method replaces a child node of this node. Nodes with children which can rewrite themselves must override
+     * this method.
+     *
+     * @param oldChild the child to replace.
+     * @param newChild the new child.
+     */
+    protected void replaceChild(Node oldChild, Node newChild) {
+        throw new IllegalStateException("Node <" + getClass().getSimpleName() + "> does not allow to replace children!");
+    }
+
+    /**
+     * This method validates the result of an arithmetic operation for runtime exceptions.
+     *
+     * @param value the result of an arithmetic operation.
+     * @return the validated result.
+     */
+    protected static double checkNumber(double value) {
+        if (Double.isInfinite(value)) {
+            throw new ArithmeticException("Invalid arithmetic operation! Result evaluated to Infinity!");
+        } else if (Double.isNaN(value)) {
+            throw new ArithmeticException("Invalid arithmetic operation! Result is not a number!");
+        }
+        return value;
+    }
+
+}
@@ -0,0 +1,270 @@
+package specializer;
+
+import execution.Budget;
+import output.OutputSink;
+import parser.parsetree.BinaryOperator;
+import parser.parsetree.Component;
+import parser.parsetree.Program;
+import parser.parsetree.instructions.*;
+import parser.parsetree.interfaces.Visitor;
+import parser.parsetree.statements.*;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The purpose of this class is to build the executable node tree from a validated and resolved parse tree.
+ * It is implemented as visitor, while every statement is translated into a statement node and every expression into
+ * an expression node. Operations are translated into uninitialized nodes, which specialize themselves during execution.
+ * Function bodies are not built together with the program, but on demand when a function is called for the first time.
+ * Example for usage (where program is a validated and resolved Program):
+ * <code>NodeBuilder builder = new NodeBuilder(output, budget);
+ * BlockNode root = builder.build(program);</code>
+ */
+public class NodeBuilder implements Visitor {
+
+    private final OutputSink output;
+    private final Budget budget;
+    private final Map<FunctionDefStatement, FunctionTarget> targets = new IdentityHashMap<>();
+    private StatementNode node;                 // the statement node built by the last visit
+
+    /**
+     * This constructor initializes the builder.
+     *
+     * @param output the sink which receives the printed lines of the built program.
+     * @param budget the budget which is charged by the loops and calls of the built program.
+     */
+    public NodeBuilder(OutputSink output, Budget budget) {
+        this.output = output;
+        this.budget = budget;
+    }
+
+    /**
+     * This method builds the node tree of the top-level statements of a program.
+     *
+     * @param program the validated and resolved program.
+     * @return the root node.
+     */
+    public BlockNode build(Program program) {
+        return buildBlock(program.getStatements());
+    }
+
+    /**
+     * Returns the budget which is charged by the loops and calls of the built program.
+     *
+     * @return the budget.
+     */
+    Budget getBudget() {
+        return budget;
+    }
+
+    /**
+     * Returns the executable function of a function definition. The function is built at the first request.
+     *
+     * @param function the function definition.
+     * @return the executable function.
+     */
+    FunctionTarget getTarget(FunctionDefStatement function) {
+        FunctionTarget target = targets.get(function);
+        if (target == null) {
+            List<Component> statements = new ArrayList<>();
+            List<Integer> paramSlots = new ArrayList<>();
+            for (Component stmt : function.getStatements()) {
+                if (stmt instanceof ParamDeclaration) {
+                    paramSlots.add(((ParamDeclaration) stmt).getSlot());
+                } else {
+                    statements.add(stmt);
+                }
+            }
+            target = new FunctionTarget(function.getFrameSize(), paramSlots.stream().mapToInt(Integer::intValue).toArray(),
+                    buildBlock(statements), getNode(function.getReturnStatement()));
+            targets.put(function, target);
+        }
+        return target;
+    }
+
+    /**
+     * This method builds an assignment. Simple assignments store the value directly, compound assignments are
+     * specialized during execution.
+     *
+     * @param acceptor the AssignmentStatement to visit.
+     */
+    @Override
+    public void visit(AssignmentStatement acceptor) {
+        ExpressionNode value = getNode(acceptor.getValue());
+        if (acceptor.getOperator() == BinaryOperator.EQUAL) {
+            node = new WriteNode(acceptor.getDepth(), acceptor.getSlot(), value, acceptor.getLocation());
+        } else {
+            node = CompoundAssignNode.create(acceptor.getOperator(), acceptor.getDepth(), acceptor.getSlot(), value, acceptor.getLocation());
+        }
+    }
+
+    /**
+     * This method builds a generic component. The only generic component with an effect at runtime is the
+     * break statement.
+     *
+     * @param acceptor the generic Component to visit.
+     */
+    @Override
+    public void visit(Component acceptor) {
+        if (acceptor instanceof BreakStatement) {
+            node = new BreakNode(acceptor.getLocation());
+        }
+    }
+
+    /**
+     * This method builds a function call statement.
+     *
+     * @param acceptor the FunctionCallStatement to visit.
+     */
+    @Override
+    public void visit(FunctionCallStatement acceptor) {
+        node = new ExpressionStatementNode(getNode(acceptor), acceptor.getLocation());
+    }
+
+    /**
+     * Function definitions are built on demand by their callers. So there is nothing to do here.
+     *
+     * @param acceptor the FunctionDefStatement to visit.
+     */
+    @Override
+    public void visit(FunctionDefStatement acceptor) {
+    }
+
+    /**
+     * This method builds an if-then-else statement.
+     *
+     * @param acceptor the IfThenElseStatement to visit.
+     */
+    @Override
+    public void visit(IfThenElseStatement acceptor) {
+        node = new IfNode(getNode(acceptor.getCondition()), buildBlock(acceptor.getIfStatements()),
+                buildBlock(acceptor.getElseStatements()), acceptor.getLocation());
+    }
+
+    /**
+     * This method builds an if-then statement, which has an empty else branch.
+     *
+     * @param acceptor the IfThenStatement to visit.
+     */
+    @Override
+    public void visit(IfThenStatement acceptor) {
+        node = new IfNode(getNode(acceptor.getCondition()), buildBlock(acceptor.getStatements()),
+                new BlockNode(new StatementNode[0]), acceptor.getLocation());
+    }
+
+    /**
+     * Parameter declarations are built together with their function. So there is nothing to do here.
+     *
+     * @param acceptor the ParamDeclaration to visit.
+     */
+    @Override
+    public void visit(ParamDeclaration acceptor) {
+    }
+
+    /**
+     * This method builds a print call statement.
+     *
+     * @param acceptor the PrintCallStatement to visit.
+     */
+    @Override
+    public void visit(PrintCallStatement acceptor) {
+        Object value = acceptor.getValue();
+        node = new PrintNode(value == null ? null : getNode(value), output, acceptor.getLocation());
+    }
+
+    /**
+     * The program is built by the build method. So there is nothing to do here.
+     *
+     * @param acceptor the Program to visit.
+     */
+    @Override
+    public void visit(Program acceptor) {
+    }
+
+    /**
+     * This method builds a variable declaration, which stores its initial value in the slot of the declared variable.
+     *
+     * @param acceptor the VariableDeclaration to visit.
+     */
+    @Override
+    public void visit(VariableDeclaration acceptor) {
+        node = new WriteNode(0, acceptor.getSlot(), getNode(acceptor.getValue()), acceptor.getLocation());
+    }
+
+    /**
+     * This method builds a while statement.
+     *
+     * @param acceptor the WhileStatement to visit.
+     */
+    @Override
+    public void visit(WhileStatement acceptor) {
+        node = new WhileNode(getNode(acceptor.getCondition()), buildBlock(acceptor.getStatements()), budget, acceptor.getLocation());
+    }
+
+    // ------------------------------------------ helper methods ------------------------------------------
+
+    /**
+     * This method builds a statement list. Statements without effect at runtime are omitted.
+     *
+     * @param components the statements to build.
+     * @return the block node.
+     */
+    private BlockNode buildBlock(List<Component> components) {
+        List<StatementNode> statements = new ArrayList<>();
+        for (Component stmt : components) {
+            node = null;
+            stmt.accept(this);
+            if (node != null) {
+                statements.add(node);
+            }
+        }
+        node = null;
+        return new BlockNode(statements.toArray(new StatementNode[0]));
+    }
+
+    /**
+     * This method builds the node of an operand, which can be any type of program component which results in a value.
+     *
+     * @param operand the operand to build.
+     * @return the expression node.
+     */
+    private ExpressionNode getNode(Object operand) {
+        if (operand instanceof Component && ((Component) operand).getConstant() != null) {
+            return new ConstantNode(((Component) operand).getConstant());
+        } else if (operand instanceof FunctionCallStatement) {
+            FunctionCallStatement call = (FunctionCallStatement) operand;
+            List<Component> argumentList = call.getArgumentList();
+            ExpressionNode[] arguments = new ExpressionNode[argumentList.size()];
+            for (int i = 0; i < arguments.length; i++) {
+                arguments[i] = getNode(argumentList.get(i));
+            }
+            return CallNode.create(call.getFunction(), arguments, call.getLocation(), this);
+        } else if (operand instanceof BinaryExpression) {
+            BinaryExpression expression = (BinaryExpression) operand;
+            return ArithmeticNode.create(expression.getOperator(), getNode(expression.getOperand1()),
+                    getNode(expression.getOperand2()), expression.getLocation());
+        } else if (operand instanceof UnaryExpression) {
+            UnaryExpression expression = (UnaryExpression) operand;
+            return UnaryNode.create(expression.getOperator(), getNode(expression.getOperand()));
+        } else if (operand instanceof ValueWrapper) {
+            ValueWrapper wrapper = (ValueWrapper) operand;
+            if (wrapper.isReference()) {
+                return new ReadNode(wrapper.getDepth(), wrapper.getSlot());
+            } else if (wrapper.getValue() instanceof Component) {
+                return getNode(wrapper.getValue());
+            }
+            return new ConstantNode(wrapper.getConstant());
+        } else if (operand instanceof BinaryCondition) {
+            BinaryCondition condition = (BinaryCondition) operand;
+            return ConditionNode.create(condition.getOperator(), getNode(condition.getOperand1()), getNode(condition.getOperand2()));
+        } else if (operand instanceof UnaryCondition) {
+            UnaryCondition condition = (UnaryCondition) operand;
+            return UnaryNode.create(condition.getOperator(), getNode(condition.getOperand()));
+        }
+        throw new IllegalArgumentException("Operand <" + operand + "> cannot be built!");
+    }
+
+}
@@ -0,0 +1,41 @@
+package specializer;
+
+import execution.Frame;
+import execution.NumberFormatter;
+import output.OutputSink;
+
+/**
+ * This node prints the text representation of its value.
+ */
+public class PrintNode extends StatementNode {
+
+    private final OutputSink output;
+    private ExpressionNode value;
+
+    /**
+     * This constructor initializes the statement with its value.
+     *
+     * @param value    the value to print, or null to print an empty line.
+     * @param output   the sink which receives the printed lines.
+     * @param location the start and end index of the statement.
+     */
+    public PrintNode(ExpressionNode value, OutputSink output, int[] location) {
+        super(location);
+        this.value = adopt(value);
+        this.output = output;
+    }
+
+    @Override
+    public void execute(Frame frame) {
+        String out = value == null ? "" : NumberFormatter.toText(value.execute(frame));
+        output.print(out);
+    }
+
+    @Override
+    protected void replaceChild(Node oldChild, Node newChild) {
+        if (value == oldChild) {
+            value = (ExpressionNode) newChild;
+        }
+    }
+
+}
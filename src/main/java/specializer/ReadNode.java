@@ -0,0 +1,29 @@
+package specializer;
+
+import execution.Frame;
+
+/**
+ * This node reads the value of a variable from its resolved frame coordinate.
+ */
+public class ReadNode extends ExpressionNode {
+
+    private final int depth;
+    private final int slot;
+
+    /**
+     * This constructor initializes the node with the frame coordinate of the variable.
+     *
+     * @param depth the count of frames to walk up from the current frame.
+     * @param slot  the index of the variable within the target frame.
+     */
+    public ReadNode(int depth, int slot) {
+        this.depth = depth;
+        this.slot = slot;
+    }
+
+    @Override
+    public Object execute(Frame frame) {
+        return frame.get(depth, slot);
+    }
+
+}
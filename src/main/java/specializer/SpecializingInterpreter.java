@@ -0,0 +1,70 @@
+package specializer;
+
+import execution.Budget;
+import execution.ExecutionLimits;
+import execution.Frame;
+import execution.Preparation;
+import output.BufferedSink;
+import output.OutputSink;
+import parser.parsetree.Program;
+
+import java.util.List;
+
+/**
+ * The purpose of this class is to execute parsed code as a self-specializing node tree.
+ * The program is validated and resolved first. Then, the NodeBuilder translates it into a tree of executable nodes,
+ * which is executed directly. Operation nodes observe the runtime values at their first execution and rewrite
+ * themselves to variants specialized for the operator and the operand types. Like this, the per-operation dispatch of
+ * the Interpreter is done only once per node, and numeric and boolean values are passed without boxing between
+ * specialized nodes.
+ * Every loop run and every call is charged to the budget of the run, which enforces the ExecutionLimits.
+ * Example for usage (where program is a parsed Program):
+ * <code>SpecializingInterpreter interpreter = new SpecializingInterpreter();
+ * interpreter.execute(program);</code>
+ */
+public class SpecializingInterpreter {
+
+    private OutputSink output = new BufferedSink();
+    private final Budget budget = new Budget();
+    private ExecutionLimits limits = ExecutionLimits.DEFAULT;
+
+    /**
+     * This method validates, resolves, folds, builds and executes a program.
+     *
+     * @param program the program to execute.
+     */
+    public void execute(Program program) {
+        Preparation.prepare(program);
+        BlockNode root = new NodeBuilder(output, budget).build(program);
+        budget.start(limits);
+        root.execute(new Frame(program.getFrameSize(), null));
+    }
+
+    /**
+     * This method sets the limits of the following runs.
+     *
+     * @param limits the limits of a run.
+     */
+    public void setLimits(ExecutionLimits limits) {
+        this.limits = limits;
+    }
+
+    /**
+     * This method sets the sink, which receives the printed lines of the following runs.
+     *
+     * @param output the output sink.
+     */
+    public void setOutput(OutputSink output) {
+        this.output = output;
+    }
+
+    /**
+     * Returns the output of all executed print statements.
+     *
+     * @return the printed lines.
+     */
+    public List<String> getOutput() {
+        return output.getLines();
+    }
+
+}
@@ -0,0 +1,38 @@
+package specializer;
+
+import execution.Frame;
+
+/**
+ * This is the superclass of all nodes which represent a statement. Every statement knows its location within the
+ * code, so runtime errors can be reported at the according location.
+ */
+public abstract class StatementNode extends Node {
+
+    private final int[] location;
+
+    /**
+     * This constructor initializes the statement with its location.
+     *
+     * @param location the start and end index of the statement.
+     */
+    protected StatementNode(int[] location) {
+        this.location = location;
+    }
+
+    /**
+     * This method executes the statement.
+     *
+     * @param frame the frame of the current execution context.
+     */
+    public abstract void execute(Frame frame);
+
+    /**
+     * Returns the location of the statement.
+     *
+     * @return the start and end index of the statement.
+     */
+    public int[] getLocation() {
+        return location;
+    }
+
+}
@@ -0,0 +1,196 @@
+package specializer;
+
+import execution.Frame;
+import parser.parsetree.UnaryOperator;
+
+/**
+ * This is the superclass of all nodes which represent a unary expression or condition.
+ * A new expression is represented by an uninitialized node, which rewrites itself to a node specialized for the
+ * operator at its first execution.
+ */
+public abstract class UnaryNode extends ExpressionNode {
+
+    protected ExpressionNode operand;
+
+    /**
+     * This constructor initializes the node with its operand.
+     *
+     * @param operand the operand.
+     */
+    protected UnaryNode(ExpressionNode operand) {
+        this.operand = adopt(operand);
+    }
+
+    /**
+     * Returns a new, not yet specialized node for a unary expression or condition.
+     *
+     * @param operator the unary operator.
+     * @param operand  the operand.
+     * @return the uninitialized node.
+     */
+    public static UnaryNode create(UnaryOperator operator, ExpressionNode operand) {
+        return new Uninitialized(operator, operand);
+    }
+
+    /**
+     * This method applies the operation to an already evaluated operand.
+     *
+     * @param a the value of the operand.
+     * @return the result of the operation.
+     */
+    protected abstract Object evaluate(Object a);
+
+    @Override
+    protected void replaceChild(Node oldChild, Node newChild) {
+        if (operand == oldChild) {
+            operand = (ExpressionNode) newChild;
+        }
+    }
+
+    /**
+     * This node is not specialized yet. It rewrites itself at its first execution.
+     */
+    static final class Uninitialized extends UnaryNode {
+
+        private final UnaryOperator operator;
+
+        Uninitialized(UnaryOperator operator, ExpressionNode operand) {
+            super(operand);
+            this.operator = operator;
+        }
+
+        @Override
+        public Object execute(Frame frame) {
+            Object a = operand.execute(frame);
+            return replace(specialize()).evaluate(a);
+        }
+
+        @Override
+        protected Object evaluate(Object a) {
+            throw new IllegalStateException("Uninitialized node cannot evaluate values!");
+        }
+
+        /**
+         * Returns the specialized node for the operator. The new node adopts the operand.
+         *
+         * @return the specialized node.
+         */
+        private UnaryNode specialize() {
+            switch (operator) {
+                case MINUS:
+                    return new Negate(operand);
+                case INC:
+                    return new Increment(operand);
+                case DEC:
+                    return new Decrement(operand);
+                default:
+                    return new Not(operand);
+            }
+        }
+    }
+
+    /**
+     * This is the superclass of the numeric operations, which pass primitive values only.
+     */
+    abstract static class Numeric extends UnaryNode {
+
+        Numeric(ExpressionNode operand) {
+            super(operand);
+        }
+
+        @Override
+        public Object execute(Frame frame) {
+            return executeNumber(frame);
+        }
+
+        @Override
+        protected Object evaluate(Object a) {
+            return compute((Double) a);
+        }
+
+        /**
+         * This method applies the operation to a primitive value.
+         *
+         * @param a the number.
+         * @return the result.
+         */
+        abstract double compute(double a);
+    }
+
+    static final class Negate extends Numeric {
+
+        Negate(ExpressionNode operand) {
+            super(operand);
+        }
+
+        @Override
+        public double executeNumber(Frame frame) {
+            return compute(operand.executeNumber(frame));
+        }
+
+        @Override
+        double compute(double a) {
+            return -a;
+        }
+    }
+
+    static final class Increment extends Numeric {
+
+        Increment(ExpressionNode operand) {
+            super(operand);
+        }
+
+        @Override
+        public double executeNumber(Frame frame) {
+            return compute(operand.executeNumber(frame));
+        }
+
+        @Override
+        double compute(double a) {
+            return a + 1;
+        }
+    }
+
+    static final class Decrement extends Numeric {
+
+        Decrement(ExpressionNode operand) {
+            super(operand);
+        }
+
+        @Override
+        public double executeNumber(Frame frame) {
+            return compute(operand.executeNumber(frame));
+        }
+
+        @Override
+        double compute(double a) {
+            return a - 1;
+        }
+    }
+
+    /**
+     * This node negates a boolean value.
+     */
+    static final class Not extends UnaryNode {
+
+        Not(ExpressionNode operand) {
+            super(operand);
+        }
+
+        @Override
+        public Object execute(Frame frame) {
+            return executeBoolean(frame);
+        }
+
+        @Override
+        public boolean executeBoolean(Frame frame) {
+            return !operand.executeBoolean(frame);
+        }
+
+        @Override
+        protected Object evaluate(Object a) {
+            return !(Boolean) a;
+        }
+    }
+
+}
@@ -0,0 +1,57 @@
+package specializer;
+
+import execution.Budget;
+import execution.Frame;
+
+import java.util.Arrays;
+
+/**
+ * This node executes its body until its condition is false or a break statement was executed.
+ * Like within the Interpreter, the count of runs is limited to prevent endless loops and every run is charged to
+ * the budget.
+ */
+public class WhileNode extends StatementNode {
+
+    private ExpressionNode condition;
+    private final BlockNode body;
+    private final Budget budget;
+
+    /**
+     * This constructor initializes the loop with its condition and body.
+     *
+     * @param condition the loop condition.
+     * @param body      the loop body.
+     * @param budget    the budget which is charged by every run.
+     * @param location  the start and end index of the statement.
+     */
+    public WhileNode(ExpressionNode condition, BlockNode body, Budget budget, int[] location) {
+        super(location);
+        this.condition = adopt(condition);
+        this.body = adopt(body);
+        this.budget = budget;
+    }
+
+    @Override
+    public void execute(Frame frame) {
+        int counter = 0;
+        try {
+            while (condition.executeBoolean(frame)) {
+                if (++counter > budget.getMaxLoopRuns()) {
+                    throw new StackOverflowError("StackoverflowError at location " + Arrays.toString(getLocation()) + " occurred!");
+                }
+                budget.step(getLocation());
+                body.execute(frame);
+            }
+        } catch (BreakException e) {
+            // the loop is left
+        }
+    }
+
+    @Override
+    protected void replaceChild(Node oldChild, Node newChild) {
+        if (condition == oldChild) {
+            condition = (ExpressionNode) newChild;
+        }
+    }
+
+}
@@ -0,0 +1,42 @@
+package specializer;
+
+import execution.Frame;
+
+/**
+ * This node stores a value at the resolved frame coordinate of a variable. It represents variable declarations
+ * as well as simple assignments.
+ */
+public class WriteNode extends StatementNode {
+
+    private final int depth;
+    private final int slot;
+    private ExpressionNode value;
+
+    /**
+     * This constructor initializes the statement with the frame coordinate and the value.
+     *
+     * @param depth    the count of frames to walk up from the current frame.
+     * @param slot     the index of the variable within the target frame.
+     * @param value    the value to store.
+     * @param location the start and end index of the statement.
+     */
+    public WriteNode(int depth, int slot, ExpressionNode value, int[] location) {
+        super(location);
+        this.depth = depth;
+        this.slot = slot;
+        this.value = adopt(value);
+    }
+
+    @Override
+    public void execute(Frame frame) {
+        frame.set(depth, slot, value.execute(frame));
+    }
+
+    @Override
+    protected void replaceChild(Node oldChild, Node newChild) {
+        if (value == oldChild) {
+            value = (ExpressionNode) newChild;
+        }
+    }
+
+}
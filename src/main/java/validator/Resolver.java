@@ -0,0 +1,306 @@
+package validator;
+
+import parser.parsetree.Component;
+import parser.parsetree.Program;
+import parser.parsetree.Type;
+import parser.parsetree.instructions.BinaryExpr;
+import parser.parsetree.instructions.UnaryExpr;
+import parser.parsetree.instructions.ValueWrapper;
+import parser.parsetree.interfaces.Declaration;
+import parser.parsetree.interfaces.Reference;
+import parser.parsetree.interfaces.Visitor;
+import parser.parsetree.statements.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The purpose of this class is to resolve every variable of a parse tree to a fixed coordinate once, so the
+ * runtime can read and write values in array-backed frames instead of looking up identifiers scope by scope.
+ * Every declaration gets a slot within the frame of the program or of its function. Slots of nested scopes
+ * (e.g. while bodies) are reused as soon as the scope is closed. Every reference gets the coordinate of its
+ * declaration, consisting of the frame depth and the slot.
+ * The resolver is expected to run on a semantically valid parse tree. Identifiers which cannot be resolved are
+ * left untouched, as reporting them is up to the Validator.
+ * Example for usage (where the rootSymbol is the resulting symbol of a parse process):
+ * <code>Resolver resolver = new Resolver();
+ * ((Program) rootSymbol.value).accept(resolver);</code>
+ */
+public class Resolver implements Visitor {
+
+    private final List<List<Declaration>> declarationScope = new ArrayList<>();   // variable declaration context, innermost scope first
+    private final List<Integer> slotScope = new ArrayList<>();                    // first free slot at the time a scope was opened
+    private int globalScopeCount = 0;                                             // count of scopes which belong to the global frame
+    private boolean functionContext = false;                                      // indicates if a function body is resolved
+    private int nextSlot = 0;                                                     // next free slot of the current frame
+    private int frameSize = 0;                                                    // required slot count of the current frame
+    private int declarationMark = 0;                                              // count of global declarations before the current fragment
+    private int slotMark = 0;                                                     // next free global slot before the current fragment
+
+    /**
+     * This method resolves the assigned variable and the assigned value of an assignment statement.
+     *
+     * @param acceptor the AssignmentStatement to visit.
+     */
+    @Override
+    public void visit(AssignmentStatement acceptor) {
+        resolveOperand(acceptor.getValue());
+        resolveReference(acceptor);
+    }
+
+    /**
+     * This method visits a generic component (i.e. a component which has not an own specific visit method).
+     * This is a fall-through action.
+     *
+     * @param acceptor the generic Component to visit.
+     */
+    @Override
+    public void visit(Component acceptor) {
+    }
+
+    /**
+     * This method resolves the arguments of a function call.
+     *
+     * @param acceptor the FunctionCallStatement to visit.
+     */
+    @Override
+    public void visit(FunctionCallStatement acceptor) {
+        for (Component argument : acceptor.getArgumentList()) {
+            resolveOperand(argument);
+        }
+    }
+
+    /**
+     * This method resolves a function definition within its own frame. The parameters take the first slots of the
+     * frame, followed by the local variables of the function body. Variables of the program are resolved
+     * to the global frame.
+     *
+     * @param acceptor the FunctionDefStatement to visit.
+     */
+    @Override
+    public void visit(FunctionDefStatement acceptor) {
+        int outerNextSlot = nextSlot;
+        int outerFrameSize = frameSize;
+        functionContext = true;
+        globalScopeCount = declarationScope.size();
+        nextSlot = 0;
+        frameSize = 0;
+
+        openNewScope();
+        resolveStatements(acceptor.getStatements());
+        resolveOperand(acceptor.getReturnStatement());
+        closeCurrentScope();
+        acceptor.setFrameSize(frameSize);
+
+        functionContext = false;
+        globalScopeCount = 0;
+        nextSlot = outerNextSlot;
+        frameSize = outerFrameSize;
+    }
+
+    /**
+     * This method resolves the condition and both bodies of an if-then-else statement, while each body gets its own scope.
+     *
+     * @param acceptor the IfThenElseStatement to visit.
+     */
+    @Override
+    public void visit(IfThenElseStatement acceptor) {
+        resolveOperand(acceptor.getCondition());
+        resolveBlock(acceptor.getIfStatements());
+        resolveBlock(acceptor.getElseStatements());
+    }
+
+    /**
+     * This method resolves the condition and the body of an if-then statement.
+     *
+     * @param acceptor the IfThenStatement to visit.
+     */
+    @Override
+    public void visit(IfThenStatement acceptor) {
+        resolveOperand(acceptor.getCondition());
+        resolveBlock(acceptor.getStatements());
+    }
+
+    /**
+     * This method assigns a slot to the declared parameter.
+     *
+     * @param acceptor the ParamDeclaration to visit.
+     */
+    @Override
+    public void visit(ParamDeclaration acceptor) {
+        addDeclarationToScope(acceptor);
+    }
+
+    /**
+     * This method resolves the argument of a print statement, if not empty.
+     *
+     * @param acceptor the PrintCallStatement to visit.
+     */
+    @Override
+    public void visit(PrintCallStatement acceptor) {
+        if (acceptor.getValue() != null) {
+            resolveOperand(acceptor.getValue());
+        }
+    }
+
+    /**
+     * This method resolves all top-level statements within the global frame and records the required frame size.
+     *
+     * @param acceptor the Program to visit.
+     */
+    @Override
+    public void visit(Program acceptor) {
+        openNewScope();
+        resolveStatements(acceptor.getStatements());
+        closeCurrentScope();
+        acceptor.setFrameSize(frameSize);
+    }
+
+    /**
+     * This method resolves the initial value of a variable declaration first and then assigns a slot to the
+     * declared variable.
+     *
+     * @param acceptor the VariableDeclaration to visit.
+     */
+    @Override
+    public void visit(VariableDeclaration acceptor) {
+        resolveOperand(acceptor.getValue());
+        addDeclarationToScope(acceptor);
+    }
+
+    /**
+     * This method resolves the condition and the body of a while statement.
+     *
+     * @param acceptor the WhileStatement to visit.
+     */
+    @Override
+    public void visit(WhileStatement acceptor) {
+        resolveOperand(acceptor.getCondition());
+        resolveBlock(acceptor.getStatements());
+    }
+
+    /**
+     * This method resolves a fragment of an interactive session, i.e. a program which continues the programs resolved
+     * before by this resolver. The top-level variables of the fragment get the next free slots of the global frame,
+     * so the values of the previous fragments can be kept. The recorded frame size covers all fragments so far.
+     *
+     * @param fragment the fragment to resolve.
+     */
+    public void resolveFragment(Program fragment) {
+        if (declarationScope.isEmpty()) {
+            openNewScope();
+        }
+        declarationMark = declarationScope.get(0).size();
+        slotMark = nextSlot;
+        resolveStatements(fragment.getStatements());
+        fragment.setFrameSize(frameSize);
+    }
+
+    /**
+     * This method removes the top-level variables of the last resolved fragment from scope and releases their slots.
+     * This is required if the fragment could not be executed, so it does not count as part of the session.
+     */
+    public void discardFragment() {
+        if (declarationScope.isEmpty()) {
+            return;
+        }
+        List<Declaration> globalScope = declarationScope.get(0);
+        globalScope.subList(declarationMark, globalScope.size()).clear();
+        nextSlot = slotMark;
+    }
+
+    // ------------------------------------------ helper methods ------------------------------------------
+
+    /**
+     * This helper method resolves a statement list within a new nested scope.
+     *
+     * @param components the statements to resolve.
+     */
+    private void resolveBlock(List<Component> components) {
+        openNewScope();
+        resolveStatements(components);
+        closeCurrentScope();
+    }
+
+    /**
+     * This helper method resolves a statement list within the current scope.
+     *
+     * @param components the statements to resolve.
+     */
+    private void resolveStatements(List<Component> components) {
+        for (Component st : components) {
+            st.accept(this);
+        }
+    }
+
+    /**
+     * This method follows the component chain of an operand and resolves all contained variable references.
+     *
+     * @param operand the operand to resolve.
+     */
+    private void resolveOperand(Object operand) {
+        if (operand instanceof FunctionCallStatement) {
+            ((FunctionCallStatement) operand).accept(this);
+        } else if (operand instanceof BinaryExpr) {
+            resolveOperand(((BinaryExpr) operand).getOperand1());
+            resolveOperand(((BinaryExpr) operand).getOperand2());
+        } else if (operand instanceof UnaryExpr) {
+            resolveOperand(((UnaryExpr) operand).getOperand());
+        } else if (operand instanceof ValueWrapper) {
+            Object value = ((ValueWrapper) operand).getValue();
+            if (value instanceof Component) {
+                resolveOperand(value);
+            } else if (Type.getByInput(value) == Type.VARIABLE) {
+                resolveReference((ValueWrapper) operand);
+            }
+        }
+    }
+
+    /**
+     * This method looks up the declaration of a reference, starting with the innermost scope, and passes the
+     * coordinate of the declaration to the reference.
+     * Within a function body, declarations of the global scopes are resolved to the parent frame.
+     *
+     * @param reference the reference to resolve.
+     */
+    private void resolveReference(Reference reference) {
+        for (int i = 0; i < declarationScope.size(); i++) {
+            for (Declaration declaration : declarationScope.get(i)) {
+                if (declaration.getIdentifier().equals(reference.getIdentifier())) {
+                    boolean global = functionContext && i >= declarationScope.size() - globalScopeCount;
+                    reference.resolve(global ? 1 : 0, declaration.getSlot());
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * This method assigns the next free slot of the current frame to a declaration and adds it to the current scope.
+     *
+     * @param declaration the declaration to add to scope.
+     */
+    private void addDeclarationToScope(Declaration declaration) {
+        declaration.setSlot(nextSlot++);
+        frameSize = Math.max(frameSize, nextSlot);
+        declarationScope.get(0).add(declaration);
+    }
+
+    /**
+     * This method opens a new nested scope and remembers the first free slot, so the slots of the nested scope can be
+     * reused after the scope is closed.
+     */
+    private void openNewScope() {
+        declarationScope.add(0, new ArrayList<>());
+        slotScope.add(0, nextSlot);
+    }
+
+    /**
+     * This method closes the current scope and releases its slots.
+     */
+    private void closeCurrentScope() {
+        declarationScope.remove(0);
+        nextSlot = slotScope.remove(0);
+    }
+
+}
@@ -27,12 +27,15 @@ public class Validator implements Visitor {
     private final List<List<Declaration>> declarationScope = new ArrayList<>();   // variable declaration context
     private final List<FunctionDefStatement> functionScope = new ArrayList<>();   // function declaration context
     private int whileDepth = 0;                                                   // control counter for break statement check
+    private int declarationMark = 0;                                              // count of global declarations before the current fragment
+    private int functionMark = 0;                                                 // count of functions before the current fragment
 
     /**
      * This method visits an assignment statement.
      * It first looks for the declaration of the identifier. If found, the expected data type and the
      * effective data type of the variable are validated.
-     * Additionally, the assignment operator is validated in context of the data types.
+     * Additionally, the assignment operator is validated in context of the data types. The type of the
+     * variable is recorded on the assignment statement.
      *
      * @param acceptor the AssignmentStatement to visit.
      */
@@ -40,6 +43,7 @@ public class Validator implements Visitor {
     public void visit(AssignmentStatement acceptor) {
         Declaration declaration = getDeclaration(acceptor, acceptor.getIdentifier());
         Type expectedType = declaration.getType();
+        acceptor.setResolvedType(expectedType);
         Type effectiveType = getTypeOfOperand(acceptor, acceptor.getValue());
         BinaryOperator binaryOperator = acceptor.getOperator();
         if (expectedType != effectiveType) {
@@ -68,6 +72,7 @@ public class Validator implements Visitor {
      * This method visits a function call statement. It will look up already declared functions with
      * matching parameter count.
      * If declared, it will check if the data types of parameters of the callee and arguments of the caller match.
+     * Finally, the call is bound to the found function definition, so it does not have to be looked up at runtime.
      *
      * @param acceptor the FunctionCallStatement to visit.
      */
@@ -83,6 +88,7 @@ public class Validator implements Visitor {
                 throw new GrammarException("Function parameters do not match with function <" + function.getIdentifier() + "(" + function.paramTypeListAsString() + ") at location " + Arrays.toString(acceptor.getLocation()) + "!");
             }
         }
+        acceptor.setFunction(function);
         closeCurrentScope();
     }
 
@@ -167,19 +173,20 @@ public class Validator implements Visitor {
     }
 
     /**
-     * This method will add the variable declaration to scope. Additionally, it will validate if the declared
-     * data type and the data type of the assigned value match.
+     * This method will validate if the declared data type and the data type of the assigned value match.
+     * Additionally, it will add the variable declaration to scope. As the assigned value is validated first,
+     * a variable cannot refer to itself in its own declaration.
      *
      * @param acceptor the VariableDeclaration to visit.
      */
     @Override
     public void visit(VariableDeclaration acceptor) {
-        addDeclarationToScope(acceptor);
         Type expectedType = acceptor.getType();
         Type effectiveType = getTypeOfOperand(acceptor, acceptor.getValue());
         if (expectedType != effectiveType) {
             throw new TypeMismatchException("Type of variable <" + acceptor.getIdentifier() + "> is <" + expectedType.getLiteral() + "> and cannot assign value <" + acceptor.getStatements().toString().replaceAll("\\[", "").replaceAll("]", "") + "> at location " + Arrays.toString(acceptor.getLocation()) + "!");
         }
+        addDeclarationToScope(acceptor);
     }
 
     /**
@@ -198,6 +205,46 @@ public class Validator implements Visitor {
         }
     }
 
+    /**
+     * This method validates a fragment of an interactive session, i.e. a program which continues the programs validated
+     * before by this validator. The top-level variables and functions of the previous fragments stay in scope, so the
+     * fragment may refer to them, but must not declare them again. If the fragment is not valid, it is discarded
+     * before the exception is thrown, so the scope is the same as before.
+     *
+     * @param fragment the fragment to validate.
+     */
+    public void validateFragment(Program fragment) {
+        if (declarationScope.isEmpty()) {
+            openNewScope();
+        }
+        declarationMark = declarationScope.get(0).size();
+        functionMark = functionScope.size();
+        try {
+            checkBreakStatement(fragment, fragment.getStatements(), false);
+            traverseStatements(fragment.getStatements());
+        } catch (RuntimeException | Error e) {
+            discardFragment();
+            throw e;
+        }
+    }
+
+    /**
+     * This method removes the top-level variables and functions of the last validated fragment from scope. This is
+     * required if the fragment could not be executed, so it does not count as part of the session.
+     */
+    public void discardFragment() {
+        if (declarationScope.isEmpty()) {
+            return;
+        }
+        while (declarationScope.size() > 1) {
+            closeCurrentScope();
+        }
+        List<Declaration> globalScope = declarationScope.get(0);
+        globalScope.subList(declarationMark, globalScope.size()).clear();
+        functionScope.subList(functionMark, functionScope.size()).clear();
+        whileDepth = 0;
+    }
+
     /**
      * This method will perform thee depth-first traversal of the parse tree recursively.
      * It validates first the nested components of a component, then the component itself.
@@ -325,6 +372,7 @@ public class Validator implements Visitor {
      * This method will evaluate the data type of an object, which can be any type of program component which results in a value (e.g. a 'raw value', an expression
      * or the result of a function call).
      * If the object to evaluate is more complex, this method will follow the component chain until the final result is found.
+     * The evaluated data type is recorded on the operand, if it is a program component.
      *
      * @param parent  the parent parse tree component.
      * @param operand the operand of which the data type should be evaluated.
@@ -353,6 +401,9 @@ public class Validator implements Visitor {
                 type = getDeclaration(parent, operand.toString()).getType();
             }
         }
+        if (operand instanceof Component) {
+            ((Component) operand).setResolvedType(type);
+        }
         return type;
     }
 
@@ -414,14 +465,24 @@ public class Validator implements Visitor {
     }
 
     /**
-     * This method returns the data type of the contained value of a constant.
+     * This method returns the data type of the contained value of a constant. If the constant is a literal, it is
+     * converted to its runtime value once.
      *
      * @param parent  the parent parse tree component.
      * @param operand the operand to be evaluated.
      * @return the type of the operand.
      */
     private Type getType(Traversable parent, ValueWrapper operand) {
-        return getTypeOfOperand(parent, operand.getValue());
+        Object value = operand.getValue();
+        if (value instanceof Component) {
+            return getTypeOfOperand(parent, value);
+        }
+        Type type = Type.getByInput(value);
+        if (type == Type.VARIABLE) {
+            return getDeclaration(parent, value.toString()).getType();
+        }
+        operand.setConstant(type.toValue(value));
+        return type;
     }
 
     /**
@@ -0,0 +1,187 @@
+package vm;
+
+import execution.NumberFormatter;
+import execution.Preparation;
+import execution.ProgramCache;
+import java_cup.runtime.Symbol;
+import optimizer.ConstantFolder;
+import optimizer.EffectAnalyzer;
+import parser.JParser;
+import parser.parsetree.BinaryOperator;
+import parser.parsetree.Program;
+import parser.parsetree.UnaryOperator;
+import scanner.JScanner;
+import validator.Resolver;
+import validator.Validator;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * This class caches compiled programs on disk, so later runs (also of other virtual machines) do not scan, parse,
+ * validate and compile the same source again. Every program is stored in its own file within the cache directory,
+ * named by the content hash of the source and the fingerprint of the engine. A cached program is loaded by mapping its
+ * file into memory and reading the instruction streams in bulk.
+ * The compiled program does not only depend on the source, but also on the classes which translate it, e.g. strings
+ * are folded at compile time by the NumberFormatter. So the fingerprint is the hash of the class files of the front
+ * end, the optimizer, the generator, the formatter and the format. Any build which changes one of them writes and
+ * reads other files, without bumping a version by hand. If a class file cannot be read, the fingerprint is unique to
+ * the running JVM, so no file written by another build is read.
+ * Files are written to a temporary file first and moved into place afterwards, so concurrent readers never see a
+ * partially written program. Unreadable or outdated files are treated as missing.
+ * Example for usage:
+ * <code>BytecodeProgram compiled = new BytecodeCache(directory).compile(code);
+ * new VirtualMachine(compiled).run();</code>
+ */
+public class BytecodeCache {
+
+    private static final String EXTENSION = ".jbc";
+    private static final Class<?>[] ENGINE = {JScanner.class, JParser.class, BinaryOperator.class, UnaryOperator.class,
+            Preparation.class, Validator.class, Resolver.class, ConstantFolder.class, EffectAnalyzer.class,
+            BytecodeGenerator.class, Opcode.class, BytecodeSerializer.class, NumberFormatter.class};
+    private static final String FINGERPRINT = computeFingerprint();
+
+    private final Path directory;
+
+    /**
+     * This constructor initializes a cache within the passed directory. The directory is created if it is missing.
+     *
+     * @param directory the cache directory.
+     * @throws IOException if the directory could not be created.
+     */
+    public BytecodeCache(Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+    }
+
+    /**
+     * This method returns the compiled program of the passed source. If the program is not cached yet, the source is
+     * parsed, validated and compiled and the result is stored.
+     *
+     * @param code the source of the program.
+     * @return the compiled program.
+     * @throws Exception if the source is not a valid program or the cache could not be written.
+     */
+    public BytecodeProgram compile(String code) throws Exception {
+        String key = ProgramCache.hash(code);
+        BytecodeProgram compiled = lookup(key);
+        if (compiled == null) {
+            Symbol root = new JParser(new StringReader(code), false).parse();
+            compiled = BytecodeGenerator.compile((Program) root.value);
+            save(key, compiled);
+        }
+        return compiled;
+    }
+
+    /**
+     * This method loads the compiled program of the passed source from the cache directory.
+     *
+     * @param code the source of the program.
+     * @return the compiled program, or null if it is not cached or the cached file is not readable.
+     * @throws IOException if the cache directory could not be read.
+     */
+    public BytecodeProgram load(String code) throws IOException {
+        return lookup(ProgramCache.hash(code));
+    }
+
+    /**
+     * This method loads the compiled program of the passed key from the cache directory. Callers which load and store
+     * the same source compute its key once by ProgramCache.hash and pass it to both calls.
+     *
+     * @param key the hash of the source of the program.
+     * @return the compiled program, or null if it is not cached or the cached file is not readable.
+     * @throws IOException if the cache directory could not be read.
+     */
+    public BytecodeProgram lookup(String key) throws IOException {
+        try (FileChannel channel = FileChannel.open(getFile(key), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return BytecodeSerializer.read(buffer);
+        } catch (NoSuchFileException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * This method stores the compiled program of the passed source in the cache directory.
+     *
+     * @param code     the source of the program.
+     * @param compiled the compiled program.
+     * @throws IOException if the file could not be written.
+     */
+    public void store(String code, BytecodeProgram compiled) throws IOException {
+        save(ProgramCache.hash(code), compiled);
+    }
+
+    /**
+     * This method stores the compiled program by the passed key in the cache directory.
+     *
+     * @param key      the hash of the source of the program.
+     * @param compiled the compiled program.
+     * @throws IOException if the file could not be written.
+     */
+    public void save(String key, BytecodeProgram compiled) throws IOException {
+        Path temp = Files.createTempFile(directory, "program", ".tmp");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                BytecodeSerializer.write(compiled, out);
+            }
+            Files.move(temp, getFile(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Returns the file of the passed key within the cache directory.
+     *
+     * @param key the hash of the source of the program.
+     * @return the path of the cache file.
+     */
+    Path getFile(String key) {
+        return directory.resolve(key + "-" + FINGERPRINT + EXTENSION);
+    }
+
+    /**
+     * This method computes the fingerprint of the engine, i.e. the beginning of the hash of the class files which
+     * determine the compiled program.
+     *
+     * @return the fingerprint.
+     */
+    private static String computeFingerprint() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            for (Class<?> type : ENGINE) {
+                try (InputStream in = type.getResourceAsStream(type.getSimpleName() + ".class")) {
+                    if (in == null) {
+                        return UUID.randomUUID().toString();
+                    }
+                    for (int count = in.read(buffer); count >= 0; count = in.read(buffer)) {
+                        digest.update(buffer, 0, count);
+                    }
+                }
+            }
+            StringBuilder out = new StringBuilder(16);
+            for (byte b : Arrays.copyOf(digest.digest(), 8)) {
+                out.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return out.toString();
+        } catch (IOException | NoSuchAlgorithmException e) {
+            return UUID.randomUUID().toString();
+        }
+    }
+
+}
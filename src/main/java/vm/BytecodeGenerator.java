@@ -0,0 +1,643 @@
+package vm;
+
+import execution.Preparation;
+import parser.parsetree.BinaryOperator;
+import parser.parsetree.Component;
+import parser.parsetree.Program;
+import parser.parsetree.Type;
+import parser.parsetree.UnaryOperator;
+import parser.parsetree.instructions.*;
+import parser.parsetree.interfaces.Visitor;
+import parser.parsetree.statements.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The purpose of this class is to lower a validated and resolved parse tree to the instruction set of the virtual
+ * machine. It is implemented as visitor, while every statement is translated into a sequence of instructions which
+ * leaves the operand stack unchanged and every expression into a sequence which pushes exactly one value.
+ * The instructions are selected by the types recorded during validation, so the virtual machine does not have to
+ * check any type at runtime. Like within the Interpreter, both operands of logical operators are evaluated and
+ * compound assignments evaluate the assigned value before the current value is read.
+ * Example for usage (where program is a parsed Program):
+ * <code>BytecodeProgram compiled = BytecodeGenerator.compile(program);</code>
+ */
+public class BytecodeGenerator implements Visitor {
+
+    private final List<Double> numbers = new ArrayList<>();
+    private final Map<Double, Integer> numberIndexes = new HashMap<>();
+    private final List<Object> constants = new ArrayList<>();
+    private final Map<String, Integer> stringIndexes = new HashMap<>();
+    private final Map<FunctionDefStatement, Integer> functionIndexes = new IdentityHashMap<>();
+    private final List<Chunk> functions = new ArrayList<>();
+    private ChunkBuilder builder;                   // builds the chunk which is currently generated
+    private BytecodeProgram program;
+
+    /**
+     * This method validates, resolves, folds and compiles a program.
+     *
+     * @param program the program to compile.
+     * @return the compiled program.
+     */
+    public static BytecodeProgram compile(Program program) {
+        Preparation.prepare(program);
+        BytecodeGenerator generator = new BytecodeGenerator();
+        program.accept(generator);
+        return generator.getProgram();
+    }
+
+    /**
+     * Returns the compiled program.
+     *
+     * @return the compiled program.
+     */
+    public BytecodeProgram getProgram() {
+        return program;
+    }
+
+    /**
+     * This method translates an assignment.
+     *
+     * @param acceptor the AssignmentStatement to visit.
+     */
+    @Override
+    public void visit(AssignmentStatement acceptor) {
+        Type type = acceptor.getResolvedType();
+        BinaryOperator operator = acceptor.getOperator();
+        emitValue(acceptor.getValue());
+        if (operator != BinaryOperator.EQUAL) {
+            if (type == Type.STRING) {
+                emitText(acceptor.getValue());
+                emitLoad(type, acceptor.getDepth(), acceptor.getSlot());
+                builder.emit(Opcode.SWAP);
+                builder.emit(Opcode.CONCAT);
+            } else {
+                emitLoad(type, acceptor.getDepth(), acceptor.getSlot());
+                builder.emit(Opcode.SWAP);
+                builder.emit(getArithmeticOpcode(operator), -1);
+            }
+        }
+        emitStore(type, acceptor.getDepth(), acceptor.getSlot());
+    }
+
+    /**
+     * This method translates a generic component. The only generic component with an effect at runtime is the
+     * break statement, which jumps to the end of the enclosing loop.
+     *
+     * @param acceptor the generic Component to visit.
+     */
+    @Override
+    public void visit(Component acceptor) {
+        if (acceptor instanceof BreakStatement) {
+            builder.breaks.get(builder.breaks.size() - 1).add(builder.emitJump(Opcode.JUMP));
+        }
+    }
+
+    /**
+     * This method translates a function call statement, whose value is discarded.
+     *
+     * @param acceptor the FunctionCallStatement to visit.
+     */
+    @Override
+    public void visit(FunctionCallStatement acceptor) {
+        emitValue(acceptor);
+        builder.emit(Opcode.POP);
+    }
+
+    /**
+     * This method translates a function definition into its own chunk.
+     *
+     * @param acceptor the FunctionDefStatement to visit.
+     */
+    @Override
+    public void visit(FunctionDefStatement acceptor) {
+        int index = getFunctionIndex(acceptor);
+        ChunkBuilder outer = builder;
+        builder = new ChunkBuilder(functions.get(index), acceptor.getFrameSize());
+        for (Component stmt : acceptor.getStatements()) {
+            stmt.accept(this);
+        }
+        emitValue(acceptor.getReturnStatement());
+        builder.emit(Opcode.RETURN);
+        builder.define();
+        builder = outer;
+    }
+
+    /**
+     * This method translates an if-then-else statement.
+     *
+     * @param acceptor the IfThenElseStatement to visit.
+     */
+    @Override
+    public void visit(IfThenElseStatement acceptor) {
+        emitValue(acceptor.getCondition());
+        int elseJump = builder.emitJump(Opcode.JUMPF);
+        emitStatements(acceptor.getIfStatements());
+        int endJump = builder.emitJump(Opcode.JUMP);
+        builder.patch(elseJump);
+        emitStatements(acceptor.getElseStatements());
+        builder.patch(endJump);
+    }
+
+    /**
+     * This method translates an if-then statement.
+     *
+     * @param acceptor the IfThenStatement to visit.
+     */
+    @Override
+    public void visit(IfThenStatement acceptor) {
+        emitValue(acceptor.getCondition());
+        int endJump = builder.emitJump(Opcode.JUMPF);
+        emitStatements(acceptor.getStatements());
+        builder.patch(endJump);
+    }
+
+    /**
+     * Parameters receive their values from the caller, as the arguments take the first slots of the callee frame.
+     * So there is nothing to do here.
+     *
+     * @param acceptor the ParamDeclaration to visit.
+     */
+    @Override
+    public void visit(ParamDeclaration acceptor) {
+    }
+
+    /**
+     * This method translates a print call statement.
+     *
+     * @param acceptor the PrintCallStatement to visit.
+     */
+    @Override
+    public void visit(PrintCallStatement acceptor) {
+        Object value = acceptor.getValue();
+        if (value != null) {
+            emitValue(value);
+            emitText(value);
+        } else {
+            builder.emit(Opcode.SCONST, getStringIndex(""));
+        }
+        builder.emit(Opcode.PRINT);
+    }
+
+    /**
+     * This method translates the whole program. The top-level statements become the main chunk.
+     *
+     * @param acceptor the Program to visit.
+     */
+    @Override
+    public void visit(Program acceptor) {
+        Chunk main = new Chunk("main", 0);
+        builder = new ChunkBuilder(main, acceptor.getFrameSize());
+        emitStatements(acceptor.getStatements());
+        builder.emit(Opcode.HALT);
+        builder.define();
+        double[] numberPool = new double[numbers.size()];
+        for (int i = 0; i < numberPool.length; i++) {
+            numberPool[i] = numbers.get(i);
+        }
+        program = new BytecodeProgram(main, functions.toArray(new Chunk[0]), numberPool, constants.toArray());
+    }
+
+    /**
+     * This method translates a variable declaration, which stores its initial value in the local slot of the variable.
+     *
+     * @param acceptor the VariableDeclaration to visit.
+     */
+    @Override
+    public void visit(VariableDeclaration acceptor) {
+        emitValue(acceptor.getValue());
+        emitStore(acceptor.getType(), 0, acceptor.getSlot());
+    }
+
+    /**
+     * This method translates a while statement. The run counter of the loop is held in a dedicated slot behind the
+     * variables of the frame, so the count of runs is limited like within the Interpreter.
+     *
+     * @param acceptor the WhileStatement to visit.
+     */
+    @Override
+    public void visit(WhileStatement acceptor) {
+        int counter = builder.openLoop();
+        builder.emit(Opcode.LOOPINIT, counter);
+        int start = builder.getAddress();
+        emitValue(acceptor.getCondition());
+        int endJump = builder.emitJump(Opcode.JUMPF);
+        builder.emit(Opcode.LOOPCHECK, counter, getLocationIndex(acceptor.getLocation()));
+        emitStatements(acceptor.getStatements());
+        builder.emit(Opcode.JUMP, start);
+        builder.patch(endJump);
+        builder.closeLoop();
+    }
+
+    // ------------------------------------------ helper methods ------------------------------------------
+
+    /**
+     * This helper method translates a statement list.
+     *
+     * @param components the statements to translate.
+     */
+    private void emitStatements(List<Component> components) {
+        for (Component st : components) {
+            st.accept(this);
+        }
+    }
+
+    /**
+     * This method translates an operand, which can be any type of program component which results in a value, into
+     * instructions which push the value.
+     *
+     * @param operand the operand to translate.
+     */
+    private void emitValue(Object operand) {
+        if (operand instanceof Component && ((Component) operand).getConstant() != null) {
+            emitConstant(((Component) operand).getConstant());
+        } else if (operand instanceof FunctionCallStatement) {
+            FunctionCallStatement call = (FunctionCallStatement) operand;
+            for (Component argument : call.getArgumentList()) {
+                emitValue(argument);
+            }
+            builder.emit(Opcode.CALL, getFunctionIndex(call.getFunction()), getLocationIndex(call.getLocation()));
+            builder.adjustStack(-call.getArgumentList().size());
+        } else if (operand instanceof BinaryExpression) {
+            emitValue((BinaryExpression) operand);
+        } else if (operand instanceof UnaryExpression) {
+            UnaryExpression expression = (UnaryExpression) operand;
+            emitValue(expression.getOperand());
+            builder.emit(expression.getResolvedType() == Type.BOOLEAN ? Opcode.NOT : getUnaryOpcode(expression.getOperator()));
+        } else if (operand instanceof ValueWrapper) {
+            emitValue((ValueWrapper) operand);
+        } else if (operand instanceof BinaryCondition) {
+            emitValue((BinaryCondition) operand);
+        } else if (operand instanceof UnaryCondition) {
+            emitValue(((UnaryCondition) operand).getOperand());
+            builder.emit(Opcode.NOT);
+        } else {
+            throw new IllegalArgumentException("Operand <" + operand + "> cannot be compiled!");
+        }
+    }
+
+    /**
+     * This method translates a binary expression. String expressions are translated into a concatenation of the
+     * text representations, while arithmetic instructions receive the location of the expression for runtime exceptions.
+     *
+     * @param operand the operand to translate.
+     */
+    private void emitValue(BinaryExpression operand) {
+        if (operand.getResolvedType() == Type.STRING) {
+            emitValue(operand.getOperand1());
+            emitText(operand.getOperand1());
+            emitValue(operand.getOperand2());
+            emitText(operand.getOperand2());
+            builder.emit(Opcode.CONCAT);
+        } else {
+            emitValue(operand.getOperand1());
+            emitValue(operand.getOperand2());
+            builder.emit(getArithmeticOpcode(operand.getOperator()), getLocationIndex(operand.getLocation()));
+        }
+    }
+
+    /**
+     * This method translates a constant, which is either a variable reference, a nested expression or a literal.
+     *
+     * @param operand the operand to translate.
+     */
+    private void emitValue(ValueWrapper operand) {
+        if (operand.isReference()) {
+            emitLoad(operand.getResolvedType(), operand.getDepth(), operand.getSlot());
+            return;
+        }
+        Object value = operand.getValue();
+        if (value instanceof Component) {
+            emitValue(value);
+            return;
+        }
+        emitConstant(operand.getConstant());
+    }
+
+    /**
+     * This method loads a value which is known before execution. Boolean values are represented as 1 or 0.
+     *
+     * @param constant the constant value.
+     */
+    private void emitConstant(Object constant) {
+        if (constant instanceof Double) {
+            builder.emit(Opcode.NCONST, getNumberIndex((Double) constant));
+        } else if (constant instanceof Boolean) {
+            builder.emit(Opcode.NCONST, getNumberIndex((Boolean) constant ? 1d : 0d));
+        } else {
+            builder.emit(Opcode.SCONST, getStringIndex((String) constant));
+        }
+    }
+
+    /**
+     * This method translates a binary conditional expression. The instruction is chosen by the type of the operands.
+     *
+     * @param operand the operand to translate.
+     */
+    private void emitValue(BinaryCondition operand) {
+        emitValue(operand.getOperand1());
+        emitValue(operand.getOperand2());
+        BinaryOperator operator = operand.getOperator();
+        if (((Component) operand.getOperand1()).getResolvedType() == Type.STRING) {
+            builder.emit(operator == BinaryOperator.NEQ ? Opcode.SNE : Opcode.SEQ);
+            return;
+        }
+        switch (operator) {
+            case LESS:
+                builder.emit(Opcode.LT);
+                break;
+            case LEQ:
+                builder.emit(Opcode.LE);
+                break;
+            case GREATER:
+                builder.emit(Opcode.GT);
+                break;
+            case GREQ:
+                builder.emit(Opcode.GE);
+                break;
+            case EQ:
+                builder.emit(Opcode.EQ);
+                break;
+            case NEQ:
+                builder.emit(Opcode.NE);
+                break;
+            case AND:
+                builder.emit(Opcode.AND);
+                break;
+            default:
+                builder.emit(Opcode.OR);
+                break;
+        }
+    }
+
+    /**
+     * This method converts the already pushed value of an operand to its text representation.
+     *
+     * @param operand the operand.
+     */
+    private void emitText(Object operand) {
+        Type type = ((Component) operand).getResolvedType();
+        if (type == Type.NUMERIC) {
+            builder.emit(Opcode.NTEXT);
+        } else if (type == Type.BOOLEAN) {
+            builder.emit(Opcode.BTEXT);
+        }
+    }
+
+    /**
+     * This method pushes the value of a variable.
+     *
+     * @param type  the type of the variable.
+     * @param depth the count of frames to walk up from the current frame.
+     * @param slot  the index of the variable within the frame.
+     */
+    private void emitLoad(Type type, int depth, int slot) {
+        if (type == Type.STRING) {
+            builder.emit(depth == 0 ? Opcode.SLOAD : Opcode.SGLOAD, slot);
+        } else {
+            builder.emit(depth == 0 ? Opcode.NLOAD : Opcode.NGLOAD, slot);
+        }
+    }
+
+    /**
+     * This method pops a value into a variable.
+     *
+     * @param type  the type of the variable.
+     * @param depth the count of frames to walk up from the current frame.
+     * @param slot  the index of the variable within the frame.
+     */
+    private void emitStore(Type type, int depth, int slot) {
+        if (type == Type.STRING) {
+            builder.emit(depth == 0 ? Opcode.SSTORE : Opcode.SGSTORE, slot);
+        } else {
+            builder.emit(depth == 0 ? Opcode.NSTORE : Opcode.NGSTORE, slot);
+        }
+    }
+
+    /**
+     * Returns the index of a function. The chunk of the function is reserved at the first request, so functions can
+     * be called before their definition was translated.
+     *
+     * @param function the function definition.
+     * @return the index of the function.
+     */
+    private int getFunctionIndex(FunctionDefStatement function) {
+        Integer index = functionIndexes.get(function);
+        if (index == null) {
+            index = functions.size();
+            functions.add(new Chunk(function.getIdentifier(), function.getParamCount()));
+            functionIndexes.put(function, index);
+        }
+        return index;
+    }
+
+    /**
+     * Returns the index of a number within the number pool.
+     *
+     * @param value the number.
+     * @return the index.
+     */
+    private int getNumberIndex(double value) {
+        return numberIndexes.computeIfAbsent(value, v -> {
+            numbers.add(v);
+            return numbers.size() - 1;
+        });
+    }
+
+    /**
+     * Returns the index of a string within the constant pool.
+     *
+     * @param value the string.
+     * @return the index.
+     */
+    private int getStringIndex(String value) {
+        return stringIndexes.computeIfAbsent(value, v -> {
+            constants.add(v);
+            return constants.size() - 1;
+        });
+    }
+
+    /**
+     * Returns the index of a location within the constant pool.
+     *
+     * @param location the start and end index of a component.
+     * @return the index.
+     */
+    private int getLocationIndex(int[] location) {
+        constants.add(Arrays.copyOf(location, 2));
+        return constants.size() - 1;
+    }
+
+    /**
+     * Returns the instruction of an arithmetic operator. Compound assignment operators are mapped to the
+     * according arithmetic instruction.
+     *
+     * @param operator the arithmetic operator.
+     * @return the opcode.
+     */
+    private static int getArithmeticOpcode(BinaryOperator operator) {
+        switch (operator) {
+            case PLUS:
+            case PLUSEQ:
+                return Opcode.ADD;
+            case MINUS:
+            case MINEQ:
+                return Opcode.SUB;
+            case MUL:
+            case MULEQ:
+                return Opcode.MUL;
+            case DIV:
+            case DIVEQ:
+                return Opcode.DIV;
+            case MOD:
+            case MODEQ:
+                return Opcode.MOD;
+            default:
+                throw new IllegalArgumentException("Operator <" + operator.getLiteral() + "> is not arithmetic!");
+        }
+    }
+
+    /**
+     * Returns the instruction of a numeric unary operator.
+     *
+     * @param operator the unary operator.
+     * @return the opcode.
+     */
+    private static int getUnaryOpcode(UnaryOperator operator) {
+        switch (operator) {
+            case INC:
+                return Opcode.INC;
+            case DEC:
+                return Opcode.DEC;
+            case MINUS:
+                return Opcode.NEG;
+            default:
+                return Opcode.NOT;
+        }
+    }
+
+    /**
+     * This class collects the instructions of one chunk. It keeps track of the operand stack size and of the
+     * nesting of while loops, whose run counters take the slots behind the variables of the frame.
+     */
+    private static class ChunkBuilder {
+
+        private final Chunk chunk;
+        private final int variableCount;
+        private final List<List<Integer>> breaks = new ArrayList<>();   // addresses of break jumps per open loop
+        private int[] code = new int[64];
+        private int size = 0;
+        private int stack = 0;
+        private int maxStack = 0;
+        private int maxLoops = 0;
+
+        /**
+         * This constructor initializes the builder for a chunk.
+         *
+         * @param chunk         the chunk to build.
+         * @param variableCount the count of variable slots of the frame.
+         */
+        ChunkBuilder(Chunk chunk, int variableCount) {
+            this.chunk = chunk;
+            this.variableCount = variableCount;
+        }
+
+        /**
+         * This method appends an instruction and tracks its effect on the operand stack.
+         *
+         * @param opcode   the opcode.
+         * @param operands the operands.
+         */
+        void emit(int opcode, int... operands) {
+            append(opcode);
+            for (int operand : operands) {
+                append(operand);
+            }
+            adjustStack(Opcode.getStackEffect(opcode));
+        }
+
+        /**
+         * This method appends a jump instruction with a target which is patched later.
+         *
+         * @param opcode the jump opcode.
+         * @return the address of the operand to patch.
+         */
+        int emitJump(int opcode) {
+            emit(opcode, -1);
+            return size - 1;
+        }
+
+        /**
+         * This method sets the target of a jump instruction to the current address.
+         *
+         * @param operandAddress the address of the operand to patch.
+         */
+        void patch(int operandAddress) {
+            code[operandAddress] = size;
+        }
+
+        /**
+         * Returns the address of the next instruction.
+         *
+         * @return the current address.
+         */
+        int getAddress() {
+            return size;
+        }
+
+        /**
+         * This method tracks a change of the operand stack size.
+         *
+         * @param delta the change.
+         */
+        void adjustStack(int delta) {
+            stack += delta;
+            maxStack = Math.max(maxStack, stack);
+        }
+
+        /**
+         * This method opens a while loop.
+         *
+         * @return the slot of the run counter of the loop.
+         */
+        int openLoop() {
+            breaks.add(new ArrayList<>());
+            maxLoops = Math.max(maxLoops, breaks.size());
+            return variableCount + breaks.size() - 1;
+        }
+
+        /**
+         * This method closes the innermost while loop and lets its break statements jump to the current address.
+         */
+        void closeLoop() {
+            for (int operandAddress : breaks.remove(breaks.size() - 1)) {
+                patch(operandAddress);
+            }
+        }
+
+        /**
+         * This method completes the chunk.
+         */
+        void define() {
+            chunk.define(Arrays.copyOf(code, size), variableCount + maxLoops, maxStack);
+        }
+
+        /**
+         * This method appends a value to the instruction stream.
+         *
+         * @param value the opcode or operand.
+         */
+        private void append(int value) {
+            if (size == code.length) {
+                code = Arrays.copyOf(code, size * 2);
+            }
+            code[size++] = value;
+        }
+    }
+
+}
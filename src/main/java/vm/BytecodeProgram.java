@@ -0,0 +1,67 @@
+package vm;
+
+/**
+ * This class holds a program compiled by the BytecodeGenerator. It consists of the chunk of the top-level statements,
+ * the chunks of all functions and the constant pools, which are shared by all chunks. Numbers are held within an own
+ * pool, so they can be pushed without unboxing.
+ * A compiled program is immutable and can be executed by any count of virtual machines.
+ */
+public class BytecodeProgram {
+
+    private final Chunk main;
+    private final Chunk[] functions;
+    private final double[] numbers;
+    private final Object[] constants;
+
+    /**
+     * This constructor initializes the compiled program.
+     *
+     * @param main      the chunk of the top-level statements.
+     * @param functions the chunks of the functions by function index.
+     * @param numbers   the number pool.
+     * @param constants the constant pool (strings and locations).
+     */
+    public BytecodeProgram(Chunk main, Chunk[] functions, double[] numbers, Object[] constants) {
+        this.main = main;
+        this.functions = functions;
+        this.numbers = numbers;
+        this.constants = constants;
+    }
+
+    /**
+     * Returns the chunk of the top-level statements.
+     *
+     * @return the main chunk.
+     */
+    public Chunk getMain() {
+        return main;
+    }
+
+    /**
+     * Returns the chunks of the functions by function index.
+     *
+     * @return the function chunks.
+     */
+    public Chunk[] getFunctions() {
+        return functions;
+    }
+
+    /**
+     * Returns the number pool.
+     *
+     * @return the numbers by index.
+     */
+    public double[] getNumbers() {
+        return numbers;
+    }
+
+    /**
+     * Returns the constant pool.
+     *
+     * @return the constants by index.
+     */
+    public Object[] getConstants() {
+        return constants;
+    }
+
+}
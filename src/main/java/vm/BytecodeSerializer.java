@@ -0,0 +1,195 @@
+package vm;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The purpose of this class is to convert compiled programs into a compact binary format and back.
+ * The format starts with a magic number and the format version, followed by the number pool, the constant pool,
+ * the chunk of the top-level statements and the function chunks. All values are written big-endian, while the
+ * instruction streams and the number pool are written as plain arrays, so they are read in bulk.
+ * The format version has to be increased on every change of the instruction set or of the format itself, so programs
+ * which were written by an older version are not read anymore. Changes of the compiled output (e.g. of the folded
+ * constants) are covered by the fingerprint of the BytecodeCache instead.
+ * Example for usage (where buffer is a ByteBuffer, e.g. a mapped file):
+ * <code>BytecodeProgram compiled = BytecodeSerializer.read(buffer);</code>
+ */
+public final class BytecodeSerializer {
+
+    /**
+     * The version of the format and of the instruction set.
+     */
+    public static final int VERSION = 1;
+
+    private static final int MAGIC = 0x4A424346;           // "JBCF"
+    private static final byte STRING = 0;
+    private static final byte LOCATION = 1;
+    private static final int CONSTANT_BYTES = 1 + Integer.BYTES;           // size of the smallest constant (an empty string)
+    private static final int CHUNK_BYTES = 5 * Integer.BYTES;              // size of the smallest chunk (empty name and code)
+
+    /**
+     * This class only provides static methods and is not instantiated.
+     */
+    private BytecodeSerializer() {
+    }
+
+    /**
+     * This method writes a compiled program in the binary format.
+     *
+     * @param program the program to write.
+     * @param stream  the stream to write to.
+     * @throws IOException if the stream could not be written.
+     */
+    public static void write(BytecodeProgram program, OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(stream);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        double[] numbers = program.getNumbers();
+        out.writeInt(numbers.length);
+        for (double number : numbers) {
+            out.writeDouble(number);
+        }
+        Object[] constants = program.getConstants();
+        out.writeInt(constants.length);
+        for (Object constant : constants) {
+            if (constant instanceof String) {
+                out.writeByte(STRING);
+                writeString(out, (String) constant);
+            } else {
+                int[] location = (int[]) constant;
+                out.writeByte(LOCATION);
+                out.writeInt(location[0]);
+                out.writeInt(location[1]);
+            }
+        }
+        writeChunk(out, program.getMain());
+        out.writeInt(program.getFunctions().length);
+        for (Chunk function : program.getFunctions()) {
+            writeChunk(out, function);
+        }
+        out.flush();
+    }
+
+    /**
+     * This method reads a compiled program in the binary format. The buffer is read from its current position.
+     *
+     * @param buffer the buffer to read from.
+     * @return the compiled program.
+     * @throws IllegalArgumentException if the buffer does not hold a program of the current format version.
+     */
+    public static BytecodeProgram read(ByteBuffer buffer) {
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IllegalArgumentException("Compiled program has an unknown format!");
+            }
+            double[] numbers = new double[readLength(buffer, Double.BYTES)];
+            buffer.asDoubleBuffer().get(numbers);
+            buffer.position(buffer.position() + numbers.length * Double.BYTES);
+            Object[] constants = new Object[readLength(buffer, CONSTANT_BYTES)];
+            for (int i = 0; i < constants.length; i++) {
+                byte tag = buffer.get();
+                if (tag == STRING) {
+                    constants[i] = readString(buffer);
+                } else if (tag == LOCATION) {
+                    constants[i] = new int[]{buffer.getInt(), buffer.getInt()};
+                } else {
+                    throw new IllegalArgumentException("Compiled program has an unknown constant <" + tag + ">!");
+                }
+            }
+            Chunk main = readChunk(buffer);
+            Chunk[] functions = new Chunk[readLength(buffer, CHUNK_BYTES)];
+            for (int i = 0; i < functions.length; i++) {
+                functions[i] = readChunk(buffer);
+            }
+            return new BytecodeProgram(main, functions, numbers, constants);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Compiled program is truncated!", e);
+        }
+    }
+
+    // ------------------------------------------ helper methods ------------------------------------------
+
+    /**
+     * This helper method writes a chunk with its frame layout and its instruction stream.
+     *
+     * @param out   the stream to write to.
+     * @param chunk the chunk to write.
+     * @throws IOException if the stream could not be written.
+     */
+    private static void writeChunk(DataOutputStream out, Chunk chunk) throws IOException {
+        writeString(out, chunk.getName());
+        out.writeInt(chunk.getParamCount());
+        out.writeInt(chunk.getFrameSize());
+        out.writeInt(chunk.getMaxStack());
+        int[] code = chunk.getCode();
+        out.writeInt(code.length);
+        for (int value : code) {
+            out.writeInt(value);
+        }
+    }
+
+    /**
+     * This helper method reads a chunk with its frame layout and its instruction stream.
+     *
+     * @param buffer the buffer to read from.
+     * @return the chunk.
+     */
+    private static Chunk readChunk(ByteBuffer buffer) {
+        Chunk chunk = new Chunk(readString(buffer), buffer.getInt());
+        int frameSize = buffer.getInt();
+        int maxStack = buffer.getInt();
+        int[] code = new int[readLength(buffer, Integer.BYTES)];
+        buffer.asIntBuffer().get(code);
+        buffer.position(buffer.position() + code.length * Integer.BYTES);
+        chunk.define(code, frameSize, maxStack);
+        return chunk;
+    }
+
+    /**
+     * This helper method reads the length of an array. As every element takes at least the passed count of bytes, a
+     * length which does not fit into the rest of the buffer is rejected before the array is allocated. Like this, a
+     * corrupt length does not result in an OutOfMemoryError.
+     *
+     * @param buffer      the buffer to read from.
+     * @param elementSize the minimum count of bytes per element.
+     * @return the length.
+     * @throws IllegalArgumentException if the length is negative or exceeds the rest of the buffer.
+     */
+    private static int readLength(ByteBuffer buffer, int elementSize) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining() / elementSize) {
+            throw new IllegalArgumentException("Compiled program is truncated!");
+        }
+        return length;
+    }
+
+    /**
+     * This helper method writes a string as its length followed by its UTF-8 bytes.
+     *
+     * @param out   the stream to write to.
+     * @param value the string to write.
+     * @throws IOException if the stream could not be written.
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * This helper method reads a string written as its length followed by its UTF-8 bytes.
+     *
+     * @param buffer the buffer to read from.
+     * @return the string.
+     */
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[readLength(buffer, 1)];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,86 @@
+package vm;
+
+/**
+ * This class holds the compiled instruction stream of one function or of the top-level statements of a program.
+ * The frame of a chunk consists of its local slots (parameters first), followed by the run counters of its while
+ * loops. The maximal operand stack size is computed during compilation, so the virtual machine has to reserve the
+ * stack space only once per call.
+ */
+public class Chunk {
+
+    private final String name;
+    private final int paramCount;
+    private int[] code = new int[0];
+    private int frameSize;
+    private int maxStack;
+
+    /**
+     * This constructor initializes an empty chunk.
+     *
+     * @param name       the name of the function.
+     * @param paramCount the count of parameters.
+     */
+    public Chunk(String name, int paramCount) {
+        this.name = name;
+        this.paramCount = paramCount;
+    }
+
+    /**
+     * Returns the name of the function.
+     *
+     * @return the name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the count of parameters.
+     *
+     * @return the count of parameters.
+     */
+    public int getParamCount() {
+        return paramCount;
+    }
+
+    /**
+     * Returns the instruction stream.
+     *
+     * @return the opcodes and their operands.
+     */
+    public int[] getCode() {
+        return code;
+    }
+
+    /**
+     * Returns the count of slots of a frame of this chunk.
+     *
+     * @return the frame size.
+     */
+    public int getFrameSize() {
+        return frameSize;
+    }
+
+    /**
+     * Returns the maximal size of the operand stack of this chunk.
+     *
+     * @return the maximal stack size.
+     */
+    public int getMaxStack() {
+        return maxStack;
+    }
+
+    /**
+     * This method completes the chunk with its compiled code.
+     *
+     * @param code      the instruction stream.
+     * @param frameSize the count of slots of a frame.
+     * @param maxStack  the maximal operand stack size.
+     */
+    void define(int[] code, int frameSize, int maxStack) {
+        this.code = code;
+        this.frameSize = frameSize;
+        this.maxStack = maxStack;
+    }
+
+}
@@ -0,0 +1,92 @@
+package vm;
+
+import java.util.Arrays;
+
+/**
+ * The purpose of this class is to translate a compiled program into a readable listing, which is useful to
+ * inspect the instructions generated for a program.
+ * Every instruction is listed with its address, its mnemonic and its operands. Operands which refer to a pool
+ * are completed with the referred value.
+ * Example for usage (where compiled is a BytecodeProgram):
+ * <code>System.out.println(Disassembler.disassemble(compiled));</code>
+ */
+public final class Disassembler {
+
+    /**
+     * This class only provides static methods and is not instantiated.
+     */
+    private Disassembler() {
+    }
+
+    /**
+     * Returns the listing of all chunks of a compiled program.
+     *
+     * @param program the compiled program.
+     * @return the listing.
+     */
+    public static String disassemble(BytecodeProgram program) {
+        StringBuilder out = new StringBuilder();
+        disassemble(program, program.getMain(), out);
+        for (Chunk function : program.getFunctions()) {
+            disassemble(program, function, out);
+        }
+        return out.toString();
+    }
+
+    /**
+     * This method appends the listing of one chunk.
+     *
+     * @param program the compiled program.
+     * @param chunk   the chunk to list.
+     * @param out     the listing to append to.
+     */
+    private static void disassemble(BytecodeProgram program, Chunk chunk, StringBuilder out) {
+        out.append(String.format("== %s (params %d, frame %d, stack %d) ==%n", chunk.getName(), chunk.getParamCount(), chunk.getFrameSize(), chunk.getMaxStack()));
+        int[] code = chunk.getCode();
+        int pc = 0;
+        while (pc < code.length) {
+            int opcode = code[pc];
+            out.append(String.format("%04d  %-9s", pc, Opcode.getName(opcode)));
+            for (int i = 1; i <= Opcode.getOperandCount(opcode); i++) {
+                out.append(String.format(" %5d", code[pc + i]));
+            }
+            String comment = getComment(program, opcode, code, pc);
+            if (comment != null) {
+                out.append("    ; ").append(comment);
+            }
+            out.append(String.format("%n"));
+            pc += 1 + Opcode.getOperandCount(opcode);
+        }
+    }
+
+    /**
+     * Returns the value referred by the operand of an instruction, if any.
+     *
+     * @param program the compiled program.
+     * @param opcode  the opcode of the instruction.
+     * @param code    the instruction stream.
+     * @param pc      the address of the instruction.
+     * @return the comment, or null if the instruction does not refer to a pool.
+     */
+    private static String getComment(BytecodeProgram program, int opcode, int[] code, int pc) {
+        switch (opcode) {
+            case Opcode.NCONST:
+                return Double.toString(program.getNumbers()[code[pc + 1]]);
+            case Opcode.SCONST:
+                return "'" + program.getConstants()[code[pc + 1]] + "'";
+            case Opcode.ADD:
+            case Opcode.SUB:
+            case Opcode.MUL:
+            case Opcode.DIV:
+            case Opcode.MOD:
+                return code[pc + 1] < 0 ? null : Arrays.toString((int[]) program.getConstants()[code[pc + 1]]);
+            case Opcode.LOOPCHECK:
+                return Arrays.toString((int[]) program.getConstants()[code[pc + 2]]);
+            case Opcode.CALL:
+                return program.getFunctions()[code[pc + 1]].getName() + " " + Arrays.toString((int[]) program.getConstants()[code[pc + 2]]);
+            default:
+                return null;
+        }
+    }
+
+}
@@ -0,0 +1,144 @@
+package vm;
+
+/**
+ * This class defines the instruction set of the virtual machine.
+ * Every instruction consists of an opcode, which may be followed by an operand within the instruction stream.
+ * The operand stack holds numbers and booleans within a double array (booleans as 1 and 0) and strings within an
+ * object array. In consequence, most instructions exist in a numeric and in a string variant.
+ * Local slots are addressed relative to the frame pointer of the current function, global slots absolutely.
+ */
+public final class Opcode {
+
+    /** Pushes a number of the number pool. Operand: index within the number pool. */
+    public static final int NCONST = 0;
+    /** Pushes a string of the constant pool. Operand: index within the constant pool. */
+    public static final int SCONST = 1;
+    /** Pushes a local number. Operand: slot. */
+    public static final int NLOAD = 2;
+    /** Pushes a local string. Operand: slot. */
+    public static final int SLOAD = 3;
+    /** Pops a number into a local slot. Operand: slot. */
+    public static final int NSTORE = 4;
+    /** Pops a string into a local slot. Operand: slot. */
+    public static final int SSTORE = 5;
+    /** Pushes a global number. Operand: slot. */
+    public static final int NGLOAD = 6;
+    /** Pushes a global string. Operand: slot. */
+    public static final int SGLOAD = 7;
+    /** Pops a number into a global slot. Operand: slot. */
+    public static final int NGSTORE = 8;
+    /** Pops a string into a global slot. Operand: slot. */
+    public static final int SGSTORE = 9;
+    /** Adds two numbers. Operand: index of the location within the constant pool, or -1. */
+    public static final int ADD = 10;
+    /** Subtracts two numbers. Operand: index of the location within the constant pool, or -1. */
+    public static final int SUB = 11;
+    /** Multiplies two numbers. Operand: index of the location within the constant pool, or -1. */
+    public static final int MUL = 12;
+    /** Divides two numbers. Operand: index of the location within the constant pool, or -1. */
+    public static final int DIV = 13;
+    /** Computes the remainder of two numbers. Operand: index of the location within the constant pool, or -1. */
+    public static final int MOD = 14;
+    /** Negates a number. */
+    public static final int NEG = 15;
+    /** Increments a number. */
+    public static final int INC = 16;
+    /** Decrements a number. */
+    public static final int DEC = 17;
+    /** Negates a boolean. */
+    public static final int NOT = 18;
+    /** Compares two numbers by less. */
+    public static final int LT = 19;
+    /** Compares two numbers by less or equal. */
+    public static final int LE = 20;
+    /** Compares two numbers by greater. */
+    public static final int GT = 21;
+    /** Compares two numbers by greater or equal. */
+    public static final int GE = 22;
+    /** Compares two numbers or booleans by equality. */
+    public static final int EQ = 23;
+    /** Compares two numbers or booleans by inequality. */
+    public static final int NE = 24;
+    /** Combines two booleans by logical and. */
+    public static final int AND = 25;
+    /** Combines two booleans by logical or. */
+    public static final int OR = 26;
+    /** Compares two strings by equality. */
+    public static final int SEQ = 27;
+    /** Compares two strings by inequality. */
+    public static final int SNE = 28;
+    /** Concatenates two strings. */
+    public static final int CONCAT = 29;
+    /** Converts a number to its text representation. */
+    public static final int NTEXT = 30;
+    /** Converts a boolean to its text representation. */
+    public static final int BTEXT = 31;
+    /** Swaps the two topmost stack entries. */
+    public static final int SWAP = 32;
+    /** Discards the topmost stack entry. */
+    public static final int POP = 33;
+    /** Jumps unconditionally. Operand: target address. */
+    public static final int JUMP = 34;
+    /** Pops a boolean and jumps if it is false. Operand: target address. */
+    public static final int JUMPF = 35;
+    /** Resets the run counter of a while loop. Operand: slot of the counter. */
+    public static final int LOOPINIT = 36;
+    /** Increments the run counter of a while loop and checks it against the limit. Operands: slot of the counter, index of the location within the constant pool. */
+    public static final int LOOPCHECK = 37;
+    /** Pops a string and prints it. */
+    public static final int PRINT = 38;
+    /** Calls a function, whose arguments are on top of the stack. Operands: index of the function, index of the location within the constant pool. */
+    public static final int CALL = 39;
+    /** Returns the topmost stack entry to the caller. */
+    public static final int RETURN = 40;
+    /** Stops the execution of the program. */
+    public static final int HALT = 41;
+
+    private static final String[] NAMES = {"NCONST", "SCONST", "NLOAD", "SLOAD", "NSTORE", "SSTORE", "NGLOAD", "SGLOAD",
+            "NGSTORE", "SGSTORE", "ADD", "SUB", "MUL", "DIV", "MOD", "NEG", "INC", "DEC", "NOT", "LT", "LE", "GT", "GE",
+            "EQ", "NE", "AND", "OR", "SEQ", "SNE", "CONCAT", "NTEXT", "BTEXT", "SWAP", "POP", "JUMP", "JUMPF",
+            "LOOPINIT", "LOOPCHECK", "PRINT", "CALL", "RETURN", "HALT"};
+
+    private static final int[] OPERANDS = {1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+            0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 2, 0, 2, 0, 0};
+
+    private static final int[] STACK_EFFECTS = {1, 1, 1, 1, -1, -1, 1, 1, -1, -1, -1, -1, -1, -1, -1, 0, 0, 0, 0, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 0, 0, 0, -1, 0, -1, 0, 0, -1, 1, 0, 0};
+
+    /**
+     * This class only holds constants and is not instantiated.
+     */
+    private Opcode() {
+    }
+
+    /**
+     * Returns the mnemonic of an opcode.
+     *
+     * @param opcode the opcode.
+     * @return the mnemonic.
+     */
+    public static String getName(int opcode) {
+        return NAMES[opcode];
+    }
+
+    /**
+     * Returns the count of operands which follow an opcode within the instruction stream.
+     *
+     * @param opcode the opcode.
+     * @return the count of operands.
+     */
+    public static int getOperandCount(int opcode) {
+        return OPERANDS[opcode];
+    }
+
+    /**
+     * Returns the change of the stack size caused by an opcode. For calls, the arguments are not considered.
+     *
+     * @param opcode the opcode.
+     * @return the change of the stack size.
+     */
+    static int getStackEffect(int opcode) {
+        return STACK_EFFECTS[opcode];
+    }
+
+}
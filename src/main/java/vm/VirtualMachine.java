@@ -0,0 +1,351 @@
+package vm;
+
+import execution.Budget;
+import execution.ConcatString;
+import execution.ExecutionLimits;
+import execution.NumberFormatter;
+import output.BufferedSink;
+import output.OutputSink;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The purpose of this class is to execute a program compiled by the BytecodeGenerator.
+ * All frames and operand stacks share one stack, which consists of a double array for numbers and booleans and an
+ * object array for strings. Concatenated strings are held as {@link ConcatString}, so appending to a string in a loop
+ * does not copy the whole string every time. A frame starts at its frame pointer with the parameters and local variables, followed
+ * by the operand stack of the function. As the top-level frame starts at index 0, global variables are addressed
+ * absolutely. The instructions of all calls are executed by a single dispatch loop: a call does not recurse, but
+ * pushes the chunk, the return address and the frame pointer of the caller onto an explicit call stack on the heap.
+ * Like this, the recursion depth does not depend on the size of the thread stack. Instead, it is limited by the
+ * maximum depth of the ExecutionLimits, which is reported at the location of the call exceeding it.
+ * Every loop run and every call is charged to the budget of the run, which enforces the ExecutionLimits.
+ * Runtime exceptions match the Interpreter (i.e. arithmetic runtime checks and the limited count of loop runs).
+ * Example for usage (where program is a parsed Program):
+ * <code>VirtualMachine machine = new VirtualMachine(BytecodeGenerator.compile(program));
+ * machine.run();</code>
+ */
+public class VirtualMachine {
+
+    private final BytecodeProgram program;
+    private OutputSink output = new BufferedSink();
+    private final Budget budget = new Budget();
+    private ExecutionLimits limits = ExecutionLimits.DEFAULT;
+    private double[] numbers = new double[0];
+    private Object[] objects = new Object[0];
+    private Chunk[] callerChunks = new Chunk[16];           // the call stack: the chunk of every active caller
+    private int[] returnAddresses = new int[16];            // the call stack: the address to continue every caller with
+    private int[] framePointers = new int[16];              // the call stack: the frame pointer of every caller
+
+    /**
+     * This constructor initializes the virtual machine for a compiled program.
+     *
+     * @param program the compiled program.
+     */
+    public VirtualMachine(BytecodeProgram program) {
+        this.program = program;
+    }
+
+    /**
+     * This method executes the program. The output of a previous run is discarded.
+     */
+    public void run() {
+        output.clear();
+        budget.start(limits);
+        Chunk main = program.getMain();
+        ensureCapacity(main.getFrameSize() + main.getMaxStack());
+        execute(main);
+    }
+
+    /**
+     * This method sets the limits of the following runs.
+     *
+     * @param limits the limits of a run.
+     */
+    public void setLimits(ExecutionLimits limits) {
+        this.limits = limits;
+    }
+
+    /**
+     * This method sets the sink, which receives the printed lines of the following runs.
+     *
+     * @param output the output sink.
+     */
+    public void setOutput(OutputSink output) {
+        this.output = output;
+    }
+
+    /**
+     * Returns the output of all executed print statements.
+     *
+     * @return the printed lines.
+     */
+    public List<String> getOutput() {
+        return output.getLines();
+    }
+
+    /**
+     * This method executes the instructions of the top-level chunk until it halts, including all called chunks.
+     * The stack arrays are held in local variables and reloaded after calls, as a call may grow the stack.
+     *
+     * @param main the top-level chunk.
+     */
+    private void execute(Chunk main) {
+        Chunk chunk = main;
+        int[] code = chunk.getCode();
+        double[] pool = program.getNumbers();
+        Object[] constants = program.getConstants();
+        double[] numbers = this.numbers;
+        Object[] objects = this.objects;
+        int maxDepth = limits.getMaxDepth();
+        int depth = 0;
+        int fp = 0;
+        int sp = fp + chunk.getFrameSize();
+        int pc = 0;
+        while (true) {
+            switch (code[pc++]) {
+                case Opcode.NCONST:
+                    numbers[sp++] = pool[code[pc++]];
+                    break;
+                case Opcode.SCONST:
+                    objects[sp++] = constants[code[pc++]];
+                    break;
+                case Opcode.NLOAD:
+                    numbers[sp++] = numbers[fp + code[pc++]];
+                    break;
+                case Opcode.SLOAD:
+                    objects[sp++] = objects[fp + code[pc++]];
+                    break;
+                case Opcode.NSTORE:
+                    numbers[fp + code[pc++]] = numbers[--sp];
+                    break;
+                case Opcode.SSTORE:
+                    objects[fp + code[pc++]] = objects[--sp];
+                    break;
+                case Opcode.NGLOAD:
+                    numbers[sp++] = numbers[code[pc++]];
+                    break;
+                case Opcode.SGLOAD:
+                    objects[sp++] = objects[code[pc++]];
+                    break;
+                case Opcode.NGSTORE:
+                    numbers[code[pc++]] = numbers[--sp];
+                    break;
+                case Opcode.SGSTORE:
+                    objects[code[pc++]] = objects[--sp];
+                    break;
+                case Opcode.ADD:
+                    sp--;
+                    numbers[sp - 1] = check(numbers[sp - 1] + numbers[sp], code[pc++], constants);
+                    break;
+                case Opcode.SUB:
+                    sp--;
+                    numbers[sp - 1] = check(numbers[sp - 1] - numbers[sp], code[pc++], constants);
+                    break;
+                case Opcode.MUL:
+                    sp--;
+                    numbers[sp - 1] = check(numbers[sp - 1] * numbers[sp], code[pc++], constants);
+                    break;
+                case Opcode.DIV:
+                    sp--;
+                    numbers[sp - 1] = check(numbers[sp - 1] / numbers[sp], code[pc++], constants);
+                    break;
+                case Opcode.MOD:
+                    sp--;
+                    numbers[sp - 1] = check(numbers[sp - 1] % numbers[sp], code[pc++], constants);
+                    break;
+                case Opcode.NEG:
+                    numbers[sp - 1] = -numbers[sp - 1];
+                    break;
+                case Opcode.INC:
+                    numbers[sp - 1] = numbers[sp - 1] + 1;
+                    break;
+                case Opcode.DEC:
+                    numbers[sp - 1] = numbers[sp - 1] - 1;
+                    break;
+                case Opcode.NOT:
+                    numbers[sp - 1] = numbers[sp - 1] == 0 ? 1 : 0;
+                    break;
+                case Opcode.LT:
+                    sp--;
+                    numbers[sp - 1] = numbers[sp - 1] < numbers[sp] ? 1 : 0;
+                    break;
+                case Opcode.LE:
+                    sp--;
+                    numbers[sp - 1] = numbers[sp - 1] <= numbers[sp] ? 1 : 0;
+                    break;
+                case Opcode.GT:
+                    sp--;
+                    numbers[sp - 1] = numbers[sp - 1] > numbers[sp] ? 1 : 0;
+                    break;
+                case Opcode.GE:
+                    sp--;
+                    numbers[sp - 1] = numbers[sp - 1] >= numbers[sp] ? 1 : 0;
+                    break;
+                case Opcode.EQ:
+                    sp--;
+                    numbers[sp - 1] = numbers[sp - 1] == numbers[sp] ? 1 : 0;
+                    break;
+                case Opcode.NE:
+                    sp--;
+                    numbers[sp - 1] = numbers[sp - 1] != numbers[sp] ? 1 : 0;
+                    break;
+                case Opcode.AND:
+                    sp--;
+                    numbers[sp - 1] = numbers[sp - 1] != 0 && numbers[sp] != 0 ? 1 : 0;
+                    break;
+                case Opcode.OR:
+                    sp--;
+                    numbers[sp - 1] = numbers[sp - 1] != 0 || numbers[sp] != 0 ? 1 : 0;
+                    break;
+                case Opcode.SEQ:
+                    sp--;
+                    numbers[sp - 1] = objects[sp - 1].toString().equals(objects[sp].toString()) ? 1 : 0;
+                    break;
+                case Opcode.SNE:
+                    sp--;
+                    numbers[sp - 1] = objects[sp - 1].toString().equals(objects[sp].toString()) ? 0 : 1;
+                    break;
+                case Opcode.CONCAT:
+                    sp--;
+                    objects[sp - 1] = ConcatString.concat((CharSequence) objects[sp - 1], objects[sp].toString());
+                    break;
+                case Opcode.NTEXT:
+                    objects[sp - 1] = NumberFormatter.format(numbers[sp - 1]);
+                    break;
+                case Opcode.BTEXT:
+                    objects[sp - 1] = numbers[sp - 1] != 0 ? "true" : "false";
+                    break;
+                case Opcode.SWAP: {
+                    double number = numbers[sp - 1];
+                    numbers[sp - 1] = numbers[sp - 2];
+                    numbers[sp - 2] = number;
+                    Object object = objects[sp - 1];
+                    objects[sp - 1] = objects[sp - 2];
+                    objects[sp - 2] = object;
+                    break;
+                }
+                case Opcode.POP:
+                    sp--;
+                    break;
+                case Opcode.JUMP:
+                    pc = code[pc];
+                    break;
+                case Opcode.JUMPF:
+                    pc = numbers[--sp] == 0 ? code[pc] : pc + 1;
+                    break;
+                case Opcode.LOOPINIT:
+                    numbers[fp + code[pc++]] = 0;
+                    break;
+                case Opcode.LOOPCHECK: {
+                    int counter = fp + code[pc++];
+                    int location = code[pc++];
+                    if (++numbers[counter] > budget.getMaxLoopRuns()) {
+                        throw new StackOverflowError("StackoverflowError at location " + Arrays.toString((int[]) constants[location]) + " occurred!");
+                    }
+                    budget.step((int[]) constants[location]);
+                    break;
+                }
+                case Opcode.PRINT:
+                    print(objects[--sp].toString());
+                    break;
+                case Opcode.CALL: {
+                    Chunk callee = program.getFunctions()[code[pc++]];
+                    int location = code[pc++];
+                    if (depth >= maxDepth) {
+                        throw new StackOverflowError("StackoverflowError at location " + Arrays.toString((int[]) constants[location]) + " occurred!");
+                    }
+                    budget.step((int[]) constants[location]);
+                    pushCaller(depth++, chunk, pc, fp);
+                    fp = sp - callee.getParamCount();
+                    ensureCapacity(fp + callee.getFrameSize() + callee.getMaxStack());
+                    numbers = this.numbers;
+                    objects = this.objects;
+                    chunk = callee;
+                    code = chunk.getCode();
+                    sp = fp + chunk.getFrameSize();
+                    pc = 0;
+                    break;
+                }
+                case Opcode.RETURN:
+                    numbers[fp] = numbers[sp - 1];
+                    objects[fp] = objects[sp - 1];
+                    sp = fp + 1;
+                    depth--;
+                    chunk = callerChunks[depth];
+                    code = chunk.getCode();
+                    pc = returnAddresses[depth];
+                    fp = framePointers[depth];
+                    break;
+                case Opcode.HALT:
+                    return;
+                default:
+                    throw new IllegalStateException("Unknown opcode <" + code[pc - 1] + "> at address " + (pc - 1) + "!");
+            }
+        }
+    }
+
+    /**
+     * This method pushes a caller onto the call stack. The call stack grows on demand.
+     *
+     * @param depth the count of active callers.
+     * @param chunk the chunk of the caller.
+     * @param pc    the address to continue the caller with.
+     * @param fp    the frame pointer of the caller.
+     */
+    private void pushCaller(int depth, Chunk chunk, int pc, int fp) {
+        if (depth == callerChunks.length) {
+            int capacity = depth * 2;
+            callerChunks = Arrays.copyOf(callerChunks, capacity);
+            returnAddresses = Arrays.copyOf(returnAddresses, capacity);
+            framePointers = Arrays.copyOf(framePointers, capacity);
+        }
+        callerChunks[depth] = chunk;
+        returnAddresses[depth] = pc;
+        framePointers[depth] = fp;
+    }
+
+    /**
+     * This method grows the stack if it cannot hold the passed count of entries.
+     *
+     * @param size the required count of entries.
+     */
+    private void ensureCapacity(int size) {
+        if (size > numbers.length) {
+            int capacity = Math.max(size, numbers.length * 2);
+            numbers = Arrays.copyOf(numbers, capacity);
+            objects = Arrays.copyOf(objects, capacity);
+        }
+    }
+
+    /**
+     * This method executes a print statement.
+     *
+     * @param out the text to print.
+     */
+    private void print(String out) {
+        output.print(out);
+    }
+
+    /**
+     * This method validates the result of an arithmetic operation for runtime exceptions. In case of an exception,
+     * the location of the operation is added if known.
+     *
+     * @param value     the result of an arithmetic operation.
+     * @param location  the index of the location within the constant pool, or -1.
+     * @param constants the constant pool.
+     * @return the validated result.
+     */
+    private static double check(double value, int location, Object[] constants) {
+        if (!Double.isInfinite(value) && !Double.isNaN(value)) {
+            return value;
+        }
+        String message = Double.isInfinite(value) ? "Invalid arithmetic operation! Result evaluated to Infinity!" : "Invalid arithmetic operation! Result is not a number!";
+        if (location < 0) {
+            throw new ArithmeticException(message);
+        }
+        throw new ArithmeticException("Arithmetic exception at location " + Arrays.toString((int[]) constants[location]) + " occurred!\n" + message);
+    }
+
+}
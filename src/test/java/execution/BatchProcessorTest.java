@@ -0,0 +1,67 @@
+package execution;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BatchProcessorTest {
+
+    @Test(timeout = 30000)
+    public void batchTest() {
+        List<String> scripts = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            scripts.add("def number fac(number n) { number r = 1; if (n > 1) { r = n * fac(n - 1); } return r; } print(fac(" + (i % 10) + "));");
+        }
+        scripts.add("number x = 1 / 0;");
+        scripts.add("string ab = 1");
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            BatchResult result = new BatchProcessor(Mode.EXECUTE, ExecutionLimits.DEFAULT, pool).process(scripts);
+            assertEquals(42, result.size());
+            assertEquals(2, result.getFailureCount());
+            for (int i = 0; i < 40; i++) {
+                Processor expected = new Processor(Mode.EXECUTE, scripts.get(i));
+                assertEquals(expected.getExecutionResult(), result.getResult(i).getExecutionResult());
+                assertEquals(expected.getParseCode(), result.getResult(i).getParseCode());
+                assertTrue(result.getResult(i).isRuntimeCheckSuccessful());
+            }
+            assertEquals("362880", result.getResult(9).getExecutionResult());
+            assertFalse(result.getResult(40).isRuntimeCheckSuccessful());
+            assertFalse(result.getResult(41).isParseCheckSuccessful());
+
+            assertTrue(result.getElapsedNanos() > 0);
+            assertTrue(result.getTotalNanos() >= result.getDurationNanos(0));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void silentTest() {
+        PrintStream out = System.out;
+        PrintStream err = System.err;
+        ByteArrayOutputStream console = new ByteArrayOutputStream();
+        try {
+            System.setOut(new PrintStream(console));
+            System.setErr(new PrintStream(console));
+            for (Mode mode : new Mode[]{Mode.EXECUTE, Mode.SPECIALIZE, Mode.VM, Mode.CLOSURE, Mode.IR, Mode.COMPILE}) {
+                BatchResult result = new BatchProcessor(mode).process(Arrays.asList("print(1); print('a');", "number x = 1 / 0;"));
+                assertEquals("1\na", result.getResult(0).getExecutionResult());
+            }
+        } finally {
+            System.setOut(out);
+            System.setErr(err);
+        }
+        assertEquals("", console.toString());
+    }
+}
@@ -0,0 +1,41 @@
+package execution;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class ConcatStringTest {
+
+    @Test
+    public void sharingTest() {
+        ConcatString ab = ConcatString.concat("a", "b");
+        ConcatString abc = ConcatString.concat(ab, "c");             // appended in place
+        ConcatString abd = ConcatString.concat(ab, "d");             // copied, as ab does not end the builder anymore
+        ConcatString abcd = ConcatString.concat(abc, "d");
+        assertEquals("ab", ab.toString());
+        assertEquals("abc", abc.toString());
+        assertEquals("abd", abd.toString());
+        assertEquals("abcd", abcd.toString());
+        assertEquals(3, abd.length());
+        assertEquals('d', abd.charAt(2));
+        assertEquals(ConcatString.concat("ab", "d"), abd);
+        assertNotEquals(abc, abd);
+    }
+
+    @Test(timeout = 20000)
+    public void appendLoopTest() {
+        String code = "string s = ''; number i = 0; while (i < 50000) { s += 'x'; i += 1; } string t = s + 'y'; string u = s + 'z'; "
+                + "boolean b = (s == t); print(b); boolean c = (t == s + 'y'); print(c); print(u);";
+        for (Mode mode : Arrays.asList(Mode.EXECUTE, Mode.SPECIALIZE, Mode.VM, Mode.CLOSURE, Mode.IR, Mode.COMPILE)) {
+            Processor processor = new Processor(mode, code, ProcessorOptions.DEFAULT.withVerbose(false));
+            String[] lines = processor.getExecutionResult().split("\n");
+            assertEquals("false", lines[0]);
+            assertEquals("true", lines[1]);
+            assertEquals(50001, lines[2].length());
+            assertEquals('z', lines[2].charAt(50000));
+        }
+    }
+}
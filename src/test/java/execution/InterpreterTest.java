@@ -11,8 +11,16 @@ import parser.parsetree.Program;
 
 import java.io.Reader;
 import java.io.StringReader;
-
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 public class InterpreterTest {
@@ -48,6 +56,8 @@ public class InterpreterTest {
 
             interpret("while (!true) { break; }");
             interpret("while (!true) { if (false) { break; } else { break; } }");
+            assertEquals(Arrays.asList("3"), interpret("number i = 0; while (true) { i += 1; if (i > 2) { break; } } print(i);"));
+            assertEquals(Arrays.asList("4"), interpret("number i = 0; number j = 0; while (i < 2) { i += 1; while (true) { j += 1; break; } j += 1; } print(j);"));
 
             assertThrows(MissingDeclarationException.class, () -> interpret("while (!true) { x = 1; }"));
             assertThrows(MissingDeclarationException.class, () -> interpret("while (!true) { number x = 1; } print(x);"));
@@ -119,6 +129,42 @@ public class InterpreterTest {
         }
     }
 
+    @Test
+    public void tailCallTest() {
+        try {
+            interpret("def number fun(number x) { number d = x - 50000; number y = 1 / d; return fun(x + 1); } fun(0);");
+            fail();
+        } catch (ArithmeticException e) {
+            assertTrue(e.getMessage().startsWith("Arithmetic exception at location [60, 65]"));
+        } catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        }
+        try {
+            interpret("def number fun(number x) { return fun(x + 1); } fun(0);");
+            fail();
+        } catch (StackOverflowError e) {
+            assertEquals("StackoverflowError at location [34, 44] occurred!", e.getMessage());
+        } catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+    @Test
+    public void frameTest() {
+        try {
+            assertEquals(Arrays.asList("610"), interpret("def number fib(number n) { number r = n; if (n > 1) { r = fib(n - 1) + fib(n - 2); } return r; } print(fib(15));"));
+            assertEquals(Arrays.asList("2", "1"), interpret("number x = 1; def number fun(number x) { x += 1; return x; } print(fun(x)); print(x);"));
+            assertEquals(Arrays.asList("3", "3"), interpret("number g = 1; def number fun() { g += 2; return g; } print(fun()); print(g);"));
+            assertEquals(Arrays.asList("1", "2"), interpret("if (true) { number a = 1; print(a); } if (true) { number b = 2; print(b); }"));
+            assert true;
+        } catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
     @Test
     public void printCallTest() {
         try {
@@ -174,6 +220,7 @@ public class InterpreterTest {
     public void expressionTest() {
         try {
             interpret("number var; number x = -var + 2 * 80 % 12 - 5.5 / 2;");
+            assertEquals(Arrays.asList("1.25", "a2true", "true", "false", "3"), interpret("print(-0 + 2 * 80 % 12 - 5.5 / 2); print('a' + 2 + true); print(('a' == 'a')); print((2 <= 1)); number x = 1; x += 2; print(x);"));
 
             assertThrows(MissingDeclarationException.class, () -> interpret("string y = x + 1;"));
             assertThrows(TypeMismatchException.class, () -> interpret("number x; string y = x + 1;"));
@@ -213,6 +260,33 @@ public class InterpreterTest {
         }
     }
 
+    @Test(timeout = 30000)
+    public void concurrentExecutionTest() {
+        try {
+            Program program = parse("number calls = 0; "
+                    + "def number fib(number n) { calls += 1; number r = n; if (n > 1) { r = fib(n - 1) + fib(n - 2); } return r; } "
+                    + "number i = 0; while (i < 15) { print(fib(i) + ' ' + calls); i += 1; }");
+            List<String> expected = execute(program);
+            assertEquals("377 3177", expected.get(expected.size() - 1));
+
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<List<String>>> results = new ArrayList<>();
+                for (int i = 0; i < 32; i++) {
+                    results.add(executor.submit(() -> execute(program)));
+                }
+                for (Future<List<String>> result : results) {
+                    assertEquals(expected, result.get());
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
     @Test
     public void variableDeclarationTest() {
         try {
@@ -245,12 +319,20 @@ public class InterpreterTest {
         }
     }
 
-    private void interpret(String input) throws Exception {
+    private List<String> interpret(String input) throws Exception {
+        return execute(parse(input));
+    }
+
+    private Program parse(String input) throws Exception {
         Reader in = new StringReader(input);
         JParser parser = new JParser(in, false);
         Symbol root = parser.parse();
-        Program program = (Program) root.value;
+        return (Program) root.value;
+    }
+
+    private List<String> execute(Program program) {
         Interpreter interpreter = new Interpreter();
         program.accept(interpreter);
+        return interpreter.getOutput();
     }
 }
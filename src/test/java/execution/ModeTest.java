@@ -0,0 +1,96 @@
+package execution;
+
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class ModeTest {
+
+    private static final List<String> SAMPLES = Arrays.asList("demo_0.txt", "demo_1.txt", "demo_2.txt", "fail_0_lexical_check.txt",
+            "fail_1_syntax_check.txt", "fail_2_semantic_check.txt", "fail_3_runtime_check.txt", "hello_world.txt", "recursion.txt", "while_loop.txt");
+
+    private static final String HUGE = String.format("1%0400d", 0);     // overflows to infinity when parsed
+
+    private static final List<String> SNIPPETS = Arrays.asList(
+            "print(-0 + 2 * 80 % 12 - 5.5 / 2); print('a' + 2 + true); print(('a' == 'a')); print((2 <= 1));",
+            "number x = 1; x += 2; x *= 3; x -= 1; x /= 4; x %= 3; x++; x--; print(x); string s = 'a'; s += 1.5; s += true; print(s);",
+            "def number fib(number n) { number r = n; if (n > 1) { r = fib(n - 1) + fib(n - 2); } return r; } print(fib(15));",
+            "number g = 1; def number fun() { g += 2; return g; } print(fun()); print(g); def number fun(number g) { g += 1; return g; } print(fun(5)); print(g);",
+            "number i = 0; while (true) { i += 1; if (i > 2) { break; } } print(i); while (i < 10) { if ((i % 2) == 0) { i += 3; } else { i += 1; } } print(i);",
+            "boolean b = !(true && false); print(b); print(((1 < 2) || false)); print(('a' != 'b')); print((b == false));",
+            "def boolean side() { print('side'); return false; } print((false && side()));",
+            "number x = 1; if (true) { number x = 2; print(x); } print(x); if (false) { } else { string y = 'else'; print(y); }",
+            "print(0.1 + 0.2); print(7 / 2); print(-(3)); print(12345678910); print('');",
+            "number x = 1 / 0;",
+            "number x; x /= 0;",
+            "print(1); print(0 % 0);",
+            "while (true) { }",
+            "def number fun() { return fun(); } fun();",
+            "string x = 1;",
+            "print(" + HUGE + "); print(-" + HUGE + "); number x = -" + HUGE + "; print(x); print(('' + x));"
+    );
+
+    @Test
+    public void compileTest() {
+        assertModeMatchesExecution(Mode.COMPILE);
+    }
+
+    @Test
+    public void specializeTest() {
+        assertModeMatchesExecution(Mode.SPECIALIZE);
+    }
+
+    @Test
+    public void vmTest() {
+        assertModeMatchesExecution(Mode.VM);
+    }
+
+    @Test
+    public void closureTest() {
+        assertModeMatchesExecution(Mode.CLOSURE);
+    }
+
+    @Test
+    public void irTest() {
+        assertModeMatchesExecution(Mode.IR);
+    }
+
+    private void assertModeMatchesExecution(Mode mode) {
+        for (String code : getCodes()) {
+            Processor expected = new Processor(Mode.EXECUTE, code);
+            Processor actual = new Processor(mode, code);
+            assertEquals(code, expected.isExceptionThrown(), actual.isExceptionThrown());
+            assertEquals(code, expected.isErrorThrown(), actual.isErrorThrown());
+            assertEquals(code, expected.isValidationCheckSuccessful(), actual.isValidationCheckSuccessful());
+            assertEquals(code, expected.isRuntimeCheckSuccessful(), actual.isRuntimeCheckSuccessful());
+            if (!expected.isErrorThrown()) {                        // the output of a stack overflow depends on the stack size
+                assertEquals(code, expected.getExecutionResult(), actual.getExecutionResult());
+                assertArrayEquals(code, expected.getLocation(), actual.getLocation());
+            }
+        }
+    }
+
+    private List<String> getCodes() {
+        List<String> codes = SAMPLES.stream().map(this::readSample).collect(Collectors.toList());
+        codes.addAll(SNIPPETS);
+        return codes;
+    }
+
+    private String readSample(String name) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(Objects.requireNonNull(getClass().getClassLoader().getResourceAsStream("samples/" + name)), StandardCharsets.UTF_8))) {
+            return reader.lines().collect(Collectors.joining("\n"));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
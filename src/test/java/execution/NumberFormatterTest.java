@@ -0,0 +1,49 @@
+package execution;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class NumberFormatterTest {
+
+    @Test
+    public void formatTest() {
+        assertEquals("3", NumberFormatter.format(3.0));
+        assertEquals("-42", NumberFormatter.format(-42.0));
+        assertEquals("0", NumberFormatter.format(-0.0));
+        assertEquals("0.5", NumberFormatter.format(0.5));
+        assertEquals("-2.25", NumberFormatter.format(-2.25));
+        assertEquals("3000000000", NumberFormatter.format(3e9));                   // narrowed to an int before
+        assertEquals("9007199254740992", NumberFormatter.format(9007199254740992.0));
+        assertEquals("100000000000000000000", NumberFormatter.format(1e20));
+        assertEquals("-123000000000000000000000", NumberFormatter.format(-1.23e23));
+        assertEquals("100000000000000000000000", NumberFormatter.format(1e23));      // 99999999999999990000000 before
+        assertEquals("282879384806159000", NumberFormatter.format(2.82879384806159E17));
+        assertEquals("0.00001", NumberFormatter.format(0.00001));
+        assertEquals("-0.0000001", NumberFormatter.format(-1e-7));
+        assertEquals("0.3333333333333333", NumberFormatter.format(1.0 / 3));
+        assertEquals("0.30000000000000004", NumberFormatter.format(0.1 + 0.2));
+        assertEquals("Infinity", NumberFormatter.format(Double.POSITIVE_INFINITY));
+        assertEquals("0.1", NumberFormatter.format(0.1));
+        assertEquals("123.456", NumberFormatter.format(123.456));
+        assertEquals("0." + String.format("%0324d", 5), NumberFormatter.format(Double.MIN_VALUE));       // subnormal numbers
+        assertEquals("0." + String.format("%0323d", 5), NumberFormatter.format(10 * Double.MIN_VALUE));
+        assertEquals("17976931348623157" + String.format("%0292d", 0), NumberFormatter.format(Double.MAX_VALUE));
+        assertEquals("NaN", NumberFormatter.format(Double.NaN));
+
+        assertEquals("a3000000000", NumberFormatter.append(new StringBuilder("a"), 3e9).toString());
+        assertEquals("true", NumberFormatter.toText(true));
+        assertEquals("7", NumberFormatter.toText(7.0));
+    }
+
+    @Test
+    public void engineTest() {
+        String code = "number x = 3000000000; number y = x * 1000000000; print(x); print('y is ' + y); string s = 'z is '; s += x / 4; print(s);";
+        for (Mode mode : new Mode[]{Mode.EXECUTE, Mode.SPECIALIZE, Mode.VM, Mode.CLOSURE, Mode.IR, Mode.COMPILE}) {
+            Processor processor = new Processor(mode, code, ProcessorOptions.DEFAULT.withVerbose(false));
+            assertEquals(mode.name(), "3000000000\ny is 3000000000000000000\nz is 750000000", processor.getExecutionResult());
+            processor = new Processor(mode, "print(100000000000000000000000); number x = 282879384806159000; print(x); print(0.000001); print(0.0000001);", ProcessorOptions.DEFAULT.withVerbose(false));
+            assertEquals(mode.name(), "100000000000000000000000\n282879384806159000\n0.000001\n0.0000001", processor.getExecutionResult());
+        }
+    }
+}
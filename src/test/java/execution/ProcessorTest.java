@@ -2,6 +2,7 @@ package execution;
 
 import org.junit.Test;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -79,4 +80,35 @@ public class ProcessorTest {
         assertFalse(processor.isRuntimeCheckSuccessful());
     }
 
+    @Test
+    public void limitTest() {
+        Mode[] modes = {Mode.EXECUTE, Mode.COMPILE, Mode.SPECIALIZE, Mode.VM, Mode.CLOSURE, Mode.IR};
+        String loops = "number i = 0; while (i < 100) { number j = 0; while (j < 100) { j += 1; } i += 1; }";
+        String call = "def number fun(number n) { return n; } number x = fun(1);";
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+        for (Mode mode : modes) {
+            Processor processor = new Processor(mode, loops, ExecutionLimits.DEFAULT.withMaxSteps(50));
+            assertTrue(processor.isExceptionThrown());
+            assertTrue(processor.isLimitExceeded());
+            assertFalse(processor.isRuntimeCheckSuccessful());
+            assertArrayEquals(new int[]{46, 73}, processor.getLocation());
+
+            processor = new Processor(mode, "while (true) { }", ExecutionLimits.DEFAULT.withMaxLoopRuns(Integer.MAX_VALUE).withTimeout(50));
+            assertTrue(processor.isLimitExceeded());
+            assertArrayEquals(new int[]{0, 16}, processor.getLocation());
+
+            processor = new Processor(mode, call, ExecutionLimits.DEFAULT.withCancellation(token));
+            assertTrue(processor.isLimitExceeded());
+            assertArrayEquals(new int[]{50, 56}, processor.getLocation());
+
+            processor = new Processor(mode, loops, ExecutionLimits.DEFAULT.withMaxSteps(10100));
+            assertFalse(processor.isExceptionThrown());
+            assertFalse(processor.isLimitExceeded());
+
+            processor = new Processor(mode, loops, ExecutionLimits.DEFAULT.withTimeout(Long.MAX_VALUE));   // effectively unlimited
+            assertFalse(processor.isLimitExceeded());
+        }
+    }
+
 }
@@ -0,0 +1,61 @@
+package execution;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ProgramCacheTest {
+
+    @Test
+    public void evictionTest() {
+        ProgramCache cache = new ProgramCache(2);
+        CachedProgram a = new CachedProgram(null, "", "", "a");
+        CachedProgram b = new CachedProgram(null, "", "", "b");
+        CachedProgram c = new CachedProgram(null, "", "", "c");
+        cache.put("a", a);
+        cache.put("b", b);
+        assertSame(a, cache.get("a"));          // b is least recently used now
+        cache.put("c", c);
+        assertNull(cache.get("b"));
+        assertSame(a, cache.get("a"));
+        assertSame(c, cache.get("c"));
+
+        assertEquals(2, cache.size());
+        assertEquals(3, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getEvictionCount());
+
+        cache.store(ProgramCache.hash("b"), b);         // keyed access is equivalent to access by source
+        assertSame(b, cache.get("b"));
+        assertSame(c, cache.lookup(ProgramCache.hash("c")));
+    }
+
+    @Test
+    public void processorTest() {
+        ProgramCache cache = new ProgramCache(4);
+        String code = "def number fun(number a) { return a * 2; } print(fun(21));";
+        for (Mode mode : new Mode[]{Mode.EXECUTE, Mode.SPECIALIZE, Mode.VM, Mode.CLOSURE, Mode.IR, Mode.VALIDATE}) {
+            Processor processor = new Processor(mode, code, ProcessorOptions.DEFAULT.withVerbose(false).withProgramCache(cache));
+            Processor expected = new Processor(mode, code);
+            assertEquals(expected.getExecutionResult(), processor.getExecutionResult());
+            assertEquals(expected.getScannerOutput(), processor.getScannerOutput());
+            assertEquals(expected.getParseTree(), processor.getParseTree());
+            assertEquals(expected.getParseCode(), processor.getParseCode());
+            assertEquals(expected.isRuntimeCheckSuccessful(), processor.isRuntimeCheckSuccessful());
+        }
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(5, cache.getHitCount());
+        assertNotNull(cache.get(code));
+
+        Processor processor = new Processor(Mode.EXECUTE, "string x = 1;", ProcessorOptions.DEFAULT.withVerbose(false).withProgramCache(cache));
+        assertFalse(processor.isValidationCheckSuccessful());
+        processor = new Processor(Mode.PARSE, "string y = 1;", ProcessorOptions.DEFAULT.withVerbose(false).withProgramCache(cache));
+        assertEquals("", processor.getExecutionResult());
+        assertEquals(1, cache.size());
+    }
+}
@@ -0,0 +1,71 @@
+package execution;
+
+import exceptions.MissingDeclarationException;
+import exceptions.UniquenessViolationException;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class ReplSessionTest {
+
+    @Test
+    public void sessionStateTest() throws Exception {
+        ReplSession session = new ReplSession();
+        assertEquals(Collections.emptyList(), session.evaluate("number x = 3;"));
+        assertEquals(Collections.emptyList(), session.evaluate("def number twice(number n) { return n * 2; }"));
+        assertEquals(Collections.singletonList("6"), session.evaluate("print(twice(x));"));
+        session.evaluate("x += 4; string s = 'n is ';");
+        assertEquals(Arrays.asList("n is 7", "14"), session.evaluate("print(s + x); print(twice(x));"));
+        assertEquals(5, session.getFragmentCount());
+    }
+
+    @Test
+    public void reassignedGlobalTest() throws Exception {
+        ReplSession session = new ReplSession();
+        session.evaluate("number x = 1; def number get() { number y = 0; y += x; return y; }");
+        session.evaluate("x = 5;");
+        assertEquals(Collections.singletonList("5"), session.evaluate("print(get());"));
+    }
+
+    @Test
+    public void discardedFragmentTest() throws Exception {
+        ReplSession session = new ReplSession();
+        session.evaluate("number x = 1;");
+        try {
+            session.evaluate("number y = 2; number x = 3;");
+            fail();
+        } catch (UniquenessViolationException e) {
+            // expected
+        }
+        try {
+            session.evaluate("print(y);");
+            fail();
+        } catch (MissingDeclarationException e) {
+            // expected
+        }
+        try {
+            session.evaluate("number z = 2; while (true) { z += 1; }");
+            fail();
+        } catch (StackOverflowError e) {
+            // expected
+        }
+        assertEquals(Collections.singletonList("2"), session.evaluate("number z = 2; print(z);"));
+        assertEquals(Collections.singletonList("1"), session.evaluate("print(x);"));
+        assertEquals(3, session.getFragmentCount());
+    }
+
+    @Test(timeout = 20000)
+    public void longSessionTest() throws Exception {
+        ReplSession session = new ReplSession();
+        session.evaluate("number sum = 0;");
+        for (int i = 0; i < 5000; i++) {
+            session.evaluate("number v" + i + " = " + i + "; sum += v" + i + ";");
+        }
+        assertEquals(Collections.singletonList("12497500"), session.evaluate("print(sum);"));
+    }
+
+}
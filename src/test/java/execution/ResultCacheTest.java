@@ -0,0 +1,59 @@
+package execution;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ResultCacheTest {
+
+    @Test
+    public void cacheTest() {
+        ResultCache results = new ResultCache(8);
+        String code = "number i = 0; while (i < 3) { i += 1; print(i); }";
+        Processor processor = results.process(Mode.EXECUTE, code);
+        assertEquals("1\n2\n3", processor.getExecutionResult());
+        assertSame(processor, results.process(Mode.EXECUTE, code));
+        assertNotSame(processor, results.process(Mode.VM, code));
+        assertNotSame(processor, results.process(Mode.EXECUTE, code, ExecutionLimits.DEFAULT.withMaxLoopRuns(5)));
+        assertEquals(3, results.size());
+        assertEquals(1, results.getHitCount());
+        assertEquals(3, results.getMissCount());
+
+        processor = results.process(Mode.EXECUTE, "number x = 1 / 0;");                    // errors are deterministic
+        assertSame(processor, results.process(Mode.EXECUTE, "number x = 1 / 0;"));
+        assertFalse(processor.isRuntimeCheckSuccessful());
+        assertArrayEquals(new int[]{11, 16}, processor.getLocation());
+    }
+
+    @Test
+    public void uncachedTest() {
+        ResultCache results = new ResultCache(8);
+        ExecutionLimits limits = ExecutionLimits.DEFAULT.withMaxLoopRuns(Integer.MAX_VALUE).withTimeout(50);
+        Processor processor = results.process(Mode.EXECUTE, "while (true) { }", limits);
+        assertTrue(processor.isLimitExceeded());
+        assertNotSame(processor, results.process(Mode.EXECUTE, "while (true) { }", limits));
+
+        String code = "number i = 0; while (i < 100) { i += 1; } print(i);";
+        processor = results.process(Mode.EXECUTE, code, ExecutionLimits.DEFAULT.withTimeout(10000));     // finished in time
+        assertEquals("100", processor.getExecutionResult());
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+        processor = results.process(Mode.EXECUTE, code, ExecutionLimits.DEFAULT.withCancellation(token));
+        assertTrue(processor.isLimitExceeded());
+
+        processor = results.process(Mode.EXECUTE, "while (true) { }", ExecutionLimits.DEFAULT.withMaxSteps(10));
+        assertTrue(processor.isLimitExceeded());
+        assertSame(processor, results.process(Mode.EXECUTE, "while (true) { }", ExecutionLimits.DEFAULT.withMaxSteps(10)));
+
+        String recursion = "def number f(number n) { number r = 0; if (n > 0) { r = f(n - 1) + 1; } return r; } print(f(10000000));";
+        processor = results.process(Mode.EXECUTE, recursion);                           // depends on the stack size
+        assertTrue(processor.isStackOverflow());
+        assertNotSame(processor, results.process(Mode.EXECUTE, recursion));
+        assertEquals(1, results.size());
+    }
+}
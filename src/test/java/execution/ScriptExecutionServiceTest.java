@@ -0,0 +1,124 @@
+package execution;
+
+import org.junit.Test;
+import output.BoundedSink;
+import output.BufferedSink;
+import output.OutputSink;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ScriptExecutionServiceTest {
+
+    @Test(timeout = 30000)
+    public void serviceTest() {
+        ExecutionLimits limits = ExecutionLimits.DEFAULT.withMaxLoopRuns(Integer.MAX_VALUE).withTimeout(200);
+        try (ScriptExecutionService service = new ScriptExecutionService(Mode.EXECUTE, limits, 4)) {
+            boolean virtualThreads;
+            try {
+                Thread.class.getMethod("ofVirtual");
+                virtualThreads = true;
+            } catch (NoSuchMethodException e) {
+                virtualThreads = false;
+            }
+            assertEquals(virtualThreads, service.isVirtual());
+
+            List<CompletableFuture<Processor>> results = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                results.add(service.submit("number i = 0; number s = 0; while (i < " + i + ") { i += 1; s += i; } print(s);"));
+            }
+            CompletableFuture<Processor> endless = service.submit("number i = 0; while (true) { i += 1; }");
+            for (int i = 0; i < 50; i++) {
+                Processor processor = results.get(i).get();
+                assertTrue(processor.isRuntimeCheckSuccessful());
+                assertEquals(String.valueOf(i * (i + 1) / 2), processor.getExecutionResult());
+            }
+            Processor processor = endless.get();
+            assertTrue(processor.isLimitExceeded());
+            assertFalse(processor.isRuntimeCheckSuccessful());
+        } catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+    @Test(timeout = 30000)
+    public void silentTest() throws Exception {
+        PrintStream out = System.out;
+        ByteArrayOutputStream console = new ByteArrayOutputStream();
+        try (ScriptExecutionService service = new ScriptExecutionService(Mode.EXECUTE, ExecutionLimits.DEFAULT, 4)) {
+            System.setOut(new PrintStream(console));
+            List<CompletableFuture<Processor>> results = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                results.add(service.submit("number i = 0; while (i < 10) { i += 1; print(i); }"));
+            }
+            for (CompletableFuture<Processor> result : results) {
+                assertEquals(10, result.get().getExecutionResult().split("\n").length);
+            }
+        } finally {
+            System.setOut(out);
+        }
+        assertEquals("", console.toString());
+    }
+
+    @Test(timeout = 30000)
+    public void sinkTest() throws Exception {
+        List<BoundedSink> sinks = new CopyOnWriteArrayList<>();
+        Supplier<OutputSink> supplier = () -> {
+            BoundedSink sink = new BoundedSink(3, true);
+            sinks.add(sink);
+            return sink;
+        };
+        try (ScriptExecutionService service = new ScriptExecutionService(Mode.VM, ExecutionLimits.DEFAULT, 4, supplier)) {
+            List<CompletableFuture<Processor>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(service.submit("number i = 0; while (i < 10) { i += 1; print(i); }"));
+            }
+            for (CompletableFuture<Processor> result : results) {
+                assertEquals("8\n9\n10", result.get().getExecutionResult());
+            }
+        }
+        assertEquals(8, sinks.size());
+        for (BoundedSink sink : sinks) {
+            assertEquals(7, sink.getDroppedCount());
+        }
+    }
+
+    @Test(timeout = 30000)
+    public void blockingSinkTest() throws Exception {
+        int scripts = 2 * Runtime.getRuntime().availableProcessors() + 1;       // more than carrier threads
+        CountDownLatch printed = new CountDownLatch(scripts);
+        Supplier<OutputSink> supplier = () -> new BufferedSink() {
+            @Override
+            public void print(String line) {
+                super.print(line);
+                printed.countDown();
+                try {
+                    printed.await();                                            // blocks until every script printed
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        try (ScriptExecutionService service = new ScriptExecutionService(Mode.EXECUTE, ExecutionLimits.DEFAULT, scripts, supplier)) {
+            List<CompletableFuture<Processor>> results = new ArrayList<>();
+            for (int i = 0; i < scripts; i++) {
+                results.add(service.submit("print(" + i + ");"));
+            }
+            for (int i = 0; i < scripts; i++) {
+                assertEquals(String.valueOf(i), results.get(i).get().getExecutionResult());
+            }
+        }
+    }
+}
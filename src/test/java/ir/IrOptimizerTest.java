@@ -0,0 +1,114 @@
+package ir;
+
+import java_cup.runtime.Symbol;
+import org.junit.Test;
+import parser.JParser;
+import parser.parsetree.BinaryOperator;
+import parser.parsetree.Program;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class IrOptimizerTest {
+
+    @Test
+    public void loopInvariantCodeMotionTest() {
+        try {
+            String code = "def number fun(number a, number b) { number i = 0; number s = 0; while (i < 3) { s = s + a * b; i = i + 1; } return s; } print(fun(2, 3));";
+            IrProgram program = optimize(code);
+            IrFunction function = program.getFunctions().get(0);
+            Instruction product = find(function, Operation.ARITH, BinaryOperator.MUL).get(0);
+            assertSame(function.getEntry(), product.getBlock());
+            for (Instruction check : find(function, Operation.CHECK, null)) {
+                assertNotSame(function.getEntry(), check.getBlock());
+            }
+            assertEquals(Arrays.asList("18"), run(program));
+        } catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+    @Test
+    public void commonSubexpressionEliminationTest() {
+        try {
+            String code = "def number fun(number a) { number x = a * a; number y = a * a; return x + y; } print(fun(3));";
+            IrProgram program = optimize(code);
+            IrFunction function = program.getFunctions().get(0);
+            assertEquals(1, find(function, Operation.ARITH, BinaryOperator.MUL).size());
+            assertEquals(2, find(function, Operation.CHECK, null).size());
+            assertEquals(Arrays.asList("18"), run(program));
+        } catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+    @Test
+    public void deadCodeEliminationTest() {
+        try {
+            String code = "def number fun(number a) { string s = 'v' + a; boolean b = (a > 1); return a; } print(fun(3));";
+            IrProgram program = optimize(code);
+            IrFunction function = program.getFunctions().get(0);
+            assertTrue(find(function, Operation.CONCAT, null).isEmpty());
+            assertTrue(find(function, Operation.TEXT, null).isEmpty());
+            assertTrue(find(function, Operation.COMPARE, null).isEmpty());
+            assertEquals(Arrays.asList("3"), run(program));
+        } catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+    @Test
+    public void runtimeExceptionTest() {
+        try {
+            run(optimize("number x = 1 / 0;"));
+            fail();
+        } catch (ArithmeticException e) {
+            assertTrue(e.getMessage().startsWith("Arithmetic exception at location [11, 16]"));
+        } catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        }
+        try {
+            run(optimize("number i = 0; while (true) { i += 1; }"));
+            fail();
+        } catch (StackOverflowError e) {
+            assertEquals("StackoverflowError at location [14, 38] occurred!", e.getMessage());
+        } catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+    private List<Instruction> find(IrFunction function, Operation operation, Object operator) {
+        List<Instruction> found = new ArrayList<>();
+        for (Block block : function.getBlocks()) {
+            for (Instruction instruction : block.getInstructions()) {
+                if (instruction.getOperation() == operation && (operator == null || operator == instruction.getOperator())) {
+                    found.add(instruction);
+                }
+            }
+        }
+        return found;
+    }
+
+    private IrProgram optimize(String input) throws Exception {
+        Reader in = new StringReader(input);
+        JParser parser = new JParser(in, false);
+        Symbol root = parser.parse();
+        return IrOptimizer.optimize(IrBuilder.build((Program) root.value));
+    }
+
+    private List<String> run(IrProgram program) {
+        IrMachine machine = new IrMachine(program);
+        machine.run();
+        return machine.getOutput();
+    }
+}
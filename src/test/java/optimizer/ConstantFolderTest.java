@@ -0,0 +1,103 @@
+package optimizer;
+
+import execution.Interpreter;
+import java_cup.runtime.Symbol;
+import org.junit.Test;
+import parser.JParser;
+import parser.parsetree.Component;
+import parser.parsetree.Program;
+import parser.parsetree.statements.IfThenElseStatement;
+import parser.parsetree.statements.IfThenStatement;
+import parser.parsetree.statements.PrintCallStatement;
+import parser.parsetree.statements.VariableDeclaration;
+import validator.Resolver;
+import validator.Validator;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ConstantFolderTest {
+
+    @Test
+    public void foldingTest() {
+        try {
+            Program program = fold("number x = 2 * 3; number y = x + 1; string s = 'x is ' + x; print(y);");
+            assertEquals(6.0, getConstant(program, 0));
+            assertEquals(7.0, getConstant(program, 1));
+            assertEquals("x is 6", getConstant(program, 2));
+            assertEquals(7.0, ((Component) ((PrintCallStatement) program.getStatements().get(3)).getValue()).getConstant());
+
+            program = fold("boolean b = (!(1 < 2) || true); boolean c = ('a' == 'b');");
+            assertEquals(true, getConstant(program, 0));
+            assertEquals(false, getConstant(program, 1));
+
+            program = fold("number x = 1; x = 2; number y = x + 1;");  // reassigned variables are not propagated
+            assertNull(getConstant(program, 2));
+
+            program = fold("def number fun(number a) { return a + 1; } number y = fun(1) * 2;");
+            assertNull(getConstant(program, 1));
+        } catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+    @Test
+    public void pruningTest() {
+        try {
+            Program program = fold("if (1 > 2) { print('dead'); } if (true) { print('a'); } else { print('b'); }");
+            assertTrue(((IfThenStatement) program.getStatements().get(0)).getStatements().isEmpty());
+            IfThenElseStatement statement = (IfThenElseStatement) program.getStatements().get(1);
+            assertEquals(1, statement.getIfStatements().size());
+            assertTrue(statement.getElseStatements().isEmpty());
+            assertEquals(Arrays.asList("a"), interpret("if (1 > 2) { print('dead'); } if (true) { print('a'); } else { print('b'); }"));
+        } catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+    @Test
+    public void locationTest() {
+        try {
+            Program program = fold("number x = 1 / 0;");
+            assertNull(getConstant(program, 0));
+            interpret("number x = 1 / 0;");
+            fail();
+        } catch (ArithmeticException e) {
+            assertTrue(e.getMessage().startsWith("Arithmetic exception at location [11, 16]"));
+        } catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+    private Object getConstant(Program program, int index) {
+        return ((Component) ((VariableDeclaration) program.getStatements().get(index)).getValue()).getConstant();
+    }
+
+    private Program parse(String input) throws Exception {
+        Reader in = new StringReader(input);
+        JParser parser = new JParser(in, false);
+        Symbol root = parser.parse();
+        return (Program) root.value;
+    }
+
+    private Program fold(String input) throws Exception {
+        Program program = parse(input);
+        program.accept(new Validator());
+        program.accept(new Resolver());
+        program.accept(new ConstantFolder());
+        return program;
+    }
+
+    private List<String> interpret(String input) throws Exception {
+        Interpreter interpreter = new Interpreter();
+        parse(input).accept(interpreter);
+        return interpreter.getOutput();
+    }
+}
@@ -0,0 +1,86 @@
+package optimizer;
+
+import execution.Interpreter;
+import java_cup.runtime.Symbol;
+import org.junit.Test;
+import parser.JParser;
+import parser.parsetree.Program;
+import parser.parsetree.statements.FunctionDefStatement;
+import validator.Resolver;
+import validator.Validator;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class EffectAnalyzerTest {
+
+    @Test
+    public void purityTest() {
+        try {
+            Program program = analyze("number g = 1; g = 2; "
+                    + "def number pure(number a) { number b = a * 2; return b + 1; } "
+                    + "def number printing(number a) { print(a); return a; } "
+                    + "def number reading(number a) { return a + g; } "
+                    + "def number writing(number a) { g = a; return a; } "
+                    + "def number calling(number a) { return printing(a) + pure(a); } "
+                    + "def number recursive(number a) { number r = 0; if (a > 0) { r = recursive(a - 1); } return r; }");
+            assertTrue(getFunction(program, 2).isPure());
+            assertFalse(getFunction(program, 3).isPure());
+            assertFalse(getFunction(program, 4).isPure());
+            assertFalse(getFunction(program, 5).isPure());
+            assertFalse(getFunction(program, 6).isPure());
+            assertTrue(getFunction(program, 7).isPure());
+
+            program = analyze("number c = 5; def number constant(number a) { return a + c; }");  // propagated constants are pure
+            assertTrue(getFunction(program, 1).isPure());
+        } catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void memoizationTest() {
+        try {
+            String code = "def number fib(number n) { number r = n; if (n > 1) { r = fib(n - 1) + fib(n - 2); } return r; } "
+                    + "print(fib(40)); print(fib(40));";
+            assertEquals(Arrays.asList("102334155", "102334155"), interpret(code));
+
+            code = "def number count(number n) { print(n); return n; } number x = count(1) + count(1);";
+            assertEquals(Arrays.asList("1", "1"), interpret(code));
+        } catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+    private FunctionDefStatement getFunction(Program program, int index) {
+        return (FunctionDefStatement) program.getStatements().get(index);
+    }
+
+    private Program parse(String input) throws Exception {
+        Reader in = new StringReader(input);
+        JParser parser = new JParser(in, false);
+        Symbol root = parser.parse();
+        return (Program) root.value;
+    }
+
+    private Program analyze(String input) throws Exception {
+        Program program = parse(input);
+        program.accept(new Validator());
+        program.accept(new Resolver());
+        program.accept(new ConstantFolder());
+        program.accept(new EffectAnalyzer());
+        return program;
+    }
+
+    private List<String> interpret(String input) throws Exception {
+        Interpreter interpreter = new Interpreter();
+        parse(input).accept(interpreter);
+        return interpreter.getOutput();
+    }
+}
@@ -0,0 +1,112 @@
+package output;
+
+import execution.Mode;
+import execution.Processor;
+import execution.ProcessorOptions;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class OutputSinkTest {
+
+    private static final String CODE = "number i = 0; while (i < 10) { i += 1; print(i); }";
+
+    @Test
+    public void boundedSinkTest() {
+        for (Mode mode : new Mode[]{Mode.EXECUTE, Mode.SPECIALIZE, Mode.VM, Mode.CLOSURE, Mode.IR}) {
+            BoundedSink first = new BoundedSink(3, false);
+            Processor processor = new Processor(mode, CODE, ProcessorOptions.DEFAULT.withVerbose(false).withSink(first));
+            assertEquals("1\n2\n3", processor.getExecutionResult());
+            assertEquals(7, first.getDroppedCount());
+
+            BoundedSink last = new BoundedSink(3, true);
+            processor = new Processor(mode, CODE, ProcessorOptions.DEFAULT.withVerbose(false).withSink(last));
+            assertEquals("8\n9\n10", processor.getExecutionResult());
+            assertEquals(7, last.getDroppedCount());
+        }
+    }
+
+    @Test
+    public void writerSinkTest() {
+        StringWriter writer = new StringWriter();
+        Processor processor = new Processor(Mode.VM, CODE + " print(1 / 0);", ProcessorOptions.DEFAULT.withVerbose(false).withSink(new WriterSink(writer)));
+        assertEquals("", processor.getExecutionResult());
+        assertTrue(processor.isExceptionThrown());
+        assertEquals("1\n2\n3\n4\n5\n6\n7\n8\n9\n10\n", writer.toString());
+    }
+
+    @Test
+    public void failingPrintTest() {
+        for (Mode mode : new Mode[]{Mode.EXECUTE, Mode.COMPILE, Mode.SPECIALIZE, Mode.VM, Mode.CLOSURE, Mode.IR}) {
+            Processor processor = new Processor(mode, CODE, ProcessorOptions.DEFAULT.withVerbose(false).withSink(new WriterSink(new FailingWriter(true, false))));
+            assertTrue(processor.isExceptionThrown());
+            assertTrue(processor.isLexCheckSuccessful());
+            assertTrue(processor.isParseCheckSuccessful());
+            assertTrue(processor.isValidationCheckSuccessful());
+            assertFalse(processor.isRuntimeCheckSuccessful());
+            assertTrue(processor.getErrorMessage().startsWith("Printed output could not be written!"));
+        }
+    }
+
+    @Test
+    public void failingFlushTest() {
+        for (Mode mode : new Mode[]{Mode.EXECUTE, Mode.COMPILE, Mode.SPECIALIZE, Mode.VM, Mode.CLOSURE, Mode.IR}) {
+            Processor processor = new Processor(mode, CODE, ProcessorOptions.DEFAULT.withVerbose(false).withSink(new WriterSink(new FailingWriter(false, true))));
+            assertTrue(processor.isExceptionThrown());
+            assertTrue(processor.isLexCheckSuccessful());
+            assertTrue(processor.isParseCheckSuccessful());
+            assertTrue(processor.isValidationCheckSuccessful());
+            assertFalse(processor.isRuntimeCheckSuccessful());
+            assertTrue(processor.getErrorMessage().startsWith("Printed output could not be written!"));
+        }
+    }
+
+    @Test
+    public void bufferedSinkTest() {
+        BufferedSink sink = new BufferedSink();
+        sink.print("a");
+        sink.print("");
+        assertEquals(Arrays.asList("a", ""), sink.getLines());
+        sink.clear();
+        assertTrue(sink.getLines().isEmpty());
+    }
+
+    /**
+     * A writer which fails to write or to flush.
+     */
+    private static class FailingWriter extends Writer {
+
+        private final boolean failWrite;
+        private final boolean failFlush;
+
+        FailingWriter(boolean failWrite, boolean failFlush) {
+            this.failWrite = failWrite;
+            this.failFlush = failFlush;
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) throws IOException {
+            if (failWrite) {
+                throw new IOException("write failed");
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (failFlush) {
+                throw new IOException("flush failed");
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
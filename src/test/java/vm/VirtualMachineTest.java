@@ -0,0 +1,162 @@
+package vm;
+
+import execution.ExecutionLimits;
+import execution.Mode;
+import execution.Processor;
+import execution.ProcessorOptions;
+import execution.ProgramCache;
+import java_cup.runtime.Symbol;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import parser.JParser;
+import parser.parsetree.Program;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class VirtualMachineTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void executionTest() {
+        try {
+            BytecodeProgram program = compile("def number fib(number n) { number r = n; if (n > 1) { r = fib(n - 1) + fib(n - 2); } return r; } print(fib(15));");
+            VirtualMachine machine = new VirtualMachine(program);
+            machine.run();
+            assertEquals(Arrays.asList("610"), machine.getOutput());
+            machine.run();                                          // compiled programs can be run repeatedly
+            assertEquals(Arrays.asList("610"), machine.getOutput());
+        } catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+    @Test
+    public void callDepthTest() {
+        String code = "def number sum(number n) { number r = 0; if (n > 0) { r = n + sum(n - 1); } return r; } print(sum(50000));";
+        try {
+            VirtualMachine machine = new VirtualMachine(compile(code));    // deeper than the thread stack allows for recursion
+            machine.run();
+            assertEquals(Arrays.asList("1250025000"), machine.getOutput());
+        } catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        }
+        try {
+            VirtualMachine machine = new VirtualMachine(compile(code));
+            machine.setLimits(ExecutionLimits.DEFAULT.withMaxDepth(1000));
+            machine.run();
+            fail();
+        } catch (StackOverflowError e) {
+            assertEquals("StackoverflowError at location [62, 72] occurred!", e.getMessage());
+        } catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        }
+        Processor processor = new Processor(Mode.VM, code, ExecutionLimits.DEFAULT.withMaxDepth(1000));
+        assertTrue(processor.isStackOverflow());
+        assertArrayEquals(new int[]{62, 72}, processor.getLocation());
+        processor = new Processor(Mode.VM, code, ExecutionLimits.DEFAULT.withMaxDepth(200000));
+        assertEquals("1250025000", processor.getExecutionResult());
+    }
+
+    @Test
+    public void disassemblerTest() {
+        try {
+            String listing = Disassembler.disassemble(compile("number i = 0; while (i < 3) { i += 1; } print('i is ' + i);"));
+            assertTrue(listing.startsWith("== main (params 0, frame 2, stack 2) =="));
+            assertTrue(listing.contains("LOOPCHECK"));
+            assertTrue(listing.contains("; 'i is '"));
+            assertTrue(listing.contains("NTEXT"));
+            assertTrue(listing.trim().endsWith("HALT"));
+        } catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+    @Test
+    public void persistentCacheTest() {
+        String code = "def string fun(number n) { string s = 'n is ' + n; if (n > 1.5) { s = s + ' big'; } return s; } print(fun(2)); print(1 / 0);";
+        try {
+            Path directory = folder.getRoot().toPath().resolve("cache");
+            BytecodeCache cache = new BytecodeCache(directory);
+            assertNull(cache.load(code));
+            BytecodeProgram compiled = cache.compile(code);
+            assertEquals(1, directory.toFile().list().length);
+
+            BytecodeProgram loaded = new BytecodeCache(directory).load(code);        // e.g. loaded by another JVM
+            assertNotNull(loaded);
+            assertEquals(Disassembler.disassemble(compiled), Disassembler.disassemble(loaded));
+            VirtualMachine machine = new VirtualMachine(loaded);
+            try {
+                machine.run();
+                fail();
+            } catch (ArithmeticException e) {
+                assertTrue(e.getMessage().startsWith("Arithmetic exception at location [117, 122]"));
+            }
+            assertEquals(Arrays.asList("n is 2 big"), machine.getOutput());
+
+            Path file = directory.toFile().listFiles()[0].toPath();
+            Files.write(file, Arrays.copyOf(Files.readAllBytes(file), 20));           // truncated files are ignored
+            assertNull(cache.load(code));
+            assertEquals(Disassembler.disassemble(compiled), Disassembler.disassemble(cache.compile(code)));
+
+            ByteBuffer corrupt = ByteBuffer.allocate(12).putInt(0x4A424346).putInt(BytecodeSerializer.VERSION).putInt(Integer.MAX_VALUE);
+            Files.write(file, corrupt.array());                                       // corrupt lengths are ignored
+            assertNull(cache.load(code));
+        } catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+    @Test
+    public void cachedProcessorTest() throws Exception {
+        String code = "number x = 3; print(x * 2);";
+        BytecodeCache cache = new BytecodeCache(folder.getRoot().toPath());
+        Processor first = new Processor(Mode.VM, code, ProcessorOptions.DEFAULT.withVerbose(false).withBytecodeCache(cache));
+        assertNotNull(cache.load(code));
+        Processor second = new Processor(Mode.VM, code, ProcessorOptions.DEFAULT.withVerbose(false).withBytecodeCache(cache));
+        assertEquals("6", first.getExecutionResult());
+        assertEquals("6", second.getExecutionResult());
+        assertTrue(!first.getParseTree().isEmpty() && second.getParseTree().isEmpty());     // front end is skipped
+    }
+
+    @Test
+    public void fingerprintTest() throws Exception {
+        String code = "print('folded ' + 0.5);";
+        Path directory = folder.getRoot().toPath();
+        BytecodeCache cache = new BytecodeCache(directory);
+        cache.compile(code);
+        String key = ProgramCache.hash(code);
+        Path file = cache.getFile(key);
+        assertTrue(Files.exists(file));
+        assertTrue(file.getFileName().toString().matches(key + "-[0-9a-f]{16}\\.jbc"));   // hash of the class files
+        assertEquals(file, new BytecodeCache(directory).getFile(key));                // stable within one build
+        Files.move(file, directory.resolve(key + "-" + BytecodeSerializer.VERSION + ".jbc"));
+        assertNull(cache.lookup(key));                                                // written by another build
+    }
+
+    private BytecodeProgram compile(String input) throws Exception {
+        Reader in = new StringReader(input);
+        JParser parser = new JParser(in, false);
+        Symbol root = parser.parse();
+        return BytecodeGenerator.compile((Program) root.value);
+    }
+}